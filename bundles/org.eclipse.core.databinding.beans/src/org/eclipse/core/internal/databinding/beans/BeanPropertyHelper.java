@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -56,8 +56,14 @@ public class BeanPropertyHelper {
 						"Missing public setter method for " //$NON-NLS-1$
 								+ propertyDescriptor.getName() + " property"); //$NON-NLS-1$
 			}
-			setAccessible(writeMethod);
-			writeMethod.invoke(source, value);
+			MethodInvoker invoker = MethodInvoker.forMethod(writeMethod);
+			if (invoker.canInvoke(source, value)) {
+				invoker.invoke(source, value);
+			} else {
+				// let reflection convert or reject the arguments
+				setAccessible(writeMethod);
+				writeMethod.invoke(source, value);
+			}
 		} catch (InvocationTargetException e) {
 			/*
 			 * InvocationTargetException wraps any exception thrown by the
@@ -91,6 +97,10 @@ public class BeanPropertyHelper {
 				throw new IllegalArgumentException(propertyDescriptor.getName()
 						+ " property does not have a read method."); //$NON-NLS-1$
 			}
+			MethodInvoker invoker = MethodInvoker.forMethod(readMethod);
+			if (invoker.canInvoke(source)) {
+				return invoker.invoke(source);
+			}
 			setAccessible(readMethod);
 			return readMethod.invoke(source);
 		} catch (InvocationTargetException e) {
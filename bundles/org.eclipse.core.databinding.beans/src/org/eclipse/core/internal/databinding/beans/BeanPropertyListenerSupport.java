@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,12 @@ import org.eclipse.core.runtime.Status;
 public class BeanPropertyListenerSupport {
 	private static final boolean DEBUG = true;
 
+	private static final ClassValue<ListenerMethod> ADD_METHODS = new ListenerMethodCache(
+			"addPropertyChangeListener"); //$NON-NLS-1$
+
+	private static final ClassValue<ListenerMethod> REMOVE_METHODS = new ListenerMethodCache(
+			"removePropertyChangeListener"); //$NON-NLS-1$
+
 	/**
 	 * Start listen to target (if it supports the JavaBean property change
 	 * listener pattern)
@@ -41,8 +47,8 @@ public class BeanPropertyListenerSupport {
 		Assert.isNotNull(bean, "Bean cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(listener, "Listener cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(propertyName, "Property name cannot be null"); //$NON-NLS-1$
-		processListener(bean, propertyName, listener,
-				"addPropertyChangeListener", "Could not attach listener to ");//$NON-NLS-1$ //$NON-NLS-2$
+		processListener(bean, propertyName, listener, ADD_METHODS,
+				"Could not attach listener to ");//$NON-NLS-1$
 	}
 
 	/**
@@ -54,52 +60,39 @@ public class BeanPropertyListenerSupport {
 		Assert.isNotNull(listener, "Listener cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(propertyName, "Property name cannot be null"); //$NON-NLS-1$
 
-		processListener(
-				bean,
-				propertyName,
-				listener,
-				"removePropertyChangeListener", "Cound not remove listener from "); //$NON-NLS-1$ //$NON-NLS-2$
+		processListener(bean, propertyName, listener, REMOVE_METHODS,
+				"Cound not remove listener from "); //$NON-NLS-1$
 	}
 
 	/**
-	 * Invokes the method for the provided <code>methodName</code> attempting to
-	 * first use the method with the property name and then the unnamed version.
+	 * Invokes the listener method of the bean's class, which is the method
+	 * with the property name if available and the unnamed version otherwise.
 	 *
 	 * @param bean
 	 *            object to invoke the method on
-	 * @param methodName
-	 *            either addPropertyChangeListener or
-	 *            removePropertyChangeListener
+	 * @param methods
+	 *            the cache of either addPropertyChangeListener or
+	 *            removePropertyChangeListener methods
 	 * @param message
 	 *            string that will be prefixed to the target in an error message
 	 *
 	 * @return <code>true</code> if the method was invoked successfully
 	 */
 	private static boolean processListener(Object bean, String propertyName,
-			PropertyChangeListener listener, String methodName, String message) {
-		Method method = null;
-		Object[] parameters = null;
-
-		try {
-			try {
-				method = bean.getClass().getMethod(methodName, String.class, PropertyChangeListener.class);
-
-				parameters = new Object[] { propertyName, listener };
-			} catch (NoSuchMethodException e) {
-				method = bean.getClass().getMethod(methodName, PropertyChangeListener.class);
-
-				parameters = new Object[] { listener };
-			}
-		} catch (SecurityException e) {
-			// ignore
-		} catch (NoSuchMethodException e) {
-			log(IStatus.WARNING, message + bean, e);
+			PropertyChangeListener listener, ClassValue<ListenerMethod> methods, String message) {
+		ListenerMethod listenerMethod = methods.get(bean.getClass());
+		if (listenerMethod.missing != null) {
+			log(IStatus.WARNING, message + bean, listenerMethod.missing);
 		}
 
-		if (method != null) {
-			BeanPropertyHelper.setAccessible(method);
+		if (listenerMethod.method != null) {
 			try {
-				method.invoke(bean, parameters);
+				MethodInvoker invoker = MethodInvoker.forMethod(listenerMethod.method);
+				if (listenerMethod.named) {
+					invoker.invoke(bean, propertyName, listener);
+				} else {
+					invoker.invoke(bean, listener);
+				}
 				return true;
 			} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
 				log(IStatus.WARNING, message + bean, e);
@@ -108,6 +101,61 @@ public class BeanPropertyListenerSupport {
 		return false;
 	}
 
+	/**
+	 * The listener method resolved for a bean class.
+	 */
+	private static final class ListenerMethod {
+		/**
+		 * The method, or <code>null</code> if it could not be resolved
+		 */
+		final Method method;
+
+		/**
+		 * Whether the method takes the property name as first parameter
+		 */
+		final boolean named;
+
+		/**
+		 * The reason why the method could not be found, or <code>null</code>
+		 */
+		final NoSuchMethodException missing;
+
+		ListenerMethod(Method method, boolean named, NoSuchMethodException missing) {
+			this.method = method;
+			this.named = named;
+			this.missing = missing;
+		}
+	}
+
+	/**
+	 * Resolves a listener method once per bean class.
+	 */
+	private static final class ListenerMethodCache extends ClassValue<ListenerMethod> {
+		private final String methodName;
+
+		ListenerMethodCache(String methodName) {
+			this.methodName = methodName;
+		}
+
+		@Override
+		protected ListenerMethod computeValue(Class<?> type) {
+			try {
+				try {
+					return new ListenerMethod(
+							type.getMethod(methodName, String.class, PropertyChangeListener.class), true, null);
+				} catch (NoSuchMethodException e) {
+					return new ListenerMethod(type.getMethod(methodName, PropertyChangeListener.class), false,
+							null);
+				}
+			} catch (SecurityException e) {
+				// ignore
+				return new ListenerMethod(null, false, null);
+			} catch (NoSuchMethodException e) {
+				return new ListenerMethod(null, false, e);
+			}
+		}
+	}
+
 	/**
 	 * Logs a message to the Data Binding logger.
 	 */
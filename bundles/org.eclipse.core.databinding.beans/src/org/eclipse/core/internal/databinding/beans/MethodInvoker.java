@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invokes a bean method through a cached {@link MethodHandle} instead of
+ * {@link Method#invoke(Object, Object...)}, which avoids the access check and
+ * the argument array of reflective calls.
+ * <p>
+ * Invokers are cached per declaring class and shared by all bean and pojo
+ * properties. Since the cache is held by a {@link ClassValue}, it does not
+ * prevent the bean classes from being unloaded.
+ * </p>
+ * <p>
+ * The handles only perform the conversions of an exact method call. Callers
+ * are expected to check {@link #canInvoke(Object, Object)} and fall back to
+ * reflection otherwise, so that widening conversions and the reporting of
+ * illegal arguments stay the same.
+ * </p>
+ */
+/* package */final class MethodInvoker {
+
+	private static final ClassValue<Map<Method, MethodInvoker>> INVOKERS = new ClassValue<>() {
+		@Override
+		protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * The method handle, adapted to take and return <code>Object</code>s only
+	 */
+	private final MethodHandle handle;
+
+	private final Class<?> receiverType;
+
+	/**
+	 * The type of the first parameter with primitive types replaced by their
+	 * wrappers, or <code>null</code> if the method has no parameters
+	 */
+	private final Class<?> argumentType;
+
+	private final boolean primitiveArgument;
+
+	private MethodInvoker(Method method) throws IllegalAccessException {
+		BeanPropertyHelper.setAccessible(method);
+		MethodHandle direct = MethodHandles.lookup().unreflect(method);
+		MethodType type = direct.type();
+		this.handle = direct.asType(MethodType.genericMethodType(type.parameterCount()));
+		this.receiverType = method.getDeclaringClass();
+		if (type.parameterCount() > 1) {
+			Class<?> parameterType = type.parameterType(1);
+			this.primitiveArgument = parameterType.isPrimitive();
+			this.argumentType = type.wrap().parameterType(1);
+		} else {
+			this.primitiveArgument = false;
+			this.argumentType = null;
+		}
+	}
+
+	/**
+	 * @param method
+	 *            a public instance method
+	 * @return the shared invoker for the given method
+	 * @throws IllegalAccessException
+	 *             if a method handle cannot be created for the method
+	 */
+	static MethodInvoker forMethod(Method method) throws IllegalAccessException {
+		Map<Method, MethodInvoker> invokers = INVOKERS.get(method.getDeclaringClass());
+		MethodInvoker invoker = invokers.get(method);
+		if (invoker == null) {
+			invoker = new MethodInvoker(method);
+			MethodInvoker existing = invokers.putIfAbsent(method, invoker);
+			if (existing != null) {
+				invoker = existing;
+			}
+		}
+		return invoker;
+	}
+
+	/**
+	 * @return <code>true</code> if the method can be invoked on the given
+	 *         receiver without any conversion
+	 */
+	boolean canInvoke(Object receiver) {
+		return receiverType.isInstance(receiver);
+	}
+
+	/**
+	 * @return <code>true</code> if the method can be invoked on the given
+	 *         receiver with the given first argument without any conversion
+	 *         other than unboxing
+	 */
+	boolean canInvoke(Object receiver, Object argument) {
+		if (!receiverType.isInstance(receiver)) {
+			return false;
+		}
+		if (argument == null) {
+			return !primitiveArgument;
+		}
+		return argumentType.isInstance(argument);
+	}
+
+	/**
+	 * Invokes a method without parameters.
+	 *
+	 * @return the return value of the method, or <code>null</code> for void
+	 *         methods
+	 * @throws InvocationTargetException
+	 *             if the method throws an exception
+	 */
+	Object invoke(Object receiver) throws InvocationTargetException {
+		try {
+			return handle.invokeExact(receiver);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Invokes a method with one parameter.
+	 *
+	 * @return the return value of the method, or <code>null</code> for void
+	 *         methods
+	 * @throws InvocationTargetException
+	 *             if the method throws an exception
+	 */
+	Object invoke(Object receiver, Object argument) throws InvocationTargetException {
+		try {
+			return handle.invokeExact(receiver, argument);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Invokes a method with two parameters.
+	 *
+	 * @return the return value of the method, or <code>null</code> for void
+	 *         methods
+	 * @throws InvocationTargetException
+	 *             if the method throws an exception
+	 */
+	Object invoke(Object receiver, Object argument1, Object argument2) throws InvocationTargetException {
+		try {
+			return handle.invokeExact(receiver, argument1, argument2);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+}
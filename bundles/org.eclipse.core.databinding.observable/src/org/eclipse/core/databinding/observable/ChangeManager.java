@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -114,6 +114,11 @@ import org.eclipse.core.runtime.ListenerList;
 		Object listenerType = event.getListenerType();
 		int listenerTypeIndex = findListenerTypeIndex(listenerType);
 		if (listenerTypeIndex != -1) {
+			ChangePropagation propagation = realm.getChangePropagation();
+			if (propagation != null && propagation.isActive()) {
+				propagation.fire(event, listenerLists[listenerTypeIndex]);
+				return;
+			}
 			for (IObservablesListener listener : listenerLists[listenerTypeIndex]) {
 				event.dispatch(listener);
 			}
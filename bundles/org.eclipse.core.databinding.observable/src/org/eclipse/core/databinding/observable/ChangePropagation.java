@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayDeque;
+
+import org.eclipse.core.internal.databinding.observable.IInvalidationListener;
+import org.eclipse.core.runtime.ListenerList;
+
+/**
+ * Two-phase change propagation for a realm.
+ * <p>
+ * During a propagation wave, events are dispatched immediately only to
+ * {@link IInvalidationListener}s, which mark derived observables dirty and
+ * forward the event to their own listeners. All other listeners are queued and
+ * notified in order once the wave has invalidated every affected derived
+ * observable. Because derived observables recompute lazily when they are read,
+ * each of them is recomputed at most once per wave, after all of its
+ * dependencies, and no listener ever sees a mix of old and new values.
+ * </p>
+ * <p>
+ * Events fired by queued listeners while the queue is delivered are invalidated
+ * right away and their remaining notifications are appended to the same queue.
+ * </p>
+ * <p>
+ * This class is not thread safe, it must only be used from within its realm.
+ * </p>
+ */
+/* package */final class ChangePropagation {
+
+	private boolean glitchFree;
+
+	/**
+	 * The number of nested fire, batch and delivery calls, a wave ends when it
+	 * drops back to zero
+	 */
+	private int depth;
+
+	/**
+	 * Pending notifications, stored as alternating event and listener entries
+	 */
+	private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+	boolean isGlitchFree() {
+		return glitchFree;
+	}
+
+	void setGlitchFree(boolean glitchFree) {
+		this.glitchFree = glitchFree;
+	}
+
+	/**
+	 * @return <code>true</code> if events have to be routed through
+	 *         {@link #fire(ObservableEvent, ListenerList)}
+	 */
+	boolean isActive() {
+		return glitchFree || depth > 0;
+	}
+
+	void fire(ObservableEvent event, ListenerList<IObservablesListener> listeners) {
+		depth++;
+		try {
+			for (IObservablesListener listener : listeners) {
+				if (listener instanceof IInvalidationListener) {
+					event.dispatch(listener);
+				} else {
+					pending.add(event);
+					pending.add(listener);
+				}
+			}
+		} catch (RuntimeException | Error e) {
+			endWave(e);
+			throw e;
+		}
+		endWave(null);
+	}
+
+	void runBatched(Runnable runnable) {
+		depth++;
+		try {
+			runnable.run();
+		} catch (RuntimeException | Error e) {
+			endWave(e);
+			throw e;
+		}
+		endWave(null);
+	}
+
+	/**
+	 * Delivers the pending notifications once the outermost wave ends. This
+	 * also happens if the wave or a listener failed: the derived observables
+	 * have already been marked dirty at that point and would not notify their
+	 * listeners again. So a failing listener does not stop the delivery, the
+	 * first exception is thrown once all listeners have been notified.
+	 *
+	 * @param failure
+	 *            the exception the wave ended with, or <code>null</code>; the
+	 *            exceptions of listeners are added to it as suppressed
+	 *            exceptions
+	 */
+	private void endWave(Throwable failure) {
+		if (--depth > 0) {
+			return;
+		}
+		RuntimeException listenerFailure = null;
+		depth++;
+		try {
+			while (!pending.isEmpty()) {
+				ObservableEvent event = (ObservableEvent) pending.poll();
+				IObservablesListener listener = (IObservablesListener) pending.poll();
+				try {
+					event.dispatch(listener);
+				} catch (RuntimeException e) {
+					if (failure != null) {
+						failure.addSuppressed(e);
+					} else if (listenerFailure == null) {
+						listenerFailure = e;
+					} else {
+						listenerFailure.addSuppressed(e);
+					}
+				}
+			}
+		} finally {
+			pending.clear();
+			depth--;
+		}
+		if (listenerFailure != null) {
+			throw listenerFailure;
+		}
+	}
+}
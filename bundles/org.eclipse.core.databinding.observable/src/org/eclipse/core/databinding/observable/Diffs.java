@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -32,11 +33,20 @@ import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.set.SetDiff;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
+import org.eclipse.core.internal.databinding.observable.ListDiffComputer;
 
 /**
  * @since 1.0
  */
 public class Diffs {
+	/**
+	 * Up to this product of the sizes of the changed ranges, list diffs are
+	 * computed with the quadratic algorithm, which produces the same entries
+	 * as in previous versions. Larger changes are computed with
+	 * {@link ListDiffComputer}.
+	 */
+	private static final int QUADRATIC_LIST_DIFF_LIMIT = 4096;
+
 	private static final class UnmodifiableListDiff<E> extends ListDiff<E> {
 		private ListDiff<? extends E> toWrap;
 
@@ -227,8 +237,35 @@ public class Diffs {
 	 * @since 1.6
 	 */
 	public static <E> ListDiff<E> computeListDiff(List<? extends E> oldList, List<? extends E> newList) {
+		if (!(oldList instanceof RandomAccess)) {
+			oldList = new ArrayList<>(oldList);
+		}
+		if (!(newList instanceof RandomAccess)) {
+			newList = new ArrayList<>(newList);
+		}
+
+		// unchanged elements at the start and the end need no entries
+		int oldSize = oldList.size();
+		int newSize = newList.size();
+		int start = 0;
+		while (start < oldSize && start < newSize && Objects.equals(oldList.get(start), newList.get(start))) {
+			start++;
+		}
+		int oldEnd = oldSize;
+		int newEnd = newSize;
+		while (oldEnd > start && newEnd > start && Objects.equals(oldList.get(oldEnd - 1), newList.get(newEnd - 1))) {
+			oldEnd--;
+			newEnd--;
+		}
+
 		List<ListDiffEntry<E>> diffEntries = new ArrayList<>();
-		createListDiffs(new ArrayList<>(oldList), newList, diffEntries);
+		List<? extends E> oldChanged = oldList.subList(start, oldEnd);
+		List<? extends E> newChanged = newList.subList(start, newEnd);
+		if ((long) oldChanged.size() * newChanged.size() <= QUADRATIC_LIST_DIFF_LIMIT) {
+			createListDiffs(new ArrayList<>(oldChanged), newChanged, start, diffEntries);
+		} else {
+			ListDiffComputer.computeDifferences(oldChanged, newChanged, start, diffEntries);
+		}
 		return createListDiff(diffEntries);
 	}
 
@@ -265,13 +302,13 @@ public class Diffs {
 	/**
 	 * adapted from EMF's ListDifferenceAnalyzer
 	 */
-	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList,
+	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList, int offset,
 			List<ListDiffEntry<E>> listDiffs) {
 		int index = 0;
 		for (E newValue : newList) {
 			if (oldList.size() <= index) {
 				// append newValue to newList
-				listDiffs.add(createListDiffEntry(index, true, newValue));
+				listDiffs.add(createListDiffEntry(offset + index, true, newValue));
 			} else {
 				boolean done;
 				do {
@@ -286,7 +323,7 @@ public class Diffs {
 									oldValue, index);
 							if (newIndexOfOldValue == -1) {
 								// removing oldValue from list[index]
-								listDiffs.add(createListDiffEntry(index, false,
+								listDiffs.add(createListDiffEntry(offset + index, false,
 										oldValue));
 								oldList.remove(index);
 								done = false;
@@ -303,27 +340,25 @@ public class Diffs {
 									// correct spot.
 									newIndexOfOldValue = oldList.size() - 1;
 								}
-								listDiffs.add(createListDiffEntry(index, false,
+								listDiffs.add(createListDiffEntry(offset + index, false,
 										oldValue));
 								oldList.remove(index);
-								listDiffs.add(createListDiffEntry(
-										newIndexOfOldValue, true, oldValue));
+								listDiffs.add(createListDiffEntry(offset + newIndexOfOldValue, true, oldValue));
 								oldList.add(newIndexOfOldValue, oldValue);
 								done = false;
 							} else {
 								// move newValue from list[oldIndexOfNewValue]
 								// to [index]
-								listDiffs.add(createListDiffEntry(
-										oldIndexOfNewValue, false, newValue));
+								listDiffs.add(createListDiffEntry(offset + oldIndexOfNewValue, false, newValue));
 								oldList.remove(oldIndexOfNewValue);
-								listDiffs.add(createListDiffEntry(index, true,
+								listDiffs.add(createListDiffEntry(offset + index, true,
 										newValue));
 								oldList.add(index, newValue);
 							}
 						} else {
 							// add newValue at list[index]
 							oldList.add(index, newValue);
-							listDiffs.add(createListDiffEntry(index, true,
+							listDiffs.add(createListDiffEntry(offset + index, true,
 									newValue));
 						}
 					}
@@ -333,7 +368,7 @@ public class Diffs {
 		}
 		for (int i = oldList.size(); i > index;) {
 			// remove excess trailing elements not present in newList
-			listDiffs.add(createListDiffEntry(--i, false, oldList.get(i)));
+			listDiffs.add(createListDiffEntry(offset + --i, false, oldList.get(i)));
 		}
 	}
 
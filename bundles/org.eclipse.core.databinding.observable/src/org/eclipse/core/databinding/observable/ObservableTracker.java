@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,10 @@
  *******************************************************************************/
 package org.eclipse.core.databinding.observable;
 
-import java.util.Set;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 
 import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -64,20 +64,153 @@ import org.eclipse.core.runtime.Status;
 public class ObservableTracker {
 
 	/**
-	 * Threadlocal storage pointing to the current Set of IObservables, or null
-	 * if none. Note that this is actually the top of a stack. Whenever a method
-	 * changes the current value, it remembers the old value as a local variable
-	 * and restores the old value when the method exits.
+	 * Threadlocal storage pointing to the tracking state of the current thread.
+	 * The state holds a stack of frames, one for each nested call to
+	 * {@link #runAndMonitor(Runnable, IChangeListener, IStaleListener)} or
+	 * {@link #runAndCollect(Runnable)}. Frames and the sets of observables they
+	 * collect are reused, so that tracking does not allocate anything but the
+	 * resulting array once the stack has reached its maximum depth.
 	 */
-	private static ThreadLocal<IChangeListener> currentChangeListener = new ThreadLocal<>();
+	private static final ThreadLocal<TrackingState> currentState = ThreadLocal.withInitial(TrackingState::new);
 
-	private static ThreadLocal<IStaleListener> currentStaleListener = new ThreadLocal<>();
+	/**
+	 * The state of one nested tracking call. Fields not overridden by the call
+	 * are inherited from the enclosing frame.
+	 */
+	private static final class Frame {
+		IChangeListener changeListener;
+
+		IStaleListener staleListener;
+
+		/**
+		 * The observables read from, or <code>null</code> if nobody monitors
+		 * getter calls
+		 */
+		ObservableCollector getterCalled;
+
+		/**
+		 * The observables created, or <code>null</code> if nobody collects
+		 * created observables
+		 */
+		ObservableCollector observableCreated;
 
-	private static ThreadLocal<Set<IObservable>> currentGetterCalledSet = new ThreadLocal<>();
+		int ignoreCount;
 
-	private static ThreadLocal<Set<IObservable>> currentObservableCreatedSet = new ThreadLocal<>();
+		/**
+		 * Collector owned by this frame, reused by every tracking call on this
+		 * nesting level.
+		 */
+		private ObservableCollector ownCollector;
 
-	private static ThreadLocal<Integer> currentIgnoreCount = new ThreadLocal<>();
+		ObservableCollector getOwnCollector() {
+			if (ownCollector == null) {
+				ownCollector = new ObservableCollector();
+			}
+			return ownCollector;
+		}
+
+		void inherit(Frame parent) {
+			changeListener = parent.changeListener;
+			staleListener = parent.staleListener;
+			getterCalled = parent.getterCalled;
+			observableCreated = parent.observableCreated;
+			ignoreCount = 0;
+		}
+
+		void reset() {
+			changeListener = null;
+			staleListener = null;
+			getterCalled = null;
+			observableCreated = null;
+			ignoreCount = 0;
+		}
+	}
+
+	/**
+	 * The stack of tracking frames of one thread. The bottom frame is never
+	 * popped and holds the state outside of any tracking call.
+	 */
+	private static final class TrackingState {
+		private Frame[] frames = { new Frame() };
+
+		private int top;
+
+		Frame current() {
+			return frames[top];
+		}
+
+		Frame push() {
+			Frame parent = frames[top];
+			if (++top == frames.length) {
+				frames = Arrays.copyOf(frames, frames.length * 2);
+			}
+			Frame frame = frames[top];
+			if (frame == null) {
+				frame = frames[top] = new Frame();
+			}
+			frame.inherit(parent);
+			return frame;
+		}
+
+		void pop() {
+			frames[top--].reset();
+		}
+	}
+
+	/**
+	 * An insertion ordered identity set of observables that can be emptied and
+	 * reused. Small sets are searched linearly, larger ones get an identity
+	 * index.
+	 */
+	private static final class ObservableCollector {
+		private static final int LINEAR_SEARCH_LIMIT = 16;
+
+		private IObservable[] elements = new IObservable[8];
+
+		private int size;
+
+		private IdentityHashMap<IObservable, Boolean> index;
+
+		boolean add(IObservable observable) {
+			if (index != null) {
+				if (index.put(observable, Boolean.TRUE) != null) {
+					return false;
+				}
+			} else {
+				for (int i = 0; i < size; i++) {
+					if (elements[i] == observable) {
+						return false;
+					}
+				}
+				if (size == LINEAR_SEARCH_LIMIT) {
+					index = new IdentityHashMap<>();
+					for (int i = 0; i < size; i++) {
+						index.put(elements[i], Boolean.TRUE);
+					}
+					index.put(observable, Boolean.TRUE);
+				}
+			}
+			if (size == elements.length) {
+				elements = Arrays.copyOf(elements, size * 2);
+			}
+			elements[size++] = observable;
+			return true;
+		}
+
+		/**
+		 * Returns the collected observables and empties this collector, so
+		 * that it does not keep any observable reachable.
+		 */
+		IObservable[] drain() {
+			IObservable[] result = Arrays.copyOf(elements, size);
+			Arrays.fill(elements, 0, size, null);
+			size = 0;
+			if (index != null) {
+				index.clear();
+			}
+			return result;
+		}
+	}
 
 	/**
 	 * Invokes the given runnable, and returns the set of IObservables that were
@@ -97,31 +230,25 @@ public class ObservableTracker {
 	 */
 	public static IObservable[] runAndMonitor(Runnable runnable,
 			IChangeListener changeListener, IStaleListener staleListener) {
-		// Remember the previous value in the listener stack
-		Set<IObservable> lastObservableSet = currentGetterCalledSet.get();
-		IChangeListener lastChangeListener = currentChangeListener.get();
-		IStaleListener lastStaleListener = currentStaleListener.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<>();
-		// Push the new listeners to the top of the stack
-		currentGetterCalledSet.set(observableSet);
-		currentChangeListener.set(changeListener);
-		currentStaleListener.set(staleListener);
-		currentIgnoreCount.remove();
+		TrackingState state = currentState.get();
+		// Push a new frame with the new listeners to the top of the stack
+		Frame frame = state.push();
+		ObservableCollector observables = frame.getOwnCollector();
+		frame.getterCalled = observables;
+		frame.changeListener = changeListener;
+		frame.staleListener = staleListener;
+		IObservable[] result;
 		try {
 			runnable.run();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentGetterCalledSet.set(lastObservableSet);
-			currentChangeListener.set(lastChangeListener);
-			currentStaleListener.set(lastStaleListener);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			checkUnmatchedIgnore(frame, runnable);
+			// Pop the frame off the top of the stack, which restores the
+			// previous listeners
+			state.pop();
+			result = observables.drain();
 		}
 
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		return result;
 	}
 
 	/**
@@ -141,34 +268,30 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static IObservable[] runAndCollect(Runnable runnable) {
-		Set<IObservable> lastObservableCreatedSet = currentObservableCreatedSet.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<>();
-		// Push the new listeners to the top of the stack
-		currentObservableCreatedSet.set(observableSet);
-		currentIgnoreCount.remove();
+		TrackingState state = currentState.get();
+		Frame frame = state.push();
+		ObservableCollector observables = frame.getOwnCollector();
+		frame.observableCreated = observables;
+		IObservable[] result;
 		try {
 			runnable.run();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentObservableCreatedSet.set(lastObservableCreatedSet);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			checkUnmatchedIgnore(frame, runnable);
+			state.pop();
+			result = observables.drain();
 		}
 
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		return result;
 	}
 
-	private static void checkUnmatchedIgnore(Runnable runnable) {
-		if (isIgnore()) {
+	private static void checkUnmatchedIgnore(Frame frame, Runnable runnable) {
+		if (frame.ignoreCount > 0) {
 			Policy.getLog()
 					.log(new Status(
 							IStatus.ERROR,
 							Policy.JFACE_DATABINDING,
 							"There were " //$NON-NLS-1$
-									+ currentIgnoreCount.get()
+									+ frame.ignoreCount
 									+ " unmatched setIgnore(true) invocations in runnable " //$NON-NLS-1$
 									+ runnable));
 		}
@@ -193,19 +316,14 @@ public class ObservableTracker {
 	 * @since 1.3
 	 */
 	public static void setIgnore(boolean ignore) {
-		Integer lastCount = currentIgnoreCount.get();
+		Frame frame = currentState.get().current();
 
-		int newCount = (lastCount == null ? 0 : lastCount.intValue())
-				+ (ignore ? 1 : -1);
+		int newCount = frame.ignoreCount + (ignore ? 1 : -1);
 
 		if (newCount < 0)
 			throw new IllegalStateException("Ignore count is already zero"); //$NON-NLS-1$
 
-		if (newCount == 0) {
-			currentIgnoreCount.remove();
-		} else {
-			currentIgnoreCount.set(Integer.valueOf(newCount));
-		}
+		frame.ignoreCount = newCount;
 	}
 
 	/**
@@ -235,10 +353,6 @@ public class ObservableTracker {
 				+ Integer.toHexString(System.identityHashCode(observable));
 	}
 
-	private static boolean isIgnore() {
-		return currentIgnoreCount.get() != null;
-	}
-
 	/**
 	 * Notifies the ObservableTracker that an observable was read from. The
 	 * JavaDoc for methods that invoke this method should include the following
@@ -258,16 +372,17 @@ public class ObservableTracker {
 			Assert.isTrue(false, "Getter called outside realm of observable " //$NON-NLS-1$
 					+ toString(observable));
 
-		if (isIgnore())
+		Frame frame = currentState.get().current();
+		if (frame.ignoreCount > 0)
 			return;
 
-		Set<IObservable> getterCalledSet = currentGetterCalledSet.get();
-		if (getterCalledSet != null && getterCalledSet.add(observable)) {
+		ObservableCollector getterCalled = frame.getterCalled;
+		if (getterCalled != null && getterCalled.add(observable)) {
 			// If anyone is listening for observable usage...
-			IChangeListener changeListener = currentChangeListener.get();
+			IChangeListener changeListener = frame.changeListener;
 			if (changeListener != null)
 				observable.addChangeListener(changeListener);
-			IStaleListener staleListener = currentStaleListener.get();
+			IStaleListener staleListener = frame.staleListener;
 			if (staleListener != null)
 				observable.addStaleListener(staleListener);
 		}
@@ -281,11 +396,12 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static void observableCreated(IObservable observable) {
-		if (isIgnore())
+		Frame frame = currentState.get().current();
+		if (frame.ignoreCount > 0)
 			return;
-		Set<IObservable> observableCreatedSet = currentObservableCreatedSet.get();
-		if (observableCreatedSet != null) {
-			observableCreatedSet.add(observable);
+		ObservableCollector observableCreated = frame.observableCreated;
+		if (observableCreated != null) {
+			observableCreated.add(observable);
 		}
 	}
 }
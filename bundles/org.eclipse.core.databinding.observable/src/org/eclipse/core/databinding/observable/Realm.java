@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -128,6 +128,82 @@ public abstract class Realm {
 
 	Queue workQueue = new Queue();
 
+	private ChangePropagation changePropagation;
+
+	/**
+	 * Enables or disables glitch-free change propagation for observables of
+	 * this realm.
+	 * <p>
+	 * By default, listeners are notified depth-first in the order in which they
+	 * were added. A listener of a source observable can therefore read a
+	 * derived observable (such as a
+	 * {@link org.eclipse.core.databinding.observable.value.ComputedValue})
+	 * that depends on the same source but has not been notified yet, and see a
+	 * mix of old and new values. With glitch-free propagation, a change first marks all derived
+	 * observables that depend on it as dirty; the remaining listeners are only
+	 * notified afterwards. Derived observables recompute lazily when they are
+	 * read, so each of them is recomputed at most once per change, after all of
+	 * its dependencies.
+	 * </p>
+	 * <p>
+	 * This method must be called from within this realm.
+	 * </p>
+	 *
+	 * @param glitchFree <code>true</code> to enable glitch-free propagation
+	 * @see #runBatched(Runnable)
+	 * @since 1.14
+	 */
+	public void setGlitchFreePropagation(boolean glitchFree) {
+		if (changePropagation == null) {
+			if (!glitchFree) {
+				return;
+			}
+			changePropagation = new ChangePropagation();
+		}
+		changePropagation.setGlitchFree(glitchFree);
+	}
+
+	/**
+	 * @return <code>true</code> if glitch-free change propagation is enabled
+	 *         for this realm
+	 * @see #setGlitchFreePropagation(boolean)
+	 * @since 1.14
+	 */
+	public boolean isGlitchFreePropagation() {
+		return changePropagation != null && changePropagation.isGlitchFree();
+	}
+
+	/**
+	 * Runs the given runnable as a single change propagation wave: all derived
+	 * observables affected by changes made by the runnable are marked dirty
+	 * immediately, while all other listeners are notified after the runnable
+	 * has completed. This allows several source observables to be changed
+	 * without listeners observing the intermediate states, regardless of
+	 * whether glitch-free propagation is enabled. The pending notifications are
+	 * also delivered if the runnable throws an exception.
+	 * <p>
+	 * This method must be called from within this realm.
+	 * </p>
+	 *
+	 * @param runnable the runnable to run
+	 * @see #setGlitchFreePropagation(boolean)
+	 * @since 1.14
+	 */
+	public void runBatched(Runnable runnable) {
+		if (changePropagation == null) {
+			changePropagation = new ChangePropagation();
+		}
+		changePropagation.runBatched(runnable);
+	}
+
+	/**
+	 * @return the change propagation of this realm, or <code>null</code> if
+	 *         neither glitch-free propagation nor batching have been used
+	 */
+	ChangePropagation getChangePropagation() {
+		return changePropagation;
+	}
+
 	/**
 	 * Runs the given runnable. If an exception occurs within the runnable, it is
 	 * logged and not re-thrown. If the runnable implements {@link ISafeRunnable},
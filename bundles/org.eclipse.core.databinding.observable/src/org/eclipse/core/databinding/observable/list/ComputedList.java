@@ -32,6 +32,8 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.internal.databinding.observable.DependencyTracker;
+import org.eclipse.core.internal.databinding.observable.IInvalidationListener;
 
 /**
  * A lazily calculated list that automatically computes and registers listeners
@@ -179,7 +181,7 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 	 * </p>
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, IInvalidationListener {
 		@Override
 		public void run() {
 			cachedList = calculate();
@@ -201,6 +203,8 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private DependencyTracker dependencyTracker = new DependencyTracker(privateInterface, privateInterface);
+
 	private Object elementType;
 
 	@Override
@@ -226,7 +230,7 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
 			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateInterface, privateInterface, null);
+					privateInterface, null, null);
 
 			// If any dependencies are stale, a stale event will be fired here
 			// even if we were already stale before recomputing. This is in case
@@ -239,12 +243,8 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 				}
 			}
 
-			if (!stale) {
-				for (IObservable newDependency : newDependencies) {
-					newDependency.addStaleListener(privateInterface);
-				}
-			}
-
+			// Only listeners of added or removed dependencies are touched
+			dependencyTracker.update(newDependencies);
 			dependencies = newDependencies;
 
 			dirty = false;
@@ -273,7 +273,9 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 
 			makeStale();
 
-			stopListening();
+			// Keep the listeners registered while somebody is listening, so
+			// that recomputing only needs to touch changed dependencies
+			suspendListening();
 
 			// copy the old list
 			final List<E> oldList = new ArrayList<>(cachedList);
@@ -293,16 +295,20 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 		}
 	}
 
-	private void stopListening() {
-		if (dependencies != null) {
-			for (IObservable observable : dependencies) {
-				observable.removeChangeListener(privateInterface);
-				observable.removeStaleListener(privateInterface);
-			}
+	private void suspendListening() {
+		if (hasListeners()) {
 			dependencies = null;
+		} else {
+			stopListening();
 		}
 	}
 
+	private void stopListening() {
+		// Stop listening for dependency changes.
+		dependencyTracker.stopListening();
+		dependencies = null;
+	}
+
 	private void makeStale() {
 		if (!stale) {
 			stale = true;
@@ -358,6 +364,15 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 		});
 	}
 
+	@Override
+	protected void lastListenerRemoved() {
+		// Nobody is told about changes anymore, so the dependencies must not
+		// keep this observable alive. The value is recomputed on next access.
+		stopListening();
+		dirty = true;
+		super.lastListenerRemoved();
+	}
+
 	@Override
 	public synchronized void dispose() {
 		stopListening();
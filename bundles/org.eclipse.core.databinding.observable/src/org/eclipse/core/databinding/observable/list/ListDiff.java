@@ -133,7 +133,7 @@ public abstract class ListDiff<E> implements IDiff {
 					}
 
 					if (removePos == addPos) {
-						visitor.handleReplace(pos, removeElem, addElem);
+						visitor.handleReplace(removePos, removeElem, addElem);
 						i++;
 						continue;
 					}
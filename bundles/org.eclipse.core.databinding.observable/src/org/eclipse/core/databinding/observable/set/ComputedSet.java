@@ -31,6 +31,8 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.internal.databinding.observable.DependencyTracker;
+import org.eclipse.core.internal.databinding.observable.IInvalidationListener;
 
 /**
  * A lazily calculated set that automatically computes and registers listeners
@@ -175,7 +177,7 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 	 * </p>
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, IInvalidationListener {
 		@Override
 		public void run() {
 			cachedSet = calculate();
@@ -197,6 +199,8 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private DependencyTracker dependencyTracker = new DependencyTracker(privateInterface, privateInterface);
+
 	private Object elementType;
 
 	protected int doGetSize() {
@@ -220,7 +224,7 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
 			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-privateInterface, privateInterface, null);
+					privateInterface, null, null);
 
 			// If any dependencies are stale, a stale event will be fired here
 			// even if we were already stale before recomputing. This is in case
@@ -233,12 +237,8 @@ privateInterface, privateInterface, null);
 				}
 			}
 
-			if (!stale) {
-				for (IObservable newDependency : newDependencies) {
-					newDependency.addStaleListener(privateInterface);
-				}
-			}
-
+			// Only listeners of added or removed dependencies are touched
+			dependencyTracker.update(newDependencies);
 			dependencies = newDependencies;
 
 			dirty = false;
@@ -268,7 +268,9 @@ privateInterface, privateInterface, null);
 			final Set<E> oldSet = new HashSet<>(cachedSet);
 			makeStale();
 
-			stopListening();
+			// Keep the listeners registered while somebody is listening, so
+			// that recomputing only needs to touch changed dependencies
+			suspendListening();
 
 			// Fire the "dirty" event. This implementation recomputes the new
 			// set lazily.
@@ -294,16 +296,20 @@ privateInterface, privateInterface, null);
 		}
 	}
 
-	private void stopListening() {
-		if (dependencies != null) {
-			for (IObservable observable : dependencies) {
-				observable.removeChangeListener(privateInterface);
-				observable.removeStaleListener(privateInterface);
-			}
+	private void suspendListening() {
+		if (hasListeners()) {
 			dependencies = null;
+		} else {
+			stopListening();
 		}
 	}
 
+	private void stopListening() {
+		// Stop listening for dependency changes.
+		dependencyTracker.stopListening();
+		dependencies = null;
+	}
+
 	private void makeStale() {
 		if (!stale) {
 			stale = true;
@@ -360,6 +366,15 @@ privateInterface, privateInterface, null);
 		});
 	}
 
+	@Override
+	protected void lastListenerRemoved() {
+		// Nobody is told about changes anymore, so the dependencies must not
+		// keep this observable alive. The value is recomputed on next access.
+		stopListening();
+		dirty = true;
+		super.lastListenerRemoved();
+	}
+
 	@Override
 	public synchronized void dispose() {
 		stopListening();
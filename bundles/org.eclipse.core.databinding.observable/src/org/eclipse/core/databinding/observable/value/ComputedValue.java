@@ -28,6 +28,8 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.internal.databinding.observable.DependencyTracker;
+import org.eclipse.core.internal.databinding.observable.IInvalidationListener;
 
 /**
  * A Lazily calculated value that automatically computes and registers listeners
@@ -162,7 +164,7 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 	 * </p>
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, IInvalidationListener {
 		@Override
 		public void run() {
 			cachedValue = calculate();
@@ -184,6 +186,8 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private DependencyTracker dependencyTracker = new DependencyTracker(privateInterface, privateInterface);
+
 	private Object valueType;
 
 	@Override
@@ -194,18 +198,18 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
 			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateInterface, privateInterface, null);
+					privateInterface, null, null);
 
 			stale = false;
 			for (IObservable observable : newDependencies) {
-				// Add a change listener to the new dependency.
 				if (observable.isStale()) {
 					stale = true;
-				} else {
-					observable.addStaleListener(privateInterface);
+					break;
 				}
 			}
 
+			// Only listeners of added or removed dependencies are touched
+			dependencyTracker.update(newDependencies);
 			dependencies = newDependencies;
 
 			dirty = false;
@@ -228,7 +232,9 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		if (!dirty) {
 			dirty = true;
 
-			stopListening();
+			// Keep the listeners registered while somebody is listening, so
+			// that recomputing only needs to touch changed dependencies
+			suspendListening();
 
 			// copy the old value
 			final T oldValue = cachedValue;
@@ -249,17 +255,20 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		}
 	}
 
-	private void stopListening() {
-		// Stop listening for dependency changes.
-		if (dependencies != null) {
-			for (IObservable observable : dependencies) {
-				observable.removeChangeListener(privateInterface);
-				observable.removeStaleListener(privateInterface);
-			}
+	private void suspendListening() {
+		if (hasListeners()) {
 			dependencies = null;
+		} else {
+			stopListening();
 		}
 	}
 
+	private void stopListening() {
+		// Stop listening for dependency changes.
+		dependencyTracker.stopListening();
+		dependencies = null;
+	}
+
 	@Override
 	public boolean isStale() {
 		// we need to recompute, otherwise staleness wouldn't mean anything
@@ -321,6 +330,15 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		computeValueForListeners();
 	}
 
+	@Override
+	protected void lastListenerRemoved() {
+		// Nobody is told about changes anymore, so the dependencies must not
+		// keep this observable alive. The value is recomputed on next access.
+		stopListening();
+		dirty = true;
+		super.lastListenerRemoved();
+	}
+
 	@Override
 	public synchronized void dispose() {
 		super.dispose();
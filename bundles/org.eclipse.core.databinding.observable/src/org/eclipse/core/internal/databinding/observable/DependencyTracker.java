@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IStaleListener;
+
+/**
+ * Keeps the listeners of a computed observable or side-effect registered with
+ * its dependencies. When the dependencies are recomputed, the new dependencies
+ * are compared with the previous ones and only the listeners of added or
+ * removed dependencies are touched, instead of unhooking and rehooking every
+ * dependency.
+ * <p>
+ * This class is not thread safe, it must be used from the realm of its owner.
+ * </p>
+ */
+public final class DependencyTracker {
+
+	/**
+	 * Up to this number of changed dependencies a linear search is cheaper
+	 * than building an identity index.
+	 */
+	private static final int LINEAR_DIFF_LIMIT = 64;
+
+	private final IChangeListener changeListener;
+
+	private final IStaleListener staleListener;
+
+	/**
+	 * The dependencies the listeners are currently registered with, or
+	 * <code>null</code> if none
+	 */
+	private IObservable[] dependencies;
+
+	/**
+	 * @param changeListener
+	 *            the listener to register with all dependencies
+	 * @param staleListener
+	 *            the stale listener to register with all dependencies, or
+	 *            <code>null</code> if none
+	 */
+	public DependencyTracker(IChangeListener changeListener, IStaleListener staleListener) {
+		this.changeListener = changeListener;
+		this.staleListener = staleListener;
+	}
+
+	/**
+	 * Registers the listeners with the given dependencies and unregisters them
+	 * from previous dependencies that are no longer contained.
+	 *
+	 * @param newDependencies
+	 *            the new dependencies, without duplicates
+	 */
+	public void update(IObservable[] newDependencies) {
+		IObservable[] oldDependencies = dependencies;
+		dependencies = newDependencies;
+		if (oldDependencies == null || oldDependencies.length == 0) {
+			for (IObservable dependency : newDependencies) {
+				addListeners(dependency);
+			}
+			return;
+		}
+
+		// Recomputations usually read the same observables in the same order,
+		// so skip the common prefix first
+		int common = 0;
+		int commonLimit = Math.min(oldDependencies.length, newDependencies.length);
+		while (common < commonLimit && oldDependencies[common] == newDependencies[common]) {
+			common++;
+		}
+		if (common == oldDependencies.length && common == newDependencies.length) {
+			return;
+		}
+
+		int oldCount = oldDependencies.length - common;
+		int newCount = newDependencies.length - common;
+		if ((long) oldCount * newCount <= LINEAR_DIFF_LIMIT) {
+			for (int i = common; i < oldDependencies.length; i++) {
+				if (!contains(newDependencies, common, oldDependencies[i])) {
+					removeListeners(oldDependencies[i]);
+				}
+			}
+			for (int i = common; i < newDependencies.length; i++) {
+				if (!contains(oldDependencies, common, newDependencies[i])) {
+					addListeners(newDependencies[i]);
+				}
+			}
+			return;
+		}
+
+		Set<IObservable> remaining = Collections.newSetFromMap(new IdentityHashMap<>(oldCount));
+		for (int i = common; i < oldDependencies.length; i++) {
+			remaining.add(oldDependencies[i]);
+		}
+		for (int i = common; i < newDependencies.length; i++) {
+			if (!remaining.remove(newDependencies[i])) {
+				addListeners(newDependencies[i]);
+			}
+		}
+		for (IObservable dependency : remaining) {
+			removeListeners(dependency);
+		}
+	}
+
+	/**
+	 * Unregisters the listeners from all dependencies.
+	 */
+	public void stopListening() {
+		if (dependencies != null) {
+			for (IObservable dependency : dependencies) {
+				removeListeners(dependency);
+			}
+			dependencies = null;
+		}
+	}
+
+	/**
+	 * @return the dependencies the listeners are registered with, or
+	 *         <code>null</code> if none
+	 */
+	public IObservable[] getDependencies() {
+		return dependencies;
+	}
+
+	private static boolean contains(IObservable[] observables, int from, IObservable observable) {
+		for (int i = from; i < observables.length; i++) {
+			if (observables[i] == observable) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addListeners(IObservable dependency) {
+		dependency.addChangeListener(changeListener);
+		if (staleListener != null) {
+			dependency.addStaleListener(staleListener);
+		}
+	}
+
+	private void removeListeners(IObservable dependency) {
+		dependency.removeChangeListener(changeListener);
+		if (staleListener != null) {
+			dependency.removeStaleListener(staleListener);
+		}
+	}
+}
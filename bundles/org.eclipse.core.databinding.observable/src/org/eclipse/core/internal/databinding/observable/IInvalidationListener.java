@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import org.eclipse.core.databinding.observable.IObservablesListener;
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Marker interface for listeners of derived observables that only invalidate
+ * their owner when notified, i.e. they mark it dirty and forward the
+ * notification without reading any observable.
+ * <p>
+ * When glitch-free propagation is enabled on a realm (see
+ * {@link Realm#setGlitchFreePropagation(boolean)}), these listeners are
+ * notified immediately while all other listeners are only notified once the
+ * invalidation has reached every derived observable, so that no listener can
+ * observe a mix of old and new values.
+ * </p>
+ */
+public interface IInvalidationListener extends IObservablesListener {
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+
+/**
+ * Computes the differences between two lists in O((n + m) log(n + m)) time.
+ * <p>
+ * Elements of the new list are matched with equal elements of the old list
+ * through a hash index, in order for duplicates. The matched elements that
+ * form a longest increasing subsequence of old positions stay where they are;
+ * all other matched elements are reported as moves, i.e. as a remove entry
+ * immediately followed by an add entry of the same element, which
+ * {@link ListDiff#accept(org.eclipse.core.databinding.observable.list.ListDiffVisitor)}
+ * reports as a move. Unmatched old elements are removed first, unmatched new
+ * elements are added in order.
+ * </p>
+ * <p>
+ * The positions of the entries are tracked with a Fenwick tree over the slots
+ * of all elements in their final relative order.
+ * </p>
+ *
+ * @param <E>
+ *            the list element type
+ */
+public final class ListDiffComputer<E> {
+
+	private final List<? extends E> oldList;
+
+	private final List<? extends E> newList;
+
+	private final int offset;
+
+	private final List<ListDiffEntry<E>> entries;
+
+	/**
+	 * The Fenwick tree of slots that are currently occupied, 1-based
+	 */
+	private int[] tree;
+
+	/**
+	 * Computes the differences between the given lists and appends them to the
+	 * given entries.
+	 *
+	 * @param <E>
+	 *            the list element type
+	 * @param oldList
+	 *            the old list, should support fast random access
+	 * @param newList
+	 *            the new list, should support fast random access
+	 * @param offset
+	 *            the offset to add to all positions, when the lists are
+	 *            sublists of the lists to compare
+	 * @param entries
+	 *            the list to which the entries are added
+	 */
+	public static <E> void computeDifferences(List<? extends E> oldList, List<? extends E> newList, int offset,
+			List<ListDiffEntry<E>> entries) {
+		new ListDiffComputer<>(oldList, newList, offset, entries).compute();
+	}
+
+	private ListDiffComputer(List<? extends E> oldList, List<? extends E> newList, int offset,
+			List<ListDiffEntry<E>> entries) {
+		this.oldList = oldList;
+		this.newList = newList;
+		this.offset = offset;
+		this.entries = entries;
+	}
+
+	private void compute() {
+		int oldSize = oldList.size();
+		int newSize = newList.size();
+
+		// match new elements with the first unused equal old element
+		Map<Object, int[]> oldIndexes = new HashMap<>();
+		int[] nextSameOld = new int[oldSize];
+		for (int i = oldSize - 1; i >= 0; i--) {
+			int[] head = oldIndexes.computeIfAbsent(oldList.get(i), k -> new int[] { -1 });
+			nextSameOld[i] = head[0];
+			head[0] = i;
+		}
+		int[] oldOfNew = new int[newSize];
+		int[] newOfOld = new int[oldSize];
+		Arrays.fill(newOfOld, -1);
+		for (int j = 0; j < newSize; j++) {
+			int[] head = oldIndexes.get(newList.get(j));
+			if (head == null || head[0] == -1) {
+				oldOfNew[j] = -1;
+			} else {
+				int i = head[0];
+				head[0] = nextSameOld[i];
+				oldOfNew[j] = i;
+				newOfOld[i] = j;
+			}
+		}
+
+		boolean[] stable = longestIncreasingSubsequence(oldOfNew);
+
+		// Assign slots in final relative order: between two stable elements,
+		// elements already processed in new order come before the old
+		// elements that still wait to be removed or moved
+		int[] oldSlot = new int[oldSize];
+		int[] newSlot = new int[newSize];
+		int slot = 0;
+		int i = 0;
+		for (int j = 0; j <= newSize; j++) {
+			if (j < newSize && !stable[j]) {
+				newSlot[j] = ++slot;
+				continue;
+			}
+			int anchor = j < newSize ? oldOfNew[j] : oldSize;
+			for (; i < anchor; i++) {
+				oldSlot[i] = ++slot;
+			}
+			if (j < newSize) {
+				oldSlot[i] = newSlot[j] = ++slot;
+				i++;
+			}
+		}
+
+		tree = new int[slot + 1];
+		for (int k = 0; k < oldSize; k++) {
+			add(oldSlot[k], 1);
+		}
+
+		for (int k = oldSize - 1; k >= 0; k--) {
+			if (newOfOld[k] == -1) {
+				int position = countBefore(oldSlot[k]);
+				add(oldSlot[k], -1);
+				entries.add(Diffs.createListDiffEntry(offset + position, false, oldList.get(k)));
+			}
+		}
+
+		for (int j = 0; j < newSize; j++) {
+			if (stable[j]) {
+				continue;
+			}
+			E element = newList.get(j);
+			int oldIndex = oldOfNew[j];
+			if (oldIndex != -1) {
+				int from = countBefore(oldSlot[oldIndex]);
+				add(oldSlot[oldIndex], -1);
+				int to = countBefore(newSlot[j]);
+				add(newSlot[j], 1);
+				if (from != to) {
+					entries.add(Diffs.createListDiffEntry(offset + from, false, element));
+					entries.add(Diffs.createListDiffEntry(offset + to, true, element));
+				}
+			} else {
+				int to = countBefore(newSlot[j]);
+				add(newSlot[j], 1);
+				entries.add(Diffs.createListDiffEntry(offset + to, true, element));
+			}
+		}
+	}
+
+	/**
+	 * @param sequence
+	 *            the old index of every new element, or -1 if unmatched
+	 * @return for every new element whether it is part of a longest increasing
+	 *         subsequence of matched old indexes
+	 */
+	private static boolean[] longestIncreasingSubsequence(int[] sequence) {
+		int length = 0;
+		// tails[k] is the index of the smallest tail of an increasing
+		// subsequence of length k + 1
+		int[] tails = new int[sequence.length];
+		int[] predecessors = new int[sequence.length];
+		for (int j = 0; j < sequence.length; j++) {
+			int value = sequence[j];
+			if (value == -1) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (sequence[tails[middle]] < value) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			predecessors[j] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = j;
+			if (low == length) {
+				length++;
+			}
+		}
+		boolean[] result = new boolean[sequence.length];
+		for (int j = length > 0 ? tails[length - 1] : -1; j != -1; j = predecessors[j]) {
+			result[j] = true;
+		}
+		return result;
+	}
+
+	private void add(int slot, int delta) {
+		for (int k = slot; k < tree.length; k += k & -k) {
+			tree[k] += delta;
+		}
+	}
+
+	/**
+	 * @return the number of occupied slots before the given slot
+	 */
+	private int countBefore(int slot) {
+		int count = 0;
+		for (int k = slot - 1; k > 0; k -= k & -k) {
+			count += tree[k];
+		}
+		return count;
+	}
+}
@@ -24,6 +24,8 @@ import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.sideeffect.ISideEffect;
+import org.eclipse.core.internal.databinding.observable.DependencyTracker;
+import org.eclipse.core.internal.databinding.observable.IInvalidationListener;
 import org.eclipse.core.runtime.Assert;
 
 /**
@@ -98,6 +100,14 @@ public final class SideEffect implements ISideEffect {
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private DependencyTracker dependencyTracker = new DependencyTracker(privateInterface, null);
+
+	/**
+	 * True while {@link #runnable} is executing. Changes of dependencies made
+	 * by the runnable itself do not dirty the side-effect.
+	 */
+	private boolean running;
+
 	/**
 	 * List of dispose listeners. Null if empty
 	 */
@@ -145,9 +155,7 @@ public final class SideEffect implements ISideEffect {
 		this.pauseDepth = 0;
 		this.realm = Realm.getDefault();
 
-		for (IObservable next : dependencies) {
-			next.addChangeListener(privateInterface);
-		}
+		dependencyTracker.update(dependencies);
 	}
 
 	@Override
@@ -184,19 +192,24 @@ public final class SideEffect implements ISideEffect {
 	private void update() {
 		if (dirty && pauseDepth <= 0) {
 			dirty = false;
-			// Hold a reference to the old dependencies to prevent them from
-			// being garbage collected until we've computed the new set. In the
-			// event that a dependency is lazily created, this prevents it from
-			// being destroyed and immediately recreated.
-
-			// Stop listening for dependency changes.
-			stopListening();
+			// The listeners stay registered with the old dependencies while
+			// the runnable executes. This keeps the old dependencies from being
+			// garbage collected until we've computed the new set, and allows to
+			// only touch the listeners of dependencies that were added or
+			// removed. In the event that a dependency is lazily created, this
+			// prevents it from being destroyed and immediately recreated.
 
 			// This line will do the following:
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(runnable, null, null);
+			IObservable[] newDependencies;
+			running = true;
+			try {
+				newDependencies = ObservableTracker.runAndMonitor(runnable, null, null);
+			} finally {
+				running = false;
+			}
 
 			// If the side-effect disposed itself, exit without attaching any
 			// listeners.
@@ -204,10 +217,7 @@ public final class SideEffect implements ISideEffect {
 				return;
 			}
 
-			for (IObservable next : newDependencies) {
-				next.addChangeListener(privateInterface);
-			}
-
+			dependencyTracker.update(newDependencies);
 			dependencies = newDependencies;
 		}
 	}
@@ -276,11 +286,7 @@ public final class SideEffect implements ISideEffect {
 	}
 
 	private void stopListening() {
-		if (dependencies != null) {
-			for (IObservable observable : dependencies) {
-				observable.removeChangeListener(privateInterface);
-			}
-		}
+		dependencyTracker.stopListening();
 	}
 
 	private void markDirtyInternal() {
@@ -334,10 +340,12 @@ public final class SideEffect implements ISideEffect {
 		};
 	}
 
-	private class PrivateInterface implements IChangeListener, Runnable {
+	private class PrivateInterface implements IChangeListener, IInvalidationListener, Runnable {
 		@Override
 		public void handleChange(ChangeEvent event) {
-			markDirtyInternal();
+			if (!running) {
+				markDirtyInternal();
+			}
 		}
 
 		@Override
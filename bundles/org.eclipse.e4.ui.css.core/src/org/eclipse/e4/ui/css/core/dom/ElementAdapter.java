@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Angelo Zerr and others.
+ * Copyright (c) 2008, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -421,4 +421,19 @@ public abstract class ElementAdapter implements Element, CSSStylableElement {
 			engine.handleExceptions(ex);
 		}
 	}
+
+	/**
+	 * Apply styles for the native widget and the elements that depend on it,
+	 * after the native widget has entered or left the pseudo class
+	 * <code>pseudoClass</code>.
+	 *
+	 * @since 0.15
+	 */
+	protected void doApplyStyles(String pseudoClass) {
+		try {
+			engine.pseudoClassChanged(getNativeWidget(), pseudoClass);
+		} catch (Exception ex) {
+			engine.handleExceptions(ex);
+		}
+	}
 }
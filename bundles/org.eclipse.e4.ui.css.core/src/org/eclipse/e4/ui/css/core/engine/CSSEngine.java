@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 Angelo Zerr and others.
+ * Copyright (c) 2008, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.e4.ui.css.core.engine;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.util.Collection;
 import org.eclipse.e4.ui.css.core.dom.IElementProvider;
@@ -56,6 +57,47 @@ public interface CSSEngine {
 	 */
 	StyleSheet parseStyleSheet(InputSource source) throws IOException;
 
+	/**
+	 * Parse style sheet from InputSource source and add the URIs of the style
+	 * sheets it imports, directly or indirectly, to <code>importedURIs</code>.
+	 * Engines which do not resolve imports leave <code>importedURIs</code>
+	 * unchanged.
+	 *
+	 * @since 0.15
+	 */
+	default StyleSheet parseStyleSheet(InputSource source, Collection<String> importedURIs) throws IOException {
+		return parseStyleSheet(source);
+	}
+
+	/*--------------- Binary style sheets -----------------*/
+
+	/**
+	 * Write the style sheet <code>styleSheet</code>, as returned by the parse
+	 * methods of this engine, in a compact binary form which
+	 * {@link #readStyleSheet(InputStream)} loads without parsing.
+	 *
+	 * @throws IOException
+	 *             if the style sheet cannot be written, e.g. because it
+	 *             contains rules the binary form does not support
+	 * @since 0.15
+	 */
+	default void writeStyleSheet(StyleSheet styleSheet, OutputStream stream) throws IOException {
+		throw new IOException("Binary style sheets are not supported"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Read a style sheet written by {@link #writeStyleSheet(StyleSheet, OutputStream)}
+	 * and add it to the style sheets of this engine, like the parse methods do.
+	 *
+	 * @throws IOException
+	 *             if the stream does not contain a style sheet in the binary
+	 *             form of this engine
+	 * @since 0.15
+	 */
+	default StyleSheet readStyleSheet(InputStream stream) throws IOException {
+		throw new IOException("Binary style sheets are not supported"); //$NON-NLS-1$
+	}
+
 	/*--------------- Parse style declaration -----------------*/
 
 	/**
@@ -146,6 +188,87 @@ public interface CSSEngine {
 	 */
 	void applyStyles(Object node, boolean applyStylesToChildNodes, boolean computeDefaultStyle);
 
+	/**
+	 * Notify that the CSS class of the Object node has been changed from
+	 * <code>oldClass</code> to <code>newClass</code>. Only the nodes whose
+	 * styles depend on the added or removed classes are restyled, possibly
+	 * later together with other changes (see {@link #applyPendingStyles()}).
+	 * The default implementation applies styles to the node and its child
+	 * nodes.
+	 *
+	 * @since 0.15
+	 */
+	default void classChanged(Object node, String oldClass, String newClass) {
+		applyStyles(node, true);
+	}
+
+	/**
+	 * Notify that the CSS id of the Object node has been changed from
+	 * <code>oldId</code> to <code>newId</code>. Only the nodes whose styles
+	 * depend on the old or new id are restyled, possibly later together with
+	 * other changes (see {@link #applyPendingStyles()}). The default
+	 * implementation applies styles to the node and its child nodes.
+	 *
+	 * @since 0.15
+	 */
+	default void idChanged(Object node, String oldId, String newId) {
+		applyStyles(node, true);
+	}
+
+	/**
+	 * Notify that the CSS class and the CSS id of the Object node have been
+	 * changed at the same time. Like {@link #classChanged(Object, String, String)}
+	 * followed by {@link #idChanged(Object, String, String)}, but the nodes are
+	 * restyled only once. The default implementation applies styles to the node
+	 * and its child nodes.
+	 *
+	 * @since 0.15
+	 */
+	default void classAndIdChanged(Object node, String oldClass, String newClass, String oldId, String newId) {
+		applyStyles(node, true);
+	}
+
+	/**
+	 * Notify that the attribute <code>attribute</code> of the Object node has
+	 * been changed. Only the nodes whose styles depend on the attribute are
+	 * restyled, possibly later together with other changes (see
+	 * {@link #applyPendingStyles()}). The default implementation applies styles
+	 * to the node.
+	 *
+	 * @since 0.15
+	 */
+	default void attributeChanged(Object node, String attribute) {
+		applyStyles(node, false);
+	}
+
+	/**
+	 * Notify that the Object node has entered or left the pseudo class
+	 * <code>pseudoClass</code> (ex : focus, hover). Only the nodes whose styles
+	 * depend on the pseudo class are restyled, possibly later together with
+	 * other changes (see {@link #applyPendingStyles()}). The default
+	 * implementation computes the default style of the node and applies styles
+	 * to it.
+	 *
+	 * @since 0.15
+	 */
+	default void pseudoClassChanged(Object node, String pseudoClass) {
+		applyStyles(node, false, true);
+	}
+
+	/**
+	 * Apply styles to the nodes which have been marked for restyling by
+	 * {@link #classChanged(Object, String, String)},
+	 * {@link #idChanged(Object, String, String)},
+	 * {@link #classAndIdChanged(Object, String, String, String, String)},
+	 * {@link #attributeChanged(Object, String)} or
+	 * {@link #pseudoClassChanged(Object, String)} and are not restyled yet.
+	 *
+	 * @since 0.15
+	 */
+	default void applyPendingStyles() {
+		// empty default implementation
+	}
+
 	/*--------------- Apply style declaration -----------------*/
 
 	/**
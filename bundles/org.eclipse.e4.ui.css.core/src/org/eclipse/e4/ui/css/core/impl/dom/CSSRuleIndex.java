@@ -0,0 +1,564 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl.ChangeScope;
+import org.eclipse.e4.ui.css.core.impl.sac.AbstractDescendantSelector;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAndConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAttributeConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * Index of the selectors of a list of style rules, used to find the selectors
+ * that can match an element without testing every selector.
+ * <p>
+ * Like in browser engines, every selector is put in a single bucket keyed by
+ * its rightmost compound selector: the id if it has one, otherwise a class,
+ * otherwise the element type, and the universal bucket if none of these are
+ * present. For an element, only the buckets of its id, classes and type and
+ * the universal bucket are candidates.
+ * </p>
+ * <p>
+ * Additionally, the ids, classes and types that descendant and child
+ * selectors require on ancestors are recorded, so that candidates can be
+ * rejected with a Bloom filter over the element's ancestors before running
+ * the full match.
+ * </p>
+ * <p>
+ * Finally, the index records for every id, class, attribute and pseudo class
+ * the selectors test which elements have to be restyled when it changes on an
+ * element: only the element itself if it is tested in the rightmost compound
+ * selector, its descendants if it is tested on ancestors, and the subtree of
+ * its parent if it is tested on siblings.
+ * </p>
+ */
+final class CSSRuleIndex {
+
+	private static final char ID_KEY = '#';
+
+	private static final char CLASS_KEY = '.';
+
+	private static final char TYPE_KEY = 't';
+
+	/**
+	 * A selector of a style rule.
+	 */
+	static final class Entry {
+		final CSSStyleRule rule;
+
+		final ExtendedSelector selector;
+
+		/**
+		 * Position of the selector among all selectors of the indexed rules
+		 */
+		final int order;
+
+		/**
+		 * Hashes of the keys required on ancestors, or <code>null</code> if
+		 * none
+		 */
+		final int[] ancestorKeys;
+
+		Entry(CSSStyleRule rule, ExtendedSelector selector, int order, int[] ancestorKeys) {
+			this.rule = rule;
+			this.selector = selector;
+			this.order = order;
+			this.ancestorKeys = ancestorKeys;
+		}
+	}
+
+	private final Map<String, List<Entry>> idRules = new HashMap<>();
+
+	private final Map<String, List<Entry>> classRules = new HashMap<>();
+
+	private final Map<String, List<Entry>> typeRules = new HashMap<>();
+
+	private final List<Entry> universalRules = new ArrayList<>();
+
+	/**
+	 * Whether the selectors only depend on the type, id and class of the
+	 * element and its ancestors, on the attributes in {@link #attributeNames}
+	 * and on the pseudo classes in {@link #pseudoClasses}, so that elements
+	 * which agree on all of them have the same computed style
+	 */
+	private boolean styleSharing = true;
+
+	private final Set<String> attributeNames = new LinkedHashSet<>();
+
+	private final Set<String> pseudoClasses = new LinkedHashSet<>();
+
+	private final Map<String, ChangeScope> classScopes = new HashMap<>();
+
+	private final Map<String, ChangeScope> idScopes = new HashMap<>();
+
+	private final Map<String, ChangeScope> attributeScopes = new HashMap<>();
+
+	/**
+	 * Pseudo classes are compared ignoring case, like the elements do
+	 */
+	private final Map<String, ChangeScope> pseudoClassScopes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+	/**
+	 * Scope of any change, for selectors and conditions whose dependencies are
+	 * not known
+	 */
+	private ChangeScope unknownScope = ChangeScope.NONE;
+
+	CSSRuleIndex(List<CSSRule> rules) {
+		int order = 0;
+		for (CSSRule rule : rules) {
+			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule))) {
+				continue;
+			}
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector) {
+					Entry entry = new Entry((CSSStyleRule) rule, (ExtendedSelector) selector, order++,
+							getAncestorKeys(selector));
+					add(entry, getSubjectSelector(selector));
+					collectDependencies(selector, ChangeScope.ELEMENT);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the selectors which can match the given element, in the order of
+	 * the rules.
+	 */
+	List<Entry> getCandidates(Element elt) {
+		List<Entry> candidates = new ArrayList<>(universalRules);
+		String id = getId(elt);
+		if (id != null && !id.isEmpty()) {
+			addAll(candidates, idRules.get(id));
+		}
+		if (!classRules.isEmpty()) {
+			List<String> classes = getClasses(elt);
+			for (String className : classes) {
+				addAll(candidates, classRules.get(className));
+			}
+		}
+		String type = getType(elt);
+		if (type != null) {
+			addAll(candidates, typeRules.get(type));
+		}
+		if (candidates.size() > universalRules.size()) {
+			candidates.sort((e1, e2) -> Integer.compare(e1.order, e2.order));
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return <code>true</code> if elements that agree on their type, id,
+	 *         class, {@link #getAttributeNames() attributes} and
+	 *         {@link #getPseudoClasses() pseudo classes}, and whose ancestors
+	 *         agree on them too, have the same computed style
+	 */
+	boolean isStyleSharingSupported() {
+		return styleSharing;
+	}
+
+	/**
+	 * @return the names of the attributes the selectors test, other than id
+	 *         and class
+	 */
+	Set<String> getAttributeNames() {
+		return attributeNames;
+	}
+
+	/**
+	 * @return the names of the pseudo classes the selectors test
+	 */
+	Set<String> getPseudoClasses() {
+		return pseudoClasses;
+	}
+
+	/**
+	 * @return the elements to restyle when the given class is added to or
+	 *         removed from an element
+	 */
+	ChangeScope getClassChangeScope(String className) {
+		return max(getScope(classScopes, className), getAttributeChangeScope("class")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the elements to restyle when an element gets or loses the given
+	 *         id
+	 */
+	ChangeScope getIdChangeScope(String id) {
+		return max(getScope(idScopes, id), getAttributeChangeScope("id")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the elements to restyle when the given attribute of an element
+	 *         changes
+	 */
+	ChangeScope getAttributeChangeScope(String name) {
+		return getScope(attributeScopes, name);
+	}
+
+	/**
+	 * @return the elements to restyle when an element enters or leaves the
+	 *         given pseudo class
+	 */
+	ChangeScope getPseudoClassChangeScope(String pseudoClass) {
+		return getScope(pseudoClassScopes, pseudoClass);
+	}
+
+	private ChangeScope getScope(Map<String, ChangeScope> scopes, String name) {
+		ChangeScope scope = name == null ? null : scopes.get(name);
+		return scope == null ? unknownScope : max(scope, unknownScope);
+	}
+
+	private static ChangeScope max(ChangeScope scope1, ChangeScope scope2) {
+		return scope1.compareTo(scope2) >= 0 ? scope1 : scope2;
+	}
+
+	private static void addScope(Map<String, ChangeScope> scopes, String name, ChangeScope scope) {
+		if (name != null) {
+			scopes.merge(name, scope, CSSRuleIndex::max);
+		}
+	}
+
+	/**
+	 * Collects what the given selector tests.
+	 *
+	 * @param scope
+	 *            the elements to restyle when something the selector tests on
+	 *            the element it matches changes
+	 */
+	private void collectDependencies(Selector selector, ChangeScope scope) {
+		if (selector instanceof ConditionalSelector) {
+			collectDependencies(((ConditionalSelector) selector).getSimpleSelector(), scope);
+			collectDependencies(((ConditionalSelector) selector).getCondition(), scope);
+		} else if (selector instanceof AbstractDescendantSelector) {
+			collectDependencies(((AbstractDescendantSelector) selector).getAncestorSelector(),
+					max(scope, ChangeScope.SUBTREE));
+			collectDependencies(((AbstractDescendantSelector) selector).getSimpleSelector(), scope);
+		} else if (selector instanceof SiblingSelector) {
+			// sibling selectors depend on the siblings of the element
+			styleSharing = false;
+			collectDependencies(((SiblingSelector) selector).getSelector(), ChangeScope.PARENT_SUBTREE);
+			collectDependencies(((SiblingSelector) selector).getSiblingSelector(), scope);
+		} else if (!(selector instanceof CSSElementSelectorImpl) && !(selector instanceof CSSPseudoElementSelectorImpl)) {
+			styleSharing = false;
+			unknownScope = ChangeScope.PARENT_SUBTREE;
+		}
+	}
+
+	private void collectDependencies(Condition condition, ChangeScope scope) {
+		if (condition instanceof CSSAndConditionImpl) {
+			collectDependencies(((CSSAndConditionImpl) condition).getFirstCondition(), scope);
+			collectDependencies(((CSSAndConditionImpl) condition).getSecondCondition(), scope);
+		} else if (condition instanceof CSSPseudoClassConditionImpl) {
+			String pseudoClass = ((CSSPseudoClassConditionImpl) condition).getValue();
+			pseudoClasses.add(pseudoClass);
+			addScope(pseudoClassScopes, pseudoClass, scope);
+		} else if (condition instanceof CSSClassConditionImpl) {
+			// ids and classes are part of every style key
+			addScope(classScopes, ((CSSClassConditionImpl) condition).getValue(), scope);
+		} else if (condition instanceof CSSIdConditionImpl) {
+			addScope(idScopes, ((CSSIdConditionImpl) condition).getValue(), scope);
+		} else if (condition instanceof CSSAttributeConditionImpl) {
+			String name = ((CSSAttributeConditionImpl) condition).getLocalName();
+			attributeNames.add(name);
+			addScope(attributeScopes, name, scope);
+		} else {
+			styleSharing = false;
+			unknownScope = max(unknownScope, scope);
+		}
+	}
+
+	private static void addAll(List<Entry> candidates, List<Entry> entries) {
+		if (entries != null) {
+			candidates.addAll(entries);
+		}
+	}
+
+	private void add(Entry entry, Selector subject) {
+		String id = findCondition(subject, ID_KEY);
+		if (id != null) {
+			idRules.computeIfAbsent(id, k -> new ArrayList<>()).add(entry);
+			return;
+		}
+		String className = findCondition(subject, CLASS_KEY);
+		if (className != null) {
+			classRules.computeIfAbsent(className, k -> new ArrayList<>()).add(entry);
+			return;
+		}
+		String type = getSelectorType(subject);
+		if (type != null) {
+			typeRules.computeIfAbsent(type, k -> new ArrayList<>()).add(entry);
+			return;
+		}
+		universalRules.add(entry);
+	}
+
+	/**
+	 * Returns the rightmost compound selector, which must match the element
+	 * itself.
+	 */
+	private static Selector getSubjectSelector(Selector selector) {
+		if (selector instanceof AbstractDescendantSelector) {
+			return getSubjectSelector(((AbstractDescendantSelector) selector).getSimpleSelector());
+		}
+		if (selector instanceof SiblingSelector) {
+			return getSubjectSelector(((SiblingSelector) selector).getSiblingSelector());
+		}
+		return selector;
+	}
+
+	/**
+	 * @return the value of the first id or class condition of the given
+	 *         compound selector, or <code>null</code>
+	 */
+	private static String findCondition(Selector selector, char kind) {
+		if (selector instanceof ConditionalSelector) {
+			return findCondition(((ConditionalSelector) selector).getCondition(), kind);
+		}
+		return null;
+	}
+
+	private static String findCondition(Condition condition, char kind) {
+		if (condition instanceof CSSAndConditionImpl) {
+			CSSAndConditionImpl and = (CSSAndConditionImpl) condition;
+			String value = findCondition(and.getFirstCondition(), kind);
+			return value != null ? value : findCondition(and.getSecondCondition(), kind);
+		}
+		String value = null;
+		if (kind == ID_KEY && condition instanceof CSSIdConditionImpl) {
+			value = ((CSSIdConditionImpl) condition).getValue();
+		} else if (kind == CLASS_KEY && condition instanceof CSSClassConditionImpl) {
+			value = ((CSSClassConditionImpl) condition).getValue();
+		}
+		return value == null || value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * @return the element type required by the given compound selector, or
+	 *         <code>null</code> if any type matches
+	 */
+	private static String getSelectorType(Selector selector) {
+		if (selector instanceof ConditionalSelector) {
+			return getSelectorType(((ConditionalSelector) selector).getSimpleSelector());
+		}
+		if (selector instanceof CSSElementSelectorImpl) {
+			return ((CSSElementSelectorImpl) selector).getLocalName();
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the keys that descendant and child selectors require on the
+	 * ancestors of the element.
+	 */
+	private static int[] getAncestorKeys(Selector selector) {
+		List<Integer> keys = new ArrayList<>();
+		Selector current = selector;
+		while (true) {
+			if (current instanceof SiblingSelector) {
+				current = ((SiblingSelector) current).getSiblingSelector();
+			} else if (current instanceof AbstractDescendantSelector) {
+				Selector ancestor = ((AbstractDescendantSelector) current).getAncestorSelector();
+				Selector compound = getSubjectSelector(ancestor);
+				addKeys(keys, compound);
+				// the ancestors of the ancestor are ancestors too, unless
+				// the ancestor is matched through a sibling
+				if (ancestor instanceof SiblingSelector) {
+					break;
+				}
+				current = ancestor;
+			} else {
+				break;
+			}
+		}
+		if (keys.isEmpty()) {
+			return null;
+		}
+		int[] result = new int[keys.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = keys.get(i);
+		}
+		return result;
+	}
+
+	private static void addKeys(List<Integer> keys, Selector compound) {
+		if (compound instanceof ConditionalSelector) {
+			addConditionKeys(keys, ((ConditionalSelector) compound).getCondition());
+		}
+		String type = getSelectorType(compound);
+		if (type != null) {
+			keys.add(hash(TYPE_KEY, type));
+		}
+	}
+
+	private static void addConditionKeys(List<Integer> keys, Condition condition) {
+		if (condition instanceof CSSAndConditionImpl) {
+			addConditionKeys(keys, ((CSSAndConditionImpl) condition).getFirstCondition());
+			addConditionKeys(keys, ((CSSAndConditionImpl) condition).getSecondCondition());
+			return;
+		}
+		String id = findCondition(condition, ID_KEY);
+		if (id != null) {
+			keys.add(hash(ID_KEY, id));
+		}
+		String className = findCondition(condition, CLASS_KEY);
+		if (className != null) {
+			keys.add(hash(CLASS_KEY, className));
+		}
+	}
+
+	private static int hash(char kind, String value) {
+		return 31 * kind + value.hashCode();
+	}
+
+	static String getId(Element elt) {
+		return elt instanceof CSSStylableElement ? ((CSSStylableElement) elt).getCSSId() : elt.getAttribute("id"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Splits the class attribute like {@link CSSClassConditionImpl} does, and
+	 * removes duplicates.
+	 */
+	static List<String> getClasses(Element elt) {
+		return getClasses(elt instanceof CSSStylableElement ? ((CSSStylableElement) elt).getCSSClass()
+				: elt.getAttribute("class")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Splits the given value of a class attribute.
+	 */
+	static List<String> getClasses(String attr) {
+		if (attr == null || attr.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> classes = new ArrayList<>(2);
+		int length = attr.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			if (i == length || Character.isSpaceChar(attr.charAt(i))) {
+				if (start != -1) {
+					String className = attr.substring(start, i);
+					if (!classes.contains(className)) {
+						classes.add(className);
+					}
+					start = -1;
+				}
+			} else if (start == -1) {
+				start = i;
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Returns the type name the way {@link CSSElementSelectorImpl} matches it.
+	 */
+	static String getType(Element elt) {
+		return elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+	}
+
+	/**
+	 * Bloom filter over the ids, classes and types of the ancestors of an
+	 * element. It can answer that an ancestor key is certainly missing, but not
+	 * that it is present.
+	 */
+	static final class AncestorFilter {
+
+		private static final int BITS = 512;
+
+		private final long[] bits = new long[BITS / 64];
+
+		AncestorFilter(Node[] ancestors) {
+			if (ancestors == null) {
+				return;
+			}
+			for (Node node : ancestors) {
+				if (node == null || node.getNodeType() != Node.ELEMENT_NODE) {
+					continue;
+				}
+				Element ancestor = (Element) node;
+				String id = getId(ancestor);
+				if (id != null && !id.isEmpty()) {
+					add(hash(ID_KEY, id));
+				}
+				for (String className : getClasses(ancestor)) {
+					add(hash(CLASS_KEY, className));
+				}
+				String type = getType(ancestor);
+				if (type != null) {
+					add(hash(TYPE_KEY, type));
+				}
+			}
+		}
+
+		/**
+		 * @return <code>false</code> if one of the given keys is certainly not
+		 *         present on any ancestor
+		 */
+		boolean mightContainAll(int[] keys) {
+			for (int key : keys) {
+				if (!contains(key)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void add(int key) {
+			int mixed = key * 0x9E3779B9;
+			set(mixed & (BITS - 1));
+			set((mixed >>> 16) & (BITS - 1));
+		}
+
+		private boolean contains(int key) {
+			int mixed = key * 0x9E3779B9;
+			return isSet(mixed & (BITS - 1)) && isSet((mixed >>> 16) & (BITS - 1));
+		}
+
+		private void set(int bit) {
+			bits[bit >>> 6] |= 1L << bit;
+		}
+
+		private boolean isSet(int bit) {
+			return (bits[bit >>> 6] & (1L << bit)) != 0;
+		}
+	}
+}
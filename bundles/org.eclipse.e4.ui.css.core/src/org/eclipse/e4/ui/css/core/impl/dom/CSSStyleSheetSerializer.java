@@ -0,0 +1,601 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.e4.ui.css.core.dom.CSSProperty;
+import org.eclipse.e4.ui.css.core.dom.CSSPropertyList;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionFactory;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.LangCondition;
+import org.w3c.css.sac.LexicalUnit;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorFactory;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.css.sac.SimpleSelector;
+import org.w3c.dom.css.CSSPrimitiveValue;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.CSSValue;
+
+/**
+ * Writes parsed style sheets in a compact binary form and reads them back
+ * without parsing.
+ * <p>
+ * Selectors are written as trees of SAC selectors and conditions, which are
+ * recreated with the factories of the parser. Property values are written as
+ * the lexical units they were created from, so that reading them goes through
+ * {@link CSSValueFactory} like parsing does. Style sheets with other rules than
+ * style rules, or with values or selectors not created by the default
+ * factories, cannot be written.
+ * </p>
+ */
+public class CSSStyleSheetSerializer {
+
+	/**
+	 * Identifies the binary form, must be changed whenever the form changes
+	 */
+	private static final int FORMAT = 0x43535301;
+
+	private final SelectorFactory selectorFactory;
+
+	private final ConditionFactory conditionFactory;
+
+	/**
+	 * @param selectorFactory
+	 *            the factory to recreate selectors with
+	 * @param conditionFactory
+	 *            the factory to recreate conditions with
+	 */
+	public CSSStyleSheetSerializer(SelectorFactory selectorFactory, ConditionFactory conditionFactory) {
+		this.selectorFactory = selectorFactory;
+		this.conditionFactory = conditionFactory;
+	}
+
+	/**
+	 * Write the rules of the given style sheet.
+	 *
+	 * @throws IOException
+	 *             if the style sheet contains rules, selectors or values
+	 *             which cannot be written
+	 */
+	public void write(CSSStyleSheet styleSheet, DataOutput out) throws IOException {
+		CSSRuleList rules = styleSheet.getCssRules();
+		out.writeInt(FORMAT);
+		out.writeInt(rules.getLength());
+		for (int i = 0; i < rules.getLength(); i++) {
+			CSSRule rule = rules.item(i);
+			if (!(rule instanceof CSSStyleRuleImpl)) {
+				throw unsupported("rule", rule.getCssText()); //$NON-NLS-1$
+			}
+			writeStyleRule((CSSStyleRuleImpl) rule, out);
+		}
+	}
+
+	/**
+	 * Read a style sheet written by {@link #write(CSSStyleSheet, DataOutput)}.
+	 *
+	 * @throws IOException
+	 *             if the input is not a style sheet in the binary form
+	 */
+	public CSSStyleSheet read(DataInput in) throws IOException {
+		if (in.readInt() != FORMAT) {
+			throw new IOException("Unknown binary style sheet format"); //$NON-NLS-1$
+		}
+		CSSStyleSheetImpl styleSheet = new CSSStyleSheetImpl();
+		CSSRuleListImpl rules = new CSSRuleListImpl();
+		int length = in.readInt();
+		for (int i = 0; i < length; i++) {
+			rules.add(readStyleRule(styleSheet, in));
+		}
+		styleSheet.setRuleList(rules);
+		return styleSheet;
+	}
+
+	private void writeStyleRule(CSSStyleRuleImpl rule, DataOutput out) throws IOException {
+		SelectorList selectors = rule.getSelectorList();
+		out.writeInt(selectors.getLength());
+		for (int i = 0; i < selectors.getLength(); i++) {
+			writeSelector(selectors.item(i), out);
+		}
+		if (!(rule.getStyle() instanceof CSSStyleDeclarationImpl)) {
+			throw unsupported("style", rule.getCssText()); //$NON-NLS-1$
+		}
+		CSSPropertyList properties = ((CSSStyleDeclarationImpl) rule.getStyle()).getCSSPropertyList();
+		out.writeInt(properties.getLength());
+		for (int i = 0; i < properties.getLength(); i++) {
+			CSSProperty property = properties.item(i);
+			out.writeUTF(property.getName());
+			out.writeBoolean(property.isImportant());
+			writeValue(property.getValue(), out);
+		}
+	}
+
+	private CSSStyleRuleImpl readStyleRule(CSSStyleSheet styleSheet, DataInput in) throws IOException {
+		int length = in.readInt();
+		List<Selector> selectors = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			selectors.add(readSelector(in));
+		}
+		CSSStyleRuleImpl rule = new CSSStyleRuleImpl(styleSheet, null, new SelectorListImpl(selectors));
+		CSSStyleDeclarationImpl style = new CSSStyleDeclarationImpl(rule);
+		length = in.readInt();
+		for (int i = 0; i < length; i++) {
+			String name = in.readUTF();
+			boolean important = in.readBoolean();
+			style.addProperty(new CSSPropertyImpl(name, CSSValueFactory.newValue(readLexicalUnits(in)), important));
+		}
+		rule.setStyle(style);
+		return rule;
+	}
+
+	/*--------------- Selectors -----------------*/
+
+	private void writeSelector(Selector selector, DataOutput out) throws IOException {
+		short type = selector.getSelectorType();
+		out.writeShort(type);
+		switch (type) {
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			ElementSelector elementSelector = (ElementSelector) selector;
+			writeString(elementSelector.getNamespaceURI(), out);
+			writeString(elementSelector.getLocalName(), out);
+			break;
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			ConditionalSelector conditionalSelector = (ConditionalSelector) selector;
+			writeSelector(conditionalSelector.getSimpleSelector(), out);
+			writeCondition(conditionalSelector.getCondition(), out);
+			break;
+		case Selector.SAC_DESCENDANT_SELECTOR:
+		case Selector.SAC_CHILD_SELECTOR:
+			DescendantSelector descendantSelector = (DescendantSelector) selector;
+			writeSelector(descendantSelector.getAncestorSelector(), out);
+			writeSelector(descendantSelector.getSimpleSelector(), out);
+			break;
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			SiblingSelector siblingSelector = (SiblingSelector) selector;
+			out.writeShort(siblingSelector.getNodeType());
+			writeSelector(siblingSelector.getSelector(), out);
+			writeSelector(siblingSelector.getSiblingSelector(), out);
+			break;
+		default:
+			throw unsupported("selector", selector.toString()); //$NON-NLS-1$
+		}
+	}
+
+	private Selector readSelector(DataInput in) throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+			return selectorFactory.createElementSelector(readString(in), readString(in));
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			return selectorFactory.createPseudoElementSelector(readString(in), readString(in));
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			return selectorFactory.createConditionalSelector(readSimpleSelector(in), readCondition(in));
+		case Selector.SAC_DESCENDANT_SELECTOR:
+			return selectorFactory.createDescendantSelector(readSelector(in), readSimpleSelector(in));
+		case Selector.SAC_CHILD_SELECTOR:
+			return selectorFactory.createChildSelector(readSelector(in), readSimpleSelector(in));
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			short nodeType = in.readShort();
+			return selectorFactory.createDirectAdjacentSelector(nodeType, readSelector(in), readSimpleSelector(in));
+		default:
+			throw new IOException("Unknown selector type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private SimpleSelector readSimpleSelector(DataInput in) throws IOException {
+		Selector selector = readSelector(in);
+		if (!(selector instanceof SimpleSelector)) {
+			throw new IOException("Simple selector expected"); //$NON-NLS-1$
+		}
+		return (SimpleSelector) selector;
+	}
+
+	private void writeCondition(Condition condition, DataOutput out) throws IOException {
+		short type = condition.getConditionType();
+		out.writeShort(type);
+		switch (type) {
+		case Condition.SAC_AND_CONDITION:
+			CombinatorCondition combinatorCondition = (CombinatorCondition) condition;
+			writeCondition(combinatorCondition.getFirstCondition(), out);
+			writeCondition(combinatorCondition.getSecondCondition(), out);
+			break;
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			AttributeCondition attributeCondition = (AttributeCondition) condition;
+			writeString(attributeCondition.getLocalName(), out);
+			writeString(attributeCondition.getNamespaceURI(), out);
+			out.writeBoolean(attributeCondition.getSpecified());
+			writeString(attributeCondition.getValue(), out);
+			break;
+		case Condition.SAC_ID_CONDITION:
+			writeString(((AttributeCondition) condition).getValue(), out);
+			break;
+		case Condition.SAC_CLASS_CONDITION:
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			AttributeCondition classCondition = (AttributeCondition) condition;
+			writeString(classCondition.getNamespaceURI(), out);
+			writeString(classCondition.getValue(), out);
+			break;
+		case Condition.SAC_LANG_CONDITION:
+			writeString(((LangCondition) condition).getLang(), out);
+			break;
+		default:
+			throw unsupported("condition", condition.toString()); //$NON-NLS-1$
+		}
+	}
+
+	private Condition readCondition(DataInput in) throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Condition.SAC_AND_CONDITION:
+			return conditionFactory.createAndCondition(readCondition(in), readCondition(in));
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+			return conditionFactory.createAttributeCondition(readString(in), readString(in), in.readBoolean(),
+					readString(in));
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+			return conditionFactory.createOneOfAttributeCondition(readString(in), readString(in), in.readBoolean(),
+					readString(in));
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			return conditionFactory.createBeginHyphenAttributeCondition(readString(in), readString(in),
+					in.readBoolean(), readString(in));
+		case Condition.SAC_ID_CONDITION:
+			return conditionFactory.createIdCondition(readString(in));
+		case Condition.SAC_CLASS_CONDITION:
+			return conditionFactory.createClassCondition(readString(in), readString(in));
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			return conditionFactory.createPseudoClassCondition(readString(in), readString(in));
+		case Condition.SAC_LANG_CONDITION:
+			return conditionFactory.createLangCondition(readString(in));
+		default:
+			throw new IOException("Unknown condition type " + type); //$NON-NLS-1$
+		}
+	}
+
+	/*--------------- Values -----------------*/
+
+	private void writeValue(CSSValue value, DataOutput out) throws IOException {
+		if (value instanceof CSSValueListImpl) {
+			CSSValueListImpl list = (CSSValueListImpl) value;
+			out.writeInt(list.getLength());
+			for (int i = 0; i < list.getLength(); i++) {
+				writePrimitiveValue(list.item(i), out);
+			}
+		} else {
+			out.writeInt(1);
+			writePrimitiveValue(value, out);
+		}
+	}
+
+	private void writePrimitiveValue(CSSValue value, DataOutput out) throws IOException {
+		if (value instanceof Measure) {
+			writeLexicalUnit(((Measure) value).value, out);
+		} else if (value instanceof RGBColorImpl) {
+			RGBColorImpl color = (RGBColorImpl) value;
+			out.writeShort(LexicalUnit.SAC_RGBCOLOR);
+			out.writeInt(5);
+			writeComponent(color.getRed(), out);
+			out.writeShort(LexicalUnit.SAC_OPERATOR_COMMA);
+			writeComponent(color.getGreen(), out);
+			out.writeShort(LexicalUnit.SAC_OPERATOR_COMMA);
+			writeComponent(color.getBlue(), out);
+		} else {
+			throw unsupported("value", value.getCssText()); //$NON-NLS-1$
+		}
+	}
+
+	private void writeComponent(CSSPrimitiveValue value, DataOutput out) throws IOException {
+		if (!(value instanceof Measure)) {
+			throw unsupported("color component", value.getCssText()); //$NON-NLS-1$
+		}
+		writeLexicalUnit(((Measure) value).value, out);
+	}
+
+	/**
+	 * Write the given unit without the units following it.
+	 */
+	private void writeLexicalUnit(LexicalUnit unit, DataOutput out) throws IOException {
+		short type = unit.getLexicalUnitType();
+		out.writeShort(type);
+		switch (type) {
+		case LexicalUnit.SAC_INTEGER:
+			out.writeInt(unit.getIntegerValue());
+			break;
+		case LexicalUnit.SAC_REAL:
+			out.writeFloat(unit.getFloatValue());
+			break;
+		case LexicalUnit.SAC_EM:
+		case LexicalUnit.SAC_EX:
+		case LexicalUnit.SAC_PIXEL:
+		case LexicalUnit.SAC_INCH:
+		case LexicalUnit.SAC_CENTIMETER:
+		case LexicalUnit.SAC_MILLIMETER:
+		case LexicalUnit.SAC_POINT:
+		case LexicalUnit.SAC_PICA:
+		case LexicalUnit.SAC_PERCENTAGE:
+		case LexicalUnit.SAC_DEGREE:
+		case LexicalUnit.SAC_GRADIAN:
+		case LexicalUnit.SAC_RADIAN:
+		case LexicalUnit.SAC_MILLISECOND:
+		case LexicalUnit.SAC_SECOND:
+		case LexicalUnit.SAC_HERTZ:
+		case LexicalUnit.SAC_KILOHERTZ:
+		case LexicalUnit.SAC_DIMENSION:
+			out.writeFloat(unit.getFloatValue());
+			writeString(unit.getDimensionUnitText(), out);
+			break;
+		case LexicalUnit.SAC_IDENT:
+		case LexicalUnit.SAC_STRING_VALUE:
+		case LexicalUnit.SAC_URI:
+		case LexicalUnit.SAC_ATTR:
+		case LexicalUnit.SAC_UNICODERANGE:
+			writeString(unit.getStringValue(), out);
+			break;
+		case LexicalUnit.SAC_FUNCTION:
+			writeString(unit.getFunctionName(), out);
+			writeLexicalUnits(unit.getParameters(), out);
+			break;
+		case LexicalUnit.SAC_RGBCOLOR:
+		case LexicalUnit.SAC_RECT_FUNCTION:
+		case LexicalUnit.SAC_COUNTER_FUNCTION:
+		case LexicalUnit.SAC_COUNTERS_FUNCTION:
+			// the name of predefined functions is implied by the type
+			writeLexicalUnits(unit.getParameters(), out);
+			break;
+		case LexicalUnit.SAC_SUB_EXPRESSION:
+			writeLexicalUnits(unit.getSubValues(), out);
+			break;
+		case LexicalUnit.SAC_INHERIT:
+			break;
+		default:
+			if (type < LexicalUnit.SAC_OPERATOR_COMMA || type > LexicalUnit.SAC_OPERATOR_TILDE) {
+				throw unsupported("lexical unit type", String.valueOf(type)); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void writeLexicalUnits(LexicalUnit first, DataOutput out) throws IOException {
+		int length = 0;
+		for (LexicalUnit unit = first; unit != null; unit = unit.getNextLexicalUnit()) {
+			length++;
+		}
+		out.writeInt(length);
+		for (LexicalUnit unit = first; unit != null; unit = unit.getNextLexicalUnit()) {
+			writeLexicalUnit(unit, out);
+		}
+	}
+
+	/**
+	 * @return the first of the read units, or <code>null</code> if there are
+	 *         none
+	 */
+	private LexicalUnitImpl readLexicalUnits(DataInput in) throws IOException {
+		int length = in.readInt();
+		LexicalUnitImpl first = null;
+		LexicalUnitImpl last = null;
+		for (int i = 0; i < length; i++) {
+			LexicalUnitImpl unit = readLexicalUnit(in, in.readShort());
+			if (last == null) {
+				first = unit;
+			} else {
+				last.next = unit;
+				unit.previous = last;
+			}
+			last = unit;
+		}
+		return first;
+	}
+
+	private LexicalUnitImpl readLexicalUnit(DataInput in, short type) throws IOException {
+		LexicalUnitImpl unit = new LexicalUnitImpl(type);
+		switch (type) {
+		case LexicalUnit.SAC_INTEGER:
+			unit.integerValue = in.readInt();
+			break;
+		case LexicalUnit.SAC_REAL:
+			unit.floatValue = in.readFloat();
+			break;
+		case LexicalUnit.SAC_EM:
+		case LexicalUnit.SAC_EX:
+		case LexicalUnit.SAC_PIXEL:
+		case LexicalUnit.SAC_INCH:
+		case LexicalUnit.SAC_CENTIMETER:
+		case LexicalUnit.SAC_MILLIMETER:
+		case LexicalUnit.SAC_POINT:
+		case LexicalUnit.SAC_PICA:
+		case LexicalUnit.SAC_PERCENTAGE:
+		case LexicalUnit.SAC_DEGREE:
+		case LexicalUnit.SAC_GRADIAN:
+		case LexicalUnit.SAC_RADIAN:
+		case LexicalUnit.SAC_MILLISECOND:
+		case LexicalUnit.SAC_SECOND:
+		case LexicalUnit.SAC_HERTZ:
+		case LexicalUnit.SAC_KILOHERTZ:
+		case LexicalUnit.SAC_DIMENSION:
+			unit.floatValue = in.readFloat();
+			unit.stringValue = readString(in);
+			break;
+		case LexicalUnit.SAC_IDENT:
+		case LexicalUnit.SAC_STRING_VALUE:
+		case LexicalUnit.SAC_URI:
+		case LexicalUnit.SAC_ATTR:
+		case LexicalUnit.SAC_UNICODERANGE:
+			unit.stringValue = readString(in);
+			break;
+		case LexicalUnit.SAC_FUNCTION:
+			unit.stringValue = readString(in);
+			unit.parameters = readLexicalUnits(in);
+			break;
+		case LexicalUnit.SAC_RGBCOLOR:
+			unit.stringValue = "rgb"; //$NON-NLS-1$
+			unit.parameters = readLexicalUnits(in);
+			break;
+		case LexicalUnit.SAC_RECT_FUNCTION:
+			unit.stringValue = "rect"; //$NON-NLS-1$
+			unit.parameters = readLexicalUnits(in);
+			break;
+		case LexicalUnit.SAC_COUNTER_FUNCTION:
+			unit.stringValue = "counter"; //$NON-NLS-1$
+			unit.parameters = readLexicalUnits(in);
+			break;
+		case LexicalUnit.SAC_COUNTERS_FUNCTION:
+			unit.stringValue = "counters"; //$NON-NLS-1$
+			unit.parameters = readLexicalUnits(in);
+			break;
+		case LexicalUnit.SAC_SUB_EXPRESSION:
+			unit.parameters = readLexicalUnits(in);
+			break;
+		case LexicalUnit.SAC_INHERIT:
+			break;
+		default:
+			if (type < LexicalUnit.SAC_OPERATOR_COMMA || type > LexicalUnit.SAC_OPERATOR_TILDE) {
+				throw new IOException("Unknown lexical unit type " + type); //$NON-NLS-1$
+			}
+		}
+		return unit;
+	}
+
+	/*--------------- Strings -----------------*/
+
+	private static void writeString(String value, DataOutput out) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static IOException unsupported(String kind, String text) {
+		return new IOException("Cannot write " + kind + " " + text); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Selector list of a read style rule.
+	 */
+	private static final class SelectorListImpl implements SelectorList {
+
+		private final List<Selector> selectors;
+
+		SelectorListImpl(List<Selector> selectors) {
+			this.selectors = selectors;
+		}
+
+		@Override
+		public int getLength() {
+			return selectors.size();
+		}
+
+		@Override
+		public Selector item(int index) {
+			return index < 0 || index >= selectors.size() ? null : selectors.get(index);
+		}
+	}
+
+	/**
+	 * Lexical unit of a read property value.
+	 */
+	private static final class LexicalUnitImpl implements LexicalUnit {
+
+		private final short type;
+
+		private int integerValue;
+
+		private float floatValue;
+
+		/**
+		 * The string value, dimension unit text or function name, depending on
+		 * the type
+		 */
+		private String stringValue;
+
+		/**
+		 * The function parameters or sub values, depending on the type
+		 */
+		private LexicalUnitImpl parameters;
+
+		private LexicalUnitImpl next;
+
+		private LexicalUnitImpl previous;
+
+		LexicalUnitImpl(short type) {
+			this.type = type;
+		}
+
+		@Override
+		public short getLexicalUnitType() {
+			return type;
+		}
+
+		@Override
+		public LexicalUnit getNextLexicalUnit() {
+			return next;
+		}
+
+		@Override
+		public LexicalUnit getPreviousLexicalUnit() {
+			return previous;
+		}
+
+		@Override
+		public int getIntegerValue() {
+			return integerValue;
+		}
+
+		@Override
+		public float getFloatValue() {
+			return floatValue;
+		}
+
+		@Override
+		public String getDimensionUnitText() {
+			return stringValue;
+		}
+
+		@Override
+		public String getFunctionName() {
+			return stringValue;
+		}
+
+		@Override
+		public LexicalUnit getParameters() {
+			return parameters;
+		}
+
+		@Override
+		public String getStringValue() {
+			return stringValue;
+		}
+
+		@Override
+		public LexicalUnit getSubValues() {
+			return parameters;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSStyleDeclaration;
+
+/**
+ * Cache of computed styles shared between elements with the same style
+ * signature.
+ * <p>
+ * The signature of an element consists of its type, namespace, id and class,
+ * the values of the attributes and the states of the pseudo classes the
+ * selectors test, and the signature of its parent. Elements with equal
+ * signatures are matched by the same selectors, so sibling items like table
+ * or tool items usually share a single computed style.
+ * </p>
+ * <p>
+ * While styles are applied to a tree of elements, the signatures of the
+ * parents are remembered, so that the signature of an element only costs
+ * the evaluation of the element itself.
+ * </p>
+ */
+final class ComputedStyleCache {
+
+	/**
+	 * Maximum number of computed styles kept
+	 */
+	private static final int MAX_SIZE = 1024;
+
+	/**
+	 * Placeholder for elements without style
+	 */
+	private static final Object NO_STYLE = new Object();
+
+	private final String[] attributeNames;
+
+	private final String[] pseudoClasses;
+
+	private final Map<StyleKey, Object> styles = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<StyleKey, Object> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * The signatures of the nodes styled in the current styling pass, or
+	 * <code>null</code> outside of a pass
+	 */
+	private Map<Node, StyleKey> passKeys;
+
+	private int passDepth;
+
+	/**
+	 * @return a cache for the given index, or <code>null</code> if the
+	 *         selectors of the index depend on more than the signature, e.g.
+	 *         on siblings
+	 */
+	static ComputedStyleCache create(CSSRuleIndex index) {
+		// two bits per pseudo class must fit into a long
+		if (!index.isStyleSharingSupported() || index.getPseudoClasses().size() > Long.SIZE / 2) {
+			return null;
+		}
+		return new ComputedStyleCache(index);
+	}
+
+	private ComputedStyleCache(CSSRuleIndex index) {
+		this.attributeNames = index.getAttributeNames().toArray(new String[0]);
+		this.pseudoClasses = index.getPseudoClasses().toArray(new String[0]);
+	}
+
+	/**
+	 * Starts a styling pass, during which the states of elements are assumed
+	 * not to change. Passes can be nested.
+	 */
+	void beginPass() {
+		if (passDepth++ == 0) {
+			passKeys = new IdentityHashMap<>();
+		}
+	}
+
+	/**
+	 * Ends a styling pass.
+	 */
+	void endPass() {
+		if (passDepth > 0 && --passDepth == 0) {
+			passKeys = null;
+		}
+	}
+
+	/**
+	 * @return the key of the given element and pseudo element
+	 */
+	StyleKey getKey(Element elt, String pseudoElt) {
+		return new StyleKey(getElementParts(elt, pseudoElt), getNodeKey(elt.getParentNode()));
+	}
+
+	/**
+	 * @return <code>true</code> if a style has been computed for the given key
+	 */
+	boolean contains(StyleKey key) {
+		return styles.containsKey(key);
+	}
+
+	/**
+	 * @return the style computed for the given key, may be <code>null</code>
+	 */
+	CSSStyleDeclaration get(StyleKey key) {
+		Object style = styles.get(key);
+		return style == NO_STYLE ? null : (CSSStyleDeclaration) style;
+	}
+
+	void put(StyleKey key, CSSStyleDeclaration style) {
+		styles.put(key, style == null ? NO_STYLE : style);
+	}
+
+	private StyleKey getNodeKey(Node node) {
+		if (node == null) {
+			return null;
+		}
+		if (passKeys != null) {
+			StyleKey key = passKeys.get(node);
+			if (key == null) {
+				key = createNodeKey(node);
+				passKeys.put(node, key);
+			}
+			return key;
+		}
+		return createNodeKey(node);
+	}
+
+	private StyleKey createNodeKey(Node node) {
+		Object[] parts;
+		if (node.getNodeType() == Node.ELEMENT_NODE) {
+			parts = getElementParts((Element) node, null);
+		} else {
+			parts = new Object[] { Short.valueOf(node.getNodeType()) };
+		}
+		return new StyleKey(parts, getNodeKey(node.getParentNode()));
+	}
+
+	private Object[] getElementParts(Element elt, String pseudoElt) {
+		Object[] parts = new Object[6 + attributeNames.length];
+		parts[0] = CSSRuleIndex.getType(elt);
+		parts[1] = elt.getNamespaceURI();
+		if (elt instanceof CSSStylableElement) {
+			CSSStylableElement stylableElement = (CSSStylableElement) elt;
+			parts[2] = stylableElement.getCSSId();
+			parts[3] = stylableElement.getCSSClass();
+			long pseudoStates = 0;
+			for (int i = 0; i < pseudoClasses.length; i++) {
+				if (stylableElement.isPseudoInstanceOf(pseudoClasses[i])) {
+					pseudoStates |= 1L << (2 * i);
+					if (stylableElement.isStaticPseudoInstance(pseudoClasses[i])) {
+						pseudoStates |= 1L << (2 * i + 1);
+					}
+				}
+			}
+			parts[4] = Long.valueOf(pseudoStates);
+		} else {
+			parts[2] = elt.getAttribute("id"); //$NON-NLS-1$
+			parts[3] = elt.getAttribute("class"); //$NON-NLS-1$
+		}
+		parts[5] = pseudoElt;
+		for (int i = 0; i < attributeNames.length; i++) {
+			String name = attributeNames[i];
+			parts[6 + i] = elt.hasAttribute(name) ? elt.getAttribute(name) : null;
+		}
+		return parts;
+	}
+
+	/**
+	 * Style signature of a node and its ancestors.
+	 */
+	static final class StyleKey {
+
+		private final Object[] parts;
+
+		private final StyleKey parent;
+
+		private final int hash;
+
+		StyleKey(Object[] parts, StyleKey parent) {
+			this.parts = parts;
+			this.parent = parent;
+			this.hash = 31 * Arrays.hashCode(parts) + Objects.hashCode(parent);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof StyleKey)) {
+				return false;
+			}
+			StyleKey other = (StyleKey) obj;
+			return hash == other.hash && Arrays.equals(parts, other.parts) && Objects.equals(parent, other.parent);
+		}
+	}
+}
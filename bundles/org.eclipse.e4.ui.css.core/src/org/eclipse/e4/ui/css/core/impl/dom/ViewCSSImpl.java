@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 Angelo Zerr and others.
+ * Copyright (c) 2008, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ package org.eclipse.e4.ui.css.core.impl.dom;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
@@ -43,10 +44,32 @@ import org.w3c.dom.views.DocumentView;
  */
 public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChangeListener {
 
+	/**
+	 * The elements whose computed styles can change when the id, class,
+	 * attributes or pseudo classes of an element change, from the smallest to
+	 * the largest set.
+	 */
+	public enum ChangeScope {
+		/** No element */
+		NONE,
+		/** The element itself */
+		ELEMENT,
+		/** The element and its descendants */
+		SUBTREE,
+		/** The parent of the element and all its descendants */
+		PARENT_SUBTREE
+	}
+
 	protected DocumentCSS documentCSS;
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Index of the selectors of {@link #currentCombinedRules} */
+	private CSSRuleIndex currentRuleIndex;
+	/** Computed styles shared between elements, <code>null</code> if not supported */
+	private ComputedStyleCache currentStyleCache;
+	/** Number of nested styling passes */
+	private int stylingPassDepth;
 
 	/**
 	 * Creates a new ViewCSS.
@@ -73,9 +96,140 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
+		if (this.ruleCachingEnabled) {
+			CSSRuleIndex index = getRuleIndex();
+			if (currentStyleCache == null) {
+				return getComputedStyle(index, elt, pseudoElt);
+			}
+			ComputedStyleCache.StyleKey key = currentStyleCache.getKey(elt, pseudoElt);
+			if (currentStyleCache.contains(key)) {
+				return currentStyleCache.get(key);
+			}
+			CSSStyleDeclaration style = getComputedStyle(index, elt, pseudoElt);
+			currentStyleCache.put(key, style);
+			return style;
+		}
 		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
 	}
 
+	/**
+	 * Starts a styling pass. Until the matching call of
+	 * {@link #endStylingPass()}, the type, id, class, attributes and pseudo
+	 * classes of the elements whose styles are computed are assumed not to
+	 * change, which allows to reuse the style signatures of their ancestors.
+	 * Passes can be nested.
+	 */
+	public void beginStylingPass() {
+		stylingPassDepth++;
+		if (currentStyleCache != null) {
+			currentStyleCache.beginPass();
+		}
+	}
+
+	/**
+	 * Ends a styling pass started with {@link #beginStylingPass()}.
+	 */
+	public void endStylingPass() {
+		if (stylingPassDepth > 0) {
+			stylingPassDepth--;
+			if (currentStyleCache != null) {
+				currentStyleCache.endPass();
+			}
+		}
+	}
+
+	/**
+	 * Returns the elements whose styles can change when the CSS class of an
+	 * element changes from <code>oldClass</code> to <code>newClass</code>.
+	 * Only the classes that are added or removed are taken into account.
+	 */
+	public ChangeScope getClassChangeScope(String oldClass, String newClass) {
+		if (Objects.equals(oldClass, newClass)) {
+			return ChangeScope.NONE;
+		}
+		CSSRuleIndex index = getChangeIndex();
+		List<String> oldClasses = CSSRuleIndex.getClasses(oldClass);
+		List<String> newClasses = CSSRuleIndex.getClasses(newClass);
+		ChangeScope scope = ChangeScope.NONE;
+		for (String className : oldClasses) {
+			if (!newClasses.contains(className)) {
+				scope = max(scope, index.getClassChangeScope(className));
+			}
+		}
+		for (String className : newClasses) {
+			if (!oldClasses.contains(className)) {
+				scope = max(scope, index.getClassChangeScope(className));
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Returns the elements whose styles can change when the CSS id of an
+	 * element changes from <code>oldId</code> to <code>newId</code>.
+	 */
+	public ChangeScope getIdChangeScope(String oldId, String newId) {
+		if (Objects.equals(oldId, newId)) {
+			return ChangeScope.NONE;
+		}
+		CSSRuleIndex index = getChangeIndex();
+		return max(index.getIdChangeScope(oldId), index.getIdChangeScope(newId));
+	}
+
+	/**
+	 * Returns the elements whose styles can change when the CSS class and the
+	 * CSS id of an element change at the same time.
+	 */
+	public ChangeScope getClassAndIdChangeScope(String oldClass, String newClass, String oldId, String newId) {
+		return max(getClassChangeScope(oldClass, newClass), getIdChangeScope(oldId, newId));
+	}
+
+	/**
+	 * Returns the elements whose styles can change when the given attribute of
+	 * an element changes.
+	 */
+	public ChangeScope getAttributeChangeScope(String attribute) {
+		return getChangeIndex().getAttributeChangeScope(attribute);
+	}
+
+	/**
+	 * Returns the elements whose styles can change when an element enters or
+	 * leaves the given pseudo class.
+	 */
+	public ChangeScope getPseudoClassChangeScope(String pseudoClass) {
+		return getChangeIndex().getPseudoClassChangeScope(pseudoClass);
+	}
+
+	private static ChangeScope max(ChangeScope scope1, ChangeScope scope2) {
+		return scope1.compareTo(scope2) >= 0 ? scope1 : scope2;
+	}
+
+	/**
+	 * Without rule caching, the stylesheets can change unnoticed, so the index
+	 * is built from the current rules.
+	 */
+	private CSSRuleIndex getChangeIndex() {
+		return this.ruleCachingEnabled ? getRuleIndex() : new CSSRuleIndex(getCombinedRules());
+	}
+
+	/**
+	 * Retrieves the index of the selectors of the combined CSS rules, which is
+	 * only built when rule caching is enabled and kept until the stylesheets
+	 * change, together with the cache of shared computed styles.
+	 */
+	private CSSRuleIndex getRuleIndex() {
+		if (this.currentRuleIndex == null) {
+			this.currentRuleIndex = new CSSRuleIndex(getCombinedRules());
+			this.currentStyleCache = ComputedStyleCache.create(this.currentRuleIndex);
+			if (this.currentStyleCache != null) {
+				for (int i = 0; i < stylingPassDepth; i++) {
+					this.currentStyleCache.beginPass();
+				}
+			}
+		}
+		return this.currentRuleIndex;
+	}
+
 	/**
 	 * Retrieves the combined list of CSS rules for all current stylesheets. This
 	 * method returns a cached state when the stylesheets are the same as on its
@@ -112,20 +266,9 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	}
 
 	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
-		Node parent = elt.getParentNode();
-
-		Node[] hierarchy = null;
-		if (parent != null) {
-			List<Node> hierarchyList = new ArrayList<>();
-			for (Node n = parent; n != null; n = n.getParentNode()) {
-				hierarchyList.add(n);
-			}
-			hierarchy = hierarchyList.toArray(new Node[hierarchyList.size()]);
-		}
+		Node[] hierarchy = getHierarchy(elt);
 
-		List<StyleWrapper> styleDeclarations = null;
-		StyleWrapper firstStyleDeclaration = null;
-		int position = 0;
+		StyleCollector collector = new StyleCollector();
 		for (CSSRule rule : ruleList) {
 			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule)) ) {
 				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
@@ -140,42 +283,107 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 				if (selector instanceof ExtendedSelector) {
 					ExtendedSelector extendedSelector = (ExtendedSelector) selector;
 					if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
-						CSSStyleDeclaration style = styleRule.getStyle();
-						int specificity = extendedSelector.getSpecificity();
-						StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
-						if (firstStyleDeclaration == null) {
-							firstStyleDeclaration = wrapper;
-						} else {
-							// There is several Style Declarations which
-							// match the current element
-							if (styleDeclarations == null) {
-								styleDeclarations = new ArrayList<>();
-								styleDeclarations.add(firstStyleDeclaration);
-							}
-							styleDeclarations.add(wrapper);
-						}
+						collector.add(styleRule, extendedSelector);
 					}
 				}
 			}
 		}
-		if (styleDeclarations != null) {
-			// There is several Style Declarations which match the element, merge the CSS
-			// Property value.
-			return new CSSComputedStyleImpl(styleDeclarations);
+		return collector.getStyle();
+	}
+
+	/**
+	 * Matches only the selectors whose rightmost id, class or type can apply to
+	 * the element, and skips the selectors that require ids, classes or types
+	 * the ancestors do not have. The selectors are still matched in the order of
+	 * the rules, so the result is the same as the one of a full scan.
+	 */
+	private CSSStyleDeclaration getComputedStyle(CSSRuleIndex index, Element elt, String pseudoElt) {
+		Node[] hierarchy = getHierarchy(elt);
+		CSSRuleIndex.AncestorFilter ancestorFilter = null;
+
+		StyleCollector collector = new StyleCollector();
+		for (CSSRuleIndex.Entry entry : index.getCandidates(elt)) {
+			if (entry.ancestorKeys != null) {
+				if (hierarchy == null) {
+					continue;
+				}
+				if (ancestorFilter == null) {
+					ancestorFilter = new CSSRuleIndex.AncestorFilter(hierarchy);
+				}
+				if (!ancestorFilter.mightContainAll(entry.ancestorKeys)) {
+					continue;
+				}
+			}
+			if (entry.selector.match(elt, hierarchy, 0, pseudoElt)) {
+				collector.add(entry.rule, entry.selector);
+			}
 		}
-		if (firstStyleDeclaration != null) {
-			return firstStyleDeclaration.style;
+		return collector.getStyle();
+	}
+
+	private static Node[] getHierarchy(Element elt) {
+		Node parent = elt.getParentNode();
+
+		Node[] hierarchy = null;
+		if (parent != null) {
+			List<Node> hierarchyList = new ArrayList<>();
+			for (Node n = parent; n != null; n = n.getParentNode()) {
+				hierarchyList.add(n);
+			}
+			hierarchy = hierarchyList.toArray(new Node[hierarchyList.size()]);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Collects the style declarations of the matching selectors in rule order.
+	 */
+	private static final class StyleCollector {
+		private List<StyleWrapper> styleDeclarations;
+		private StyleWrapper firstStyleDeclaration;
+		private int position;
+
+		void add(CSSStyleRule styleRule, ExtendedSelector extendedSelector) {
+			CSSStyleDeclaration style = styleRule.getStyle();
+			int specificity = extendedSelector.getSpecificity();
+			StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
+			if (firstStyleDeclaration == null) {
+				firstStyleDeclaration = wrapper;
+			} else {
+				// There is several Style Declarations which
+				// match the current element
+				if (styleDeclarations == null) {
+					styleDeclarations = new ArrayList<>();
+					styleDeclarations.add(firstStyleDeclaration);
+				}
+				styleDeclarations.add(wrapper);
+			}
+		}
+
+		CSSStyleDeclaration getStyle() {
+			if (styleDeclarations != null) {
+				// There is several Style Declarations which match the element, merge the CSS
+				// Property value.
+				return new CSSComputedStyleImpl(styleDeclarations);
+			}
+			if (firstStyleDeclaration != null) {
+				return firstStyleDeclaration.style;
+			}
+			return null;
 		}
-		return null;
 	}
 
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		currentStyleCache = null;
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		currentStyleCache = null;
 	}
 }
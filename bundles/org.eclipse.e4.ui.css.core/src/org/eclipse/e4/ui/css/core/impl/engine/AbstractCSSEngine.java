@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 Angelo Zerr and others.
+ * Copyright (c) 2008, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,12 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.css.core.impl.engine;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URL;
@@ -32,6 +35,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,8 +61,10 @@ import org.eclipse.e4.ui.css.core.engine.CSSErrorHandler;
 import org.eclipse.e4.ui.css.core.exceptions.UnsupportedPropertyException;
 import org.eclipse.e4.ui.css.core.impl.dom.CSSRuleListImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.CSSStyleSheetImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.CSSStyleSheetSerializer;
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl.ChangeScope;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
 import org.eclipse.e4.ui.css.core.resources.IResourcesRegistry;
 import org.eclipse.e4.ui.css.core.resources.ResourceRegistryKeyFactory;
@@ -156,6 +162,43 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	private ResourceRegistryKeyFactory keyFactory;
 
+	/**
+	 * Key of the {@link AppliedStyles} in the {@link CSSElementContext}
+	 */
+	private static final Object APPLIED_STYLES_KEY = AppliedStyles.class;
+
+	/**
+	 * Incremented whenever a style sheet is added or removed or the applied
+	 * styles are forgotten, which invalidates the {@link AppliedStyles} of all
+	 * elements
+	 */
+	private int styleSheetGeneration;
+
+	/**
+	 * Whether a computed style is being applied by
+	 * {@link #applyStyles(Object, boolean, boolean)}
+	 */
+	private boolean applyingComputedStyle;
+
+	/**
+	 * Whether elements are restyled because of a change the engine tracks, in
+	 * which case computed styles which are already applied are skipped. Other
+	 * calls of {@link #applyStyles(Object, boolean, boolean)} apply all
+	 * computed styles, as the widget may have been changed by other means.
+	 */
+	private boolean restylingChanges;
+
+	/**
+	 * Key of the marker of styled elements in the {@link CSSElementContext}
+	 */
+	private static final Object STYLED_KEY = new Object();
+
+	/**
+	 * The nodes whose child nodes must be restyled by
+	 * {@link #applyPendingStyles()}, in the order they have been changed
+	 */
+	private Set<Object> pendingStyles;
+
 	public AbstractCSSEngine() {
 		this(new DocumentCSSImpl());
 	}
@@ -164,6 +207,17 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		this.documentCSS = documentCSS;
 		this.viewCSS = new ViewCSSImpl(documentCSS);
 		keyFactory = new ResourceRegistryKeyFactory();
+		documentCSS.addStyleSheetChangeListener(new ExtendedDocumentCSS.StyleSheetChangeListener() {
+			@Override
+			public void styleSheetAdded(StyleSheet styleSheet) {
+				styleSheetGeneration++;
+			}
+
+			@Override
+			public void styleSheetRemoved(StyleSheet styleSheet) {
+				styleSheetGeneration++;
+			}
+		});
 	}
 
 	/*--------------- Parse style sheet -----------------*/
@@ -184,6 +238,11 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public StyleSheet parseStyleSheet(InputSource source) throws IOException {
+		return parseStyleSheet(source, null);
+	}
+
+	@Override
+	public StyleSheet parseStyleSheet(InputSource source, Collection<String> importedURIs) throws IOException {
 		// Check that CharacterStream or ByteStream is not null
 		checkInputSource(source);
 		CSSParser parser = makeCSSParser();
@@ -219,13 +278,16 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 					}
 				}
 			}
+			if (importedURIs != null) {
+				importedURIs.add(url.toString());
+			}
 			try (InputStream stream = url.openStream()) {
 				InputSource tempStream = new InputSource();
 				tempStream.setURI(url.toString());
 				tempStream.setByteStream(stream);
 				parseImport++;
 				try {
-					styleSheet = (CSSStyleSheet) this.parseStyleSheet(tempStream);
+					styleSheet = (CSSStyleSheet) this.parseStyleSheet(tempStream, importedURIs);
 				} finally {
 					parseImport--;
 				}
@@ -250,6 +312,38 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		return s;
 	}
 
+	/*--------------- Binary style sheets -----------------*/
+
+	@Override
+	public void writeStyleSheet(StyleSheet styleSheet, OutputStream stream) throws IOException {
+		if (!(styleSheet instanceof CSSStyleSheet)) {
+			throw new IOException("Cannot write style sheet " + styleSheet); //$NON-NLS-1$
+		}
+		DataOutputStream out = new DataOutputStream(stream);
+		makeStyleSheetSerializer().write((CSSStyleSheet) styleSheet, out);
+		out.flush();
+	}
+
+	@Override
+	public StyleSheet readStyleSheet(InputStream stream) throws IOException {
+		CSSStyleSheet styleSheet = makeStyleSheetSerializer().read(new DataInputStream(stream));
+		documentCSS.addStyleSheet(styleSheet);
+		return styleSheet;
+	}
+
+	/**
+	 * @return a serializer which recreates selectors with the factories of the
+	 *         parser of this engine
+	 */
+	private CSSStyleSheetSerializer makeStyleSheetSerializer() throws IOException {
+		CSSParser parser = makeCSSParser();
+		if (parser.getSelectorFactory() == null || parser.getConditionFactory() == null) {
+			// the style sheets would contain the selectors of the SAC parser
+			throw new IOException("Binary style sheets are not supported"); //$NON-NLS-1$
+		}
+		return new CSSStyleSheetSerializer(parser.getSelectorFactory(), parser.getConditionFactory());
+	}
+
 	private void processNodeList(NodeList nodes, BiConsumer<Node, Boolean> consumer, boolean applyStylesToChildNodes) {
 		if (nodes instanceof IStreamingNodeList) {
 			((IStreamingNodeList) nodes).stream().forEach(child -> {
@@ -376,6 +470,25 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 			return;
 		}
 
+		// the signatures of the ancestors are reused for all elements styled
+		// during this call
+		ViewCSSImpl stylingPass = viewCSS instanceof ViewCSSImpl ? (ViewCSSImpl) viewCSS : null;
+		if (stylingPass != null) {
+			stylingPass.beginStylingPass();
+		}
+		try {
+			applyStyles(element, elt, applyStylesToChildNodes, computeDefaultStyle);
+		} finally {
+			if (stylingPass != null) {
+				stylingPass.endStylingPass();
+			}
+		}
+	}
+
+	private void applyStyles(Object element, Element elt, boolean applyStylesToChildNodes,
+			boolean computeDefaultStyle) {
+		markStyled(element);
+
 		/*
 		 * Compute new Style to apply.
 		 */
@@ -390,6 +503,11 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 			applyDefaultStyleDeclaration(element, false, style, null);
 		}
 
+		/*
+		 * Skip computed styles which are already applied.
+		 */
+		AppliedStyles appliedStyles = getAppliedStyles(element, elt, computeDefaultStyle);
+
 		/*
 		 * Manage static pseudo instances
 		 */
@@ -406,19 +524,35 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 					applyDefaultStyleDeclaration(element, false, styleWithPseudoInstance, pseudoInstance);
 				}
 
-				if (styleWithPseudoInstance != null) {
-					CSSRule parentRule = styleWithPseudoInstance.getParentRule();
-					if (parentRule instanceof ExtendedCSSRule) {
-						applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
-					} else {
-						applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
+				if (styleWithPseudoInstance != null && !isApplied(appliedStyles, pseudoInstance, styleWithPseudoInstance)) {
+					applyingComputedStyle = true;
+					try {
+						CSSRule parentRule = styleWithPseudoInstance.getParentRule();
+						if (parentRule instanceof ExtendedCSSRule) {
+							applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
+						} else {
+							applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
+						}
+					} finally {
+						applyingComputedStyle = false;
 					}
 				}
+				if (appliedStyles != null) {
+					appliedStyles.setApplied(pseudoInstance, styleWithPseudoInstance);
+				}
 			}
 		}
 
-		if (style != null) {
-			applyStyleDeclaration(elt, style, null);
+		if (style != null && !isApplied(appliedStyles, null, style)) {
+			applyingComputedStyle = true;
+			try {
+				applyStyleDeclaration(elt, style, null);
+			} finally {
+				applyingComputedStyle = false;
+			}
+		}
+		if (appliedStyles != null) {
+			appliedStyles.setApplied(null, style);
 		}
 		try {
 			// Apply inline style
@@ -441,6 +575,251 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		}
 	}
 
+	/**
+	 * Returns the record of the computed styles last applied to the given
+	 * element, or <code>null</code> if the computed styles must be applied in
+	 * any case. Unless a tracked change is restyled, the record is started
+	 * over, so that all computed styles are applied.
+	 */
+	private AppliedStyles getAppliedStyles(Object element, Element elt, boolean computeDefaultStyle) {
+		if (!(elt instanceof CSSStylableElement)) {
+			return null;
+		}
+		CSSElementContext context = getCSSElementContext(element);
+		if (context == null) {
+			return null;
+		}
+		CSSStylableElement stylableElement = (CSSStylableElement) elt;
+		String inlineStyle = stylableElement.getCSSStyle();
+		if (computeDefaultStyle || (inlineStyle != null && !inlineStyle.isEmpty())) {
+			// default and inline styles overwrite the values of the computed
+			// styles
+			context.setData(APPLIED_STYLES_KEY, null);
+			return null;
+		}
+		Object data = context.getData(APPLIED_STYLES_KEY);
+		if (restylingChanges && data instanceof AppliedStyles
+				&& ((AppliedStyles) data).isValid(styleSheetGeneration, stylableElement)) {
+			return (AppliedStyles) data;
+		}
+		AppliedStyles appliedStyles = new AppliedStyles(styleSheetGeneration, stylableElement);
+		context.setData(APPLIED_STYLES_KEY, appliedStyles);
+		return appliedStyles;
+	}
+
+	private static boolean isApplied(AppliedStyles appliedStyles, String pseudo, CSSStyleDeclaration style) {
+		return appliedStyles != null && appliedStyles.isApplied(pseudo, style);
+	}
+
+	/**
+	 * Forgets the computed styles applied to the given element, because other
+	 * declarations have been applied since.
+	 */
+	private void forgetAppliedStyles(Object element) {
+		if (elementsContext == null) {
+			return;
+		}
+		CSSElementContext context = getCSSElementContext(element);
+		if (context != null && context.getData(APPLIED_STYLES_KEY) != null) {
+			context.setData(APPLIED_STYLES_KEY, null);
+		}
+	}
+
+	/**
+	 * Forgets the computed styles applied to all elements, so that the next
+	 * {@link #applyStyles(Object, boolean)} applies them again even if they did
+	 * not change. Must be called when the resources the declarations are
+	 * converted to may have changed, e.g. when theme definitions change.
+	 */
+	protected void forgetAppliedStyles() {
+		styleSheetGeneration++;
+	}
+
+	/*--------------- Restyle changed elements -----------------*/
+
+	@Override
+	public void classChanged(Object node, String oldClass, String newClass) {
+		ViewCSSImpl view = getChangeTrackingView(node);
+		if (view == null) {
+			applyStyles(node, true);
+			return;
+		}
+		invalidateStyles(node, view.getClassChangeScope(oldClass, newClass), false);
+	}
+
+	@Override
+	public void idChanged(Object node, String oldId, String newId) {
+		ViewCSSImpl view = getChangeTrackingView(node);
+		if (view == null) {
+			applyStyles(node, true);
+			return;
+		}
+		invalidateStyles(node, view.getIdChangeScope(oldId, newId), false);
+	}
+
+	@Override
+	public void classAndIdChanged(Object node, String oldClass, String newClass, String oldId, String newId) {
+		ViewCSSImpl view = getChangeTrackingView(node);
+		if (view == null) {
+			applyStyles(node, true);
+			return;
+		}
+		invalidateStyles(node, view.getClassAndIdChangeScope(oldClass, newClass, oldId, newId), false);
+	}
+
+	@Override
+	public void attributeChanged(Object node, String attribute) {
+		ViewCSSImpl view = getChangeTrackingView(node);
+		if (view == null) {
+			applyStyles(node, false);
+			return;
+		}
+		invalidateStyles(node, view.getAttributeChangeScope(attribute), false);
+	}
+
+	@Override
+	public void pseudoClassChanged(Object node, String pseudoClass) {
+		ViewCSSImpl view = getChangeTrackingView(node);
+		if (view == null) {
+			applyStyles(node, false, true);
+			return;
+		}
+		invalidateStyles(node, view.getPseudoClassChangeScope(pseudoClass), true);
+	}
+
+	/**
+	 * Returns the view which knows which elements depend on a change, or
+	 * <code>null</code> if the node must be restyled like before, because the
+	 * view does not track the selectors or the node has not been styled yet.
+	 */
+	private ViewCSSImpl getChangeTrackingView(Object node) {
+		if (viewCSS instanceof ViewCSSImpl && isStyled(node)) {
+			return (ViewCSSImpl) viewCSS;
+		}
+		return null;
+	}
+
+	/**
+	 * Restyles the node immediately if its own style can change, and marks the
+	 * descendants or siblings whose styles can change for restyling by
+	 * {@link #applyPendingStyles()}.
+	 */
+	private void invalidateStyles(Object node, ChangeScope scope, boolean computeDefaultStyle) {
+		if (scope == ChangeScope.NONE) {
+			return;
+		}
+		// restyling a single element is cheap and makes state changes like
+		// focus visible at once
+		boolean wasRestylingChanges = restylingChanges;
+		restylingChanges = true;
+		try {
+			if (computeDefaultStyle) {
+				applyStyles(node, false, true);
+			} else {
+				applyStyles(node, false);
+			}
+		} finally {
+			restylingChanges = wasRestylingChanges;
+		}
+		if (scope == ChangeScope.SUBTREE) {
+			addPendingStyles(node);
+		} else if (scope == ChangeScope.PARENT_SUBTREE) {
+			Element elt = getElement(node);
+			Node parent = elt == null ? null : elt.getParentNode();
+			addPendingStyles(parent instanceof Element ? parent : node);
+		}
+	}
+
+	private void addPendingStyles(Object node) {
+		if (pendingStyles == null) {
+			pendingStyles = new LinkedHashSet<>();
+		}
+		boolean schedule = pendingStyles.isEmpty();
+		pendingStyles.add(getPendingStylesKey(node));
+		if (schedule) {
+			schedulePendingStyles();
+		}
+	}
+
+	private Object getPendingStylesKey(Object node) {
+		Object widget = getNativeWidget(node);
+		return widget != null ? widget : node;
+	}
+
+	/**
+	 * Called when nodes have been marked for restyling and no other restyling
+	 * is pending. Subclasses can override to call
+	 * {@link #applyPendingStyles()} later, so that the changes of several
+	 * events are applied in a single pass.
+	 * <p>
+	 * The default implementation applies the pending styles immediately.
+	 * </p>
+	 */
+	protected void schedulePendingStyles() {
+		applyPendingStyles();
+	}
+
+	@Override
+	public void applyPendingStyles() {
+		if (pendingStyles == null || pendingStyles.isEmpty()) {
+			return;
+		}
+		Set<Object> pending = pendingStyles;
+		pendingStyles = null;
+
+		ViewCSSImpl stylingPass = viewCSS instanceof ViewCSSImpl ? (ViewCSSImpl) viewCSS : null;
+		if (stylingPass != null) {
+			stylingPass.beginStylingPass();
+		}
+		boolean wasRestylingChanges = restylingChanges;
+		restylingChanges = true;
+		try {
+			for (Object node : pending) {
+				Element elt = getElement(node);
+				if (elt == null || !isVisible(elt) || hasPendingAncestor(elt, pending)) {
+					continue;
+				}
+				NodeList nodes = elt instanceof ChildVisibilityAwareElement
+						? ((ChildVisibilityAwareElement) elt).getVisibleChildNodes()
+						: elt.getChildNodes();
+				if (nodes != null) {
+					processNodeList(nodes, this::applyStyles, true);
+					onStylesAppliedToChildNodes(elt, nodes);
+				}
+			}
+		} finally {
+			restylingChanges = wasRestylingChanges;
+			if (stylingPass != null) {
+				stylingPass.endStylingPass();
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the descendants of an ancestor of the given
+	 *         element are restyled anyway
+	 */
+	private boolean hasPendingAncestor(Element elt, Set<Object> pending) {
+		for (Node node = elt.getParentNode(); node != null; node = node.getParentNode()) {
+			if (node instanceof Element && pending.contains(getPendingStylesKey(node))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void markStyled(Object element) {
+		CSSElementContext context = getCSSElementContext(element);
+		if (context != null && context.getData(STYLED_KEY) == null) {
+			context.setData(STYLED_KEY, Boolean.TRUE);
+		}
+	}
+
+	private boolean isStyled(Object node) {
+		CSSElementContext context = getCSSElementContext(node);
+		return context != null && context.getData(STYLED_KEY) != null;
+	}
+
 	/**
 	 * Allow the CSS engine to skip particular elements if they are not visible.
 	 * Elements need to be restyled when they become visible.
@@ -530,6 +909,9 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public void applyStyleDeclaration(Object element, CSSStyleDeclaration style, String pseudo) {
+		if (!applyingComputedStyle) {
+			forgetAppliedStyles(element);
+		}
 		// Apply style
 		boolean avoidanceCacheInstalled = currentCSSPropertiesApplied == null;
 		if (avoidanceCacheInstalled) {
@@ -896,6 +1278,9 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		if (elementsContext != null) {
 			elementsContext.remove(widget);
 		}
+		if (pendingStyles != null) {
+			pendingStyles.remove(widget);
+		}
 	}
 
 	@Override
@@ -1003,6 +1388,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		// FIXME: should dispose element provider and the property handler
 		// providers
 		elementsContext = null;
+		pendingStyles = null;
 		if (resourcesRegistry != null) {
 			resourcesRegistry.dispose();
 		}
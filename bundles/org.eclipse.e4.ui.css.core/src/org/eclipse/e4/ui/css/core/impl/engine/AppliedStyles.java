@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSValue;
+
+/**
+ * The computed style declarations last applied to an element, per pseudo
+ * instance. Since computed styles are shared and only recomputed when the
+ * stylesheets change, applying the same declaration again would set the same
+ * values, so its property handlers can be skipped.
+ * <p>
+ * The record is only valid for the stylesheets and the CSS id and class the
+ * element had when the record was created. It is only used when the engine
+ * restyles elements after a change it tracks, because the widget itself may
+ * have been changed since, e.g. by a reskin or by application code.
+ * </p>
+ */
+final class AppliedStyles {
+
+	private final int styleSheetGeneration;
+
+	private final String cssId;
+
+	private final String cssClass;
+
+	private final Map<String, CSSStyleDeclaration> styles = new HashMap<>(4);
+
+	AppliedStyles(int styleSheetGeneration, CSSStylableElement element) {
+		this.styleSheetGeneration = styleSheetGeneration;
+		this.cssId = element.getCSSId();
+		this.cssClass = element.getCSSClass();
+	}
+
+	/**
+	 * @return <code>true</code> if the record applies to the given stylesheets
+	 *         and element
+	 */
+	boolean isValid(int styleSheetGeneration, CSSStylableElement element) {
+		return this.styleSheetGeneration == styleSheetGeneration && Objects.equals(cssId, element.getCSSId())
+				&& Objects.equals(cssClass, element.getCSSClass());
+	}
+
+	/**
+	 * @return <code>true</code> if the given declaration is the one last applied
+	 *         for the given pseudo instance and does not depend on the parent
+	 */
+	boolean isApplied(String pseudo, CSSStyleDeclaration style) {
+		return styles.get(pseudo) == style && !containsInherit(style);
+	}
+
+	void setApplied(String pseudo, CSSStyleDeclaration style) {
+		styles.put(pseudo, style);
+	}
+
+	private static boolean containsInherit(CSSStyleDeclaration style) {
+		for (int i = 0; i < style.getLength(); i++) {
+			CSSValue value = style.getPropertyCSSValue(style.item(i));
+			if (value != null && "inherit".equals(value.getCssText())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.swt.internal.theme;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.URIUtil;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.osgi.framework.Bundle;
+import org.w3c.dom.stylesheets.StyleSheet;
+
+/**
+ * Cache of the binary forms of parsed theme style sheets (see
+ * {@link CSSEngine#writeStyleSheet(StyleSheet, java.io.OutputStream)}), so
+ * that loading a theme reads pre-resolved rules instead of parsing CSS.
+ * <p>
+ * There is one file per style sheet and theme, because imports can be resolved
+ * through the resource locators of the theme. It records the version of the
+ * bundle contributing the style sheet, and the modification time and length of
+ * the style sheet and of all style sheets it imports; the entry is only used
+ * while all of them are unchanged.
+ * </p>
+ */
+final class StyleSheetCache {
+
+	/**
+	 * Identifies the file format, must be changed whenever the format changes
+	 */
+	private static final int FORMAT = 2;
+
+	private static final String PLATFORM_PLUGIN = "platform:/plugin/"; //$NON-NLS-1$
+
+	private final File directory;
+
+	/**
+	 * @param directory
+	 *            the directory of the cache files, created on demand
+	 */
+	StyleSheetCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @param stylesheet
+	 *            the URI of the style sheet as contributed
+	 * @param themeId
+	 *            the id of the theme the style sheet is loaded for
+	 * @param url
+	 *            the resolved URL of the style sheet
+	 * @return the binary form of the style sheet, or <code>null</code> if it
+	 *         is not cached or the cached form is outdated
+	 */
+	byte[] get(String stylesheet, String themeId, URL url) {
+		File file = getFile(stylesheet, themeId);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FORMAT || !stylesheet.equals(in.readUTF()) || !themeId.equals(in.readUTF())
+					|| !getBundleVersion(stylesheet).equals(in.readUTF())) {
+				return null;
+			}
+			int length = in.readInt();
+			for (int i = 0; i < length; i++) {
+				String dependency = in.readUTF();
+				if (i == 0 && !dependency.equals(url.toString())) {
+					// the style sheet is resolved to another location
+					return null;
+				}
+				long[] stamp = getStamp(new URL(dependency));
+				if (stamp == null || stamp[0] != in.readLong() || stamp[1] != in.readLong()) {
+					return null;
+				}
+			}
+			byte[] styleSheet = new byte[in.readInt()];
+			in.readFully(styleSheet);
+			return styleSheet;
+		} catch (IOException e) {
+			// a missing or broken entry just means the style sheet is parsed
+			return null;
+		}
+	}
+
+	/**
+	 * Cache the binary form of the given style sheet.
+	 *
+	 * @param stylesheet
+	 *            the URI of the style sheet as contributed
+	 * @param themeId
+	 *            the id of the theme the style sheet is loaded for
+	 * @param url
+	 *            the resolved URL of the style sheet
+	 * @param importedURIs
+	 *            the URIs of the style sheets it imports
+	 * @param engine
+	 *            the engine which parsed the style sheet
+	 * @param styleSheet
+	 *            the parsed style sheet
+	 * @return <code>true</code> if the style sheet has been cached
+	 */
+	boolean put(String stylesheet, String themeId, URL url, Collection<String> importedURIs, CSSEngine engine,
+			StyleSheet styleSheet) {
+		List<URL> dependencies = new ArrayList<>();
+		dependencies.add(url);
+		List<long[]> stamps = new ArrayList<>();
+		try {
+			for (String uri : importedURIs) {
+				dependencies.add(new URL(uri));
+			}
+			for (URL dependency : dependencies) {
+				long[] stamp = getStamp(dependency);
+				if (stamp == null) {
+					// changes could not be detected
+					return false;
+				}
+				stamps.add(stamp);
+			}
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			engine.writeStyleSheet(styleSheet, bytes);
+
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				return false;
+			}
+			File file = getFile(stylesheet, themeId);
+			File temp = new File(directory, file.getName() + ".tmp"); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(FORMAT);
+				out.writeUTF(stylesheet);
+				out.writeUTF(themeId);
+				out.writeUTF(getBundleVersion(stylesheet));
+				out.writeInt(dependencies.size());
+				for (int i = 0; i < dependencies.size(); i++) {
+					out.writeUTF(dependencies.get(i).toString());
+					out.writeLong(stamps.get(i)[0]);
+					out.writeLong(stamps.get(i)[1]);
+				}
+				out.writeInt(bytes.size());
+				bytes.writeTo(out);
+			}
+			file.delete();
+			return temp.renameTo(file);
+		} catch (IOException e) {
+			// the style sheet cannot be written or the cache is not writable,
+			// the style sheet is parsed again next time
+			return false;
+		}
+	}
+
+	private File getFile(String stylesheet, String themeId) {
+		String name = Integer.toHexString(stylesheet.hashCode()) + '-' + Integer.toHexString(themeId.hashCode());
+		return new File(directory, name + ".bin"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the version of the bundle contributing the given style sheet, or
+	 *         an empty string for style sheets not contributed by bundles
+	 */
+	private static String getBundleVersion(String stylesheet) {
+		if (!stylesheet.startsWith(PLATFORM_PLUGIN)) {
+			return ""; //$NON-NLS-1$
+		}
+		int end = stylesheet.indexOf('/', PLATFORM_PLUGIN.length());
+		if (end == -1) {
+			return ""; //$NON-NLS-1$
+		}
+		Bundle bundle = Platform.getBundle(stylesheet.substring(PLATFORM_PLUGIN.length(), end));
+		return bundle == null ? "" : bundle.getVersion().toString(); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the modification time and length of the resource at the given
+	 *         URL, or <code>null</code> if they are unknown
+	 */
+	private static long[] getStamp(URL url) throws IOException {
+		long lastModified;
+		long length;
+		if ("file".equals(url.getProtocol())) { //$NON-NLS-1$
+			File file;
+			try {
+				// decodes escaped characters, unlike URL.getFile()
+				file = URIUtil.toFile(URIUtil.toURI(url));
+			} catch (URISyntaxException e) {
+				return null;
+			}
+			if (file == null) {
+				return null;
+			}
+			lastModified = file.lastModified();
+			length = file.length();
+		} else {
+			// for jar URLs, the modification time of the jar file
+			URLConnection connection = url.openConnection();
+			lastModified = connection.getLastModified();
+			length = connection.getContentLengthLong();
+		}
+		return lastModified == 0 || length < 0 ? null : new long[] { lastModified, length };
+	}
+}
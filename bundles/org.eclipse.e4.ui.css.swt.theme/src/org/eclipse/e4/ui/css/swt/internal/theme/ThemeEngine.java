@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2023 Tom Schindl and others.
+ * Copyright (c) 2010, 2026 Tom Schindl and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@
 package org.eclipse.e4.ui.css.swt.internal.theme;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -62,6 +63,7 @@ import org.osgi.service.prefs.BackingStoreException;
 import org.w3c.css.sac.InputSource;
 import org.w3c.dom.Element;
 import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.stylesheets.StyleSheet;
 
 public class ThemeEngine implements IThemeEngine {
 	private List<Theme> themes = new ArrayList<>();
@@ -80,6 +82,11 @@ public class ThemeEngine implements IThemeEngine {
 	private HashMap<String, List<String>> modifiedStylesheets = new HashMap<>();
 	private HashMap<String, List<IResourceLocator>> sourceLocators = new HashMap<>();
 
+	/**
+	 * The cache of parsed style sheets, <code>null</code> if disabled
+	 */
+	private StyleSheetCache styleSheetCache;
+
 	private static final String THEMEID_KEY = "themeid";
 
 	public static final String THEME_PLUGIN_ID = "org.eclipse.e4.ui.css.swt.theme";
@@ -88,6 +95,8 @@ public class ThemeEngine implements IThemeEngine {
 
 	public static final String DISABLE_OS_DARK_THEME_INHERIT = "org.eclipse.e4.ui.css.theme.disableOSDarkThemeInherit";
 
+	public static final String DISABLE_STYLESHEET_CACHE = "org.eclipse.e4.ui.css.theme.disableStylesheetCache";
+
 	public ThemeEngine(Display display) {
 		this.display = display;
 
@@ -109,6 +118,9 @@ public class ThemeEngine implements IThemeEngine {
 		if (!modDir.exists()) {
 			modDir.mkdirs();
 		}
+		if (e4CSSPath != null && !"true".equalsIgnoreCase(System.getProperty(DISABLE_STYLESHEET_CACHE))) {
+			styleSheetCache = new StyleSheetCache(new File(modDir, "cache"));
+		}
 
 		File[] modifiedFiles = modDir.listFiles();
 		String currentOS = Platform.getOS();
@@ -465,13 +477,30 @@ public class ThemeEngine implements IThemeEngine {
 				InputStream stream = null;
 				try {
 					url = FileLocator.resolve(new URL(stylesheet));
+					byte[] binary = styleSheetCache != null ? styleSheetCache.get(stylesheet, theme.getId(), url) : null;
+					boolean cached = styleSheetCache == null || binary != null;
 					for (CSSEngine engine : cssEngines) {
+						if (binary != null) {
+							try {
+								engine.readStyleSheet(new ByteArrayInputStream(binary));
+								continue;
+							} catch (IOException e) {
+								// written by an engine with another binary form
+								binary = null;
+							}
+						}
 						try {
 							stream = url.openStream();
 							InputSource source = new InputSource();
 							source.setByteStream(stream);
 							source.setURI(url.toString());
-							engine.parseStyleSheet(source);
+							if (cached) {
+								engine.parseStyleSheet(source);
+							} else {
+								List<String> importedURIs = new ArrayList<>();
+								StyleSheet styleSheet = engine.parseStyleSheet(source, importedURIs);
+								cached = styleSheetCache.put(stylesheet, theme.getId(), url, importedURIs, engine, styleSheet);
+							}
 						} catch (IOException e) {
 							ThemeEngineManager.logError(e.getMessage(), e);
 						} finally {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2014 Angelo Zerr and others.
+ * Copyright (c) 2009, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,7 +44,14 @@ public class CTabFolderElement extends CompositeElement implements ChildVisibili
 	private SelectionListener selectionListener = new SelectionAdapter() {
 		@Override
 		public void widgetSelected(SelectionEvent e) {
-			applyStyles(getWidget(), true);
+			// the styles of the folder and its items do not depend on the
+			// selection, only the control of the selected item becomes visible
+			if (e.item instanceof CTabItem) {
+				Control control = ((CTabItem) e.item).getControl();
+				if (control != null && !control.isDisposed()) {
+					applyStyles(control, true);
+				}
+			}
 		}
 
 	};
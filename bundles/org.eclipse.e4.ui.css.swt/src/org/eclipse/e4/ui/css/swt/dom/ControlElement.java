@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 Angelo Zerr and others.
+ * Copyright (c) 2009, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,13 +45,13 @@ public class ControlElement extends WidgetElement {
 		@Override
 		public void focusGained(FocusEvent e) {
 			ControlElement.this.hasFocus = true;
-			doApplyStyles();
+			doApplyStyles("focus");
 		}
 
 		@Override
 		public void focusLost(FocusEvent e) {
 			ControlElement.this.hasFocus = false;
-			doApplyStyles();
+			doApplyStyles("focus");
 		}
 	};
 
@@ -62,14 +62,14 @@ public class ControlElement extends WidgetElement {
 			// mouse hover, apply styles
 			// into the SWT control
 			ControlElement.this.hasMouseHover = true;
-			doApplyStyles();
+			doApplyStyles("hover");
 		}
 
 		@Override
 		public void mouseExit(MouseEvent e) {
 			// mouse hover, apply styles
 			ControlElement.this.hasMouseHover = false;
-			doApplyStyles();
+			doApplyStyles("hover");
 
 		}
 	};
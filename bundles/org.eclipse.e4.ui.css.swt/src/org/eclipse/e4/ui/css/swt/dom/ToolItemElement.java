@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,7 +40,7 @@ public class ToolItemElement extends ItemElement {
 			ToolItem toolItem = getToolItem();
 			if (toolItem != null && !toolItem.isDisposed()) {
 				ToolItemElement.this.isSelected = getToolItem().getSelection();
-				doApplyStyles();
+				doApplyStyles("checked");
 			}
 		}
 	};
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Angelo Zerr and others.
+ * Copyright (c) 2008, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.e4.ui.css.swt.properties.converters.CSSValueSWTImageConverter
 import org.eclipse.e4.ui.css.swt.properties.converters.CSSValueSWTRGBConverterImpl;
 import org.eclipse.e4.ui.css.swt.resources.SWTResourceRegistryKeyFactory;
 import org.eclipse.e4.ui.css.swt.resources.SWTResourcesRegistry;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Widget;
 import org.w3c.dom.Element;
@@ -38,8 +39,16 @@ import org.w3c.dom.Element;
  */
 public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 
+	/**
+	 * System property which enables deferring the styling of hidden controls
+	 * until they are shown, or until the display is idle.
+	 */
+	public static final String DEFER_STYLING_PROPERTY = "org.eclipse.e4.ui.css.swt.deferStyling"; //$NON-NLS-1$
+
 	protected Display display;
 
+	private CSSSWTDeferredStyles deferredStyles;
+
 	public AbstractCSSSWTEngineImpl(Display display) {
 		this(display, false);
 	}
@@ -67,6 +76,9 @@ public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 		if (lazyApplyingStyles) {
 			new CSSSWTApplyStylesListener(display, this);
 		}
+		if (Boolean.getBoolean(DEFER_STYLING_PROPERTY)) {
+			deferredStyles = new CSSSWTDeferredStyles(display, this);
+		}
 
 		initializeCSSElementProvider();
 		initializeCSSPropertyHandlers();
@@ -104,6 +116,34 @@ public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 		return null;
 	}
 
+	/**
+	 * Applies the pending styles once the events currently processed by the
+	 * display are handled, so that the restyling caused by several changes is
+	 * done in a single pass.
+	 */
+	@Override
+	protected void schedulePendingStyles() {
+		if (!display.isDisposed()) {
+			display.asyncExec(this::applyPendingStyles);
+		}
+	}
+
+	/**
+	 * Hidden controls are styled once they are shown if the styling is
+	 * deferred, see {@link #DEFER_STYLING_PROPERTY}.
+	 */
+	@Override
+	protected boolean isVisible(Element elt) {
+		if (!super.isVisible(elt)) {
+			return false;
+		}
+		if (deferredStyles != null && elt instanceof WidgetElement
+				&& ((WidgetElement) elt).getNativeWidget() instanceof Control) {
+			return !deferredStyles.defer((Control) ((WidgetElement) elt).getNativeWidget());
+		}
+		return true;
+	}
+
 	/**
 	 * Return true if the given widget can be styled
 	 *
@@ -131,6 +171,15 @@ public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 		super.reset();
 	}
 
+	@Override
+	public void dispose() {
+		if (deferredStyles != null) {
+			deferredStyles.dispose();
+			deferredStyles = null;
+		}
+		super.dispose();
+	}
+
 	private boolean isApplicableToReset(WidgetElement element) {
 		if (element.getNativeWidget() instanceof Widget) {
 			return !((Widget) element.getNativeWidget()).isDisposed();
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.swt.engine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Defers the styling of controls which are hidden because they or one of
+ * their ancestors below the shell are not visible, until that ancestor is
+ * shown. Controls which stay hidden are styled in small slices while the
+ * display is idle, so that showing them later is cheap.
+ */
+final class CSSSWTDeferredStyles implements Listener {
+
+	/**
+	 * The delay before hidden controls are styled in the background
+	 */
+	private static final int IDLE_DELAY = 500;
+
+	/**
+	 * The maximum time spent per background slice
+	 */
+	private static final long SLICE_NANOS = 20_000_000L;
+
+	private final Display display;
+
+	private final AbstractCSSSWTEngineImpl engine;
+
+	/**
+	 * The deferred controls, by the hidden control which they wait for, in the
+	 * order they have been deferred
+	 */
+	private final Map<Control, Set<Control>> deferred = new LinkedHashMap<>();
+
+	/**
+	 * The control whose {@link SWT#Show} event is processed, which is not
+	 * visible yet during the event
+	 */
+	private Control showing;
+
+	/**
+	 * Whether controls are styled regardless of their visibility
+	 */
+	private boolean styling;
+
+	private boolean idleScheduled;
+
+	CSSSWTDeferredStyles(Display display, AbstractCSSSWTEngineImpl engine) {
+		this.display = display;
+		this.engine = engine;
+		display.addFilter(SWT.Show, this);
+	}
+
+	/**
+	 * Stops listening for shown controls and forgets the deferred controls,
+	 * which are not styled anymore.
+	 */
+	void dispose() {
+		if (!display.isDisposed()) {
+			display.removeFilter(SWT.Show, this);
+		}
+		deferred.clear();
+	}
+
+	/**
+	 * Defers the styling of the given control if it is hidden.
+	 *
+	 * @return <code>true</code> if the control must not be styled now
+	 */
+	boolean defer(Control control) {
+		if (styling) {
+			return false;
+		}
+		Control hidden = getHiddenAncestor(control);
+		if (hidden == null) {
+			return false;
+		}
+		deferred.computeIfAbsent(hidden, k -> new LinkedHashSet<>()).add(control);
+		if (!idleScheduled) {
+			idleScheduled = true;
+			display.timerExec(IDLE_DELAY, this::styleIdle);
+		}
+		return true;
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (!(event.widget instanceof Control)) {
+			return;
+		}
+		Set<Control> controls = deferred.remove(event.widget);
+		if (controls == null) {
+			return;
+		}
+		Control previous = showing;
+		showing = (Control) event.widget;
+		try {
+			// still hidden controls are deferred again by the engine
+			apply(controls, 0, false);
+		} finally {
+			showing = previous;
+		}
+	}
+
+	/**
+	 * Styles the deferred controls in the background, in the order they have
+	 * been deferred, until the time of a slice is used up.
+	 */
+	private void styleIdle() {
+		idleScheduled = false;
+		if (display.isDisposed()) {
+			return;
+		}
+		long end = System.nanoTime() + SLICE_NANOS;
+		while (!deferred.isEmpty() && System.nanoTime() < end) {
+			Iterator<Map.Entry<Control, Set<Control>>> it = deferred.entrySet().iterator();
+			Map.Entry<Control, Set<Control>> entry = it.next();
+			it.remove();
+			Set<Control> controls = entry.getValue();
+			apply(controls, end, true);
+			if (!controls.isEmpty()) {
+				// the slice ended, keep the rest for the next one
+				deferred.computeIfAbsent(entry.getKey(), k -> new LinkedHashSet<>()).addAll(controls);
+			}
+		}
+		if (!deferred.isEmpty() && !idleScheduled) {
+			idleScheduled = true;
+			display.timerExec(0, this::styleIdle);
+		}
+	}
+
+	/**
+	 * Styles the given controls with their descendants. The styled and the
+	 * disposed controls are removed from the set.
+	 *
+	 * @param end
+	 *            the {@link System#nanoTime()} at which to stop, or 0
+	 * @param force
+	 *            whether to style hidden controls
+	 */
+	private void apply(Set<Control> controls, long end, boolean force) {
+		Set<Control> styled = new HashSet<>();
+		boolean wasStyling = styling;
+		styling = force;
+		try {
+			for (Control control : new ArrayList<>(controls)) {
+				if (end != 0 && System.nanoTime() >= end) {
+					break;
+				}
+				if (!control.isDisposed() && !hasAncestorIn(control, controls)) {
+					engine.applyStyles(control, true);
+					styled.add(control);
+				}
+			}
+		} finally {
+			styling = wasStyling;
+		}
+		controls.removeIf(control -> control.isDisposed() || styled.contains(control)
+				|| hasAncestorIn(control, styled));
+	}
+
+	/**
+	 * @return the control itself or its nearest ancestor below the shell which
+	 *         is not visible, or <code>null</code> if the control is shown
+	 *         whenever its shell is
+	 */
+	private Control getHiddenAncestor(Control control) {
+		for (Control c = control; c != null && !(c instanceof Shell); c = c.getParent()) {
+			if (c != showing && !c.getVisible()) {
+				return c;
+			}
+		}
+		return null;
+	}
+
+	private static boolean hasAncestorIn(Control control, Set<Control> controls) {
+		for (Control c = control.getParent(); c != null; c = c.getParent()) {
+			if (controls.contains(c)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -66,6 +66,8 @@ public class CSSSWTEngineImpl extends AbstractCSSSWTEngineImpl {
 
 	@Override
 	public void reapply() {
+		// resources such as theme definition fonts may have been replaced
+		forgetAppliedStyles();
 		Shell[] shells = display.getShells();
 		for (Shell s : shells) {
 			try {
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.e4.ui.internal.services;
+
+import java.util.function.Function;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Implemented by event brokers which can deliver frequent events coalesced, so
+ * that a handler reacting to the state of an element is called once for a
+ * burst of changes instead of once per change.
+ */
+public interface ICoalescingSubscriptions {
+
+	/**
+	 * Subscribes the handler to the topic with coalescing delivery. Events are
+	 * recorded in the sending thread and delivered later: on the UI thread unless
+	 * <code>headless</code>, otherwise on a background thread. Of the events
+	 * recorded until then with equal keys only the last one is delivered, at the
+	 * position of the first one. Events with a <code>null</code> key are all
+	 * delivered. The handler is removed with
+	 * {@link org.eclipse.e4.core.services.events.IEventBroker#unsubscribe(EventHandler)}.
+	 *
+	 * @param topic
+	 *            the topic to subscribe to, as for
+	 *            {@link org.eclipse.e4.core.services.events.IEventBroker#subscribe(String, EventHandler)}
+	 * @param key
+	 *            computes the key of an event, typically from its element and
+	 *            attribute
+	 * @param eventHandler
+	 *            the handler to deliver the events to
+	 * @param headless
+	 *            <code>true</code> to deliver the events on a background thread
+	 * @return <code>true</code> if the handler was subscribed
+	 */
+	boolean subscribeCoalesced(String topic, Function<Event, Object> key, EventHandler eventHandler,
+			boolean headless);
+}
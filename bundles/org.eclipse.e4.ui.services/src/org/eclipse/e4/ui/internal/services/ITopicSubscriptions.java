@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.e4.ui.internal.services;
+
+/**
+ * Implemented by event brokers which know whether an event sent to a topic is
+ * received by any handler, so that frequent events need not be built when
+ * nobody listens to them.
+ */
+public interface ITopicSubscriptions {
+
+	/**
+	 * @param topic
+	 *            the topic of an event
+	 * @return <code>false</code> if no handler receives events sent to the
+	 *         topic, <code>true</code> if a handler may receive them
+	 */
+	boolean hasSubscriber(String topic);
+}
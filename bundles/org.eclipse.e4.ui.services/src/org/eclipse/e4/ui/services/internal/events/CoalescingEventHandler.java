@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Records the events it receives and delivers them later through an executor,
+ * only the last one of the events with equal keys recorded until then.
+ */
+public class CoalescingEventHandler implements EventHandler {
+
+	private static class Background {
+		static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Coalesced event delivery"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	final private EventHandler eventHandler;
+	final private Function<Event, Object> key;
+	final private Executor executor;
+
+	private final Map<Object, Event> pending = new LinkedHashMap<>();
+	private boolean scheduled;
+	private volatile boolean disposed;
+
+	/**
+	 * @param eventHandler
+	 *            the handler to deliver the events to
+	 * @param key
+	 *            computes the key of an event, <code>null</code> for events not
+	 *            to be coalesced
+	 * @param executor
+	 *            the executor to deliver the events with, or <code>null</code>
+	 *            to deliver them on a background thread
+	 */
+	public CoalescingEventHandler(EventHandler eventHandler, Function<Event, Object> key, Executor executor) {
+		this.eventHandler = eventHandler;
+		this.key = key;
+		this.executor = executor == null ? Background.EXECUTOR : executor;
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (disposed) {
+			return;
+		}
+		Object eventKey = key.apply(event);
+		synchronized (pending) {
+			pending.put(eventKey == null ? new Object() : eventKey, event);
+			if (scheduled) {
+				return;
+			}
+			scheduled = true;
+		}
+		executor.execute(this::deliver);
+	}
+
+	private void deliver() {
+		List<Event> events;
+		synchronized (pending) {
+			events = new ArrayList<>(pending.values());
+			pending.clear();
+			scheduled = false;
+		}
+		RuntimeException failure = null;
+		for (Event event : events) {
+			if (disposed) {
+				break;
+			}
+			try {
+				eventHandler.handleEvent(event);
+			} catch (RuntimeException e) {
+				// deliver the other events before reporting it
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Drops the recorded events and stops delivering events.
+	 */
+	public void dispose() {
+		disposed = true;
+		synchronized (pending) {
+			pending.clear();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2016 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,9 +24,12 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.function.Function;
 import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.internal.services.ICoalescingSubscriptions;
+import org.eclipse.e4.ui.internal.services.ITopicSubscriptions;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.ServiceRegistration;
@@ -35,11 +38,13 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
 
-public class EventBroker implements IEventBroker {
+public class EventBroker implements IEventBroker, ITopicSubscriptions, ICoalescingSubscriptions {
 
 	// TBD synchronization
 	private Map<EventHandler, Collection<ServiceRegistration<?>>> registrations = new HashMap<>();
 
+	private Map<EventHandler, Collection<CoalescingEventHandler>> coalescingHandlers = new HashMap<>();
+
 	@Inject
 	@Optional
 	UISynchronize uiSync;
@@ -63,6 +68,12 @@ public class EventBroker implements IEventBroker {
 		return true;
 	}
 
+	@Override
+	public boolean hasSubscriber(String topic) {
+		EventHandlerTopics topics = bundleContext == null ? null : EventHandlerTopics.getInstance(bundleContext);
+		return topics == null || topics.hasSubscriber(topic);
+	}
+
 	@SuppressWarnings("unchecked")
 	private Event constructEvent(String topic, Object data) {
 		Event event;
@@ -119,13 +130,30 @@ public class EventBroker implements IEventBroker {
 
 	@Override
 	public boolean subscribe(String topic, String filter, EventHandler eventHandler, boolean headless) {
+		EventHandler wrappedHandler = new UIEventHandler(eventHandler, headless ? null : uiSync);
+		register(topic, filter, eventHandler, wrappedHandler);
+		return true;
+	}
+
+	@Override
+	public boolean subscribeCoalesced(String topic, Function<Event, Object> key, EventHandler eventHandler,
+			boolean headless) {
+		UISynchronize sync = headless ? null : uiSync;
+		CoalescingEventHandler wrappedHandler = new CoalescingEventHandler(eventHandler, key,
+				sync == null ? null : sync::asyncExec);
+		// the events are only recorded when sent, so no need to sync with the UI
+		register(topic, null, eventHandler, wrappedHandler);
+		coalescingHandlers.computeIfAbsent(eventHandler, h -> new ArrayList<>()).add(wrappedHandler);
+		return true;
+	}
+
+	private void register(String topic, String filter, EventHandler eventHandler, EventHandler wrappedHandler) {
 		String[] topics = new String[] {topic};
 		Dictionary<String, Object> d = new Hashtable<>();
 		d.put(EventConstants.EVENT_TOPIC, topics);
 		if (filter != null) {
 			d.put(EventConstants.EVENT_FILTER, filter);
 		}
-		EventHandler wrappedHandler = new UIEventHandler(eventHandler, headless ? null : uiSync);
 		ServiceRegistration<?> registration = bundleContext.registerService(EventHandler.class.getName(),
 				wrappedHandler, d);
 		Collection<ServiceRegistration<?>> handled = registrations.get(eventHandler);
@@ -133,11 +161,14 @@ public class EventBroker implements IEventBroker {
 			registrations.put(eventHandler, handled = new ArrayList<>());
 		}
 		handled.add(registration);
-		return true;
 	}
 
 	@Override
 	public boolean unsubscribe(EventHandler eventHandler) {
+		Collection<CoalescingEventHandler> coalescing = coalescingHandlers.remove(eventHandler);
+		if (coalescing != null) {
+			coalescing.forEach(CoalescingEventHandler::dispose);
+		}
 		Collection<ServiceRegistration<?>> handled = registrations.remove(eventHandler);
 		if (handled == null || handled.isEmpty())
 			return false;
@@ -151,6 +182,10 @@ public class EventBroker implements IEventBroker {
 	void dispose() {
 		Collection<Collection<ServiceRegistration<?>>> values = new ArrayList<>(registrations.values());
 		registrations.clear();
+		for (Collection<CoalescingEventHandler> coalescing : coalescingHandlers.values()) {
+			coalescing.forEach(CoalescingEventHandler::dispose);
+		}
+		coalescingHandlers.clear();
 		for (Collection<ServiceRegistration<?>> handled : values) {
 			for (ServiceRegistration<?> registration : handled) {
 				registration.unregister();
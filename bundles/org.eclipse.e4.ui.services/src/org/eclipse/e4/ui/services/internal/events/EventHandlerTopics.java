@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.services.internal.events;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Tracks the topics of all registered {@link EventHandler} services, both
+ * those subscribed through an {@link EventBroker} and whiteboard handlers,
+ * to tell whether an event sent to a topic would be delivered at all.
+ * <p>
+ * Event filters of the handlers are not evaluated, so a topic may be reported
+ * as subscribed although no handler accepts the event.
+ * </p>
+ */
+final class EventHandlerTopics implements ServiceListener {
+
+	private static EventHandlerTopics instance;
+
+	private final BundleContext context;
+
+	private final Map<ServiceReference<?>, String[]> topicsByHandler = new HashMap<>();
+
+	/**
+	 * The number of handlers per topic, topics ending with <code>*</code> are
+	 * prefixes
+	 */
+	private final Map<String, Integer> topics = new HashMap<>();
+
+	/**
+	 * Whether topics have a subscriber, until the handlers change
+	 */
+	private volatile Map<String, Boolean> subscribed = new ConcurrentHashMap<>();
+
+	private EventHandlerTopics(BundleContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * @return the topics of the handlers registered in the framework of the
+	 *         given context, or <code>null</code> if they cannot be tracked
+	 */
+	static synchronized EventHandlerTopics getInstance(BundleContext context) {
+		if (instance == null || instance.context != context) {
+			EventHandlerTopics topics = new EventHandlerTopics(context);
+			try {
+				context.addServiceListener(topics,
+						"(" + Constants.OBJECTCLASS + "=" + EventHandler.class.getName() + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				Collection<ServiceReference<EventHandler>> references = context.getServiceReferences(EventHandler.class,
+						null);
+				for (ServiceReference<EventHandler> reference : references) {
+					topics.add(reference);
+				}
+			} catch (InvalidSyntaxException | IllegalStateException e) {
+				// the bundle has been stopped
+				return null;
+			}
+			instance = topics;
+		}
+		return instance;
+	}
+
+	boolean hasSubscriber(String topic) {
+		Map<String, Boolean> current = subscribed;
+		Boolean result = current.get(topic);
+		if (result == null) {
+			synchronized (this) {
+				result = Boolean.valueOf(matches(topic));
+			}
+			current.put(topic, result);
+		}
+		return result.booleanValue();
+	}
+
+	private boolean matches(String topic) {
+		if (topics.containsKey(topic) || topics.containsKey("*")) { //$NON-NLS-1$
+			return true;
+		}
+		for (int i = topic.lastIndexOf('/'); i != -1; i = topic.lastIndexOf('/', i - 1)) {
+			if (topics.containsKey(topic.substring(0, i + 1) + '*')) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void serviceChanged(ServiceEvent event) {
+		switch (event.getType()) {
+		case ServiceEvent.REGISTERED:
+		case ServiceEvent.MODIFIED:
+			remove(event.getServiceReference());
+			add(event.getServiceReference());
+			break;
+		default:
+			remove(event.getServiceReference());
+			break;
+		}
+	}
+
+	private synchronized void add(ServiceReference<?> reference) {
+		if (topicsByHandler.containsKey(reference)) {
+			return;
+		}
+		String[] handlerTopics = getTopics(reference.getProperty(EventConstants.EVENT_TOPIC));
+		topicsByHandler.put(reference, handlerTopics);
+		for (String topic : handlerTopics) {
+			topics.merge(topic, 1, Integer::sum);
+		}
+		subscribed = new ConcurrentHashMap<>();
+	}
+
+	private synchronized void remove(ServiceReference<?> reference) {
+		String[] handlerTopics = topicsByHandler.remove(reference);
+		if (handlerTopics == null) {
+			return;
+		}
+		for (String topic : handlerTopics) {
+			topics.computeIfPresent(topic, (t, count) -> count == 1 ? null : count - 1);
+		}
+		subscribed = new ConcurrentHashMap<>();
+	}
+
+	private static String[] getTopics(Object property) {
+		if (property instanceof String) {
+			return new String[] { (String) property };
+		} else if (property instanceof String[]) {
+			return (String[]) property;
+		} else if (property instanceof Collection<?>) {
+			return ((Collection<?>) property).stream().map(String::valueOf).toArray(String[]::new);
+		}
+		return new String[0];
+	}
+}
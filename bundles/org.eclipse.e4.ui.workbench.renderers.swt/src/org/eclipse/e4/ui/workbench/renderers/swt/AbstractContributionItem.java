@@ -15,6 +15,7 @@
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import jakarta.inject.Inject;
+import java.util.Map;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.e4.core.contexts.IContextFunction;
@@ -92,6 +93,8 @@ public abstract class AbstractContributionItem extends ContributionItem {
 
 	private ISafeRunnable updateRunner;
 
+	private Map<Object, Boolean> sharedEnablement;
+
 	private ISWTResourceUtilities resUtils = null;
 
 	protected IMenuListener menuListener = manager -> update(null);
@@ -496,7 +499,7 @@ public abstract class AbstractContributionItem extends ContributionItem {
 			updateRunner = new ISafeRunnable() {
 				@Override
 				public void run() throws Exception {
-					boolean shouldEnable = canExecuteItem(null);
+					boolean shouldEnable = computeEnablement();
 					if (shouldEnable != modelItem.isEnabled()) {
 						modelItem.setEnabled(shouldEnable);
 						update();
@@ -530,6 +533,15 @@ public abstract class AbstractContributionItem extends ContributionItem {
 
 
 	protected void updateItemEnablement() {
+		updateItemEnablement(null);
+	}
+
+	/**
+	 * Updates the enablement of the tool item, sharing it with the items updated
+	 * before with the same {@link #getEnablementKey() key} if a map of shared
+	 * enablements is given.
+	 */
+	void updateItemEnablement(Map<Object, Boolean> sharedEnablement) {
 		if (!(modelItem.getWidget() instanceof ToolItem))
 			return;
 
@@ -537,7 +549,51 @@ public abstract class AbstractContributionItem extends ContributionItem {
 		if (widget == null || widget.isDisposed())
 			return;
 
-		SafeRunner.run(getUpdateRunner());
+		this.sharedEnablement = sharedEnablement;
+		try {
+			SafeRunner.run(getUpdateRunner());
+		} finally {
+			this.sharedEnablement = null;
+		}
+	}
+
+	private boolean computeEnablement() {
+		Object key = sharedEnablement == null ? null : getEnablementKey();
+		if (key == null) {
+			return canExecuteItem(null);
+		}
+		Boolean enabled = sharedEnablement.get(key);
+		if (enabled == null) {
+			enabled = Boolean.valueOf(canExecuteItem(null));
+			sharedEnablement.put(key, enabled);
+		}
+		return enabled.booleanValue();
+	}
+
+	/**
+	 * Returns a key for the enablement of this item, which other items with an
+	 * equal key have as well, or <code>null</code> if the enablement of this item
+	 * has to be computed on its own.
+	 */
+	protected Object getEnablementKey() {
+		return null;
+	}
+
+	/**
+	 * @return <code>false</code> if the item or one of its ancestors is hidden
+	 *         in the model, so that its enablement need not be updated until it
+	 *         is shown
+	 */
+	boolean isShowing() {
+		if (!modelItem.isVisible()) {
+			return false;
+		}
+		for (MUIElement parent = modelItem.getParent(); parent != null; parent = parent.getParent()) {
+			if (!parent.isVisible() || !parent.isToBeRendered()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 }
@@ -31,7 +31,9 @@ import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.CTabFolder;
 import org.eclipse.swt.custom.CTabFolderRenderer;
+import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
@@ -90,6 +92,8 @@ public class CTabRendering extends CTabFolderRenderer implements ICTabRendering,
 	 */
 	public static final boolean SHOW_FULL_TEXT_FOR_VIEW_TABS_DEFAULT = false;
 
+	private static final String TAB_SIZE_KEY = "org.eclipse.e4.ui.workbench.renderers.swt.tabSize"; //$NON-NLS-1$
+
 	private static int MIN_VIEW_CHARS = 1;
 	private static int MAX_VIEW_CHARS = Integer.MAX_VALUE;
 
@@ -258,12 +262,64 @@ public class CTabRendering extends CTabFolderRenderer implements ICTabRendering,
 		wHint += paddingLeft + paddingRight;
 		hHint += paddingTop + paddingBottom;
 		if (0 <= part && part < parent.getItemCount()) {
+			// the folder measures all tabs on each layout, but only the tabs which
+			// changed need their text measured again
+			CTabItem item = parent.getItem(part);
+			Object cached = item.getData(TAB_SIZE_KEY);
+			if (cached instanceof TabSize tabSize && tabSize.matches(this, item, state, wHint, hHint)) {
+				return new Point(tabSize.size.x, tabSize.size.y);
+			}
 			gc.setAdvanced(true);
-			return super.computeSize(part, state, gc, wHint, hHint);
+			Point size = super.computeSize(part, state, gc, wHint, hHint);
+			item.setData(TAB_SIZE_KEY, new TabSize(this, item, state, wHint, hHint, size));
+			return size;
 		}
 		return super.computeSize(part, state, gc, wHint, hHint);
 	}
 
+	/**
+	 * The size of a tab as last computed, with all it depends on.
+	 */
+	private static final class TabSize {
+		final Font font;
+		final String text;
+		final Image image;
+		final boolean showClose;
+		final int state;
+		final int wHint;
+		final int hHint;
+		final int folderSettings;
+		final Point size;
+
+		TabSize(CTabRendering renderer, CTabItem item, int state, int wHint, int hHint, Point size) {
+			this.font = item.getFont();
+			this.text = item.getText();
+			this.image = item.getImage();
+			this.showClose = item.getShowClose();
+			this.state = state;
+			this.wHint = wHint;
+			this.hHint = hHint;
+			this.folderSettings = renderer.getFolderSettings();
+			this.size = new Point(size.x, size.y);
+		}
+
+		boolean matches(CTabRendering renderer, CTabItem item, int state, int wHint, int hHint) {
+			return this.state == state && this.wHint == wHint && this.hHint == hHint
+					&& showClose == item.getShowClose() && image == item.getImage()
+					&& Objects.equals(font, item.getFont()) && Objects.equals(text, item.getText())
+					&& folderSettings == renderer.getFolderSettings();
+		}
+	}
+
+	/**
+	 * @return a value which changes with the settings of the folder affecting
+	 *         the size of its tabs
+	 */
+	private int getFolderSettings() {
+		return Objects.hash(parent.getMinimumCharacters(), parent.getUnselectedCloseVisible(),
+				parent.getUnselectedImageVisible(), parent.getSelectedImageVisible(), parent.getFont());
+	}
+
 	@Override
 	protected void draw(int part, int state, Rectangle bounds, GC gc) {
 
@@ -21,6 +21,9 @@
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import jakarta.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +43,7 @@ import org.eclipse.e4.core.commands.internal.ICommandHelpService;
 import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.eclipse.e4.core.contexts.IContextFunction;
 import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.di.annotations.CanExecute;
 import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.ui.bindings.EBindingService;
 import org.eclipse.e4.ui.internal.workbench.ContributionsAnalyzer;
@@ -81,6 +85,29 @@ public class HandledContributionItem extends AbstractContributionItem {
 	private static final String WW_SUPPORT = "org.eclipse.ui.IWorkbenchWindow"; //$NON-NLS-1$
 	private static final String HCI_STATIC_CONTEXT = "HCI-staticContext"; //$NON-NLS-1$
 
+	/**
+	 * The parameter types of the {@link CanExecute} methods of handler classes,
+	 * except {@link Object}
+	 */
+	private static final ClassValue<List<Class<?>>> CAN_EXECUTE_PARAMETER_TYPES = new ClassValue<>() {
+		@Override
+		protected List<Class<?>> computeValue(Class<?> type) {
+			List<Class<?>> types = new ArrayList<>();
+			for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+				for (Method method : c.getDeclaredMethods()) {
+					if (method.isAnnotationPresent(CanExecute.class)) {
+						for (Class<?> parameterType : method.getParameterTypes()) {
+							if (parameterType != Object.class) {
+								types.add(parameterType);
+							}
+						}
+					}
+				}
+			}
+			return types;
+		}
+	};
+
 	@Inject
 	private ECommandService commandService;
 
@@ -465,6 +492,29 @@ public class HandledContributionItem extends AbstractContributionItem {
 		return service.canExecute(cmd, staticContext);
 	}
 
+	/**
+	 * Items for the same command in the same context are enabled by the same
+	 * handler, unless the handler can have the item itself injected from the
+	 * static context.
+	 */
+	@Override
+	protected Object getEnablementKey() {
+		ParameterizedCommand cmd = getModel().getWbCommand();
+		IEclipseContext lclContext = cmd == null ? null : getContext(getModel());
+		if (lclContext == null) {
+			return null;
+		}
+		Object handler = HandlerServiceImpl.lookUpHandler(lclContext, cmd.getId());
+		if (handler != null) {
+			for (Class<?> type : CAN_EXECUTE_PARAMETER_TYPES.get(handler.getClass())) {
+				if (type.isInstance(getModel())) {
+					return Arrays.asList(lclContext, cmd, getModel());
+				}
+			}
+		}
+		return Arrays.asList(lclContext, cmd);
+	}
+
 	@Override
 	public MHandledItem getModel() {
 		return (MHandledItem) super.getModel();
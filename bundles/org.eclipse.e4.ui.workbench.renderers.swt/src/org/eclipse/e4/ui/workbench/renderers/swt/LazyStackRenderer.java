@@ -332,8 +332,9 @@ public abstract class LazyStackRenderer extends SWTPartRenderer {
 		}
 
 		Shell layoutShellLater = null;
-		// Show any floating windows
-		if (element instanceof MWindow && element.getWidget() != null) {
+		// Show any floating windows, hidden ones which have not been rendered
+		// yet are rendered by the presentation engine when made visible
+		if (element instanceof MWindow && (element.getWidget() != null || !element.isVisible())) {
 			int visCount = 0;
 			for (MUIElement kid : ((MWindow) element).getChildren()) {
 				if (kid.isToBeRendered() && kid.isVisible()) {
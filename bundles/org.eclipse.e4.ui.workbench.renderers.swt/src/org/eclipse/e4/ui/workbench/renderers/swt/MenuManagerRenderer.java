@@ -481,8 +481,7 @@ public class MenuManagerRenderer extends SWTPartRenderer {
 			return;
 		}
 		final ArrayList<MMenuContribution> toContribute = new ArrayList<>();
-		ContributionsAnalyzer.XXXgatherMenuContributions(menuModel, application.getMenuContributions(), elementId,
-				toContribute, isPopup);
+		ContributionsAnalyzer.gatherMenuContributions(menuModel, application, elementId, toContribute, isPopup);
 		generateContributions(menuModel, toContribute, isMenuBar);
 		for (MMenuElement element : menuModel.getChildren()) {
 			if (element instanceof MMenu) {
@@ -52,7 +52,10 @@ public class PerspectiveRenderer extends SWTPartRenderer {
 		MPerspective persp = (MPerspective) ((MUIElement) container);
 		Shell shell = ((Composite) persp.getWidget()).getShell();
 		for (MWindow dw : persp.getWindows()) {
-			renderer.createGui(dw, shell, persp.getContext());
+			// hidden detached windows are rendered when they are shown
+			if (dw.isVisible()) {
+				renderer.createGui(dw, shell, persp.getContext());
+			}
 		}
 	}
 
@@ -42,6 +42,7 @@ import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
 import org.eclipse.e4.ui.di.UIEventTopic;
 import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.internal.services.ICoalescingSubscriptions;
 import org.eclipse.e4.ui.internal.workbench.OpaqueElementUtil;
 import org.eclipse.e4.ui.internal.workbench.PartStackUtil;
 import org.eclipse.e4.ui.internal.workbench.renderers.swt.BasicPartList;
@@ -213,6 +214,8 @@ public class StackRenderer extends LazyStackRenderer {
 
 	private boolean ignoreTabSelChanges;
 
+	private final EventHandler dirtyHandler = this::subscribeTopicDirtyChanged;
+
 	private TabStateHandler tabStateHandler;
 
 	private boolean imageChanged;
@@ -433,9 +436,7 @@ public class StackRenderer extends LazyStackRenderer {
 		}
 	}
 
-	@Inject
-	@Optional
-	void subscribeTopicDirtyChanged(@UIEventTopic(UIEvents.Dirtyable.TOPIC_DIRTY) Event event) {
+	void subscribeTopicDirtyChanged(Event event) {
 		Object objElement = event.getProperty(UIEvents.EventTags.ELEMENT);
 
 		// Ensure that this event is for a MMenuItem
@@ -636,6 +637,15 @@ public class StackRenderer extends LazyStackRenderer {
 	@PostConstruct
 	public void init() {
 		super.init(eventBroker);
+
+		// dirty flags may flip many times in a row, e.g. during builds, and the
+		// tabs only need to show the last state of each part
+		if (eventBroker instanceof ICoalescingSubscriptions) {
+			((ICoalescingSubscriptions) eventBroker).subscribeCoalesced(UIEvents.Dirtyable.TOPIC_DIRTY,
+					event -> event.getProperty(UIEvents.EventTags.ELEMENT), dirtyHandler, false);
+		} else {
+			eventBroker.subscribe(UIEvents.Dirtyable.TOPIC_DIRTY, dirtyHandler);
+		}
 	}
 
 	protected void updateTab(CTabItem cti, MPart part, String attName, Object newValue) {
@@ -673,6 +683,7 @@ public class StackRenderer extends LazyStackRenderer {
 
 	@PreDestroy
 	public void contextDisposed() {
+		eventBroker.unsubscribe(dirtyHandler);
 		super.contextDisposed(eventBroker);
 	}
 
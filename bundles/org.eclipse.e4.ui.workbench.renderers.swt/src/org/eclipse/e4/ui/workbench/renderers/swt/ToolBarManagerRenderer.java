@@ -152,6 +152,11 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 	@Inject
 	@Optional
 	private void subscribeUIElementTopicToBeRendered(@UIEventTopic(UIEvents.UIElement.TOPIC_TOBERENDERED) Event event) {
+		if (Boolean.TRUE.equals(event.getProperty(UIEvents.EventTags.NEW_VALUE))) {
+			// an ancestor of hidden items may have been rendered again
+			getUpdater().updateShownItems();
+		}
+
 		// Ensure that this event is for a MToolBarElement
 		if (!(event.getProperty(UIEvents.EventTags.ELEMENT) instanceof MToolBarElement)) {
 			return;
@@ -167,6 +172,7 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 			if (parent != null) {
 				modelProcessSwitch(parent, itemModel);
 				updateWidget(parent);
+				updateEnablement(itemModel);
 			}
 		} else {
 			removeElement(parent, itemModel);
@@ -179,8 +185,15 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 	@Inject
 	@Optional
 	private void subscribeUIElementTopicVisible(@UIEventTopic(UIEvents.UIElement.TOPIC_VISIBLE) Event event) {
+		Object element = event.getProperty(UIEvents.EventTags.ELEMENT);
+		if (Boolean.TRUE.equals(event.getProperty(UIEvents.EventTags.NEW_VALUE))) {
+			// the enablement of hidden items is not kept up to date, the shown
+			// element may be the tool bar, an item or any ancestor
+			getUpdater().updateShownItems();
+		}
+
 		// Ensure that this event is for a MToolBarElement
-		if (!(event.getProperty(UIEvents.EventTags.ELEMENT) instanceof MToolBarElement)) {
+		if (!(element instanceof MToolBarElement)) {
 			return;
 		}
 
@@ -217,6 +230,17 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 		}
 
 		updateWidget(parent);
+		if (itemModel.isVisible()) {
+			updateEnablement(itemModel);
+		}
+	}
+
+	/**
+	 * Queues an enablement update for an item shown again. Its tool item was
+	 * disposed while it was hidden, so it missed the updates in the meantime.
+	 */
+	private void updateEnablement(MToolBarElement itemModel) {
+		getUpdater().updateContributionItems(element -> element == itemModel);
 	}
 
 	@Inject
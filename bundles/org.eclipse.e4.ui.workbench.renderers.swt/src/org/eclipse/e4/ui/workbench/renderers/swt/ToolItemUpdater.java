@@ -15,8 +15,10 @@
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.eclipse.e4.ui.workbench.Selector;
 import org.eclipse.swt.widgets.Display;
@@ -28,6 +30,7 @@ public class ToolItemUpdater implements Runnable {
 	private List<AbstractContributionItem> itemsToCheck = new ArrayList<>();
 	private final List<AbstractContributionItem> orphanedToolItems = new ArrayList<>();
 	private final Set<AbstractContributionItem> itemsToUpdateLater = new LinkedHashSet<>();
+	private final Set<AbstractContributionItem> hiddenItems = new LinkedHashSet<>();
 
 	public ToolItemUpdater() {
 		String delayProperty = System.getProperty("ToolItemUpdaterDelayInMs"); //$NON-NLS-1$
@@ -44,6 +47,24 @@ public class ToolItemUpdater implements Runnable {
 
 	void removeItem(AbstractContributionItem item) {
 		itemsToCheck.remove(item);
+		hiddenItems.remove(item);
+	}
+
+	/**
+	 * Updates the items skipped by previous updates because they were hidden,
+	 * after some element, e.g. a tool bar or one of its ancestors, was shown.
+	 */
+	void updateShownItems() {
+		if (hiddenItems.isEmpty()) {
+			return;
+		}
+		itemsToUpdateLater.addAll(hiddenItems);
+		hiddenItems.clear();
+		if (timestampOfEarliestQueuedUpdate == 0) {
+			timestampOfEarliestQueuedUpdate = System.nanoTime();
+		}
+		// run after the widgets of the shown element have been put in place
+		Display.getDefault().timerExec(DELAY, this);
 	}
 
 	public void updateContributionItems(Selector selector) {
@@ -83,8 +104,14 @@ public class ToolItemUpdater implements Runnable {
 		timestampOfEarliestQueuedUpdate = 0;
 		AbstractContributionItem[] copy = itemsToUpdateLater.toArray(new AbstractContributionItem[] {});
 		itemsToUpdateLater.clear();
+		// items for the same handler share its enablement within one update
+		Map<Object, Boolean> enablement = new HashMap<>();
 		for (AbstractContributionItem it : copy) {
-			it.updateItemEnablement();
+			if (it.isShowing()) {
+				it.updateItemEnablement(enablement);
+			} else {
+				hiddenItems.add(it);
+			}
 		}
 	}
 }
@@ -669,9 +669,11 @@ public class WBWRenderer extends SWTPartRenderer {
 			shell.setMenuBar((Menu) wbwModel.getMainMenu().getWidget());
 		}
 
-		// create Detached Windows
+		// create Detached Windows, hidden ones are rendered when they are shown
 		for (MWindow dw : wbwModel.getWindows()) {
-			renderer.createGui(dw, me.getWidget(), wbwModel.getContext());
+			if (dw.isVisible()) {
+				renderer.createGui(dw, me.getWidget(), wbwModel.getContext());
+			}
 		}
 
 		// Populate the trim (if any)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2019 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -55,6 +55,7 @@ import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.core.services.log.Logger;
 import org.eclipse.e4.core.services.statusreporter.StatusReporter;
 import org.eclipse.e4.ui.bindings.keys.KeyBindingDispatcher;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.util.impl.resources.OSGiResourceLocator;
 import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
 import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
@@ -63,6 +64,7 @@ import org.eclipse.e4.ui.css.swt.theme.IThemeEngine;
 import org.eclipse.e4.ui.css.swt.theme.IThemeManager;
 import org.eclipse.e4.ui.di.Focus;
 import org.eclipse.e4.ui.di.PersistState;
+import org.eclipse.e4.ui.internal.workbench.ContributionPreloader;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
@@ -206,7 +208,11 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 		// Re-parent the control based on the visible state
 		if (changedElement.isVisible()) {
-			if (changedElement.isToBeRendered()) {
+			if (changedElement instanceof MWindow && changedElement.getWidget() == null
+					&& changedElement.isToBeRendered() && parent.getWidget() != null) {
+				// detached windows which were hidden are rendered when first shown
+				createGui(changedElement);
+			} else if (changedElement.isToBeRendered()) {
 				if (changedElement.getWidget() instanceof Control && //
 						renderer.getUIContainer(changedElement) instanceof Composite) {
 					// Ensure that the control is under its 'real' parent if
@@ -1075,6 +1081,9 @@ public class PartRenderingEngine implements IPresentationEngine {
 					spinOnce = false; // loop until the app closes
 					theApp = (MApplication) uiRoot;
 					// long startTime = System.currentTimeMillis();
+					// load the part classes in the background while the
+					// windows are created
+					ContributionPreloader.preloadParts(theApp);
 					for (MWindow window : theApp.getChildren()) {
 						createGui(window);
 					}
@@ -1289,14 +1298,12 @@ public class PartRenderingEngine implements IPresentationEngine {
 			appContext.set(IStylingEngine.class, new IStylingEngine() {
 				@Override
 				public void setClassname(Object widget, String classname) {
-					WidgetElement.setCSSClass((Widget) widget, classname);
-					themeEngine.applyStyles(widget, true);
+					setCSSInfo(themeEngine, (Widget) widget, classname, WidgetElement.getID((Widget) widget));
 				}
 
 				@Override
 				public void setId(Object widget, String id) {
-					WidgetElement.setID((Widget) widget, id);
-					themeEngine.applyStyles(widget, true);
+					setCSSInfo(themeEngine, (Widget) widget, WidgetElement.getCSSClass((Widget) widget), id);
 				}
 
 				@Override
@@ -1311,9 +1318,7 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 				@Override
 				public void setClassnameAndId(Object widget, String classname, String id) {
-					WidgetElement.setCSSClass((Widget) widget, classname);
-					WidgetElement.setID((Widget) widget, id);
-					themeEngine.applyStyles(widget, true);
+					setCSSInfo(themeEngine, (Widget) widget, classname, id);
 				}
 			});
 
@@ -1332,14 +1337,12 @@ public class PartRenderingEngine implements IPresentationEngine {
 			appContext.set(IStylingEngine.class, new IStylingEngine() {
 				@Override
 				public void setClassname(Object widget, String classname) {
-					WidgetElement.setCSSClass((Widget) widget, classname);
-					cssEngine.applyStyles(widget, true);
+					setCSSInfo(cssEngine, (Widget) widget, classname, WidgetElement.getID((Widget) widget));
 				}
 
 				@Override
 				public void setId(Object widget, String id) {
-					WidgetElement.setID((Widget) widget, id);
-					cssEngine.applyStyles(widget, true);
+					setCSSInfo(cssEngine, (Widget) widget, WidgetElement.getCSSClass((Widget) widget), id);
 				}
 
 				@Override
@@ -1358,9 +1361,7 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 				@Override
 				public void setClassnameAndId(Object widget, String classname, String id) {
-					WidgetElement.setCSSClass((Widget) widget, classname);
-					WidgetElement.setID((Widget) widget, id);
-					cssEngine.applyStyles(widget, true);
+					setCSSInfo(cssEngine, (Widget) widget, classname, id);
 				}
 			});
 
@@ -1392,6 +1393,30 @@ public class PartRenderingEngine implements IPresentationEngine {
 		appContext.set(CSSRenderingUtils.class, cssUtils);
 	}
 
+	/**
+	 * Sets the CSS class and id of the widget. Only the elements whose styles
+	 * depend on the classes or id that changed are restyled, instead of the
+	 * widget and all its children.
+	 */
+	private static void setCSSInfo(CSSEngine cssEngine, Widget widget, String classname, String id) {
+		String oldClassname = WidgetElement.getCSSClass(widget);
+		String oldId = WidgetElement.getID(widget);
+		WidgetElement.setCSSClass(widget, classname);
+		WidgetElement.setID(widget, id);
+		cssEngine.classAndIdChanged(widget, oldClassname, classname, oldId, id);
+	}
+
+	private static void setCSSInfo(IThemeEngine themeEngine, Widget widget, String classname, String id) {
+		CSSEngine cssEngine = WidgetElement.getEngine(widget);
+		if (cssEngine != null) {
+			setCSSInfo(cssEngine, widget, classname, id);
+		} else {
+			WidgetElement.setCSSClass(widget, classname);
+			WidgetElement.setID(widget, id);
+			themeEngine.applyStyles(widget, true);
+		}
+	}
+
 	private static IThemeEngine createThemeEngine(Display display, IEclipseContext appContext) {
 		// Store the app context
 		IContributionFactory contribution = appContext.get(IContributionFactory.class);
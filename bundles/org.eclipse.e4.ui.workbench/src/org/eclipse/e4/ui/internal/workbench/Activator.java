@@ -110,6 +110,7 @@ public class Activator implements BundleActivator, DebugOptionsListener {
 			resolvedBundles.close();
 			resolvedBundles = null;
 		}
+		ContributionPreloader.clear();
 	}
 
 	@Override
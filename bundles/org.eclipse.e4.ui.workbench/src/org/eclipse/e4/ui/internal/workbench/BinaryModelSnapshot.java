@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Reads and writes the persisted application model in the EMF binary format,
+ * which is much faster to load than XMI.
+ * <p>
+ * The snapshot contains the same elements as the XMI written with
+ * {@link E4XMIResource#OPTION_FILTER_PERSIST_STATE}, followed by the XMI ids of
+ * all objects, so that it is restored into an {@link E4XMIResource} which
+ * cannot be told apart from one loaded from XMI.
+ * </p>
+ */
+final class BinaryModelSnapshot {
+
+	private static final int MAGIC = 0x45344d53; // E4MS
+
+	private static final int VERSION = 1;
+
+	private BinaryModelSnapshot() {
+	}
+
+	/**
+	 * Writes the contents of the given resource to the given file. The file is
+	 * replaced at once, so that it is never left partially written.
+	 */
+	static void save(E4XMIResource resource, File file) throws IOException {
+		EcoreUtil.Copier copier = new EcoreUtil.Copier(true, false) {
+			private static final long serialVersionUID = 1L;
+
+			@SuppressWarnings("unchecked")
+			@Override
+			protected void copyContainment(EReference eReference, EObject eObject, EObject copyEObject) {
+				if (!eObject.eIsSet(eReference)) {
+					return;
+				}
+				if (eReference.isMany()) {
+					List<EObject> target = (List<EObject>) copyEObject.eGet(getTarget(eReference));
+					for (EObject child : (List<EObject>) eObject.eGet(eReference)) {
+						if (!E4XMISave.isFiltered(child)) {
+							target.add(copy(child));
+						}
+					}
+				} else {
+					EObject child = (EObject) eObject.eGet(eReference);
+					if (child != null && !E4XMISave.isFiltered(child)) {
+						copyEObject.eSet(getTarget(eReference), copy(child));
+					}
+				}
+			}
+		};
+		List<EObject> contents = new ArrayList<>();
+		for (EObject root : resource.getContents()) {
+			if (!E4XMISave.isFiltered(root)) {
+				contents.add(copier.copy(root));
+			}
+		}
+		// references to filtered elements are dropped
+		copier.copyReferences();
+
+		Map<EObject, EObject> originals = new IdentityHashMap<>();
+		for (Map.Entry<EObject, EObject> entry : copier.entrySet()) {
+			originals.put(entry.getValue(), entry.getKey());
+		}
+		BinaryResourceImpl binary = new BinaryResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+		binary.getContents().addAll(contents);
+		List<String> ids = new ArrayList<>();
+		for (Iterator<EObject> it = binary.getAllContents(); it.hasNext();) {
+			ids.add(resource.getID(originals.get(it.next())));
+		}
+
+		Path target = file.toPath();
+		Files.createDirectories(target.getParent());
+		Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(ids.size());
+				for (String id : ids) {
+					out.writeUTF(id == null ? "" : id); //$NON-NLS-1$
+				}
+				binary.save(out, null);
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Reads the given file into a new {@link E4XMIResource} of the resource
+	 * set with the given URI. The resource set is left unchanged if the file
+	 * cannot be read.
+	 */
+	static E4XMIResource load(ResourceSet resourceSet, File file, URI uri) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Unsupported workbench model snapshot " + file); //$NON-NLS-1$
+			}
+			String[] ids = new String[in.readInt()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = in.readUTF();
+			}
+
+			BinaryResourceImpl binary = new BinaryResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+			resourceSet.getResources().add(binary);
+			try {
+				binary.load(in, resourceSet.getLoadOptions());
+			} finally {
+				resourceSet.getResources().remove(binary);
+			}
+			int count = 0;
+			for (Iterator<EObject> it = binary.getAllContents(); it.hasNext(); it.next()) {
+				count++;
+			}
+			if (count != ids.length) {
+				throw new IOException("Corrupted workbench model snapshot " + file); //$NON-NLS-1$
+			}
+
+			E4XMIResource resource = (E4XMIResource) resourceSet.createResource(uri);
+			resource.getContents().addAll(new ArrayList<>(binary.getContents()));
+			int i = 0;
+			for (Iterator<EObject> it = resource.getAllContents(); it.hasNext(); i++) {
+				EObject eObject = it.next();
+				if (!ids[i].isEmpty()) {
+					resource.setID(eObject, ids[i]);
+				}
+			}
+			return resource;
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.MElementContainer;
+import org.eclipse.e4.ui.model.application.ui.MGenericStack;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.emf.common.util.URI;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Constants;
+
+/**
+ * Loads the classes of contributions in background jobs before they are
+ * created, so that creating them on the UI thread finds the classes loaded and
+ * their reflection data, which the injector inspects, already built.
+ * <p>
+ * Only classes of active bundles, or of resolved bundles which are not
+ * activated lazily, are loaded. Loading a class from a bundle waiting for lazy
+ * activation starts the bundle, even if it has no activator, and starting a
+ * bundle may expect to happen on the UI thread.
+ * </p>
+ */
+public final class ContributionPreloader {
+
+	private static final int MAX_JOBS = 4;
+
+	private final Queue<String> uris = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The URIs of the contributions which have been loaded or tried, cleared by
+	 * {@link #clear()}
+	 */
+	private static final Set<String> LOADED = ConcurrentHashMap.newKeySet();
+
+	private ContributionPreloader(Collection<String> uris) {
+		for (String uri : uris) {
+			if (!LOADED.contains(uri)) {
+				this.uris.add(uri);
+			}
+		}
+	}
+
+	/**
+	 * Preloads the contributions of the parts to be rendered in the given
+	 * application, those which are visible in the restored layout first.
+	 */
+	public static void preloadParts(MApplication application) {
+		Set<String> visible = new LinkedHashSet<>();
+		Set<String> hidden = new LinkedHashSet<>();
+		for (MWindow window : application.getChildren()) {
+			collectParts(window, true, visible, hidden);
+		}
+		visible.addAll(hidden);
+		preload(visible);
+	}
+
+	/**
+	 * Preloads the contributions with the given URIs, in the order given.
+	 */
+	public static void preload(Collection<String> contributionURIs) {
+		if (contributionURIs.isEmpty() || Activator.getDefault() == null) {
+			return;
+		}
+		ContributionPreloader preloader = new ContributionPreloader(contributionURIs);
+		int jobs = Math.min(MAX_JOBS, Math.min(preloader.uris.size(), Runtime.getRuntime().availableProcessors()));
+		for (int i = 0; i < jobs; i++) {
+			Job job = new Job("Preloading contributions") { //$NON-NLS-1$
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					preloader.run(monitor);
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.setPriority(Job.SHORT);
+			job.schedule();
+		}
+	}
+
+	/**
+	 * Loads the contributions with the given URIs in the calling thread, in the
+	 * order given, until the monitor is canceled.
+	 */
+	public static void load(Collection<String> contributionURIs, IProgressMonitor monitor) {
+		if (Activator.getDefault() != null) {
+			new ContributionPreloader(contributionURIs).run(monitor);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the contribution with the given URI has been
+	 *         loaded or tried since the last {@link #clear()}
+	 */
+	public static boolean isLoaded(String contributionURI) {
+		return LOADED.contains(contributionURI);
+	}
+
+	/**
+	 * Forgets which contributions have been loaded, e.g. when the workbench is
+	 * closed, as their bundles may be updated before the next one is started.
+	 */
+	public static void clear() {
+		LOADED.clear();
+	}
+
+	/**
+	 * @return <code>true</code> if classes can be loaded from the given bundle
+	 *         without starting it
+	 */
+	public static boolean canLoadClasses(Bundle bundle) {
+		switch (bundle.getState()) {
+		case Bundle.ACTIVE:
+			return true;
+		case Bundle.RESOLVED:
+			// a lazily activated bundle may be started by the first class load
+			return bundle.getHeaders(Util.ZERO_LENGTH_STRING).get(Constants.BUNDLE_ACTIVATIONPOLICY) == null;
+		default:
+			// installed, starting or stopping
+			return false;
+		}
+	}
+
+	/**
+	 * Collects the contribution URIs of the parts to be rendered below the given
+	 * element, those of parts which are visible in its layout into
+	 * <code>visibleParts</code> and the others into <code>hiddenParts</code>.
+	 */
+	public static void collectParts(MUIElement element, boolean visible, Set<String> visibleParts,
+			Set<String> hiddenParts) {
+		if (element == null || !element.isToBeRendered()) {
+			return;
+		}
+		boolean shown = visible && element.isVisible();
+		if (element instanceof MPlaceholder) {
+			collectParts(((MPlaceholder) element).getRef(), shown, visibleParts, hiddenParts);
+		} else if (element instanceof MPart) {
+			String uri = ((MPart) element).getContributionURI();
+			if (uri != null) {
+				(shown ? visibleParts : hiddenParts).add(uri);
+			}
+		}
+		if (element instanceof MElementContainer<?>) {
+			MElementContainer<?> container = (MElementContainer<?>) element;
+			for (MUIElement child : container.getChildren()) {
+				boolean selected = !(container instanceof MGenericStack<?>) || child == container.getSelectedElement();
+				collectParts(child, shown && selected, visibleParts, hiddenParts);
+			}
+		}
+		if (element instanceof MWindow) {
+			for (MWindow window : ((MWindow) element).getWindows()) {
+				collectParts(window, shown, visibleParts, hiddenParts);
+			}
+		} else if (element instanceof MPerspective) {
+			for (MWindow window : ((MPerspective) element).getWindows()) {
+				collectParts(window, shown, visibleParts, hiddenParts);
+			}
+		}
+	}
+
+	private void run(IProgressMonitor monitor) {
+		for (String uri = uris.poll(); uri != null && !monitor.isCanceled(); uri = uris.poll()) {
+			if (!LOADED.contains(uri)) {
+				try {
+					if (load(uri)) {
+						LOADED.add(uri);
+					}
+				} catch (Exception | LinkageError e) {
+					// reported when the contribution is created
+					LOADED.add(uri);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return <code>false</code> if the contribution has not been loaded, but
+	 *         may be loadable later
+	 */
+	private static boolean load(String uriString) throws ClassNotFoundException {
+		URI uri = URI.createURI(uriString);
+		// contributions of other languages than Java have further segments
+		if (!URIHelper.isBundleClassUri(uriString) || uri.segmentCount() != 1) {
+			return true;
+		}
+		Bundle bundle = Activator.getDefault().getBundleForName(uri.authority());
+		if (bundle == null || !canLoadClasses(bundle)) {
+			return false;
+		}
+		for (Class<?> clazz = bundle.loadClass(uri.segment(0)); clazz != null
+				&& clazz != Object.class; clazz = clazz.getSuperclass()) {
+			for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+				constructor.getAnnotations();
+				constructor.getParameterAnnotations();
+			}
+			for (Field field : clazz.getDeclaredFields()) {
+				field.getAnnotations();
+			}
+			for (Method method : clazz.getDeclaredMethods()) {
+				method.getAnnotations();
+				method.getParameterAnnotations();
+			}
+		}
+		return true;
+	}
+}
@@ -18,12 +18,19 @@
 package org.eclipse.e4.ui.internal.workbench;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import org.eclipse.core.expressions.EvaluationResult;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionInfo;
@@ -109,6 +116,30 @@ public final class ContributionsAnalyzer {
 		}
 	}
 
+	/**
+	 * Gathers the contributions of the application to the given menu like
+	 * {@link #XXXgatherMenuContributions(MMenu, List, String, ArrayList, boolean)},
+	 * but only goes through the contributions whose parent id may match the menu.
+	 */
+	public static void gatherMenuContributions(final MMenu menuModel, MApplication application, final String id,
+			final ArrayList<MMenuContribution> toContribute, boolean includePopups) {
+		if (id == null || id.isEmpty()) {
+			return;
+		}
+		Set<String> parentIds = new LinkedHashSet<>();
+		parentIds.add(id);
+		if (includePopups) {
+			parentIds.add(POPUP_PARENT_ID);
+			for (String tag : menuModel.getTags()) {
+				if (tag.startsWith("popup:")) { //$NON-NLS-1$
+					parentIds.add(tag.substring("popup:".length())); //$NON-NLS-1$
+				}
+			}
+		}
+		XXXgatherMenuContributions(menuModel, MenuContributionIndex.get(application).getContributions(parentIds), id,
+				toContribute, includePopups);
+	}
+
 	public static void XXXgatherMenuContributions(final MMenu menuModel,
 			final List<MMenuContribution> menuContributionList, final String id,
 			final ArrayList<MMenuContribution> toContribute, boolean includePopups) {
@@ -250,17 +281,22 @@ public final class ContributionsAnalyzer {
 			ref = new ReferenceExpression(coreExpression.getCoreExpressionId());
 			coreExpression.setCoreExpression(ref);
 		}
+		CachedVisibility cached = visibilityCache.computeIfAbsent(ref, CachedVisibility::new);
 		// Creates dependency on a predefined value that can be "poked" by
 		// the evaluation
 		// service
-		ExpressionInfo info = ref.computeExpressionInfo();
-		String[] names = info.getAccessedPropertyNames();
-		for (String name : names) {
+		for (String name : cached.propertyNames) {
 			eContext.getVariable(name + ".evaluationServiceLink"); //$NON-NLS-1$
 		}
+		Object[] values = cached.getValues(eContext);
+		Boolean result = cached.getResult(values);
+		if (result != null) {
+			return result.booleanValue();
+		}
 		boolean ret = false;
 		try {
 			ret = ref.evaluate(eContext) != EvaluationResult.FALSE;
+			cached.setResult(values, ret);
 		} catch (Exception e) {
 			if (DEBUG) {
 				trace("isVisible exception", e); //$NON-NLS-1$
@@ -269,6 +305,88 @@ public final class ContributionsAnalyzer {
 		return ret;
 	}
 
+	/**
+	 * The results of core expressions, which only need to be evaluated again
+	 * when the values of the variables they access changed.
+	 */
+	private static final Map<Expression, CachedVisibility> visibilityCache = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * The last result of a core expression with the values of the variables
+	 * it was computed from. Results of expressions which test properties or
+	 * system properties are not kept, as they may change without any variable
+	 * changing. The values are only weakly referenced, so that the cache does
+	 * not keep parts, selections or shells alive.
+	 */
+	private static final class CachedVisibility {
+		final String[] propertyNames;
+		final String[] variableNames;
+		final boolean defaultVariable;
+		final boolean cacheable;
+		/**
+		 * The values the result was computed from, <code>null</code> elements
+		 * for <code>null</code> values
+		 */
+		private Reference<?>[] values;
+		private boolean result;
+
+		CachedVisibility(Expression expression) {
+			ExpressionInfo info = expression.computeExpressionInfo();
+			propertyNames = info.getAccessedPropertyNames();
+			variableNames = info.getAccessedVariableNames();
+			defaultVariable = info.isDefaultVariableAccessed();
+			cacheable = propertyNames.length == 0 && !info.hasSystemPropertyAccess()
+					&& info.getMisbehavingExpressionTypes() == null;
+		}
+
+		Object[] getValues(ExpressionContext eContext) {
+			if (!cacheable) {
+				return null;
+			}
+			Object[] current = new Object[variableNames.length + 1];
+			for (int i = 0; i < variableNames.length; i++) {
+				current[i] = eContext.getVariable(variableNames[i]);
+			}
+			if (defaultVariable) {
+				current[variableNames.length] = eContext.getDefaultVariable();
+			}
+			return current;
+		}
+
+		synchronized Boolean getResult(Object[] current) {
+			if (current == null || values == null) {
+				return null;
+			}
+			for (int i = 0; i < current.length; i++) {
+				if (values[i] == null) {
+					if (current[i] != null) {
+						return null;
+					}
+					continue;
+				}
+				// a collected value differs from any current one
+				Object value = values[i].get();
+				if (value == null || value != current[i] && !value.equals(current[i])) {
+					return null;
+				}
+			}
+			return Boolean.valueOf(result);
+		}
+
+		synchronized void setResult(Object[] current, boolean newResult) {
+			if (current != null) {
+				values = new Reference<?>[current.length];
+				for (int i = 0; i < current.length; i++) {
+					if (current[i] != null) {
+						values[i] = new WeakReference<>(current[i]);
+					}
+				}
+				result = newResult;
+			}
+		}
+	}
+
 	private static boolean isImperativeExpressionVisible(MImperativeExpression exp, final ExpressionContext eContext) {
 		Object imperativeExpressionObject = exp.getObject();
 		if (imperativeExpressionObject == null) {
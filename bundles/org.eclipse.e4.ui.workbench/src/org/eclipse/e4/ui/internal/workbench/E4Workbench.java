@@ -197,6 +197,7 @@ public class E4Workbench implements IWorkbench {
 			osgiRegistration.unregister();
 			osgiRegistration = null;
 		}
+		ContributionPreloader.clear();
 		return true;
 	}
 
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.fragment.MStringModelFragment;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Remembers in the persisted state of the application which contributors'
+ * fragments have been merged into the model, so that the fragments of
+ * unchanged contributors are not merged again into a restored model.
+ * <p>
+ * A contributor is unchanged if its bundle has the same version and
+ * modification time as when its fragments were merged, and the elements which
+ * they contributed are still in the model. The fragments of an unchanged
+ * contributor are merged nevertheless if they target elements contributed by
+ * merged fragments, since merging those replaces the targeted elements.
+ * </p>
+ */
+final class FragmentMergeCache {
+
+	/**
+	 * The key of the application's persisted state which stores the merged
+	 * contributors
+	 */
+	static final String PERSISTED_STATE_KEY = "ModelAssembler.mergedFragments"; //$NON-NLS-1$
+
+	private static final String PARENT_PREFIX = "P:"; //$NON-NLS-1$
+
+	private static final String ELEMENT_PREFIX = "E:"; //$NON-NLS-1$
+
+	private static final String XPATH_PREFIX = "xpath:"; //$NON-NLS-1$
+
+	/**
+	 * The separator of parent ids, as in {@link MStringModelFragment#merge}
+	 */
+	private static final Pattern CSV = Pattern.compile("[,\\s]*,[,\\s]*"); //$NON-NLS-1$
+
+	private static class Entry {
+		String fingerprint;
+		Set<String> parentIds = new LinkedHashSet<>();
+		Set<String> elementIds = new LinkedHashSet<>();
+	}
+
+	private final MApplication application;
+
+	private final Map<String, String> fingerprints = new HashMap<>();
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	private final boolean enabled;
+
+	private Map<String, MApplicationElement> modelElements;
+
+	/**
+	 * @param initial
+	 *            <code>true</code> if the model is not restored, so that all
+	 *            fragments must be merged
+	 */
+	FragmentMergeCache(MApplication application, BundleContext bundleContext, boolean initial) {
+		this.application = application;
+		// bundles from the workspace change without a new modification time
+		this.enabled = bundleContext != null && System.getProperty("osgi.dev") == null; //$NON-NLS-1$
+		if (!enabled) {
+			return;
+		}
+		for (Bundle bundle : bundleContext.getBundles()) {
+			if (bundle.getSymbolicName() != null) {
+				fingerprints.merge(bundle.getSymbolicName(), bundle.getVersion() + "@" + bundle.getLastModified(), //$NON-NLS-1$
+						(a, b) -> a + ',' + b);
+			}
+		}
+		String state = initial ? null : application.getPersistedState().get(PERSISTED_STATE_KEY);
+		if (state != null) {
+			parse(state);
+		}
+	}
+
+	private void parse(String state) {
+		for (String line : state.split("\n")) { //$NON-NLS-1$
+			String[] fields = line.split("\t"); //$NON-NLS-1$
+			if (fields.length < 2) {
+				continue;
+			}
+			Entry entry = new Entry();
+			entry.fingerprint = fields[1];
+			for (int i = 2; i < fields.length; i++) {
+				if (fields[i].startsWith(PARENT_PREFIX)) {
+					entry.parentIds.add(fields[i].substring(PARENT_PREFIX.length()));
+				} else if (fields[i].startsWith(ELEMENT_PREFIX)) {
+					entry.elementIds.add(fields[i].substring(ELEMENT_PREFIX.length()));
+				}
+			}
+			entries.put(fields[0], entry);
+		}
+	}
+
+	/**
+	 * @return the given contributors whose fragments must be merged, because
+	 *         they are new or changed, or their merged elements are missing
+	 */
+	Set<String> getChangedContributors(Collection<String> contributors) {
+		Set<String> changed = new LinkedHashSet<>();
+		for (String contributor : contributors) {
+			Entry entry = entries.get(contributor);
+			if (entry == null || !entry.fingerprint.equals(fingerprints.get(contributor))
+					|| !getModelElements().keySet().containsAll(entry.elementIds)) {
+				changed.add(contributor);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * @return the contributors whose fragments target the given elements, or an
+	 *         element found by XPath
+	 */
+	Set<String> getDependentContributors(Set<String> elementIds) {
+		Set<String> dependent = new LinkedHashSet<>();
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			for (String parentId : entry.getValue().parentIds) {
+				if (parentId.startsWith(XPATH_PREFIX) || elementIds.contains(parentId)) {
+					dependent.add(entry.getKey());
+					break;
+				}
+			}
+		}
+		return dependent;
+	}
+
+	/**
+	 * @return the elementIds of the given fragments' elements and their
+	 *         contents
+	 */
+	static Set<String> getContainedElementIds(Collection<ModelFragmentWrapper> wrappers) {
+		Set<String> ids = new LinkedHashSet<>();
+		for (ModelFragmentWrapper wrapper : wrappers) {
+			for (Iterator<EObject> it = EcoreUtil.getAllContents(wrapper.getModelFragment().getElements()); it
+					.hasNext();) {
+				EObject next = it.next();
+				if (next instanceof MApplicationElement && ((MApplicationElement) next).getElementId() != null) {
+					ids.add(((MApplicationElement) next).getElementId());
+				}
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the element of the model with the given elementId, or
+	 *         <code>null</code>
+	 */
+	MApplicationElement getModelElement(String elementId) {
+		return getModelElements().get(elementId);
+	}
+
+	private Map<String, MApplicationElement> getModelElements() {
+		if (modelElements == null) {
+			modelElements = new HashMap<>();
+			for (Iterator<EObject> it = ((EObject) application).eAllContents(); it.hasNext();) {
+				EObject next = it.next();
+				if (next instanceof MApplicationElement && ((MApplicationElement) next).getElementId() != null) {
+					modelElements.putIfAbsent(((MApplicationElement) next).getElementId(),
+							(MApplicationElement) next);
+				}
+			}
+		}
+		return modelElements;
+	}
+
+	/**
+	 * Records that the fragments of the given contributor have been merged.
+	 * Contributors whose fragments cannot be told to be in the model, because
+	 * their elements have no elementId or are not persisted, are not recorded
+	 * and thus always merged.
+	 */
+	void merged(String contributor, List<ModelFragmentWrapper> wrappers) {
+		entries.remove(contributor);
+		modelElements = null;
+		String fingerprint = fingerprints.get(contributor);
+		if (!enabled || fingerprint == null) {
+			return;
+		}
+		Entry entry = new Entry();
+		entry.fingerprint = fingerprint;
+		for (ModelFragmentWrapper wrapper : wrappers) {
+			String parentIds = ((MStringModelFragment) wrapper.getModelFragment()).getParentElementId();
+			if (parentIds == null || parentIds.startsWith(XPATH_PREFIX)) {
+				entry.parentIds.add(String.valueOf(parentIds));
+			} else {
+				entry.parentIds.addAll(Arrays.asList(CSV.split(parentIds.trim())));
+			}
+			for (MApplicationElement element : wrapper.getModelFragment().getElements()) {
+				String id = element.getElementId();
+				if (id == null || id.isEmpty() || E4XMISave.isFiltered((EObject) element)) {
+					return;
+				}
+				entry.elementIds.add(id);
+			}
+		}
+		entries.put(contributor, entry);
+	}
+
+	/**
+	 * Stores the merged contributors in the persisted state of the
+	 * application. Contributors which are gone are forgotten.
+	 */
+	void save(Collection<String> contributors) {
+		if (!enabled) {
+			application.getPersistedState().remove(PERSISTED_STATE_KEY);
+			return;
+		}
+		List<String> lines = new ArrayList<>();
+		for (String contributor : contributors) {
+			Entry entry = entries.get(contributor);
+			if (entry == null) {
+				continue;
+			}
+			StringBuilder line = new StringBuilder(contributor).append('\t').append(entry.fingerprint);
+			for (String parentId : entry.parentIds) {
+				line.append('\t').append(PARENT_PREFIX).append(parentId);
+			}
+			for (String elementId : entry.elementIds) {
+				line.append('\t').append(ELEMENT_PREFIX).append(elementId);
+			}
+			lines.add(line.toString());
+		}
+		application.getPersistedState().put(PERSISTED_STATE_KEY, String.join("\n", lines)); //$NON-NLS-1$
+	}
+
+	boolean isEnabled() {
+		return enabled;
+	}
+}
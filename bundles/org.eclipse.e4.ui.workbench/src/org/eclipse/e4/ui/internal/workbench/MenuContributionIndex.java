@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenuContribution;
+import org.eclipse.e4.ui.model.application.ui.menu.impl.MenuPackageImpl;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Indexes the menu contributions of an application by their parent id, so
+ * that the contributions to a menu are found without going through all the
+ * contributions of the application. The index is built on first use and built
+ * again after the contributions or their parent ids changed.
+ */
+final class MenuContributionIndex extends AdapterImpl {
+
+	private final MApplication application;
+
+	private Map<String, List<MMenuContribution>> byParentId;
+
+	private Map<MMenuContribution, Integer> positions;
+
+	private MenuContributionIndex(MApplication application) {
+		this.application = application;
+	}
+
+	/**
+	 * Returns the index of the given application, attaching it on first use.
+	 */
+	static MenuContributionIndex get(MApplication application) {
+		for (Adapter adapter : ((EObject) application).eAdapters()) {
+			if (adapter instanceof MenuContributionIndex) {
+				return (MenuContributionIndex) adapter;
+			}
+		}
+		MenuContributionIndex index = new MenuContributionIndex(application);
+		((EObject) application).eAdapters().add(index);
+		return index;
+	}
+
+	/**
+	 * Returns the contributions with any of the given parent ids, in the order
+	 * of the contributions of the application.
+	 */
+	List<MMenuContribution> getContributions(Collection<String> parentIds) {
+		if (byParentId == null) {
+			build();
+		}
+		List<MMenuContribution> result = null;
+		boolean merged = false;
+		for (String parentId : parentIds) {
+			List<MMenuContribution> contributions = byParentId.get(parentId);
+			if (contributions == null) {
+				continue;
+			}
+			if (result == null) {
+				result = contributions;
+			} else {
+				if (!merged) {
+					result = new ArrayList<>(result);
+					merged = true;
+				}
+				result.addAll(contributions);
+			}
+		}
+		if (result == null) {
+			return Collections.emptyList();
+		}
+		if (merged) {
+			result.sort(Comparator.comparing(positions::get));
+		}
+		return result;
+	}
+
+	private void build() {
+		byParentId = new HashMap<>();
+		positions = new IdentityHashMap<>();
+		List<MMenuContribution> contributions = application.getMenuContributions();
+		for (int i = 0; i < contributions.size(); i++) {
+			MMenuContribution contribution = contributions.get(i);
+			List<Adapter> adapters = ((EObject) contribution).eAdapters();
+			if (!adapters.contains(this)) {
+				adapters.add(this);
+			}
+			positions.put(contribution, Integer.valueOf(i));
+			String parentId = contribution.getParentId();
+			if (parentId != null) {
+				byParentId.computeIfAbsent(parentId, id -> new ArrayList<>()).add(contribution);
+			}
+		}
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		Object feature = notification.getFeature();
+		boolean contributionsChanged = feature == MenuPackageImpl.Literals.MENU_CONTRIBUTIONS__MENU_CONTRIBUTIONS
+				&& notification.getNotifier() == application;
+		if (contributionsChanged) {
+			detachFromRemoved(notification);
+		}
+		if (contributionsChanged || feature == MenuPackageImpl.Literals.MENU_CONTRIBUTION__PARENT_ID) {
+			byParentId = null;
+			positions = null;
+		}
+	}
+
+	/**
+	 * Stops listening to the contributions removed from the application, so
+	 * that they do not keep the application reachable.
+	 */
+	private void detachFromRemoved(Notification notification) {
+		switch (notification.getEventType()) {
+		case Notification.REMOVE:
+		case Notification.SET:
+			detach(notification.getOldValue());
+			break;
+		case Notification.REMOVE_MANY:
+			if (notification.getOldValue() instanceof Collection<?>) {
+				for (Object contribution : (Collection<?>) notification.getOldValue()) {
+					detach(contribution);
+				}
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void detach(Object contribution) {
+		if (contribution instanceof EObject) {
+			((EObject) contribution).eAdapters().remove(this);
+		}
+	}
+}
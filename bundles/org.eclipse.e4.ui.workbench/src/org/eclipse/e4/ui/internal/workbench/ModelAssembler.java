@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2021 BestSolution.at and others.
+ * Copyright (c) 2010, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,8 +22,10 @@ package org.eclipse.e4.ui.internal.workbench;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -340,26 +342,17 @@ public class ModelAssembler {
 	 * @param initial    <code>true</code> if running from a non-persisted state
 	 */
 	private void processFragments(IExtension[] extensions, boolean initial) {
-		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		List<IConfigurationElement> fragmentElements = new ArrayList<>();
 		for (IExtension extension : extensions) {
 			IConfigurationElement[] ces = extension.getConfigurationElements();
 			for (IConfigurationElement ce : ces) {
 				if ("fragment".equals(ce.getName()) && (initial || !INITIAL.equals(ce.getAttribute("apply")))) { //$NON-NLS-1$ //$NON-NLS-2$
-					MModelFragments fragmentsContainer = getFragmentsContainer(ce.getAttribute("uri"), //$NON-NLS-1$
-							ce.getContributor().getName());
-					if (fragmentsContainer == null) {
-						continue;
-					}
-					for (MModelFragment fragment : fragmentsContainer.getFragments()) {
-						boolean checkExist = !initial && NOTEXISTS.equals(ce.getAttribute("apply")); //$NON-NLS-1$
-						wrappers.add(
-								new ModelFragmentWrapper(fragmentsContainer, fragment, ce.getContributor().getName(),
-										URIHelper.constructPlatformURI(ce.getContributor()), checkExist)); // $NON-NLS-1$
-					}
+					fragmentElements.add(ce);
 				}
 			}
 		}
 
+		Map<String, List<FragmentWrapperElementMapping>> tracked = new LinkedHashMap<>();
 		if (this.tracker != null) {
 			// this triggers initial bundle tracking in the current thread
 			// for startup reasons we do not process each fragment on initial tracking by
@@ -367,15 +360,91 @@ public class ModelAssembler {
 			// the initial tracking is done
 			this.tracker.open();
 
-			// once the initial tracking is done we process the tracked bundles
-			// this is for performance optimization on initial loading to avoid multiple
-			// fragment merge operations
-			List<ModelFragmentWrapper> collect = this.tracker.getTracked().values().stream().flatMap(List::stream)
-					.map(w -> w.wrapper).collect(Collectors.toList());
-			wrappers.addAll(collect);
+			this.tracker.getTracked().forEach((bundle, mappings) -> tracked.put(bundle.getSymbolicName(), mappings));
+		}
+
+		// only the fragments of changed contributors, and of those depending on
+		// them, are read and merged again into a restored model
+		FragmentMergeCache cache = new FragmentMergeCache(application, bundleContext, initial);
+		Set<String> contributors = new LinkedHashSet<>();
+		fragmentElements.forEach(ce -> contributors.add(ce.getContributor().getName()));
+		contributors.addAll(tracked.keySet());
+		Map<IConfigurationElement, List<ModelFragmentWrapper>> extensionWrappers = new HashMap<>();
+		Set<String> changed = cache.getChangedContributors(contributors);
+		Deque<String> queue = new ArrayDeque<>(changed);
+		while (!queue.isEmpty()) {
+			String contributor = queue.poll();
+			List<ModelFragmentWrapper> contributed = new ArrayList<>();
+			for (IConfigurationElement ce : fragmentElements) {
+				if (contributor.equals(ce.getContributor().getName())) {
+					List<ModelFragmentWrapper> ceWrappers = getModelFragmentWrappers(ce, initial);
+					extensionWrappers.put(ce, ceWrappers);
+					contributed.addAll(ceWrappers);
+				}
+			}
+			tracked.getOrDefault(contributor, List.of()).forEach(m -> contributed.add(m.wrapper));
+			for (String dependent : cache
+					.getDependentContributors(FragmentMergeCache.getContainedElementIds(contributed))) {
+				if (contributors.contains(dependent) && changed.add(dependent)) {
+					queue.add(dependent);
+				}
+			}
+		}
+
+		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		Map<String, List<ModelFragmentWrapper>> wrappersByContributor = new HashMap<>();
+		for (IConfigurationElement ce : fragmentElements) {
+			List<ModelFragmentWrapper> ceWrappers = extensionWrappers.get(ce);
+			if (ceWrappers != null) {
+				wrappers.addAll(ceWrappers);
+				wrappersByContributor.computeIfAbsent(ce.getContributor().getName(), k -> new ArrayList<>())
+						.addAll(ceWrappers);
+			}
 		}
 
+		// once the initial tracking is done we process the tracked bundles
+		// this is for performance optimization on initial loading to avoid multiple
+		// fragment merge operations
+		tracked.forEach((contributor, mappings) -> {
+			if (changed.contains(contributor)) {
+				mappings.forEach(m -> {
+					wrappers.add(m.wrapper);
+					wrappersByContributor.computeIfAbsent(contributor, k -> new ArrayList<>()).add(m.wrapper);
+				});
+			}
+		});
+
 		processFragmentWrappers(wrappers);
+
+		for (String contributor : contributors) {
+			if (changed.contains(contributor)) {
+				cache.merged(contributor, wrappersByContributor.getOrDefault(contributor, List.of()));
+			} else if (tracked.containsKey(contributor)) {
+				// the elements to remove with the bundle are those of the model
+				for (FragmentWrapperElementMapping mapping : tracked.get(contributor)) {
+					mapping.elements = mapping.elements.stream().map(e -> {
+						MApplicationElement element = cache.getModelElement(e.getElementId());
+						return element != null ? element : e;
+					}).collect(Collectors.toList());
+				}
+			}
+		}
+		cache.save(contributors);
+	}
+
+	private List<ModelFragmentWrapper> getModelFragmentWrappers(IConfigurationElement ce, boolean initial) {
+		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		MModelFragments fragmentsContainer = getFragmentsContainer(ce.getAttribute("uri"), //$NON-NLS-1$
+				ce.getContributor().getName());
+		if (fragmentsContainer == null) {
+			return wrappers;
+		}
+		for (MModelFragment fragment : fragmentsContainer.getFragments()) {
+			boolean checkExist = !initial && NOTEXISTS.equals(ce.getAttribute("apply")); //$NON-NLS-1$
+			wrappers.add(new ModelFragmentWrapper(fragmentsContainer, fragment, ce.getContributor().getName(),
+					URIHelper.constructPlatformURI(ce.getContributor()), checkExist)); // $NON-NLS-1$
+		}
+		return wrappers;
 	}
 
 	private List<ModelFragmentWrapper> getModelFragmentWrapperFromBundle(Bundle bundle, boolean initial) {
@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.impl.ApplicationPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Indexes the elements of an application by elementId, tag and concrete
+ * class, kept up to date from the model notifications.
+ * <p>
+ * The index does not answer queries by itself, since the search flags of
+ * {@link ModelServiceImpl#findElements(MApplicationElement, Class, int, org.eclipse.e4.ui.workbench.Selector)}
+ * depend on the path to an element. Instead it computes the elements through
+ * which the matching elements can be reached, so that the search only visits
+ * those instead of the whole model.
+ * </p>
+ */
+final class ModelIndex extends EContentAdapter {
+
+	private final MApplication application;
+
+	private final Set<MApplicationElement> elements = new HashSet<>();
+
+	private final Map<String, Set<MApplicationElement>> byId = new HashMap<>();
+
+	private final Map<String, Set<MApplicationElement>> byTag = new HashMap<>();
+
+	private final Map<Class<?>, Set<MApplicationElement>> byClass = new HashMap<>();
+
+	private final Map<MUIElement, Set<MPlaceholder>> placeholdersByRef = new HashMap<>();
+
+	/**
+	 * Incremented whenever elements are added or removed or placeholders are
+	 * changed
+	 */
+	private int stamp;
+
+	private int checkedStamp = -1;
+
+	private boolean refsContained;
+
+	ModelIndex(MApplication application) {
+		this.application = application;
+		update((EObject) application);
+		((EObject) application).eAdapters().add(this);
+	}
+
+	MApplication getApplication() {
+		return application;
+	}
+
+	void dispose() {
+		((EObject) application).eAdapters().remove(this);
+	}
+
+	/**
+	 * Returns the elements through which the elements of the application
+	 * matching the given criteria can be reached. These are the matching
+	 * elements, their containers and the placeholders referencing any of them,
+	 * recursively.
+	 *
+	 * @return the elements to search, or <code>null</code> if the whole model
+	 *         must be searched
+	 */
+	Set<Object> getSearchPath(String id, Class<?> clazz, List<String> tagsToMatch) {
+		Collection<MApplicationElement> candidates = null;
+		if (id != null) {
+			candidates = byId.getOrDefault(id, Collections.emptySet());
+		}
+		if (tagsToMatch != null) {
+			for (String tag : tagsToMatch) {
+				Set<MApplicationElement> tagged = byTag.getOrDefault(tag, Collections.emptySet());
+				if (candidates == null || tagged.size() < candidates.size()) {
+					candidates = tagged;
+				}
+			}
+		}
+		if (candidates == null && clazz != null) {
+			candidates = getInstances(clazz);
+		}
+		// the search path is not worth it for unselective queries
+		if (candidates == null || candidates.size() * 2 > elements.size() || !isRefsContained()) {
+			return null;
+		}
+
+		Set<Object> path = new HashSet<>();
+		Deque<EObject> queue = new ArrayDeque<>();
+		for (MApplicationElement candidate : candidates) {
+			if (matches(candidate, id, clazz, tagsToMatch)) {
+				queue.add((EObject) candidate);
+			}
+		}
+		while (!queue.isEmpty()) {
+			for (EObject element = queue.poll(); element != null && path.add(element); element = element
+					.eContainer()) {
+				Set<MPlaceholder> placeholders = placeholdersByRef.get(element);
+				if (placeholders != null) {
+					for (MPlaceholder placeholder : placeholders) {
+						queue.add((EObject) placeholder);
+					}
+				}
+			}
+		}
+		return path;
+	}
+
+	private Collection<MApplicationElement> getInstances(Class<?> clazz) {
+		List<Set<MApplicationElement>> instances = new ArrayList<>();
+		for (Map.Entry<Class<?>, Set<MApplicationElement>> entry : byClass.entrySet()) {
+			if (clazz.isAssignableFrom(entry.getKey())) {
+				instances.add(entry.getValue());
+			}
+		}
+		if (instances.size() == 1) {
+			return instances.get(0);
+		}
+		Set<MApplicationElement> union = new HashSet<>();
+		for (Set<MApplicationElement> set : instances) {
+			union.addAll(set);
+		}
+		return union;
+	}
+
+	private static boolean matches(MApplicationElement element, String id, Class<?> clazz, List<String> tagsToMatch) {
+		if (id != null && !id.equals(element.getElementId())) {
+			return false;
+		}
+		if (clazz != null && !clazz.isInstance(element)) {
+			return false;
+		}
+		return tagsToMatch == null || element.getTags().containsAll(tagsToMatch);
+	}
+
+	/**
+	 * Elements reached through placeholders are only indexed if the
+	 * placeholders reference elements of the application.
+	 */
+	private boolean isRefsContained() {
+		if (checkedStamp != stamp) {
+			checkedStamp = stamp;
+			refsContained = true;
+			for (MUIElement ref : placeholdersByRef.keySet()) {
+				if (EcoreUtil.getRootContainer((EObject) ref) != application) {
+					refsContained = false;
+					break;
+				}
+			}
+		}
+		return refsContained;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		Object feature = notification.getFeature();
+		Object notifier = notification.getNotifier();
+		if (feature == AdvancedPackageImpl.Literals.PLACEHOLDER__REF) {
+			if (elements.contains(notifier) && (notification.getEventType() == Notification.SET
+					|| notification.getEventType() == Notification.UNSET
+					|| notification.getEventType() == Notification.RESOLVE)) {
+				MPlaceholder placeholder = (MPlaceholder) notifier;
+				remove(placeholdersByRef, (MUIElement) notification.getOldValue(), placeholder);
+				add(placeholdersByRef, (MUIElement) notification.getNewValue(), placeholder);
+				stamp++;
+			}
+			return;
+		}
+		if (notification.isTouch() || !elements.contains(notifier)) {
+			return;
+		}
+		MApplicationElement element = (MApplicationElement) notifier;
+		if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__ELEMENT_ID) {
+			remove(byId, notification.getOldStringValue(), element);
+			add(byId, notification.getNewStringValue(), element);
+		} else if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__TAGS) {
+			// a tag is only removed from the index once the element has no
+			// duplicate of it left
+			for (Object tag : getValues(notification.getOldValue())) {
+				if (tag instanceof String && !element.getTags().contains(tag)) {
+					remove(byTag, (String) tag, element);
+				}
+			}
+			for (Object tag : getValues(notification.getNewValue())) {
+				if (tag instanceof String) {
+					add(byTag, (String) tag, element);
+				}
+			}
+		} else if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+			switch (notification.getEventType()) {
+			case Notification.ADD:
+			case Notification.ADD_MANY:
+			case Notification.REMOVE:
+			case Notification.REMOVE_MANY:
+			case Notification.SET:
+			case Notification.UNSET:
+				for (Object child : getValues(notification.getOldValue())) {
+					update(child);
+				}
+				for (Object child : getValues(notification.getNewValue())) {
+					update(child);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return the values of a notification for single and many values, the
+	 *         positions of {@link Notification#MOVE} and
+	 *         {@link Notification#REMOVE_MANY} are returned as they are
+	 */
+	private static Collection<?> getValues(Object value) {
+		if (value instanceof Collection<?>) {
+			return (Collection<?>) value;
+		}
+		return value == null ? Collections.emptySet() : Collections.singleton(value);
+	}
+
+	/**
+	 * Indexes the given object and its contents if they belong to the
+	 * application, removes them from the index otherwise. This does not
+	 * depend on the order in which the notifications of a move arrive.
+	 */
+	private void update(Object object) {
+		if (!(object instanceof EObject)) {
+			return;
+		}
+		EObject root = (EObject) object;
+		boolean contained = EcoreUtil.getRootContainer(root) == application;
+		for (Iterator<EObject> it = EcoreUtil.getAllContents(Collections.singleton(root)); it.hasNext();) {
+			EObject next = it.next();
+			if (next instanceof MApplicationElement) {
+				if (contained) {
+					index((MApplicationElement) next);
+				} else {
+					unindex((MApplicationElement) next);
+				}
+			}
+		}
+		stamp++;
+	}
+
+	private void index(MApplicationElement element) {
+		if (!elements.add(element)) {
+			return;
+		}
+		add(byId, element.getElementId(), element);
+		for (String tag : element.getTags()) {
+			add(byTag, tag, element);
+		}
+		add(byClass, element.getClass(), element);
+		if (element instanceof MPlaceholder) {
+			add(placeholdersByRef, ((MPlaceholder) element).getRef(), (MPlaceholder) element);
+		}
+	}
+
+	private void unindex(MApplicationElement element) {
+		if (!elements.remove(element)) {
+			return;
+		}
+		remove(byId, element.getElementId(), element);
+		for (String tag : element.getTags()) {
+			remove(byTag, tag, element);
+		}
+		remove(byClass, element.getClass(), element);
+		if (element instanceof MPlaceholder) {
+			remove(placeholdersByRef, ((MPlaceholder) element).getRef(), (MPlaceholder) element);
+		}
+	}
+
+	private static <K, V> void add(Map<K, Set<V>> index, K key, V value) {
+		if (key != null) {
+			index.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+		}
+	}
+
+	private static <K, V> void remove(Map<K, Set<V>> index, K key, V value) {
+		if (key == null) {
+			return;
+		}
+		Set<V> values = index.get(key);
+		if (values != null && values.remove(value) && values.isEmpty()) {
+			index.remove(key);
+		}
+	}
+}
@@ -19,8 +19,11 @@ import static java.util.Collections.singletonList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.ui.MElementContainer;
@@ -28,6 +31,7 @@ import org.eclipse.e4.ui.model.application.ui.MGenericStack;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.application.ui.advanced.MArea;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
 import org.eclipse.e4.ui.model.application.ui.basic.MCompositePart;
 import org.eclipse.e4.ui.model.application.ui.basic.MPart;
@@ -42,8 +46,20 @@ class PartActivationHistory {
 
 	private EModelService modelService;
 
+	/**
+	 * The number of most recently activated parts whose neighbours are warmed up.
+	 */
+	private static final int WARM_UP_DEPTH = 5;
+
+	/**
+	 * The time in milliseconds after the last activation before warming up.
+	 */
+	private static final long WARM_UP_DELAY = 1000;
+
 	private LinkedList<MPart> generalActivationHistory = new LinkedList<>();
 
+	private Job warmUpJob;
+
 	PartActivationHistory(PartServiceImpl partService, EModelService modelService) {
 		this.partService = partService;
 		this.modelService = modelService;
@@ -51,6 +67,10 @@ class PartActivationHistory {
 
 	public void clear() {
 		generalActivationHistory.clear();
+		if (warmUpJob != null) {
+			warmUpJob.cancel();
+			warmUpJob = null;
+		}
 	}
 
 	void activate(MPart part, boolean activateBranch) {
@@ -68,6 +88,66 @@ class PartActivationHistory {
 			}
 		}
 		prepend(part);
+		scheduleWarmUp();
+	}
+
+	/**
+	 * Loads the contributions of the parts likely to be shown next in the
+	 * background, once no part has been activated for a while.
+	 */
+	private void scheduleWarmUp() {
+		if (warmUpJob != null) {
+			warmUpJob.cancel();
+		}
+		Collection<String> candidates = getWarmUpCandidates();
+		if (candidates.isEmpty()) {
+			warmUpJob = null;
+			return;
+		}
+		warmUpJob = Job.createSystem("Warming up parts", //$NON-NLS-1$
+				monitor -> ContributionPreloader.load(candidates, monitor));
+		warmUpJob.setPriority(Job.DECORATE);
+		warmUpJob.schedule(WARM_UP_DELAY);
+	}
+
+	/**
+	 * Returns the contribution URIs of the parts which have not been created yet
+	 * but are likely to be shown next: first the other parts in the stacks of the
+	 * most recently activated parts, then the parts visible in the layouts of the
+	 * other perspectives of the active part's window.
+	 */
+	Collection<String> getWarmUpCandidates() {
+		Set<String> candidates = new LinkedHashSet<>();
+		int depth = 0;
+		for (MPart part : generalActivationHistory) {
+			if (depth++ == WARM_UP_DEPTH) {
+				break;
+			}
+			MUIElement element = part.getCurSharedRef() != null ? part.getCurSharedRef() : part;
+			MElementContainer<MUIElement> stack = element.getParent();
+			if (!(stack instanceof MGenericStack<?>)) {
+				continue;
+			}
+			for (MUIElement sibling : stack.getChildren()) {
+				MUIElement ref = sibling instanceof MPlaceholder ? ((MPlaceholder) sibling).getRef() : sibling;
+				if (ref instanceof MPart && ref.isToBeRendered() && ((MPart) ref).getObject() == null
+						&& ((MPart) ref).getContributionURI() != null) {
+					candidates.add(((MPart) ref).getContributionURI());
+				}
+			}
+		}
+
+		MPerspective perspective = generalActivationHistory.isEmpty() ? null
+				: modelService.getPerspectiveFor(generalActivationHistory.getFirst());
+		if (perspective != null && perspective.getParent() instanceof MPerspectiveStack) {
+			Set<String> hidden = new LinkedHashSet<>();
+			for (MPerspective other : perspective.getParent().getChildren()) {
+				if (other != perspective && other.getWidget() == null) {
+					ContributionPreloader.collectParts(other, true, candidates, hidden);
+				}
+			}
+		}
+		return candidates;
 	}
 
 	/**
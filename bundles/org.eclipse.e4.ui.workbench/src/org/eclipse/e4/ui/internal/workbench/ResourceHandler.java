@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2021 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,12 @@ import org.osgi.framework.Bundle;
  */
 public class ResourceHandler implements IModelResourceHandler {
 
+	/**
+	 * The system property which makes {@link #save()} write the application
+	 * model as XMI instead of the binary snapshot, e.g. to inspect it.
+	 */
+	public static final String XMI_MODEL_PROPERTY = "org.eclipse.e4.ui.workbench.xmiModel"; //$NON-NLS-1$
+
 	private ResourceSet resourceSet;
 	private Resource resource;
 
@@ -140,30 +146,45 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Override
 	public Resource loadMostRecentModel() {
 		File workbenchData = null;
+		File snapshotData = null;
 		URI restoreLocation = null;
 
 		if (saveAndRestore) {
 			workbenchData = getWorkbenchSaveLocation();
+			snapshotData = getSnapshotSaveLocation();
 			restoreLocation = URI.createFileURI(workbenchData.getAbsolutePath());
 		}
 
-		if (clearPersistedState && workbenchData != null && workbenchData.exists()) {
-			workbenchData.delete();
+		if (clearPersistedState && workbenchData != null) {
+			if (workbenchData.exists()) {
+				workbenchData.delete();
+			}
+			if (snapshotData.exists()) {
+				snapshotData.delete();
+			}
 		}
 
 		// last stored time-stamp
 		long restoreLastModified = restoreLocation == null ? 0L : new File(
 				restoreLocation.toFileString()).lastModified();
+		long snapshotLastModified = snapshotData == null ? 0L : snapshotData.lastModified();
 
 		// See bug 380663, bug 381219
 		// long lastApplicationModification = getLastApplicationModification();
 		// boolean restore = restoreLastModified > lastApplicationModification;
-		boolean restore = restoreLastModified > 0;
+		boolean restore = restoreLastModified > 0 || snapshotLastModified > 0;
 		boolean initialModel;
 
 		resource = null;
 		if (restore && saveAndRestore) {
-			resource = loadResource(restoreLocation);
+			// the XMI is newer if it has been written by an auto-save or
+			// exported after the snapshot
+			if (snapshotLastModified >= restoreLastModified) {
+				resource = loadSnapshot(snapshotData, restoreLocation);
+			}
+			if (resource == null && restoreLastModified > 0) {
+				resource = loadResource(restoreLocation);
+			}
 			// If the saved model does not have any top-level windows, Eclipse will exit
 			// immediately, so throw out the persisted state and reinitialize with the defaults.
 			if (!hasTopLevelWindows(resource)) {
@@ -212,6 +233,17 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Override
 	public void save() throws IOException {
 		if (saveAndRestore) {
+			if (!Boolean.getBoolean(XMI_MODEL_PROPERTY) && resource instanceof E4XMIResource
+					&& resource.getURI().equals(URI.createFileURI(getWorkbenchSaveLocation().getAbsolutePath()))) {
+				try {
+					BinaryModelSnapshot.save((E4XMIResource) resource, getSnapshotSaveLocation());
+					return;
+				} catch (IOException | RuntimeException e) {
+					if (logger != null) {
+						logger.error(e, "Unable to save the workbench model snapshot, saving it as XMI"); //$NON-NLS-1$
+					}
+				}
+			}
 			Map<String, Object> options = new HashMap<>();
 			options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
 			resource.save(options);
@@ -244,6 +276,10 @@ public class ResourceHandler implements IModelResourceHandler {
 		return new File(getBaseLocation(), "workbench.xmi"); //$NON-NLS-1$
 	}
 
+	private File getSnapshotSaveLocation() {
+		return new File(getBaseLocation(), "workbench.bin"); //$NON-NLS-1$
+	}
+
 	private File getBaseLocation() {
 		File baseLocation;
 		try {
@@ -256,6 +292,21 @@ public class ResourceHandler implements IModelResourceHandler {
 		return new File(baseLocation, "org.eclipse.e4.workbench"); //$NON-NLS-1$
 	}
 
+	/**
+	 * @return the resource restored from the binary snapshot, or
+	 *         <code>null</code> if it cannot be read and the XMI must be loaded
+	 */
+	private Resource loadSnapshot(File snapshot, URI uri) {
+		try {
+			return BinaryModelSnapshot.load(resourceSet, snapshot, uri);
+		} catch (Exception e) {
+			if (logger != null) {
+				logger.error(e, "Unable to load the workbench model snapshot " + snapshot); //$NON-NLS-1$
+			}
+			return null;
+		}
+	}
+
 	// Ensures that even models with error are loaded!
 	private Resource loadResource(URI uri) {
 		Resource resource;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,12 +19,12 @@ import java.util.Map;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.internal.services.ITopicSubscriptions;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.impl.StringToObjectMapImpl;
 import org.eclipse.e4.ui.model.application.impl.StringToStringMapImpl;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.workbench.UIEvents;
-import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EClass;
@@ -38,6 +38,11 @@ public class UIEventPublisher extends EContentAdapter {
 
 	private IEclipseContext context;
 
+	/**
+	 * The topics by feature, or by map attribute name, and event type
+	 */
+	private final Map<Object, String[]> topics = new HashMap<>();
+
 	public UIEventPublisher(IEclipseContext e4Context) {
 		this.context = e4Context;
 	}
@@ -50,15 +55,61 @@ public class UIEventPublisher extends EContentAdapter {
 		if (notification.isTouch())
 			return;
 
+		String topic = getTopic(notification);
+		if (topic == null) {
+			return;
+		}
+		IEventBroker eventManager = context.get(IEventBroker.class);
+		// most model changes are not listened to, don't build events for them
+		if (eventManager instanceof ITopicSubscriptions
+				&& !((ITopicSubscriptions) eventManager).hasSubscriber(topic)) {
+			return;
+		}
+
 		// Format the EMF event as an E4 UIEvent
-		Map<String, Object> argMap = new HashMap<>();
+		eventManager.send(topic, createEvent(notification, topic));
+	}
 
-		String topic = formatData(notification, argMap);
+	/**
+	 * @return the topic of the event for the given notification, or
+	 *         <code>null</code> if no event is sent for it
+	 */
+	private String getTopic(Notification notification) {
+		Object notifier = notification.getNotifier();
+		if (notifier instanceof MApplicationElement) {
+			return getTopic(notification.getFeature(), notification.getEventType());
+		} else if (notifier instanceof StringToObjectMapImpl) {
+			return getTopic(UIEvents.ApplicationElement.TRANSIENTDATA, notification.getEventType());
+		} else if (notifier instanceof StringToStringMapImpl) {
+			return getTopic(UIEvents.ApplicationElement.PERSISTEDSTATE, notification.getEventType());
+		}
+		// Unhandled notification type. Ignore event
+		return null;
+	}
 
-		if (topic != null) {
-			IEventBroker eventManager = context.get(IEventBroker.class);
-			eventManager.send(topic, argMap);
+	/**
+	 * @param key
+	 *            the changed feature, or the name of the changed map attribute
+	 * @return the topic, formatted once per feature and event type
+	 */
+	private String getTopic(Object key, int eventType) {
+		String[] featureTopics = topics.computeIfAbsent(key, k -> new String[Notification.EVENT_TYPE_COUNT]);
+		if (eventType < 0 || eventType >= featureTopics.length) {
+			return formatTopic(key, getEventType(eventType));
+		}
+		String topic = featureTopics[eventType];
+		if (topic == null) {
+			topic = formatTopic(key, getEventType(eventType));
+			featureTopics[eventType] = topic;
+		}
+		return topic;
+	}
+
+	private String formatTopic(Object key, String type) {
+		if (key instanceof EStructuralFeature) {
+			return getTopic((EStructuralFeature) key, type);
 		}
+		return getTopic((String) key, type);
 	}
 
 	/**
@@ -99,11 +150,10 @@ public class UIEventPublisher extends EContentAdapter {
 	 * Likely there is some "simple" EMF wisdom we are missing to make this work with a couple of
 	 * annotations, a white swan and a full moon.
 	 */
-	private String formatData(final Notification notification, Map<String, Object> argMap) {
+	private UIModelEvent createEvent(final Notification notification, String topic) {
 		MApplicationElement appElement = null;
 		EStructuralFeature feature = null;
 		String attributeName = null;
-		String topic = null;
 
 		Object notifier = notification.getNotifier();
 		Object oldValue = null;
@@ -115,7 +165,6 @@ public class UIEventPublisher extends EContentAdapter {
 			appElement = (MApplicationElement) notifier;
 			feature = (EStructuralFeature) notification.getFeature();
 			attributeName = feature.getName();
-			topic = getTopic(feature, getEventType(notification));
 			switch (notification.getEventType()) {
 			case Notification.MOVE:
 				// for MOVE, oldValue is actually the source position
@@ -165,7 +214,6 @@ public class UIEventPublisher extends EContentAdapter {
 			}
 
 			attributeName = UIEvents.ApplicationElement.TRANSIENTDATA;
-			topic = getTopic(attributeName, getEventType(notification));
 
 			// We need to send MapEntries for the old and new values.
 			oldValue = createMapEntry(key, notification.getOldValue());
@@ -188,45 +236,30 @@ public class UIEventPublisher extends EContentAdapter {
 			}
 
 			attributeName = UIEvents.ApplicationElement.PERSISTEDSTATE;
-			topic = getTopic(attributeName, getEventType(notification));
 			oldValue = createMapEntry(key, notification.getOldValue());
 			newValue = createMapEntry(key, notification.getNewValue());
 		} else {
-			// Unhandled notification type. Ignore event
+			// Unhandled notification type, filtered by getTopic
 			return null;
 		}
 
-		argMap.put(EventTags.TYPE, getEventType(notification));
-		argMap.put(EventTags.ELEMENT, appElement);
-		argMap.put(EventTags.ATTNAME, attributeName);
-
 		// no need to include UNSET
-		if (notification.getEventType() == Notification.SET
+		boolean includeValues = notification.getEventType() == Notification.SET
 				|| notification.getEventType() == Notification.MOVE
 				|| notification.getEventType() == Notification.ADD
 				|| notification.getEventType() == Notification.ADD_MANY
 				|| notification.getEventType() == Notification.REMOVE
-				|| notification.getEventType() == Notification.REMOVE_MANY) {
-			if (newValue != null) {
-				argMap.put(EventTags.NEW_VALUE, newValue);
-			}
-			if (oldValue != null) {
-				argMap.put(EventTags.OLD_VALUE, oldValue);
-			}
-			if (position != null) {
-				argMap.put(EventTags.POSITION, position);
-			}
-		}
-
-		if (appElement instanceof MUIElement) {
-			argMap.put(EventTags.WIDGET, ((MUIElement) appElement).getWidget());
-		}
-
-		return topic;
+				|| notification.getEventType() == Notification.REMOVE_MANY;
+		Object absent = UIModelEvent.absent();
+		return new UIModelEvent(topic, getEventType(notification.getEventType()), appElement, attributeName,
+				includeValues && newValue != null ? newValue : absent,
+				includeValues && oldValue != null ? oldValue : absent,
+				includeValues && position != null ? position : absent,
+				appElement instanceof MUIElement ? ((MUIElement) appElement).getWidget() : absent);
 	}
 
-	private String getEventType(Notification notification) {
-		switch (notification.getEventType()) {
+	private String getEventType(int eventType) {
+		switch (eventType) {
 		case Notification.ADD:
 			return EventTypes.ADD;
 
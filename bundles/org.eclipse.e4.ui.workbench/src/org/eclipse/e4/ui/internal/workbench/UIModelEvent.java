@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+
+/**
+ * The data of a model change event sent by {@link UIEventPublisher}.
+ * <p>
+ * It has typed accessors for the {@link EventTags}, and it is also the
+ * immutable map of the event properties, including the topic and the
+ * {@link IEventBroker#DATA} which is the event itself. Because of that the
+ * broker does not need to copy the properties, and handlers can get the typed
+ * event with {@link #from(Event)}.
+ * </p>
+ * <p>
+ * Equality is identity, since the map contains itself.
+ * </p>
+ */
+public final class UIModelEvent extends AbstractMap<String, Object> {
+
+	private static final Object ABSENT = new Object();
+
+	private static final String[] KEYS = { EventConstants.EVENT_TOPIC, IEventBroker.DATA, EventTags.TYPE,
+			EventTags.ELEMENT, EventTags.ATTNAME, EventTags.NEW_VALUE, EventTags.OLD_VALUE, EventTags.POSITION,
+			EventTags.WIDGET };
+
+	private final Object[] values;
+
+	private final int size;
+
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	UIModelEvent(String topic, String type, MApplicationElement element, String attributeName, Object newValue,
+			Object oldValue, Object position, Object widget) {
+		values = new Object[] { topic, this, type, element, attributeName, newValue, oldValue, position, widget };
+		int count = 0;
+		for (Object value : values) {
+			if (value != ABSENT) {
+				count++;
+			}
+		}
+		size = count;
+	}
+
+	/**
+	 * @return the model change event sent as the given event, or
+	 *         <code>null</code> if it is not a model change event
+	 */
+	public static UIModelEvent from(Event event) {
+		Object data = event.getProperty(IEventBroker.DATA);
+		return data instanceof UIModelEvent ? (UIModelEvent) data : null;
+	}
+
+	/**
+	 * Marks a value which is not part of the event, unlike a <code>null</code>
+	 * value.
+	 */
+	static Object absent() {
+		return ABSENT;
+	}
+
+	public String getTopic() {
+		return (String) values[0];
+	}
+
+	/**
+	 * @return one of the {@link org.eclipse.e4.ui.workbench.UIEvents.EventTypes}
+	 */
+	public String getType() {
+		return (String) values[2];
+	}
+
+	public MApplicationElement getElement() {
+		return (MApplicationElement) values[3];
+	}
+
+	public String getAttributeName() {
+		return (String) values[4];
+	}
+
+	public Object getNewValue() {
+		return getValue(5);
+	}
+
+	public Object getOldValue() {
+		return getValue(6);
+	}
+
+	public Object getPosition() {
+		return getValue(7);
+	}
+
+	public Object getWidget() {
+		return getValue(8);
+	}
+
+	private Object getValue(int index) {
+		return values[index] == ABSENT ? null : values[index];
+	}
+
+	@Override
+	public Object get(Object key) {
+		for (int i = 0; i < KEYS.length; i++) {
+			if (KEYS[i].equals(key)) {
+				return getValue(i);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		for (int i = 0; i < KEYS.length; i++) {
+			if (KEYS[i].equals(key)) {
+				return values[i] != ABSENT;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<>() {
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					return new Iterator<>() {
+						private int next = advance(0);
+
+						private int advance(int index) {
+							while (index < KEYS.length && values[index] == ABSENT) {
+								index++;
+							}
+							return index;
+						}
+
+						@Override
+						public boolean hasNext() {
+							return next < KEYS.length;
+						}
+
+						@Override
+						public Map.Entry<String, Object> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							Map.Entry<String, Object> entry = new SimpleImmutableEntry<>(KEYS[next], values[next]);
+							next = advance(next + 1);
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this);
+	}
+
+	@Override
+	public String toString() {
+		return "UIModelEvent [topic=" + getTopic() + ", element=" + getElement() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
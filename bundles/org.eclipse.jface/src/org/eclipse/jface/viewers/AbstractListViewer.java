@@ -135,6 +135,11 @@ public abstract class AbstractListViewer extends StructuredViewer {
 	 */
 	public void add(Object... elements) {
 		assertElementsNotNull(elements);
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.add(null, elements, ViewerUpdateQueue.Method.ADD_ELEMENTS, (parent, children) -> add(children));
+			return;
+		}
 		Object[] filtered = filter(elements);
 		ILabelProvider labelProvider = (ILabelProvider) getLabelProvider();
 		for (Object element : filtered) {
@@ -440,6 +445,11 @@ public abstract class AbstractListViewer extends StructuredViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.remove(null, elements, ViewerUpdateQueue.Method.REMOVE_ELEMENTS, (parent, children) -> remove(children));
+			return;
+		}
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -251,6 +251,11 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		assertElementsNotNull(elements);
 		if (checkBusy())
 			return;
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.add(null, elements, ViewerUpdateQueue.Method.ADD_ELEMENTS, (parent, children) -> add(children));
+			return;
+		}
 		Object[] filtered = filter(elements);
 
 		final int itemsLimit = getItemsLimit();
@@ -831,6 +836,11 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.remove(null, elements, ViewerUpdateQueue.Method.REMOVE_ELEMENTS, (parent, children) -> remove(children));
+			return;
+		}
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -189,6 +189,11 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		assertElementsNotNull(childElements);
 		if (checkBusy())
 			return;
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.add(parentElementOrTreePath, childElements, ViewerUpdateQueue.Method.ADD_TO_PARENT, (parent, children) -> add(parent, children));
+			return;
+		}
 		Widget[] widgets = internalFindItems(parentElementOrTreePath);
 		// If parent hasn't been realized yet, just ignore the add.
 		if (widgets.length == 0) {
@@ -2341,6 +2346,11 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.remove(null, elementsOrTreePaths, ViewerUpdateQueue.Method.REMOVE_ELEMENTS, (parent, children) -> remove(children));
+			return;
+		}
 		preservingSelection(() -> internalRemove(elementsOrTreePaths));
 	}
 
@@ -2369,6 +2379,11 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.remove(parent, elements, ViewerUpdateQueue.Method.REMOVE_FROM_PARENT, (p, children) -> remove(p, children));
+			return;
+		}
 		preservingSelection(() -> internalRemove(parent, elements));
 	}
 
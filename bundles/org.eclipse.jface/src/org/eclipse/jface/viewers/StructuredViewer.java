@@ -20,6 +20,7 @@ package org.eclipse.jface.viewers;
 
 import static org.eclipse.swt.events.SelectionListener.widgetSelectedAdapter;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -33,6 +34,7 @@ import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.OpenStrategy;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.jface.util.SafeRunnable;
+import org.eclipse.jface.util.Throttler;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DragSource;
 import org.eclipse.swt.dnd.DragSourceListener;
@@ -152,6 +154,27 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	private StructuredViewerInternals.AssociateListener associateListener;
 
+	/**
+	 * The operations recorded while an update transaction is open or update
+	 * throttling is enabled, or <code>null</code> if nothing was recorded yet.
+	 *
+	 * @see #beginUpdateTransaction()
+	 */
+	private ViewerUpdateQueue updateQueue;
+
+	/**
+	 * Nesting depth of open update transactions.
+	 */
+	private int updateTransactionDepth;
+
+	/**
+	 * Flushes the recorded operations if update throttling is enabled,
+	 * otherwise <code>null</code>.
+	 *
+	 * @see #setUpdateThrottle(Duration)
+	 */
+	private Throttler updateThrottler;
+
 	/**
 	 * Empty array of widgets.
 	 */
@@ -1381,6 +1404,11 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		if (!preserveSelection) {
 			return;
 		}
+		if (updateQueue != null && updateQueue.isApplying()) {
+			// the selection is preserved once around all recorded operations
+			updateCode.run();
+			return;
+		}
 
 		ISelection oldSelection = null;
 		try {
@@ -1460,6 +1488,11 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 *            the element
 	 */
 	public void refresh(final Object element) {
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.refresh(element, true, false);
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element));
 	}
 
@@ -1483,9 +1516,137 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * @since 2.0
 	 */
 	public void refresh(final Object element, final boolean updateLabels) {
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.refresh(element, updateLabels, false);
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element, updateLabels));
 	}
 
+	/**
+	 * Opens an update transaction on this viewer. Until the matching call to
+	 * {@link #endUpdateTransaction()}, calls to <code>add</code>,
+	 * <code>remove</code>, <code>update</code> and <code>refresh</code> are not
+	 * applied to the widget immediately but recorded. When the outermost
+	 * transaction is closed the recorded operations are deduplicated per
+	 * element and applied in one pass, with redraw turned off and a single
+	 * selection preservation cycle.
+	 * <p>
+	 * Transactions may be nested. Operations not listed above (for example
+	 * <code>insert</code>, <code>setInput</code> or selection changes) are
+	 * applied immediately, so the widget state queried within a transaction
+	 * does not reflect the recorded operations yet. Setting a new input
+	 * discards all recorded operations.
+	 * </p>
+	 * <p>
+	 * Typical usage:
+	 * </p>
+	 *
+	 * <pre>
+	 * viewer.beginUpdateTransaction();
+	 * try {
+	 * 	for (Object element : changed) {
+	 * 		viewer.update(element, null);
+	 * 	}
+	 * } finally {
+	 * 	viewer.endUpdateTransaction();
+	 * }
+	 * </pre>
+	 *
+	 * @see #endUpdateTransaction()
+	 * @see #setUpdateThrottle(Duration)
+	 * @since 3.36
+	 */
+	public void beginUpdateTransaction() {
+		updateTransactionDepth++;
+	}
+
+	/**
+	 * Closes an update transaction opened by {@link #beginUpdateTransaction()}.
+	 * Closing the outermost transaction applies all recorded operations.
+	 *
+	 * @since 3.36
+	 */
+	public void endUpdateTransaction() {
+		Assert.isTrue(updateTransactionDepth > 0, "No update transaction is open"); //$NON-NLS-1$
+		updateTransactionDepth--;
+		if (updateTransactionDepth == 0) {
+			flushUpdates();
+		}
+	}
+
+	/**
+	 * Applies all operations recorded by an update transaction or by update
+	 * throttling right away. Does nothing if no operations are pending.
+	 *
+	 * @see #beginUpdateTransaction()
+	 * @see #setUpdateThrottle(Duration)
+	 * @since 3.36
+	 */
+	public void flushUpdates() {
+		if (updateQueue != null) {
+			updateQueue.flush();
+		}
+	}
+
+	/**
+	 * Enables or disables update throttling for streaming models. While
+	 * enabled, calls to <code>add</code>, <code>remove</code>,
+	 * <code>update</code> and <code>refresh</code> are recorded as if an update
+	 * transaction was open, and the recorded operations are applied
+	 * asynchronously in the UI thread at most once per <code>minWaitTime</code>.
+	 * <p>
+	 * Disabling throttling applies all pending operations immediately.
+	 * </p>
+	 *
+	 * @param minWaitTime the minimum time between two batches of updates, or
+	 *                    <code>null</code> or {@link Duration#ZERO} to disable
+	 *                    throttling
+	 * @see #beginUpdateTransaction()
+	 * @since 3.36
+	 */
+	public void setUpdateThrottle(Duration minWaitTime) {
+		if (minWaitTime == null || minWaitTime.isZero()) {
+			updateThrottler = null;
+			flushUpdates();
+			return;
+		}
+		Control control = getControl();
+		Assert.isTrue(control != null && !control.isDisposed(), "Need an underlying widget to throttle updates"); //$NON-NLS-1$
+		updateThrottler = new Throttler(control.getDisplay(), minWaitTime, () -> {
+			// an open transaction applies the operations when it is closed
+			if (updateTransactionDepth == 0) {
+				flushUpdates();
+			}
+		});
+	}
+
+	/**
+	 * Returns the queue that viewer operations have to be recorded in, or
+	 * <code>null</code> if operations are to be applied immediately.
+	 * <p>
+	 * This method is internal to the framework; subclassers should not call
+	 * this method.
+	 * </p>
+	 *
+	 * @return the queue to record operations in, or <code>null</code>
+	 */
+	ViewerUpdateQueue getUpdateQueue() {
+		if (updateTransactionDepth == 0 && updateThrottler == null) {
+			return null;
+		}
+		if (updateQueue == null) {
+			updateQueue = new ViewerUpdateQueue(this);
+		} else if (updateQueue.isApplying()) {
+			return null;
+		}
+		if (updateTransactionDepth == 0) {
+			updateThrottler.throttledAsyncExec();
+		}
+		return updateQueue;
+	}
+
 	/**
 	 *
 	 * Refreshes the given item with the given element. Calls
@@ -1632,6 +1793,9 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 					"Need an underlying widget to be able to set the input." + //$NON-NLS-1$
 							"(Has the widget been disposed?)"); //$NON-NLS-1$
 		}
+		if (updateQueue != null) {
+			updateQueue.clear();
+		}
 		unmapAllElements();
 		super.setInput(input);
 	}
@@ -2028,6 +2192,11 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	public void update(Object element, String[] properties) {
 		Assert.isNotNull(element);
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.update(element, properties);
+			return;
+		}
 		Widget[] items = findItems(element);
 
 		boolean mayExitEarly = !refreshOccurred;
@@ -2278,6 +2447,8 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		doubleClickListeners.clear();
 		colorAndFontCollector.clear();
 		postSelectionChangedListeners.clear();
+		updateQueue = null;
+		updateThrottler = null;
 	}
 
 }
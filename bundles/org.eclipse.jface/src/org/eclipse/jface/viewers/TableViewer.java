@@ -371,6 +371,11 @@ public class TableViewer extends AbstractTableViewer {
 			cancelEditing();
 		}
 
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.refresh(element, updateLabels, reveal);
+			return;
+		}
 		preservingSelection(() -> internalRefresh(element, updateLabels), reveal);
 	}
 
@@ -409,6 +414,11 @@ public class TableViewer extends AbstractTableViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		ViewerUpdateQueue queue = getUpdateQueue();
+		if (queue != null) {
+			queue.remove(null, elements, ViewerUpdateQueue.Method.REMOVE_ELEMENTS, (parent, children) -> remove(children));
+			return;
+		}
 
 		// deselect any items that are being removed, see bug 97786
 		boolean deselectedItems = false;
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.viewers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Records the <code>add</code>, <code>remove</code>, <code>update</code> and
+ * <code>refresh</code> calls issued on a {@link StructuredViewer} while an
+ * update transaction is open and applies them in one pass once the
+ * transaction is closed.
+ * <p>
+ * Operations are deduplicated per element (using the viewer's comparer): an
+ * element that is added and removed again within the same transaction is
+ * never touched, repeated updates of the same element are merged into one,
+ * and a refresh of the viewer's root makes all other pending operations
+ * obsolete, except label updates if the root refresh does not update labels. Consecutive additions or removals for the same parent are applied
+ * through a single call on the viewer.
+ * </p>
+ * <p>
+ * This class is not intended to be used outside of the viewer framework.
+ * </p>
+ */
+final class ViewerUpdateQueue {
+
+	private enum Kind {
+		ADD, REMOVE, UPDATE, REFRESH
+	}
+
+	/**
+	 * The viewer method that applies a recorded addition or removal.
+	 * Consecutive operations are only applied through a single call if they
+	 * use the same method and parent.
+	 */
+	enum Method {
+		/** <code>add(Object[])</code> */
+		ADD_ELEMENTS,
+		/** <code>add(Object, Object[])</code> */
+		ADD_TO_PARENT,
+		/** <code>remove(Object[])</code> */
+		REMOVE_ELEMENTS,
+		/** <code>remove(Object, Object[])</code> */
+		REMOVE_FROM_PARENT
+	}
+
+	private static final class Operation {
+		final Kind kind;
+		final Object parent;
+		final Object element;
+		final Method method;
+		final BiConsumer<Object, Object[]> applier;
+		/**
+		 * The properties to update for {@link Kind#UPDATE}, <code>null</code>
+		 * for a full update
+		 */
+		Set<String> properties;
+		boolean updateLabels;
+		boolean cancelled;
+
+		Operation(Kind kind, Object parent, Object element, Method method, BiConsumer<Object, Object[]> applier) {
+			this.kind = kind;
+			this.parent = parent;
+			this.element = element;
+			this.method = method;
+			this.applier = applier;
+		}
+	}
+
+	private final StructuredViewer viewer;
+
+	private final List<Operation> operations = new ArrayList<>();
+
+	/**
+	 * The most recent operation per element (key type: <code>Object</code>,
+	 * value type: <code>Operation</code>), created lazily so that the
+	 * viewer's current comparer is used.
+	 */
+	private CustomHashtable latest;
+
+	private boolean refreshRoot;
+
+	private boolean refreshRootLabels;
+
+	/**
+	 * Whether a recorded refresh asked to reveal the preserved selection.
+	 */
+	private boolean revealSelection;
+
+	private boolean applying;
+
+	ViewerUpdateQueue(StructuredViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * @return <code>true</code> while the recorded operations are being applied
+	 *         to the viewer
+	 */
+	boolean isApplying() {
+		return applying;
+	}
+
+	boolean isEmpty() {
+		return !refreshRoot && operations.isEmpty();
+	}
+
+	/**
+	 * Discards all pending operations without applying them.
+	 */
+	void clear() {
+		operations.clear();
+		latest = null;
+		refreshRoot = false;
+		refreshRootLabels = false;
+		revealSelection = false;
+	}
+
+	void add(Object parent, Object[] elements, Method method, BiConsumer<Object, Object[]> applier) {
+		if (refreshRoot) {
+			return;
+		}
+		for (Object element : elements) {
+			Operation previous = getLatest(element);
+			if (previous != null && previous.kind == Kind.ADD && viewer.equals(previous.parent, parent)) {
+				continue;
+			}
+			record(new Operation(Kind.ADD, parent, element, method, applier));
+		}
+	}
+
+	void remove(Object parent, Object[] elements, Method method, BiConsumer<Object, Object[]> applier) {
+		if (refreshRoot) {
+			return;
+		}
+		for (Object element : elements) {
+			Operation previous = getLatest(element);
+			if (previous != null) {
+				if (previous.kind == Kind.REMOVE) {
+					continue;
+				}
+				if (previous.kind == Kind.ADD && viewer.equals(previous.parent, parent)) {
+					// the element never made it into the viewer
+					previous.cancelled = true;
+					getLatestTable().remove(element);
+					continue;
+				}
+				if (previous.kind == Kind.UPDATE) {
+					previous.cancelled = true;
+				}
+			}
+			record(new Operation(Kind.REMOVE, parent, element, method, applier));
+		}
+	}
+
+	void update(Object element, String[] properties) {
+		if (refreshRoot && refreshRootLabels) {
+			return;
+		}
+		Operation previous = getLatest(element);
+		if (previous != null) {
+			switch (previous.kind) {
+			case ADD:
+			case REMOVE:
+				// new items get fresh labels, removed ones need none
+				return;
+			case UPDATE:
+				if (previous.properties != null) {
+					if (properties == null) {
+						previous.properties = null;
+					} else {
+						previous.properties.addAll(Arrays.asList(properties));
+					}
+				}
+				return;
+			case REFRESH:
+				if (previous.updateLabels) {
+					return;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		Operation operation = new Operation(Kind.UPDATE, null, element, null, null);
+		if (properties != null) {
+			operation.properties = new LinkedHashSet<>(Arrays.asList(properties));
+		}
+		record(operation);
+	}
+
+	void refresh(Object element, boolean updateLabels, boolean reveal) {
+		revealSelection |= reveal;
+		if (viewer.equals(element, viewer.getRoot())) {
+			refreshRoot = true;
+			refreshRootLabels |= updateLabels;
+			retainLabelUpdates();
+			return;
+		}
+		if (refreshRoot && (refreshRootLabels || !updateLabels)) {
+			return;
+		}
+		Operation previous = getLatest(element);
+		if (previous != null && previous.kind == Kind.REFRESH) {
+			previous.updateLabels |= updateLabels;
+			return;
+		}
+		Operation operation = new Operation(Kind.REFRESH, null, element, null, null);
+		operation.updateLabels = updateLabels;
+		record(operation);
+	}
+
+	/**
+	 * Applies all pending operations to the viewer with redraw turned off and a
+	 * single selection preservation cycle, then empties this queue.
+	 */
+	void flush() {
+		if (isEmpty() || applying) {
+			return;
+		}
+		List<Operation> pending = new ArrayList<>(operations);
+		boolean refreshAll = refreshRoot;
+		boolean refreshAllLabels = refreshRootLabels;
+		boolean reveal = revealSelection;
+		clear();
+
+		Control control = viewer.getControl();
+		if (control == null || control.isDisposed()) {
+			return;
+		}
+		Runnable apply = () -> {
+			applying = true;
+			try {
+				if (refreshAll) {
+					viewer.internalRefresh(viewer.getRoot(), refreshAllLabels);
+				}
+				apply(pending);
+			} finally {
+				applying = false;
+			}
+		};
+		control.setRedraw(false);
+		try {
+			if (viewer.getPreserveSelection() && reveal) {
+				viewer.preservingSelection(apply, true);
+			} else if (viewer.getPreserveSelection()) {
+				// subclasses may extend the selection preservation
+				viewer.preservingSelection(apply);
+			} else {
+				apply.run();
+			}
+		} finally {
+			if (!control.isDisposed()) {
+				control.setRedraw(true);
+			}
+		}
+	}
+
+	private void apply(List<Operation> pending) {
+		int size = pending.size();
+		int i = 0;
+		while (i < size) {
+			Operation operation = pending.get(i++);
+			if (operation.cancelled) {
+				continue;
+			}
+			switch (operation.kind) {
+			case ADD:
+			case REMOVE:
+				List<Object> run = new ArrayList<>();
+				run.add(operation.element);
+				while (i < size) {
+					Operation next = pending.get(i);
+					if (next.cancelled) {
+						i++;
+						continue;
+					}
+					if (next.method != operation.method || !viewer.equals(next.parent, operation.parent)) {
+						break;
+					}
+					run.add(next.element);
+					i++;
+				}
+				operation.applier.accept(operation.parent, run.toArray());
+				break;
+			case UPDATE:
+				String[] properties = operation.properties == null ? null
+						: operation.properties.toArray(new String[operation.properties.size()]);
+				viewer.update(operation.element, properties);
+				break;
+			case REFRESH:
+				viewer.refresh(operation.element, operation.updateLabels);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Drops the pending operations made obsolete by a refresh of the root. A
+	 * refresh without label updates does not update the labels of existing
+	 * items, so the pending label updates are kept.
+	 */
+	private void retainLabelUpdates() {
+		List<Operation> pending = new ArrayList<>(operations);
+		operations.clear();
+		latest = null;
+		if (refreshRootLabels) {
+			return;
+		}
+		for (Operation operation : pending) {
+			if (!operation.cancelled && (operation.kind == Kind.UPDATE
+					|| operation.kind == Kind.REFRESH && operation.updateLabels)) {
+				record(operation);
+			}
+		}
+	}
+
+	private void record(Operation operation) {
+		operations.add(operation);
+		getLatestTable().put(operation.element, operation);
+	}
+
+	private Operation getLatest(Object element) {
+		return latest == null ? null : (Operation) latest.get(element);
+	}
+
+	private CustomHashtable getLatestTable() {
+		if (latest == null) {
+			latest = new CustomHashtable(viewer.getComparer());
+		}
+		return latest;
+	}
+}
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndex;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -36,6 +37,7 @@ public class SearchCorePlugin extends Plugin {
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndex fTrigramIndex;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +60,14 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		TrigramIndex index;
+		synchronized (this) {
+			index= fTrigramIndex;
+			fTrigramIndex= null;
+		}
+		if (index != null) {
+			index.shutdown();
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +77,21 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	/**
+	 * @return the trigram index used to skip files in text searches, or
+	 *         <code>null</code> if the index is not enabled
+	 */
+	public synchronized TrigramIndex getTrigramIndex() {
+		if (!TrigramIndex.isEnabled()) {
+			return null;
+		}
+		if (fTrigramIndex == null) {
+			fTrigramIndex= new TrigramIndex(TrigramIndex.getDefaultIndexFile());
+			fTrigramIndex.startup();
+		}
+		return fTrigramIndex;
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
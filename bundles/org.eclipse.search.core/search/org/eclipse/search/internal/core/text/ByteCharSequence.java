@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A char sequence that decodes the bytes of a single byte charset on access,
+ * so that the content of a file can be searched without decoding it into a
+ * char array first.
+ */
+final class ByteCharSequence implements CharSequence {
+
+	private static final char[] NOT_SINGLE_BYTE= new char[0];
+
+	private static final Map<String, char[]> fgDecodeTables= new ConcurrentHashMap<>();
+
+	/**
+	 * Decodes ASCII, for UTF-8 content without bytes above 0x7F.
+	 */
+	static final char[] ASCII= getDecodeTable(StandardCharsets.US_ASCII.name());
+
+	private final ByteBuffer fBytes;
+	private final char[] fDecodeTable;
+
+	/**
+	 * @param bytes the bytes from position to limit
+	 * @param decodeTable the chars of the 256 byte values
+	 */
+	ByteCharSequence(ByteBuffer bytes, char[] decodeTable) {
+		fBytes= bytes.slice();
+		fDecodeTable= decodeTable;
+	}
+
+	/**
+	 * Returns the chars that the byte values decode to in the given charset.
+	 *
+	 * @param charsetName the name of the charset
+	 * @return the chars of the 256 byte values, or <code>null</code> if the
+	 *         charset does not decode each byte to one char
+	 */
+	static char[] getDecodeTable(String charsetName) {
+		char[] table= fgDecodeTables.computeIfAbsent(charsetName, ByteCharSequence::createDecodeTable);
+		return table == NOT_SINGLE_BYTE ? null : table;
+	}
+
+	private static char[] createDecodeTable(String charsetName) {
+		try {
+			Charset charset= Charset.forName(charsetName);
+			if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1f) {
+				return NOT_SINGLE_BYTE;
+			}
+			CharsetDecoder decoder= charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			if (decoder.maxCharsPerByte() != 1f) {
+				return NOT_SINGLE_BYTE;
+			}
+			char[] table= new char[256];
+			for (int b= 0; b < 256; b++) {
+				CharBuffer chars= decoder.reset().decode(ByteBuffer.wrap(new byte[] { (byte) b }));
+				if (chars.remaining() != 1) {
+					return NOT_SINGLE_BYTE;
+				}
+				table[b]= chars.get();
+			}
+			return table;
+		} catch (IllegalArgumentException | CharacterCodingException e) {
+			// unsupported or illegal charsets are reported when the file is read
+			return NOT_SINGLE_BYTE;
+		}
+	}
+
+	@Override
+	public int length() {
+		return fBytes.limit();
+	}
+
+	@Override
+	public char charAt(int index) {
+		return fDecodeTable[fBytes.get(index) & 0xFF];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (end < start) {
+			throw new IndexOutOfBoundsException("end cannot be smaller than start"); //$NON-NLS-1$
+		}
+		return new ByteCharSequence(fBytes.slice(start, end - start), fDecodeTable);
+	}
+
+	@Override
+	public String toString() {
+		int length= fBytes.limit();
+		char[] chars= new char[length];
+		for (int i= 0; i < length; i++) {
+			chars[i]= fDecodeTable[fBytes.get(i) & 0xFF];
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the raw bytes of a file for the literals that every match of a search
+ * pattern must contain, before the content is decoded and matched. Only used
+ * for content in single byte charsets, where each byte is one char.
+ * <p>
+ * Chars are compared case folded, so a file is only rejected if it cannot
+ * contain the literals in any case.
+ * </p>
+ */
+public final class ByteContentFilter {
+
+	private static final Map<char[], char[]> fgFoldTables= new ConcurrentHashMap<>();
+
+	private final char[][] fLiterals;
+
+	private ByteContentFilter(char[][] literals) {
+		fLiterals= literals;
+	}
+
+	/**
+	 * Creates the filter for the given pattern.
+	 *
+	 * @param pattern the search pattern
+	 * @return the filter, or <code>null</code> if the pattern has no required
+	 *         literal
+	 */
+	public static ByteContentFilter create(Pattern pattern) {
+		List<String> literals= TrigramQuery.getRequiredLiterals(pattern);
+		if (literals == null || literals.isEmpty()) {
+			return null;
+		}
+		char[][] folded= new char[literals.size()][];
+		for (int i= 0; i < folded.length; i++) {
+			char[] chars= literals.get(i).toCharArray();
+			for (int j= 0; j < chars.length; j++) {
+				chars[j]= fold(chars[j]);
+			}
+			folded[i]= chars;
+		}
+		return new ByteContentFilter(folded);
+	}
+
+	/**
+	 * Returns whether the given content contains all literals.
+	 *
+	 * @param bytes the content from position to limit
+	 * @param decodeTable the chars of the 256 byte values
+	 * @return <code>false</code> if the content cannot contain a match
+	 */
+	boolean accept(ByteBuffer bytes, char[] decodeTable) {
+		char[] foldTable= fgFoldTables.computeIfAbsent(decodeTable, ByteContentFilter::createFoldTable);
+		for (char[] literal : fLiterals) {
+			if (!contains(bytes, literal, foldTable)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean contains(ByteBuffer bytes, char[] literal, char[] foldTable) {
+		int start= bytes.position();
+		int last= bytes.limit() - literal.length;
+		char first= literal[0];
+		next: for (int i= start; i <= last; i++) {
+			if (foldTable[bytes.get(i) & 0xFF] != first) {
+				continue;
+			}
+			for (int j= 1; j < literal.length; j++) {
+				if (foldTable[bytes.get(i + j) & 0xFF] != literal[j]) {
+					continue next;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private static char[] createFoldTable(char[] decodeTable) {
+		char[] table= new char[decodeTable.length];
+		for (int i= 0; i < table.length; i++) {
+			table[i]= fold(decodeTable[i]);
+		}
+		return table;
+	}
+
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
@@ -13,14 +13,19 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core.text;
 
+import java.io.CharConversionException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 import org.eclipse.core.resources.IFile;
@@ -33,18 +38,65 @@ public class FileCharSequenceProvider {
 	 **/
 	private static final int MAX_BUFFER_LENGTH = 999_999; // max 2MB.
 
+	/**
+	 * Larger files are read into memory only if their charset decodes each byte
+	 * to one char, and only up to this number of bytes. They are copied rather
+	 * than memory mapped, so that they are not locked while searched and a
+	 * concurrent change cannot break the search.
+	 **/
+	private static final int MAX_BYTES_LENGTH = 16_000_000; // max 16MB.
+
 	private static int NUMBER_OF_BUFFERS = 3;
 	public static int BUFFER_SIZE = 2 << 18; // public for testing
 
+	/**
+	 * Returned internally for content that does not need to be searched.
+	 */
+	private static final CharSequence SKIPPED = CharBuffer.allocate(0);
+
 	private FileCharSequence fReused= null;
 
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
-		String string = toShortString(file);
-		if (string != null) {
-			return string;
+		return newCharSequence(file, null, false);
+	}
+
+	/**
+	 * Returns the content of the given file. Content in a single byte charset,
+	 * or UTF-8 content that is plain ASCII, is checked on the raw bytes before
+	 * it is decoded, and large local files of that kind are read as bytes and
+	 * accessed without decoding. Files larger than 16MB, and those in other
+	 * charsets, are read through a reader while they are searched.
+	 *
+	 * @param file the file
+	 * @param filter the filter for the raw content, or <code>null</code>
+	 * @param skipBinary whether binary content does not need to be searched
+	 * @return the content, or <code>null</code> if the file does not need to be
+	 *         searched because the filter rejected it or because it is binary
+	 *         and <code>skipBinary</code> is set
+	 * @throws CoreException if the file cannot be accessed
+	 * @throws IOException if the file cannot be read
+	 */
+	public CharSequence newCharSequence(IFile file, ByteContentFilter filter, boolean skipBinary) throws CoreException, IOException {
+		File localFile = getLocalFile(file);
+		long length = localFile != null ? localFile.length() : 0;
+		if (localFile == null || length < MAX_BUFFER_LENGTH) {
+			CharSequence string = toShortString(file, filter, skipBinary);
+			if (string != null) {
+				return string == SKIPPED ? null : string;
+			}
+		}
+		if (localFile != null && length < MAX_BYTES_LENGTH) {
+			CharSequence bytes = toByteSequence(file, filter, skipBinary);
+			if (bytes != null) {
+				return bytes == SKIPPED ? null : bytes;
+			}
 		}
 		FileCharSequence charSequence = getCharSequence(file);
 		// File too large for String
+		if (skipBinary && hasBinaryContent(charSequence)) {
+			releaseCharSequence(charSequence);
+			return null;
+		}
 		return charSequence;
 	}
 
@@ -490,7 +542,7 @@ public class FileCharSequenceProvider {
 	 * Try to get a content as String. Avoids to scanning whole InputStream to
 	 * get length
 	 */
-	private static String toShortString(IFile file) {
+	private static CharSequence toShortString(IFile file, ByteContentFilter filter, boolean skipBinary) {
 		try {
 			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
 			int length = content.length;
@@ -504,12 +556,137 @@ public class FileCharSequenceProvider {
 					offset = IContentDescription.BOM_UTF_8.length;
 				}
 			}
-			return new String(content, offset, length - offset, charset);
+			char[] decodeTable = ByteCharSequence.getDecodeTable(charset);
+			boolean isRawChecked = decodeTable != null || StandardCharsets.UTF_8.name().equals(charset);
+			if (isRawChecked && skipRawContent(ByteBuffer.wrap(content, offset, length - offset), decodeTable,
+					filter, skipBinary, length)) {
+				return SKIPPED;
+			}
+			String string = new String(content, offset, length - offset, charset);
+			if (!isRawChecked && skipBinary && string.indexOf('\0') != -1) {
+				return SKIPPED;
+			}
+			return string;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Reads a large file into memory and accesses it without decoding, if its
+	 * charset allows to. Files that cannot be read this way, for example because
+	 * they are out of sync, take the regular path, which reports the problem.
+	 */
+	private static CharSequence toByteSequence(IFile file, ByteContentFilter filter, boolean skipBinary) {
+		try {
+			String charset = file.getCharset();
+			char[] decodeTable = ByteCharSequence.getDecodeTable(charset);
+			boolean isUTF8 = StandardCharsets.UTF_8.name().equals(charset);
+			if (decodeTable == null && !isUTF8) {
+				return null;
+			}
+			byte[] content = file.readNBytes(MAX_BYTES_LENGTH);
+			if (content.length >= MAX_BYTES_LENGTH) {
+				return null;
+			}
+			ByteBuffer bytes = ByteBuffer.wrap(content);
+			if (isUTF8) {
+				if (startsWith(bytes, IContentDescription.BOM_UTF_8)) {
+					bytes.position(IContentDescription.BOM_UTF_8.length);
+				}
+				if (!isAscii(bytes)) {
+					return null;
+				}
+				decodeTable = ByteCharSequence.ASCII;
+			}
+			if (skipRawContent(bytes, decodeTable, filter, skipBinary, BUFFER_SIZE)) {
+				return SKIPPED;
+			}
+			return new ByteCharSequence(bytes, decodeTable);
 		} catch (Exception e) {
 			return null;
 		}
 	}
 
+	/**
+	 * Checks raw content for binary data and for the literals of the filter.
+	 *
+	 * @param decodeTable the chars of the 256 byte values, or <code>null</code>
+	 *            for UTF-8 content that may not be ASCII
+	 * @return whether the content does not need to be searched
+	 */
+	private static boolean skipRawContent(ByteBuffer bytes, char[] decodeTable, ByteContentFilter filter, boolean skipBinary, int binaryCheckLimit) {
+		// a zero byte is U+0000 in single byte charsets and in UTF-8
+		if (skipBinary && hasZeroByte(bytes, binaryCheckLimit)) {
+			return true;
+		}
+		if (filter == null) {
+			return false;
+		}
+		if (decodeTable == null) {
+			if (!isAscii(bytes)) {
+				return false;
+			}
+			decodeTable = ByteCharSequence.ASCII;
+		}
+		return !filter.accept(bytes, decodeTable);
+	}
+
+	private static boolean hasZeroByte(ByteBuffer bytes, int limit) {
+		int end = Math.min(bytes.limit(), bytes.position() + limit);
+		for (int i = bytes.position(); i < end; i++) {
+			if (bytes.get(i) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isAscii(ByteBuffer bytes) {
+		for (int i = bytes.position(), end = bytes.limit(); i < end; i++) {
+			if (bytes.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasBinaryContent(FileCharSequence seq) {
+		// avoid calling seq.length() at it runs through the complete file,
+		// thus it would do so for all binary files.
+		try {
+			int limit= BUFFER_SIZE;
+			for (int i= 0; i < limit; i++) {
+				if (seq.charAt(i) == '\0') {
+					return true;
+				}
+			}
+		} catch (IndexOutOfBoundsException e) {
+			// ignored
+		} catch (FileCharSequenceException ex) {
+			if (ex.getCause() instanceof CharConversionException)
+				return true;
+			throw ex;
+		}
+		return false;
+	}
+
+	private static File getLocalFile(IFile file) {
+		IPath location = file.getLocation();
+		return location != null ? location.toFile() : null;
+	}
+
+	private static boolean startsWith(ByteBuffer bytes, byte[] start) {
+		if (bytes.remaining() < start.length) {
+			return false;
+		}
+		for (int i = 0; i < start.length; i++) {
+			if (bytes.get(bytes.position() + i) != start[i])
+				return false;
+		}
+		return true;
+	}
+
 	private static boolean startsWith(byte[] a, byte[] start) {
 		if (a.length < start.length) {
 			return false;
@@ -157,6 +157,64 @@ public class PatternConstructor {
 		return Character.isLetterOrDigit(c);
 	}
 
+	/**
+	 * Returns whether no match of the given pattern can contain a line feed, so that content can
+	 * be searched line by line. The decision is conservative: constructs that may match a line
+	 * feed, like negated character classes, control characters, most letter escapes or '.' in
+	 * DOTALL mode, make the pattern unbounded.
+	 *
+	 * @param pattern the pattern
+	 * @return <code>true</code> if no match of the pattern contains '\n'
+	 */
+	public static boolean isLineBounded(Pattern pattern) {
+		String regex= pattern.pattern();
+		if ((pattern.flags() & Pattern.LITERAL) != 0) {
+			return regex.indexOf('\n') == -1;
+		}
+		if ((pattern.flags() & Pattern.DOTALL) != 0) {
+			return false;
+		}
+		int length= regex.length();
+		for (int i= 0; i < length; i++) {
+			char ch= regex.charAt(i);
+			if (Character.isISOControl(ch)) {
+				return false;
+			}
+			if (ch == '\\') {
+				if (++i == length) {
+					return false;
+				}
+				char ch1= regex.charAt(i);
+				if (ch1 == 'Q') {
+					int end= regex.indexOf("\\E", i); //$NON-NLS-1$
+					String quoted= regex.substring(i + 1, end == -1 ? length : end);
+					if (quoted.indexOf('\n') != -1) {
+						return false;
+					}
+					i= end == -1 ? length : end + 1;
+				} else if (Character.isLetterOrDigit(ch1) && "dwbBAzZk123456789".indexOf(ch1) == -1) { //$NON-NLS-1$
+					return false;
+				}
+			} else if (ch == '[') {
+				if (i + 1 < length && regex.charAt(i + 1) == '^') {
+					return false;
+				}
+			} else if (ch == '(' && i + 1 < length && regex.charAt(i + 1) == '?') {
+				// inline flags may turn on DOTALL
+				for (int k= i + 2; k < length; k++) {
+					char flag= regex.charAt(k);
+					if (flag == 's') {
+						return false;
+					}
+					if (!Character.isLetter(flag) && flag != '-') {
+						break;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Creates a pattern element from an array of patterns in the old 'StringMatcher' format.
 	 *
@@ -15,18 +15,21 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core.text;
 
-import java.io.CharConversionException;
 import java.io.IOException;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,7 +64,6 @@ import org.eclipse.search.core.text.TextSearchRequestor;
 import org.eclipse.search.core.text.TextSearchScope;
 import org.eclipse.search.internal.core.SearchCoreMessages;
 import org.eclipse.search.internal.core.SearchCorePlugin;
-import org.eclipse.search.internal.core.text.FileCharSequenceProvider.FileCharSequenceException;
 
 /**
  * The visitor that does the actual work.
@@ -71,6 +73,18 @@ public class TextSearchVisitor {
 	public static final boolean TRACING= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.search/perf")); //$NON-NLS-1$ //$NON-NLS-2$
 	private static final int NUMBER_OF_LOGICAL_THREADS= Runtime.getRuntime().availableProcessors();
 
+	/**
+	 * Number of workers that may read files at the same time. The other workers
+	 * keep matching content that was already read.
+	 */
+	private static final int MAX_CONCURRENT_READS= Math.max(2, NUMBER_OF_LOGICAL_THREADS / 2);
+
+	/**
+	 * Number of chars matched in one task when a large file is split up, so
+	 * that idle threads can take over parts of it.
+	 */
+	private static final int CHUNK_SIZE= 1 << 20;
+
 	/**
 	 * Queue of files to be searched. IFile pointing to the same local file are
 	 * grouped together
@@ -204,16 +218,36 @@ public class TextSearchVisitor {
 					occurences = locateMatches(file, charsequence, matcher, monitor);
 				} else {
 					try {
+						if (fTrigramQuery != null && !fTrigramIndex.mayMatch(file, fTrigramQuery)) {
+							// the index shows that the file cannot contain a match
+							return Status.OK_STATUS;
+						}
 						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
 						if (reportTextOnly && hasBinaryContentType(file)) {
 							// fail fast for binary file types without opening the file
 							return Status.OK_STATUS;
 						}
-						charsequence = fileCharSequenceProvider.newCharSequence(file);
-						if (reportTextOnly && hasBinaryContent(charsequence)) {
-							return Status.OK_STATUS;
+						// reading is limited separately, so that workers blocked on I/O
+						// leave the others matching
+						fReadPermits.acquireUninterruptibly();
+						boolean holdsPermit= true;
+						try {
+							charsequence = fileCharSequenceProvider.newCharSequence(file, fContentFilter, reportTextOnly);
+							if (charsequence == null) {
+								// binary, or the raw content cannot contain a match
+								return Status.OK_STATUS;
+							}
+							if (isInMemory(charsequence)) {
+								fReadPermits.release();
+								holdsPermit= false;
+							}
+							// content that is read while it is matched keeps the permit
+							occurences = locateMatches(file, charsequence, matcher, monitor);
+						} finally {
+							if (holdsPermit) {
+								fReadPermits.release();
+							}
 						}
-						occurences = locateMatches(file, charsequence, matcher, monitor);
 					} catch (FileCharSequenceProvider.FileCharSequenceException e) {
 						if (e.getCause() instanceof RuntimeException runtimeEx) {
 							throw runtimeEx;
@@ -286,6 +320,47 @@ public class TextSearchVisitor {
 	}
 
 
+	/**
+	 * Collects the offsets and ends of the matches in a range of the content.
+	 */
+	private class ChunkTask extends RecursiveAction {
+		private static final long serialVersionUID= 1L;
+
+		private final transient CharSequence fInput;
+		private final int fStart;
+		private final int fEnd;
+		private final transient IProgressMonitor fMonitor;
+		int[] fMatches= new int[16];
+		int fCount;
+
+		ChunkTask(CharSequence input, int start, int end, IProgressMonitor monitor) {
+			fInput= input;
+			fStart= start;
+			fEnd= end;
+			fMonitor= monitor;
+		}
+
+		@Override
+		protected void compute() {
+			Matcher matcher= fSearchPattern.matcher(fInput);
+			matcher.region(fStart, fEnd);
+			matcher.useTransparentBounds(true);
+			matcher.useAnchoringBounds(false);
+			while (!fMonitor.isCanceled() && matcher.find()) {
+				int start= matcher.start();
+				int end= matcher.end();
+				if (end != start) { // don't report 0-length matches
+					if (fCount == fMatches.length) {
+						fMatches= Arrays.copyOf(fMatches, fCount * 2);
+					}
+					fMatches[fCount++]= start;
+					fMatches[fCount++]= end;
+				}
+			}
+		}
+	}
+
+
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
 
@@ -301,6 +376,12 @@ public class TextSearchVisitor {
 	private volatile boolean fIsLightweightAutoRefresh;
 	private DirtyFileProvider fDirtyDiscovery;
 
+	private final TrigramIndex fTrigramIndex;
+	private final TrigramQuery fTrigramQuery; // null if all files have to be scanned
+	private final ByteContentFilter fContentFilter; // null if all files have to be matched
+	private final boolean fIsLineBounded;
+	private final Semaphore fReadPermits= new Semaphore(MAX_CONCURRENT_READS);
+
 	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery) {
 		fCollector= collector;
 		fDirtyDiscovery = dirtyDiscovery;
@@ -311,6 +392,11 @@ public class TextSearchVisitor {
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 		fileBatches = new ConcurrentLinkedQueue<>();
+
+		fTrigramIndex= SearchCorePlugin.getDefault().getTrigramIndex();
+		fTrigramQuery= fTrigramIndex != null ? TrigramQuery.create(searchPattern) : null;
+		fContentFilter= ByteContentFilter.create(searchPattern);
+		fIsLineBounded= PatternConstructor.isLineBounded(searchPattern);
 	}
 
 	public IStatus search(IFile[] files, IProgressMonitor monitor) {
@@ -454,30 +540,10 @@ public class TextSearchVisitor {
 		return false; // unknown
 	}
 
-	private boolean hasBinaryContent(CharSequence seq) {
-		if (seq instanceof String s) {
-			return (s.contains("\0")); //$NON-NLS-1$
-		}
-		// avoid calling seq.length() at it runs through the complete file,
-		// thus it would do so for all binary files.
-		try {
-			int limit= FileCharSequenceProvider.BUFFER_SIZE;
-			for (int i= 0; i < limit; i++) {
-				if (seq.charAt(i) == '\0') {
-					return true;
-				}
-			}
-		} catch (IndexOutOfBoundsException e) {
-			// ignored
-		} catch (FileCharSequenceException ex) {
-			if (ex.getCause() instanceof CharConversionException)
-				return true;
-			throw ex;
-		}
-		return false;
-	}
-
 	private List<TextSearchMatchAccess> locateMatches(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor) throws CoreException {
+		if (fIsLineBounded && isInMemory(searchInput) && searchInput.length() >= 2 * CHUNK_SIZE) {
+			return locateMatchesInChunks(file, searchInput, monitor);
+		}
 		List<TextSearchMatchAccess> occurences= null;
 		matcher.reset(searchInput);
 		// Check for cancellation before calling matcher.find() since that call
@@ -505,6 +571,46 @@ public class TextSearchVisitor {
 	}
 
 
+	private static boolean isInMemory(CharSequence content) {
+		return content instanceof String || content instanceof ByteCharSequence;
+	}
+
+	/**
+	 * Finds the matches of a large file in chunks of whole lines, which idle
+	 * threads of the fork join pool can take over. Because no match of a line
+	 * bounded pattern crosses a line feed, the chunks do not need to overlap.
+	 * Lookarounds and anchors see the content beyond the chunk. The matches
+	 * are reported in the order of the file once all chunks are done.
+	 */
+	private List<TextSearchMatchAccess> locateMatchesInChunks(IFile file, CharSequence searchInput, IProgressMonitor monitor) throws CoreException {
+		List<ChunkTask> tasks= new ArrayList<>();
+		int length= searchInput.length();
+		int start= 0;
+		while (start < length) {
+			int end= Math.min(start + CHUNK_SIZE, length);
+			while (end < length && searchInput.charAt(end - 1) != '\n') {
+				end++;
+			}
+			tasks.add(new ChunkTask(searchInput, start, end, monitor));
+			start= end;
+		}
+		ForkJoinTask.invokeAll(tasks);
+
+		List<TextSearchMatchAccess> occurences= new ArrayList<>();
+		for (ChunkTask task : tasks) {
+			int[] matches= task.fMatches;
+			for (int i= 0; i < task.fCount; i+= 2) {
+				ReusableMatchAccess access= new ReusableMatchAccess();
+				access.initialize(file, matches[i], matches[i + 1] - matches[i], searchInput);
+				occurences.add(access);
+				if (!fCollector.acceptPatternMatch(access)) {
+					return occurences; // no further reporting requested
+				}
+			}
+		}
+		return occurences;
+	}
+
 	private String getExceptionMessage(Exception e) {
 		String message= e.getLocalizedMessage();
 		if (message == null) {
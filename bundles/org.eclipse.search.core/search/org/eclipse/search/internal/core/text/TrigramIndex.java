@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * An index of the trigrams contained in workspace files. It lets text searches
+ * skip files that cannot contain a match without reading them.
+ * <p>
+ * Files are indexed in the background: files that a search had to scan because
+ * they were not indexed yet, and indexed files that changed. An entry is only
+ * used while the modification stamp and the charset of its file are unchanged,
+ * and while the file in the file system has the same last modification time
+ * and length, as files changed on disk keep their stamp until refreshed.
+ * The index is kept in the state location of the plug-in between sessions.
+ * </p>
+ */
+public class TrigramIndex implements IResourceChangeListener {
+
+	/**
+	 * Preference key of the instance scope preference that enables the index
+	 * (value <code>"trigramIndex"</code>).
+	 */
+	public static final String PREF_ENABLED= "trigramIndex"; //$NON-NLS-1$
+
+	private static final String INDEX_FILE= "trigrams.index"; //$NON-NLS-1$
+
+	private static final int FORMAT_VERSION= 2;
+
+	/**
+	 * Files larger than this are not indexed and always scanned.
+	 */
+	private static final long MAX_FILE_SIZE= 16 * 1024 * 1024;
+
+	private static final class Entry {
+		final long fStamp;
+		final long fLastModified;
+		final long fLength;
+		final String fCharset;
+		final int[] fTrigrams; // null if the file is not indexed
+
+		Entry(long stamp, long lastModified, long length, String charset, int[] trigrams) {
+			fStamp= stamp;
+			fLastModified= lastModified;
+			fLength= length;
+			fCharset= charset;
+			fTrigrams= trigrams;
+		}
+	}
+
+	private final Map<IPath, Entry> fEntries= new ConcurrentHashMap<>();
+	private final Queue<IFile> fQueue= new ConcurrentLinkedQueue<>();
+	private final Set<IPath> fQueued= ConcurrentHashMap.newKeySet();
+	private final File fIndexFile;
+	private final Job fIndexJob;
+
+	private volatile boolean fLoaded;
+	private volatile boolean fDirty;
+
+	public TrigramIndex(File indexFile) {
+		fIndexFile= indexFile;
+		fIndexJob= new Job("Indexing files for text search") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return runIndexer(monitor);
+			}
+		};
+		fIndexJob.setSystem(true);
+		fIndexJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns whether the index is enabled by the preferences.
+	 *
+	 * @return <code>true</code> if the index should be used
+	 */
+	public static boolean isEnabled() {
+		return Platform.getPreferencesService().getBoolean(SearchCorePlugin.PLUGIN_ID, PREF_ENABLED, false, null);
+	}
+
+	/**
+	 * Returns the location the index is stored at between sessions.
+	 *
+	 * @return the index file in the state location of the plug-in
+	 */
+	public static File getDefaultIndexFile() {
+		return SearchCorePlugin.getDefault().getStateLocation().append(INDEX_FILE).toFile();
+	}
+
+	/**
+	 * Starts to track workspace changes and loads the stored index in the
+	 * background.
+	 */
+	public void startup() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		fIndexJob.schedule();
+	}
+
+	/**
+	 * Stops tracking workspace changes and stores the index.
+	 */
+	public void shutdown() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fIndexJob.cancel();
+		try {
+			fIndexJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		save();
+	}
+
+	/**
+	 * Returns whether the given file may contain a match of the query. Files
+	 * without a valid entry may always match, and are queued to be indexed.
+	 *
+	 * @param file the file, not open in an editor
+	 * @param query the query
+	 * @return <code>false</code> if the file cannot contain a match
+	 */
+	public boolean mayMatch(IFile file, TrigramQuery query) {
+		if (!fLoaded) {
+			return true;
+		}
+		Entry entry= fEntries.get(file.getFullPath());
+		if (entry == null || !isValid(entry, file)) {
+			enqueue(file);
+			return true;
+		}
+		return entry.fTrigrams == null || query.mayMatch(entry.fTrigrams);
+	}
+
+	/**
+	 * Waits until all queued files are indexed. For testing.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		fIndexJob.join();
+	}
+
+	private boolean isValid(Entry entry, IFile file) {
+		if (entry.fStamp != file.getModificationStamp()) {
+			return false;
+		}
+		try {
+			if (!entry.fCharset.equals(file.getCharset())) {
+				return false;
+			}
+			// the stamp is only updated on refresh, the file may have changed on disk
+			IFileInfo info= fetchInfo(file);
+			return info != null && entry.fLastModified == info.getLastModified() && entry.fLength == info.getLength();
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	private static IFileInfo fetchInfo(IFile file) throws CoreException {
+		URI location= file.getLocationURI();
+		if (location == null) {
+			return null;
+		}
+		IFileInfo info= EFS.getStore(location).fetchInfo();
+		return info.exists() ? info : null;
+	}
+
+	private void enqueue(IFile file) {
+		if (fQueued.add(file.getFullPath())) {
+			fQueue.add(file);
+			fIndexJob.schedule(500);
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				switch (resource.getType()) {
+					case IResource.PROJECT:
+						if (child.getKind() == IResourceDelta.REMOVED || (child.getFlags() & IResourceDelta.OPEN) != 0 && !resource.isAccessible()) {
+							removeAll(resource.getFullPath());
+							return false;
+						}
+						return true;
+					case IResource.FILE:
+						IPath path= resource.getFullPath();
+						if (child.getKind() == IResourceDelta.REMOVED) {
+							if (fEntries.remove(path) != null) {
+								fDirty= true;
+							}
+						} else if (fEntries.containsKey(path)
+								&& (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0) {
+							enqueue((IFile) resource);
+						}
+						return false;
+					default:
+						return true;
+				}
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	private void removeAll(IPath prefix) {
+		if (fEntries.keySet().removeIf(prefix::isPrefixOf)) {
+			fDirty= true;
+		}
+	}
+
+	private IStatus runIndexer(IProgressMonitor monitor) {
+		if (!fLoaded) {
+			load();
+			fLoaded= true;
+		}
+		FileCharSequenceProvider provider= new FileCharSequenceProvider();
+		IFile file;
+		while (!monitor.isCanceled() && (file= fQueue.poll()) != null) {
+			fQueued.remove(file.getFullPath());
+			if (!file.isAccessible()) {
+				fEntries.remove(file.getFullPath());
+				continue;
+			}
+			try {
+				Entry entry= index(file, provider);
+				fEntries.put(file.getFullPath(), entry);
+				fDirty= true;
+			} catch (CoreException | IOException | RuntimeException e) {
+				// the file is scanned by searches until it can be read
+				fEntries.remove(file.getFullPath());
+			}
+		}
+		if (fQueue.isEmpty() && !monitor.isCanceled()) {
+			save();
+		}
+		return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+	}
+
+	private Entry index(IFile file, FileCharSequenceProvider provider) throws CoreException, IOException {
+		// read the stamp first, a change while reading will queue the file again
+		long stamp= file.getModificationStamp();
+		String charset= file.getCharset();
+		IFileInfo info= fetchInfo(file);
+		if (info == null) {
+			throw new IOException("File not found: " + file.getFullPath()); //$NON-NLS-1$
+		}
+		if (info.getLength() > MAX_FILE_SIZE) {
+			return new Entry(stamp, info.getLastModified(), info.getLength(), charset, null);
+		}
+		// the content is read after the info, a change in between invalidates the entry
+		CharSequence content= provider.newCharSequence(file);
+		try {
+			return new Entry(stamp, info.getLastModified(), info.getLength(), charset, TrigramQuery.getTrigrams(content));
+		} finally {
+			provider.releaseCharSequence(content);
+		}
+	}
+
+	private void load() {
+		if (!fIndexFile.isFile()) {
+			return;
+		}
+		IPath root= ResourcesPlugin.getWorkspace().getRoot().getFullPath();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fIndexFile)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				return;
+			}
+			while (in.readBoolean()) {
+				IPath path= root.append(in.readUTF());
+				long stamp= in.readLong();
+				long lastModified= in.readLong();
+				long fileLength= in.readLong();
+				String charset= in.readUTF();
+				int length= in.readInt();
+				int[] trigrams= null;
+				if (length >= 0) {
+					trigrams= new int[length];
+					int previous= 0;
+					for (int j= 0; j < length; j++) {
+						previous+= readVarInt(in);
+						trigrams[j]= previous;
+					}
+				}
+				fEntries.putIfAbsent(path, new Entry(stamp, lastModified, fileLength, charset, trigrams));
+			}
+		} catch (IOException e) {
+			// start over with an empty index
+			fEntries.clear();
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	private synchronized void save() {
+		if (!fDirty) {
+			return;
+		}
+		fDirty= false;
+		File temp= new File(fIndexFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(FORMAT_VERSION);
+				for (Map.Entry<IPath, Entry> mapEntry : fEntries.entrySet()) {
+					Entry entry= mapEntry.getValue();
+					out.writeBoolean(true);
+					out.writeUTF(mapEntry.getKey().makeRelative().toString());
+					out.writeLong(entry.fStamp);
+					out.writeLong(entry.fLastModified);
+					out.writeLong(entry.fLength);
+					out.writeUTF(entry.fCharset);
+					if (entry.fTrigrams == null) {
+						out.writeInt(-1);
+						continue;
+					}
+					out.writeInt(entry.fTrigrams.length);
+					int previous= 0;
+					for (int trigram : entry.fTrigrams) {
+						writeVarInt(out, trigram - previous);
+						previous= trigram;
+					}
+				}
+				out.writeBoolean(false);
+			}
+			Files.move(temp.toPath(), fIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fDirty= true;
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 35; shift+= 7) {
+			int b= in.readByte();
+			value|= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed trigram index"); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The trigrams every match of a search pattern must contain. They are derived
+ * from the literal parts of the pattern that are required in any match, so a
+ * file whose content misses one of them cannot contain a match.
+ * <p>
+ * Trigrams are computed on case folded characters, so the same trigrams serve
+ * case sensitive and case insensitive searches.
+ * </p>
+ */
+public final class TrigramQuery {
+
+	private final int[] fTrigrams;
+
+	private TrigramQuery(int[] trigrams) {
+		fTrigrams= trigrams;
+	}
+
+	/**
+	 * Creates the query for the given pattern.
+	 *
+	 * @param pattern the search pattern
+	 * @return the query, or <code>null</code> if no trigram can be derived from
+	 *         the pattern and all files have to be scanned
+	 */
+	public static TrigramQuery create(Pattern pattern) {
+		List<String> literals= getRequiredLiterals(pattern);
+		if (literals == null) {
+			return null;
+		}
+		int[] trigrams= new int[0];
+		for (String literal : literals) {
+			int[] keys= getTrigrams(literal);
+			int size= trigrams.length;
+			trigrams= Arrays.copyOf(trigrams, size + keys.length);
+			System.arraycopy(keys, 0, trigrams, size, keys.length);
+		}
+		Arrays.sort(trigrams);
+		trigrams= Arrays.copyOf(trigrams, sortUnique(trigrams, trigrams.length));
+		return trigrams.length == 0 ? null : new TrigramQuery(trigrams);
+	}
+
+	/**
+	 * Returns whether content with the given sorted trigrams may contain a
+	 * match.
+	 *
+	 * @param contentTrigrams the sorted trigrams of the content
+	 * @return <code>false</code> if the content cannot contain a match
+	 */
+	public boolean mayMatch(int[] contentTrigrams) {
+		for (int trigram : fTrigrams) {
+			if (Arrays.binarySearch(contentTrigrams, trigram) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the sorted, distinct trigrams of the given text.
+	 *
+	 * @param text the text
+	 * @return the trigrams of the text
+	 */
+	public static int[] getTrigrams(CharSequence text) {
+		int length= text.length();
+		if (length < 3) {
+			return new int[0];
+		}
+		int[] keys= new int[Math.min(length - 2, 4096)];
+		int size= 0;
+		char c1= fold(text.charAt(0));
+		char c2= fold(text.charAt(1));
+		for (int i= 2; i < length; i++) {
+			char c3= fold(text.charAt(i));
+			if (size == keys.length) {
+				Arrays.sort(keys);
+				size= sortUnique(keys, size);
+				if (size > keys.length / 2) {
+					keys= Arrays.copyOf(keys, keys.length * 2);
+				}
+			}
+			keys[size++]= trigram(c1, c2, c3);
+			c1= c2;
+			c2= c3;
+		}
+		Arrays.sort(keys, 0, size);
+		return Arrays.copyOf(keys, sortUnique(keys, size));
+	}
+
+	/**
+	 * Returns the literals that are part of any match of the given pattern. The
+	 * derivation is conservative: constructs that are not understood end the
+	 * current literal, and alternations outside of groups disable the filter.
+	 *
+	 * @param pattern the search pattern
+	 * @return the required literals, or <code>null</code> if the pattern can
+	 *         match without any of them
+	 */
+	public static List<String> getRequiredLiterals(Pattern pattern) {
+		int flags= pattern.flags();
+		String regex= pattern.pattern();
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return null;
+		}
+		if ((flags & Pattern.LITERAL) != 0) {
+			return List.of(regex);
+		}
+		return new LiteralScanner(regex).scan();
+	}
+
+	private static int sortUnique(int[] sorted, int size) {
+		if (size == 0) {
+			return 0;
+		}
+		int last= 0;
+		for (int i= 1; i < size; i++) {
+			if (sorted[i] != sorted[last]) {
+				sorted[++last]= sorted[i];
+			}
+		}
+		return last + 1;
+	}
+
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static int trigram(char c1, char c2, char c3) {
+		// exact for ASCII, collisions beyond only cause false positives
+		return (c1 & 0x7FF) << 21 | (c2 & 0x7FF) << 10 | (c3 & 0x3FF);
+	}
+
+	/**
+	 * Scans a regular expression for the literal character runs outside of
+	 * groups and character classes.
+	 */
+	private static final class LiteralScanner {
+
+		private final String fRegex;
+		private final List<String> fLiterals= new ArrayList<>();
+		private final StringBuilder fCurrent= new StringBuilder();
+		private int fPos;
+
+		LiteralScanner(String regex) {
+			fRegex= regex;
+		}
+
+		List<String> scan() {
+			try {
+				while (fPos < fRegex.length()) {
+					char ch= fRegex.charAt(fPos++);
+					switch (ch) {
+						case '\\':
+							if (!scanEscape()) {
+								return null;
+							}
+							break;
+						case '|':
+							return null;
+						case '(':
+							flush();
+							if (!skipGroup()) {
+								return null;
+							}
+							break;
+						case '[':
+							flush();
+							skipClass();
+							break;
+						case '*':
+						case '?':
+							dropLast();
+							break;
+						case '+':
+							flush();
+							break;
+						case '{':
+							int end= fRegex.indexOf('}', fPos);
+							int comma= fRegex.indexOf(',', fPos);
+							int minEnd= comma != -1 && comma < end ? comma : end;
+							if (Integer.parseInt(fRegex.substring(fPos, minEnd).trim()) == 0) {
+								dropLast();
+							} else {
+								flush();
+							}
+							fPos= end + 1;
+							break;
+						case '.':
+						case '^':
+						case '$':
+							flush();
+							break;
+						default:
+							append(ch);
+							break;
+					}
+				}
+			} catch (RuntimeException e) {
+				// a construct that was not understood
+				return null;
+			}
+			flush();
+			return fLiterals;
+		}
+
+		private boolean scanEscape() {
+			char ch= fRegex.charAt(fPos++);
+			switch (ch) {
+				case 'Q':
+					int end= fRegex.indexOf("\\E", fPos); //$NON-NLS-1$
+					if (end == -1) {
+						end= fRegex.length();
+					}
+					for (int i= fPos; i < end; i++) {
+						append(fRegex.charAt(i));
+					}
+					fPos= Math.min(end + 2, fRegex.length());
+					return true;
+				case 't':
+					append('\t');
+					return true;
+				case 'n':
+					append('\n');
+					return true;
+				case 'r':
+					append('\r');
+					return true;
+				case 'f':
+					append('\f');
+					return true;
+				case 'a':
+					append('\u0007');
+					return true;
+				case 'e':
+					append('\u001B');
+					return true;
+				case 'x':
+					if (fRegex.charAt(fPos) == '{') {
+						int close= fRegex.indexOf('}', fPos);
+						appendCodePoint(Integer.parseInt(fRegex.substring(fPos + 1, close), 16));
+						fPos= close + 1;
+					} else {
+						appendCodePoint(Integer.parseInt(fRegex.substring(fPos, fPos + 2), 16));
+						fPos+= 2;
+					}
+					return true;
+				case 'u':
+					appendCodePoint(Integer.parseInt(fRegex.substring(fPos, fPos + 4), 16));
+					fPos+= 4;
+					return true;
+				case 'p':
+				case 'P':
+				case 'N':
+					flush();
+					fPos= fRegex.charAt(fPos) == '{' ? fRegex.indexOf('}', fPos) + 1 : fPos + 1;
+					return true;
+				case 'k':
+					flush();
+					fPos= fRegex.indexOf('>', fPos) + 1;
+					return true;
+				case 'c':
+					flush();
+					fPos++;
+					return true;
+				case 'b':
+					flush();
+					if (fPos < fRegex.length() && fRegex.charAt(fPos) == '{') {
+						fPos= fRegex.indexOf('}', fPos) + 1;
+					}
+					return true;
+				case 'd': case 'D': case 's': case 'S': case 'w': case 'W': case 'B':
+				case 'A': case 'G': case 'Z': case 'z': case 'R': case 'h': case 'H':
+				case 'v': case 'V': case 'X': case 'E':
+					flush();
+					return true;
+				default:
+					if (ch >= '0' && ch <= '9') {
+						// octal escape or back reference
+						flush();
+						while (fPos < fRegex.length() && Character.isDigit(fRegex.charAt(fPos))) {
+							fPos++;
+						}
+						return true;
+					}
+					if (Character.isLetter(ch)) {
+						return false;
+					}
+					append(ch);
+					return true;
+			}
+		}
+
+		private boolean skipGroup() {
+			if (fRegex.startsWith("?", fPos)) { //$NON-NLS-1$
+				// inline flags may turn on comments mode
+				for (int i= fPos + 1; i < fRegex.length(); i++) {
+					char ch= fRegex.charAt(i);
+					if (ch == 'x') {
+						return false;
+					}
+					if (!Character.isLetter(ch) && ch != '-') {
+						break;
+					}
+				}
+			}
+			int depth= 1;
+			while (depth > 0) {
+				char ch= fRegex.charAt(fPos++);
+				switch (ch) {
+					case '\\':
+						skipEscapeInSkipped();
+						break;
+					case '[':
+						skipClass();
+						break;
+					case '(':
+						depth++;
+						break;
+					case ')':
+						depth--;
+						break;
+					default:
+						break;
+				}
+			}
+			return true;
+		}
+
+		private void skipClass() {
+			if (fRegex.charAt(fPos) == '^') {
+				fPos++;
+			}
+			if (fRegex.charAt(fPos) == ']') {
+				fPos++;
+			}
+			int depth= 1;
+			while (depth > 0) {
+				char ch= fRegex.charAt(fPos++);
+				switch (ch) {
+					case '\\':
+						skipEscapeInSkipped();
+						break;
+					case '[':
+						depth++;
+						break;
+					case ']':
+						depth--;
+						break;
+					default:
+						break;
+				}
+			}
+		}
+
+		private void skipEscapeInSkipped() {
+			if (fRegex.charAt(fPos) == 'Q') {
+				int end= fRegex.indexOf("\\E", fPos); //$NON-NLS-1$
+				fPos= end == -1 ? fRegex.length() : end + 2;
+			} else {
+				fPos++;
+			}
+		}
+
+		private void appendCodePoint(int codePoint) {
+			if (Character.isBmpCodePoint(codePoint)) {
+				append((char) codePoint);
+			} else {
+				flush();
+			}
+		}
+
+		private void append(char ch) {
+			if (Character.isSurrogate(ch)) {
+				// case folding of supplementary characters is not done per char
+				flush();
+			} else {
+				fCurrent.append(ch);
+			}
+		}
+
+		private void dropLast() {
+			if (fCurrent.length() > 0) {
+				fCurrent.setLength(fCurrent.length() - 1);
+			}
+			flush();
+		}
+
+		private void flush() {
+			if (fCurrent.length() > 0) {
+				fLiterals.add(fCurrent.toString());
+				fCurrent.setLength(0);
+			}
+		}
+	}
+}
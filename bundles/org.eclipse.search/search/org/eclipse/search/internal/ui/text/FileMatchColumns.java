@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * The matches of one file, stored in columns of primitive arrays. The
+ * {@link FileMatch} and {@link LineElement} objects are only created when the
+ * matches are added to a search result.
+ */
+final class FileMatchColumns {
+
+	private int fMatchCount;
+	private int[] fOffsets= new int[8];
+	private int[] fLengths= new int[8];
+	private int[] fLineIndexes= new int[8];
+
+	private int fLineCount;
+	private int[] fLineNumbers= new int[8];
+	private int[] fLineStarts= new int[8];
+	private String[] fLineContents= new String[8];
+
+	/**
+	 * Adds a line that the following matches are on. Lines must be added in
+	 * ascending order.
+	 *
+	 * @param lineNumber the line number
+	 * @param lineStart the offset of the line
+	 * @param contents the contents of the line
+	 */
+	void addLine(int lineNumber, int lineStart, String contents) {
+		if (fLineCount == fLineNumbers.length) {
+			int capacity= fLineCount * 2;
+			fLineNumbers= Arrays.copyOf(fLineNumbers, capacity);
+			fLineStarts= Arrays.copyOf(fLineStarts, capacity);
+			fLineContents= Arrays.copyOf(fLineContents, capacity);
+		}
+		fLineNumbers[fLineCount]= lineNumber;
+		fLineStarts[fLineCount]= lineStart;
+		fLineContents[fLineCount]= contents;
+		fLineCount++;
+	}
+
+	/**
+	 * Adds a match on the last added line.
+	 *
+	 * @param offset the offset of the match
+	 * @param length the length of the match
+	 */
+	void addMatch(int offset, int length) {
+		if (fMatchCount == fOffsets.length) {
+			int capacity= fMatchCount * 2;
+			fOffsets= Arrays.copyOf(fOffsets, capacity);
+			fLengths= Arrays.copyOf(fLengths, capacity);
+			fLineIndexes= Arrays.copyOf(fLineIndexes, capacity);
+		}
+		fOffsets[fMatchCount]= offset;
+		fLengths[fMatchCount]= length;
+		fLineIndexes[fMatchCount]= fLineCount - 1;
+		fMatchCount++;
+	}
+
+	int size() {
+		return fMatchCount;
+	}
+
+	boolean hasLines() {
+		return fLineCount > 0;
+	}
+
+	int getLastLineNumber() {
+		return fLineNumbers[fLineCount - 1];
+	}
+
+	int getLastLineStart() {
+		return fLineStarts[fLineCount - 1];
+	}
+
+	int getLastLineLength() {
+		return fLineContents[fLineCount - 1].length();
+	}
+
+	/**
+	 * Returns the number of matches on the line of the first match.
+	 *
+	 * @return the number of matches on the first line
+	 */
+	int getFirstLineMatchCount() {
+		int count= 0;
+		while (count < fMatchCount && fLineIndexes[count] == fLineIndexes[0]) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Creates the matches in the given range. Matches on the same line share
+	 * their line element.
+	 *
+	 * @param file the file of the matches
+	 * @param from the index of the first match
+	 * @param to the index after the last match
+	 * @return the matches
+	 */
+	FileMatch[] toMatches(IFile file, int from, int to) {
+		FileMatch[] matches= new FileMatch[to - from];
+		LineElement lineElement= null;
+		int lineIndex= -1;
+		for (int i= from; i < to; i++) {
+			if (fLineIndexes[i] != lineIndex) {
+				lineIndex= fLineIndexes[i];
+				lineElement= new LineElement(file, fLineNumbers[lineIndex], fLineStarts[lineIndex], fLineContents[lineIndex]);
+			}
+			matches[i - from]= new FileMatch(file, fOffsets[i], fLengths[i], lineElement);
+		}
+		return matches;
+	}
+
+	/**
+	 * Writes the matches from the given index to the end, together with their
+	 * lines.
+	 *
+	 * @param out the output to write to
+	 * @param from the index of the first match to write
+	 * @throws IOException if writing fails
+	 */
+	void write(DataOutput out, int from) throws IOException {
+		int firstLine= fLineIndexes[from];
+		out.writeInt(fLineCount - firstLine);
+		for (int i= firstLine; i < fLineCount; i++) {
+			String contents= fLineContents[i];
+			out.writeInt(fLineNumbers[i]);
+			out.writeInt(fLineStarts[i]);
+			out.writeInt(contents.length());
+			out.writeChars(contents);
+		}
+		out.writeInt(fMatchCount - from);
+		for (int i= from; i < fMatchCount; i++) {
+			out.writeInt(fOffsets[i]);
+			out.writeInt(fLengths[i]);
+			out.writeInt(fLineIndexes[i] - firstLine);
+		}
+	}
+
+	/**
+	 * Reads matches written by {@link #write(DataOutput, int)}.
+	 *
+	 * @param in the input to read from
+	 * @return the matches
+	 * @throws IOException if reading fails
+	 */
+	static FileMatchColumns read(DataInput in) throws IOException {
+		FileMatchColumns columns= new FileMatchColumns();
+		int lineCount= in.readInt();
+		columns.fLineNumbers= new int[Math.max(lineCount, 1)];
+		columns.fLineStarts= new int[columns.fLineNumbers.length];
+		columns.fLineContents= new String[columns.fLineNumbers.length];
+		for (int i= 0; i < lineCount; i++) {
+			int lineNumber= in.readInt();
+			int lineStart= in.readInt();
+			char[] contents= new char[in.readInt()];
+			for (int j= 0; j < contents.length; j++) {
+				contents[j]= in.readChar();
+			}
+			columns.addLine(lineNumber, lineStart, new String(contents));
+		}
+		int matchCount= in.readInt();
+		columns.fOffsets= new int[Math.max(matchCount, 1)];
+		columns.fLengths= new int[columns.fOffsets.length];
+		columns.fLineIndexes= new int[columns.fOffsets.length];
+		for (int i= 0; i < matchCount; i++) {
+			columns.fOffsets[i]= in.readInt();
+			columns.fLengths[i]= in.readInt();
+			columns.fLineIndexes[i]= in.readInt();
+		}
+		columns.fMatchCount= matchCount;
+		return columns;
+	}
+}
@@ -195,6 +195,7 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 
 			@Override
 			public void treeExpanded(TreeExpansionEvent event) {
+				loadSpilledMatches(event.getElement());
 				autoExpand(viewer, event.getElement());
 			}
 		});
@@ -245,8 +246,22 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 		}
 	}
 
+	/**
+	 * Adds the matches of a file that the search result spilled to disk, so that
+	 * they are shown once the user looks at the file.
+	 *
+	 * @param element the element shown by the user
+	 */
+	private void loadSpilledMatches(Object element) {
+		AbstractTextSearchResult input= getInput();
+		if (element instanceof IFile && input instanceof FileSearchResult) {
+			((FileSearchResult) input).loadSpilledMatches((IFile) element);
+		}
+	}
+
 	@Override
 	protected void handleOpen(OpenEvent event) {
+		loadSpilledMatches(((IStructuredSelection) event.getSelection()).getFirstElement());
 		if (showLineMatches()) {
 			Object firstElement= ((IStructuredSelection)event.getSelection()).getFirstElement();
 			if (firstElement instanceof IFile) {
@@ -531,7 +546,13 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 			}
 			return 0;
 		}
-		return super.getDisplayedMatchCount(element);
+		int count= super.getDisplayedMatchCount(element);
+		AbstractTextSearchResult input= getInput();
+		if (count > 0 && input instanceof FileSearchResult && input.getActiveMatchFilters() != null) {
+			// spilled matches are shown with the loaded matches of their file
+			count+= ((FileSearchResult) input).getUnfilteredSpilledMatchCount(element);
+		}
+		return count;
 	}
 
 	@Override
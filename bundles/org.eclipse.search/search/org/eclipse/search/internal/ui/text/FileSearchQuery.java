@@ -18,8 +18,6 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
@@ -43,7 +41,6 @@ import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.NewSearchUI;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.FileTextSearchScope;
-import org.eclipse.search.ui.text.Match;
 
 
 public class FileSearchQuery implements ISearchQuery {
@@ -55,7 +52,7 @@ public class FileSearchQuery implements ISearchQuery {
 		private final boolean fSearchInBinaries;
 
 		private final boolean fIsLightweightAutoRefresh;
-		private final ConcurrentHashMap<IFile, ArrayList<FileMatch>> fCachedMatches;
+		private final ConcurrentHashMap<IFile, FileMatchColumns> fCachedMatches;
 		private volatile boolean stop;
 
 		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries) {
@@ -94,38 +91,40 @@ public class FileSearchQuery implements ISearchQuery {
 			}
 			fCachedMatches.compute(matchRequestor.getFile(), (f, matches) -> {
 				// each file is processed by at most one job
-				int matchOffset = matchRequestor.getMatchOffset();
-				LineElement lineElement = getLineElement(matchOffset, matchRequestor, matches);
-				if (lineElement != null) {
-					FileMatch fileMatch = new FileMatch(matchRequestor.getFile(), matchOffset,
-							matchRequestor.getMatchLength(), lineElement);
-					if (matches == null) {
-						matches = new ArrayList<>();
-					}
-					matches.add(fileMatch);
+				if (matches == null) {
+					matches= new FileMatchColumns();
+				}
+				int matchOffset= matchRequestor.getMatchOffset();
+				if (addLine(matchOffset, matchRequestor, matches)) {
+					matches.addMatch(matchOffset, matchRequestor.getMatchLength());
 				}
 				return matches;
 			});
 			return true;
 		}
 
-		private LineElement getLineElement(int offset, TextSearchMatchAccess matchRequestor, ArrayList<FileMatch> matches) {
+		/**
+		 * Makes sure that the last line in the given matches is the line containing the offset.
+		 *
+		 * @return <code>false</code> if the offset is not on the last or a following line
+		 */
+		private boolean addLine(int offset, TextSearchMatchAccess matchRequestor, FileMatchColumns matches) {
 			int lineNumber= 1;
 			int lineStart= 0;
 
-			if (matches != null) {
+			if (matches.hasLines()) {
 				// match on same line as last?
-				FileMatch last= matches.get(matches.size() - 1);
-				LineElement lineElement= last.getLineElement();
-				if (lineElement.contains(offset)) {
-					return lineElement;
+				int lastStart= matches.getLastLineStart();
+				int lastEnd= lastStart + matches.getLastLineLength();
+				if (lastStart <= offset && offset < lastEnd) {
+					return true;
 				}
 				// start with the offset and line information from the last match
-				lineStart= lineElement.getOffset() + lineElement.getLength();
-				lineNumber= lineElement.getLine() + 1;
+				lineStart= lastEnd;
+				lineNumber= matches.getLastLineNumber() + 1;
 			}
 			if (offset < lineStart) {
-				return null; // offset before the last line
+				return false; // offset before the last line
 			}
 
 			int i= lineStart;
@@ -138,7 +137,8 @@ public class FileSearchQuery implements ISearchQuery {
 					}
 					if (offset < i) {
 						String lineContent= getContents(matchRequestor, lineStart, i); // include line delimiter
-						return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+						matches.addLine(lineNumber, lineStart, lineContent);
+						return true;
 					}
 					lineNumber++;
 					lineStart= i;
@@ -146,9 +146,10 @@ public class FileSearchQuery implements ISearchQuery {
 			}
 			if (offset < i) {
 				String lineContent= getContents(matchRequestor, lineStart, i); // until end of file
-				return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+				matches.addLine(lineNumber, lineStart, lineContent);
+				return true;
 			}
-			return null; // offset outside of range
+			return false; // offset outside of range
 		}
 
 		private static String getContents(TextSearchMatchAccess matchRequestor, int start, int end) {
@@ -178,21 +179,30 @@ public class FileSearchQuery implements ISearchQuery {
 
 		@Override
 		public void flushMatches(IFile file) {
-			List<FileMatch> matches = fCachedMatches.remove(file);
-			if (matches != null && !matches.isEmpty()) {
-				fResult.addMatches(matches.toArray(new Match[matches.size()]));
+			FileMatchColumns matches= fCachedMatches.remove(file);
+			if (matches != null && matches.size() > 0) {
+				addMatches(file, matches);
 			}
 		}
 
 		private void flushMatches() {
-			fCachedMatches.values().removeIf(matches -> {
-				if (matches != null && !matches.isEmpty()) {
-					fResult.addMatches(matches.toArray(new Match[matches.size()]));
+			fCachedMatches.entrySet().removeIf(entry -> {
+				FileMatchColumns matches= entry.getValue();
+				if (matches.size() > 0) {
+					addMatches(entry.getKey(), matches);
 					return true;
 				}
 				return false;
 			});
 		}
+
+		private void addMatches(IFile file, FileMatchColumns matches) {
+			if (fResult instanceof FileSearchResult) {
+				((FileSearchResult) fResult).addMatches(file, matches);
+			} else {
+				fResult.addMatches(matches.toMatches(file, 0, matches.size()));
+			}
+		}
 	}
 
 	private final FileTextSearchScope fScope;
@@ -14,11 +14,19 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
+import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
 import org.eclipse.jface.resource.ImageDescriptor;
 
 import org.eclipse.ui.IEditorInput;
@@ -37,8 +45,18 @@ import org.eclipse.search.ui.text.MatchFilter;
 public class FileSearchResult extends AbstractTextSearchResult implements IEditorMatchAdapter, IFileMatchAdapter {
 	private final Match[] EMPTY_ARR= new Match[0];
 
+	/**
+	 * The number of matches that are kept in memory by default. Further
+	 * matches are written to a temporary file until they are shown.
+	 */
+	public static final int DEFAULT_RETAINED_MATCH_LIMIT= 200000;
+
 	private FileSearchQuery fQuery;
 
+	private final MatchSpillFile fSpilledMatches= new MatchSpillFile();
+	private final AtomicInteger fRetainedMatchCount= new AtomicInteger();
+	private volatile int fRetainedMatchLimit= DEFAULT_RETAINED_MATCH_LIMIT;
+
 	public FileSearchResult(FileSearchQuery job) {
 		fQuery= job;
 		setActiveMatchFilters(getLastUsedFilters());
@@ -123,6 +141,200 @@ public class FileSearchResult extends AbstractTextSearchResult implements IEdito
 		return null;
 	}
 
+	/**
+	 * Sets the number of matches that are kept in memory while searching.
+	 *
+	 * @param limit the number of matches, or -1 to keep all matches
+	 */
+	public void setRetainedMatchLimit(int limit) {
+		fRetainedMatchLimit= limit;
+	}
+
+	/**
+	 * Adds the matches found in a file. Once the retained match limit is
+	 * reached, only the matches on the first line of a file are added and the
+	 * others are spilled to disk. The file is still shown with the added
+	 * matches, and {@link #loadSpilledMatches(IFile)} adds the rest. The
+	 * matches of files open in a text file buffer are always added, as only
+	 * added matches follow the changes of the buffer.
+	 *
+	 * @param file the file
+	 * @param columns the matches in the file
+	 */
+	void addMatches(IFile file, FileMatchColumns columns) {
+		int size= columns.size();
+		int retained= getRetainedCount(file, columns);
+		if (retained < size) {
+			try {
+				fSpilledMatches.write(file, columns, retained, file.getModificationStamp());
+			} catch (IOException e) {
+				SearchPlugin.log(e);
+				fRetainedMatchCount.addAndGet(size - retained);
+				retained= size;
+			}
+		}
+		if (retained > 0) {
+			addMatches(columns.toMatches(file, 0, retained));
+		}
+	}
+
+	private int getRetainedCount(IFile file, FileMatchColumns columns) {
+		int limit= fRetainedMatchLimit;
+		int size= columns.size();
+		if (fSpilledMatches.contains(file)) {
+			return 0; // keep the order of the matches in the file
+		}
+		if (fRetainedMatchCount.addAndGet(size) <= limit || limit == -1 || getTextFileBuffer(file) != null) {
+			return size;
+		}
+		int retained= columns.getFirstLineMatchCount();
+		fRetainedMatchCount.addAndGet(retained - size);
+		return retained;
+	}
+
+	private static ITextFileBuffer getTextFileBuffer(IFile file) {
+		return FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+	}
+
+	/**
+	 * Returns the number of matches of an element that are spilled to disk.
+	 *
+	 * @param element the element
+	 * @return the number of matches not added yet
+	 */
+	public int getSpilledMatchCount(Object element) {
+		return fSpilledMatches.getMatchCount(element);
+	}
+
+	/**
+	 * Returns the number of matches of an element that are spilled to disk and
+	 * not filtered by the active match filters. The match filters of a file
+	 * search only depend on the file of a match, so they are applied to the
+	 * file.
+	 *
+	 * @param element the element
+	 * @return the number of matches not added yet that are shown
+	 */
+	public int getUnfilteredSpilledMatchCount(Object element) {
+		int count= fSpilledMatches.getMatchCount(element);
+		MatchFilter[] filters= getActiveMatchFilters();
+		if (count == 0 || filters == null || !(element instanceof IFile)) {
+			return count;
+		}
+		FileMatch fileMatch= new FileMatch((IFile) element);
+		for (MatchFilter filter : filters) {
+			if (filter.filters(fileMatch)) {
+				return 0;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Adds the matches of a file that were spilled to disk. The matches are
+	 * dropped instead if the file changed since it was searched, because their
+	 * positions were not updated.
+	 *
+	 * @param file the file
+	 * @return the added matches, empty if there were none
+	 */
+	public Match[] loadSpilledMatches(IFile file) {
+		if (!fSpilledMatches.contains(file)) {
+			return EMPTY_ARR;
+		}
+		ITextFileBuffer buffer= getTextFileBuffer(file);
+		if (!fSpilledMatches.hasStamp(file, file.getModificationStamp()) || buffer != null && buffer.isDirty()) {
+			fSpilledMatches.remove(file);
+			return EMPTY_ARR;
+		}
+		List<FileMatchColumns> segments;
+		try {
+			segments= fSpilledMatches.read(file);
+		} catch (IOException e) {
+			SearchPlugin.log(e);
+			return EMPTY_ARR;
+		}
+		int count= 0;
+		for (FileMatchColumns columns : segments) {
+			count+= columns.size();
+		}
+		Match[] matches= new Match[count];
+		int i= 0;
+		for (FileMatchColumns columns : segments) {
+			FileMatch[] segment= columns.toMatches(file, 0, columns.size());
+			System.arraycopy(segment, 0, matches, i, segment.length);
+			i+= segment.length;
+		}
+		fRetainedMatchCount.addAndGet(count);
+		addMatches(matches);
+		return matches;
+	}
+
+	/**
+	 * Forgets all matches that were spilled to disk.
+	 */
+	void discardSpilledMatches() {
+		fSpilledMatches.clear();
+	}
+
+	@Override
+	public int getMatchCount() {
+		return super.getMatchCount() + fSpilledMatches.getMatchCount();
+	}
+
+	@Override
+	public int getMatchCount(Object element) {
+		return super.getMatchCount(element) + fSpilledMatches.getMatchCount(element);
+	}
+
+	@Override
+	public void removeAll() {
+		fSpilledMatches.clear();
+		fRetainedMatchCount.set(0);
+		super.removeAll();
+	}
+
+	@Override
+	public void removeMatch(Match match) {
+		Object element= match.getElement();
+		int count= super.getMatchCount(element);
+		super.removeMatch(match);
+		fRetainedMatchCount.addAndGet(super.getMatchCount(element) - count);
+		removeSpilledMatches(element);
+	}
+
+	@Override
+	public void removeMatches(Match[] matches) {
+		Set<Object> elements= new HashSet<>();
+		for (Match match : matches) {
+			elements.add(match.getElement());
+		}
+		int count= getRetainedMatchCount(elements);
+		super.removeMatches(matches);
+		fRetainedMatchCount.addAndGet(getRetainedMatchCount(elements) - count);
+		for (Object element : elements) {
+			removeSpilledMatches(element);
+		}
+	}
+
+	private int getRetainedMatchCount(Set<Object> elements) {
+		int count= 0;
+		for (Object element : elements) {
+			count+= super.getMatchCount(element);
+		}
+		return count;
+	}
+
+	/*
+	 * Spilled matches are not shown by themselves, they go together with the
+	 * last added match of the file.
+	 */
+	private void removeSpilledMatches(Object element) {
+		if (fSpilledMatches.contains(element) && super.getMatchCount(element) == 0) {
+			fSpilledMatches.remove(element);
+		}
+	}
+
 	@Override
 	public Match[] computeContainedMatches(AbstractTextSearchResult result, IFile file) {
 		return getMatches(file);
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * A temporary file holding the matches that a search result does not keep in
+ * memory. The matches of a file are read back when they are needed. Their
+ * positions are not updated when the file changes, so the modification stamp
+ * of the file is kept with them.
+ */
+final class MatchSpillFile {
+
+	private static final class Segment {
+		final long fPosition;
+		final int fLength;
+		final int fMatchCount;
+		final long fStamp;
+
+		Segment(long position, int length, int matchCount, long stamp) {
+			fPosition= position;
+			fLength= length;
+			fMatchCount= matchCount;
+			fStamp= stamp;
+		}
+	}
+
+	private final Map<IFile, List<Segment>> fSegments= new HashMap<>();
+	private File fLocation;
+	private RandomAccessFile fFile;
+	private int fMatchCount;
+
+	/**
+	 * Appends the matches of a file from the given index to the end.
+	 *
+	 * @param file the file of the matches
+	 * @param columns the matches
+	 * @param from the index of the first match to write
+	 * @param stamp the modification stamp of the file the matches were found in
+	 * @throws IOException if writing fails
+	 */
+	synchronized void write(IFile file, FileMatchColumns columns, int from, long stamp) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream out= new DataOutputStream(bytes)) {
+			columns.write(out, from);
+		}
+		if (fFile == null) {
+			fLocation= File.createTempFile("search", ".matches"); //$NON-NLS-1$ //$NON-NLS-2$
+			fLocation.deleteOnExit();
+			fFile= new RandomAccessFile(fLocation, "rw"); //$NON-NLS-1$
+		}
+		long position= fFile.length();
+		fFile.seek(position);
+		fFile.write(bytes.toByteArray());
+		int matchCount= columns.size() - from;
+		fSegments.computeIfAbsent(file, f -> new ArrayList<>()).add(new Segment(position, bytes.size(), matchCount, stamp));
+		fMatchCount+= matchCount;
+	}
+
+	synchronized int getMatchCount() {
+		return fMatchCount;
+	}
+
+	synchronized int getMatchCount(Object element) {
+		List<Segment> segments= fSegments.get(element);
+		if (segments == null) {
+			return 0;
+		}
+		int count= 0;
+		for (Segment segment : segments) {
+			count+= segment.fMatchCount;
+		}
+		return count;
+	}
+
+	synchronized boolean contains(Object element) {
+		return fSegments.containsKey(element);
+	}
+
+	/**
+	 * Returns whether all matches of a file were found in the file with the
+	 * given modification stamp.
+	 *
+	 * @param file the file
+	 * @param stamp the current modification stamp of the file
+	 * @return <code>false</code> if the file changed since its matches were written
+	 */
+	synchronized boolean hasStamp(Object file, long stamp) {
+		List<Segment> segments= fSegments.get(file);
+		if (segments == null) {
+			return true;
+		}
+		for (Segment segment : segments) {
+			if (segment.fStamp != stamp) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads and forgets the matches of a file.
+	 *
+	 * @param file the file
+	 * @return the matches in the order they were written, empty if there are none
+	 * @throws IOException if reading fails
+	 */
+	synchronized List<FileMatchColumns> read(IFile file) throws IOException {
+		List<Segment> segments= fSegments.remove(file);
+		if (segments == null) {
+			return List.of();
+		}
+		List<FileMatchColumns> result= new ArrayList<>(segments.size());
+		for (Segment segment : segments) {
+			fMatchCount-= segment.fMatchCount;
+			byte[] bytes= new byte[segment.fLength];
+			fFile.seek(segment.fPosition);
+			fFile.readFully(bytes);
+			result.add(FileMatchColumns.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets the matches of a file.
+	 *
+	 * @param file the file
+	 * @return <code>true</code> if there were matches
+	 */
+	synchronized boolean remove(Object file) {
+		List<Segment> segments= fSegments.remove(file);
+		if (segments == null) {
+			return false;
+		}
+		for (Segment segment : segments) {
+			fMatchCount-= segment.fMatchCount;
+		}
+		return true;
+	}
+
+	/**
+	 * Forgets all matches and deletes the temporary file.
+	 */
+	synchronized void clear() {
+		fSegments.clear();
+		fMatchCount= 0;
+		if (fFile != null) {
+			try {
+				fFile.close();
+			} catch (IOException e) {
+				// ignore, the file is deleted anyway
+			}
+			fLocation.delete();
+			fFile= null;
+			fLocation= null;
+		}
+	}
+}
@@ -238,6 +238,7 @@ public class ReplaceRefactoring extends Refactoring {
 		progress.checkCanceled();
 		if (object instanceof LineElement) {
 			LineElement lineElement= (LineElement) object;
+			fResult.loadSpilledMatches((IFile) lineElement.getParent());
 			FileMatch[] matches= lineElement.getMatches(fResult);
 			for (FileMatch fileMatch : matches) {
 				if (isMatchToBeIncluded(fileMatch)) {
@@ -251,6 +252,7 @@ public class ReplaceRefactoring extends Refactoring {
 				collectMatches(member, progress);
 			}
 		} else if (object instanceof IFile) {
+			fResult.loadSpilledMatches((IFile) object);
 			Match[] matches= fResult.getMatches(object);
 			if (matches.length > 0) {
 				Collection<FileMatch> bucket= null;
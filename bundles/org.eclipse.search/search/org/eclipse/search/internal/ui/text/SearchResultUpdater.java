@@ -78,6 +78,9 @@ public class SearchResultUpdater implements IResourceChangeListener, IQueryListe
 		if (fResult.equals(query.getSearchResult())) {
 			ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
 			NewSearchUI.removeQueryListener(this);
+			if (fResult instanceof FileSearchResult) {
+				((FileSearchResult) fResult).discardSpilledMatches();
+			}
 		}
 	}
 
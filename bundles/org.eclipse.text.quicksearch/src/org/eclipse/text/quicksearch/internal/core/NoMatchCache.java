@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Remembers for each file the queries it was searched for without finding a match.
+ * A file does not have to be searched for a query that is a sub filter of one of
+ * these queries (see {@link QuickTextQuery#isSubFilter(QuickTextQuery)}). So when the
+ * user types more characters after going back, or the search is restarted for another
+ * reason, only files that matched the shorter query are read again.
+ * <p>
+ * An entry is only used while the modification stamp of its file is unchanged.
+ */
+public class NoMatchCache {
+
+	/**
+	 * Only the most recent queries are kept for each file.
+	 */
+	private static final int MAX_QUERIES_PER_FILE = 4;
+
+	private static record Entry(long stamp, List<QuickTextQuery> queries) {
+	}
+
+	private final Map<IFile, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * @return true if the file is known to have no match for the query.
+	 */
+	public boolean hasNoMatch(IFile file, long stamp, QuickTextQuery query) {
+		Entry entry = entries.get(file);
+		if (entry == null || entry.stamp != stamp) {
+			return false;
+		}
+		for (QuickTextQuery q : entry.queries) {
+			if (q.equalsFilter(query) || q.isSubFilter(query)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Records that the file was searched for the query without finding a match.
+	 */
+	public void addNoMatch(IFile file, long stamp, QuickTextQuery query) {
+		entries.compute(file, (f, entry) -> {
+			List<QuickTextQuery> queries = new ArrayList<>(MAX_QUERIES_PER_FILE);
+			queries.add(query);
+			if (entry != null && entry.stamp == stamp) {
+				for (QuickTextQuery q : entry.queries) {
+					//Queries more specific than the new one are implied by it.
+					if (queries.size() < MAX_QUERIES_PER_FILE && !query.equalsFilter(q) && !query.isSubFilter(q)) {
+						queries.add(q);
+					}
+				}
+			}
+			return new Entry(stamp, queries);
+		});
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+}
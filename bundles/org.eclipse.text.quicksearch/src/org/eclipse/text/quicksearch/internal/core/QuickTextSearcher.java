@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
@@ -58,6 +59,12 @@ public class QuickTextSearcher {
 	private final SearchInFilesWalker walker;
 	private IncrementalUpdateJob incrementalUpdate;
 
+	/**
+	 * Files that had no match for earlier queries. When the query is changed these
+	 * files are skipped if the new query is more specific.
+	 */
+	private final NoMatchCache noMatches = new NoMatchCache();
+
 	/**
 	 * This field gets set to request a query change. The new query isn't stuffed directly
 	 * into the query field because the query is responded to by the updater job which needs
@@ -152,34 +159,57 @@ public class QuickTextSearcher {
 		@Override
 		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			QuickTextQuery q = query;
+			long stamp = f.getModificationStamp();
+			if (noMatches.hasNoMatch(f, stamp, q)) {
+				return true;
+			}
+			boolean[] found = new boolean[1];
+			boolean searched;
+			try {
+				searched = search(f, canceled, MAX_LINE_LEN, q.pattern, line -> {
+					found[0] = true;
+					add(line);
+				});
+			} catch (Exception e) {
+				//The file could not be read completely, so it is not known to have no match.
+				return true;
+			}
+			if (searched && !found[0]) {
+				noMatches.addNoMatch(f, stamp, q);
+			}
+			return searched;
 		}
 
+		/**
+		 * @return <code>false</code> if the search was canceled before the end of the file.
+		 * @throws IOException if the file cannot be read
+		 * @throws CoreException if the file cannot be accessed
+		 */
 		private static boolean search(IFile f, BooleanSupplier canceled,
-				int maxLineLength, Pattern pattern, Consumer<LineItem> add) {
+				int maxLineLength, Pattern pattern, Consumer<LineItem> add) throws IOException, CoreException {
 			if (canceled.getAsBoolean()) {
 				return false;
 			}
 			try (LineReader lr = new LineReader(getReader(f),
 					maxLineLength)) {
-				String line;
+				//Lines are matched in the reused line buffer, Strings are only created for matches.
+				Matcher matcher = pattern.matcher(""); //$NON-NLS-1$
 				int lineIndex = 1;
-				while ((line = lr.readLine()) != null) {
+				while (lr.nextLine()) {
 					int offset = lr.getLastLineOffset();
 					if (canceled.getAsBoolean()) {
 						return false;
 					}
 
-					Matcher matcher = pattern.matcher(line);
-					if (matcher.find()) {
-						LineItem lineItem = new LineItem(f, line, lineIndex, offset);
+					CharSequence line = lr.getLine();
+					if (matcher.reset(line).find()) {
+						LineItem lineItem = new LineItem(f, line.toString(), lineIndex, offset);
 						add.accept(lineItem);
 					}
 
 					lineIndex++;
 				}
-			} catch (Exception e) {
-				// ignored
 			}
 			return true;
 		}
@@ -13,11 +13,11 @@
 package org.eclipse.text.quicksearch.internal.core;
 
 import java.util.Collection;
-import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
@@ -140,8 +140,9 @@ public abstract class ResourceWalker extends Job {
 	public IStatus run(IProgressMonitor monitor) {
 		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 		ExecutorService executorService = Executors.newFixedThreadPool(workers);
-		// copy the filesToSearch, to only remove a file after search completed
-		PriorityQueue<QItem> queue = new PriorityQueue<>();
+		// copy the filesToSearch, to only remove a file after search completed.
+		// The queue is polled by all workers.
+		PriorityBlockingQueue<QItem> queue = new PriorityBlockingQueue<>(Math.max(1, filesToSearch.size()));
 		queue.addAll(filesToSearch);
 		for (int worker = 0; worker < workers; worker++) {
 			executorService.submit(() -> {
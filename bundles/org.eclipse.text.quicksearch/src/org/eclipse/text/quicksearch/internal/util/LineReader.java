@@ -12,10 +12,8 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.util;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 
 /**
  * Provides a helper to efficiently split a file into
@@ -23,48 +21,40 @@ import java.io.StringReader;
  * track of character position while reading. This is needed to
  * ease translation from line-relative offsets into stream-relative
  * offsets.
+ * <p>
+ * The chars are read in blocks into a buffer, and {@link #nextLine()} copies
+ * each line into the same reusable line buffer, so that lines can be matched
+ * without creating a String for each of them.
  *
  * @author Kris De Volder
  */
 public class LineReader implements AutoCloseable{
 
 	private static final int EXPECTED_LINE_LENGTH = 160;
+	private static final int BUFFER_SIZE = 8192;
 	public static final int DEFAULT_MAX_LINE_LENGTH = 1000;
 
 	private Reader input;
 
-	//This simple implementation just wraps a BufferedReader and StringBuilder
-	//to do the buffering and String building.
-	//It may be more efficient to implement our own buffering like BufferedReader
-	//does.
-
 	public LineReader(Reader reader) {
 		this(reader, DEFAULT_MAX_LINE_LENGTH);
 	}
 
 	public LineReader(Reader reader, int maxLineLength) {
-		input = buffered(reader);
+		input = reader;
 		this.maxLineLength = maxLineLength;
 	}
 
 
-	private StringBuilder line = new StringBuilder(EXPECTED_LINE_LENGTH);
+	private final StringBuilder line = new StringBuilder(EXPECTED_LINE_LENGTH);
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int bufferPos = 0; //position of next char in buffer.
+	private int bufferEnd = 0; //end of the valid chars in buffer.
+	private boolean skipLF = false; //last line ended with CR, a following LF belongs to it.
 
 	private final int maxLineLength;
 	private int lineOffset = -1; //Start pos of last line read.
 	private int offset = 0; //position of next char in input.
-	private int mark = 0; //mark offset in underlying stream
-
-	private Reader buffered(Reader reader) {
-		//If already buffered don't wrap it again.
-		if (reader instanceof StringReader sr) {
-			return sr;
-		} else if (reader instanceof BufferedReader br) {
-			return br;
-		} else {
-			return new BufferedReader(reader);
-		}
-	}
 
 	/**
 	 * Close the underlying stream. Does nothing if already closed.
@@ -82,57 +72,78 @@ public class LineReader implements AutoCloseable{
 	}
 
 	public String readLine() throws IOException {
+		return nextLine() ? line.toString() : null;
+	}
+
+	/**
+	 * Reads the next line into the line buffer returned by {@link #getLine()}.
+	 *
+	 * @return <code>false</code> at the end of the input, or if the line is longer
+	 *         than the maximum line length.
+	 * @throws IOException if reading the input fails
+	 */
+	public boolean nextLine() throws IOException {
+		line.setLength(0);
+		if (skipLF) {
+			skipLF = false;
+			if (fill() && buffer[bufferPos] == '\n') {
+				bufferPos++;
+				offset++;
+			}
+		}
 		lineOffset = offset; //remember start of line
-		int maxOffset = offset + maxLineLength;
-		//Read text until we see either a CR, CR LF or LF.
-		int c = read();
-		if (c==-1) {
-			return null;
+		if (!fill()) {
+			return false;
 		}
-		//read until newline
-		while (c!='\r' && c!='\n' && c!=-1) {
-			line.append((char)c);
-			c = read();
-			if (offset>maxOffset) {
-				// Very long lines of text. Minified file?
-				return null;
+		//read until newline: either a CR, CR LF or LF.
+		while (fill()) {
+			int start = bufferPos;
+			while (bufferPos < bufferEnd) {
+				char c = buffer[bufferPos];
+				if (c == '\r' || c == '\n') {
+					line.append(buffer, start, bufferPos - start);
+					bufferPos++;
+					offset += bufferPos - start;
+					//A LF after a CR is only skipped when the next line is read, it may not be buffered yet.
+					skipLF = c == '\r';
+					return line.length() <= maxLineLength;
+				}
+				bufferPos++;
 			}
-		}
-		//Last char read was some kind of line terminator. But only read first char of it.
-		if (c=='\r') {
-			mark(); //next char may be part of next line. May need to 'unread' it.
-			int next = read();
-			if (next == '\n') {
-				//skip
-			} else {
-				unread();
+			line.append(buffer, start, bufferPos - start);
+			offset += bufferPos - start;
+			if (line.length() > maxLineLength) {
+				// Very long lines of text. Minified file?
+				return false;
 			}
 		}
-		try {
-			return line.toString();
-		} finally {
-			line.setLength(0);
-		}
-	}
-
-	private void unread() throws IOException {
-		offset = mark;
-		input.reset();
+		return true; //last line without line terminator.
 	}
 
-	private void mark() throws IOException {
-		mark = offset;
-		input.mark(1);
+	/**
+	 * Returns the line read by the last call to {@link #nextLine()}, without its
+	 * line terminator. The returned buffer is reused for the next line.
+	 */
+	public CharSequence getLine() {
+		return line;
 	}
 
-	private int read() throws IOException {
-		try {
-			offset++;
-			return input.read();
-		} catch (IOException e) {
-			//pretend errors are like EOF.
-			return -1;
+	/**
+	 * Makes sure that the buffer contains at least one char.
+	 *
+	 * @return <code>false</code> at the end of the input.
+	 */
+	private boolean fill() throws IOException {
+		if (bufferPos < bufferEnd) {
+			return true;
 		}
+		int n;
+		do {
+			n = input.read(buffer);
+		} while (n == 0);
+		bufferPos = 0;
+		bufferEnd = Math.max(n, 0);
+		return n > 0;
 	}
 
 	/**
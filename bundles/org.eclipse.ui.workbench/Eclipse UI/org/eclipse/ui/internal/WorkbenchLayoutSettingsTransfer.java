@@ -18,6 +18,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -63,19 +66,10 @@ public class WorkbenchLayoutSettingsTransfer extends WorkbenchSettingsTransfer {
 				}
 			}
 
-			File workbenchModel = new File(currentLocation.toOSString(), "workbench.xmi"); //$NON-NLS-1$
-			if (workbenchModel.exists()) {
-				byte[] bytes = new byte[8192];
-				try (FileInputStream inputStream = new FileInputStream(workbenchModel);
-						FileOutputStream outputStream = new FileOutputStream(new File(workspaceFile, "workbench.xmi")) //$NON-NLS-1$
-				) {
-					int read = inputStream.read(bytes, 0, 8192);
-					while (read != -1) {
-						outputStream.write(bytes, 0, read);
-						read = inputStream.read(bytes, 0, 8192);
-					}
-				}
-			}
+			// the workbench model is saved as a binary snapshot on shutdown and
+			// as XMI by auto-saves, the newer one is restored
+			copyWorkbenchModel(currentLocation, workspaceFile, "workbench.xmi"); //$NON-NLS-1$
+			copyWorkbenchModel(currentLocation, workspaceFile, "workbench.bin"); //$NON-NLS-1$
 		} catch (IOException e) {
 			return new Status(IStatus.ERROR, WorkbenchPlugin.PI_WORKBENCH,
 					WorkbenchMessages.Workbench_problemsSavingMsg, e);
@@ -85,6 +79,21 @@ public class WorkbenchLayoutSettingsTransfer extends WorkbenchSettingsTransfer {
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Copies a file of the workbench model with its modification time, which
+	 * decides which of the files is restored. A file that does not exist in the
+	 * current workspace is removed from the new one.
+	 */
+	private void copyWorkbenchModel(IPath currentLocation, File workspaceFile, String name) throws IOException {
+		Path source = new File(currentLocation.toOSString(), name).toPath();
+		Path target = new File(workspaceFile, name).toPath();
+		if (Files.exists(source)) {
+			Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+		} else {
+			Files.deleteIfExists(target);
+		}
+	}
+
 	/**
 	 * Create the parent directories for the workbench layout file and then return
 	 * the File.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2016 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,17 +16,24 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.tests.css.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
+import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandler;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
 import org.eclipse.e4.ui.tests.css.core.util.TestElement;
 import org.junit.jupiter.api.Test;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSValue;
 
 class CSSEngineTest {
 
@@ -36,6 +43,17 @@ class CSSEngineTest {
 		}
 	}
 
+	private static class CountingHandler implements ICSSPropertyHandler {
+		int count;
+
+		@Override
+		public boolean applyCSSProperty(Object element, String property, CSSValue value, String pseudo,
+				CSSEngine engine) throws Exception {
+			count++;
+			return true;
+		}
+	}
+
 	@Test
 	void testSelectorMatch() throws Exception {
 		TestCSSEngine engine = new TestCSSEngine();
@@ -80,6 +98,101 @@ class CSSEngineTest {
 		assertFalse(engine.matches(selector, "", null));
 	}
 
+	@Test
+	void testUnchangedComputedStyleIsNotReapplied() throws Exception {
+		TestCSSEngine engine = new TestCSSEngine();
+		CountingHandler handler = new CountingHandler();
+		engine.registerCSSProperty("x-count", CountingHandler.class);
+		engine.registerCSSPropertyHandler(CountingHandler.class, handler);
+		engine.parseStyleSheet(new StringReader("E { x-count: 1; } E[flag='on'] { x-count: 2; }"));
+
+		TestElement element = new TestElement("E", engine);
+		engine.applyStyles(element, false);
+		assertEquals(1, handler.count);
+
+		// a change restyles the element, unless its computed style stays the same
+		element.setAttribute("flag", "on");
+		engine.attributeChanged(element, "flag");
+		assertEquals(2, handler.count);
+		engine.attributeChanged(element, "flag");
+		assertEquals(2, handler.count);
+
+		// a new style sheet invalidates the applied style
+		engine.parseStyleSheet(new StringReader("E { x-count: 3; }"));
+		engine.attributeChanged(element, "flag");
+		assertEquals(3, handler.count);
+
+		// the widget may have been changed by other means
+		engine.applyStyles(element, false);
+		assertEquals(4, handler.count);
+	}
+
+	@Test
+	void testClassChangeRestylesDependentElementsOnly() throws Exception {
+		List<Object> scheduled = new ArrayList<>();
+		TestCSSEngine engine = new TestCSSEngine() {
+			@Override
+			protected void schedulePendingStyles() {
+				scheduled.add(this);
+			}
+		};
+		CountingHandler handler = new CountingHandler();
+		engine.registerCSSProperty("x-count", CountingHandler.class);
+		engine.registerCSSPropertyHandler(CountingHandler.class, handler);
+		engine.parseStyleSheet(new StringReader("E { x-count: 1; } .own { x-count: 2; } .parent F { x-count: 3; }"));
+
+		TestElement parent = new TestElement("E", engine);
+		TestElement child = new TestElement("F", parent, engine);
+		engine.applyStyles(parent, true);
+		assertEquals(1, handler.count);
+
+		// a class that is not used by the selectors restyles nothing
+		parent.setClass("unused");
+		engine.classChanged(parent, null, "unused");
+		assertEquals(1, handler.count);
+		assertTrue(scheduled.isEmpty());
+
+		// a class tested on the element restyles the element at once
+		parent.setClass("own");
+		engine.classChanged(parent, "unused", "own");
+		assertEquals(2, handler.count);
+		assertTrue(scheduled.isEmpty());
+
+		// a class tested on ancestors restyles the descendants later, once
+		parent.setClass("parent");
+		engine.classChanged(parent, "own", "parent");
+		engine.classChanged(parent, "parent", "parent");
+		assertEquals(3, handler.count);
+		assertEquals(1, scheduled.size());
+		engine.applyPendingStyles();
+		assertEquals(4, handler.count);
+		engine.applyPendingStyles();
+		assertEquals(4, handler.count);
+	}
+
+	@Test
+	void testClassAndIdChangeRestylesOnce() throws Exception {
+		List<Object> applied = new ArrayList<>();
+		TestCSSEngine engine = new TestCSSEngine() {
+			@Override
+			public void applyStyles(Object element, boolean applyStylesToChildNodes) {
+				applied.add(element);
+				super.applyStyles(element, applyStylesToChildNodes);
+			}
+		};
+		engine.registerCSSProperty("x-count", CountingHandler.class);
+		engine.registerCSSPropertyHandler(CountingHandler.class, new CountingHandler());
+		engine.parseStyleSheet(new StringReader("E { x-count: 1; } .own { x-count: 2; } #own { x-count: 3; }"));
+
+		TestElement element = new TestElement("E", engine);
+		engine.applyStyles(element, false);
+		applied.clear();
+
+		element.setClass("own");
+		element.setId("own");
+		engine.classAndIdChanged(element, null, "own", null, "own");
+		assertEquals(List.of(element), applied);
+	}
 
 	private TestCSSEngine engineWhichProducesElementsWithAttributeA() {
 		TestCSSEngine engine = new TestCSSEngine();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.e4.ui.tests.css.core;
 
 import org.eclipse.e4.ui.css.core.impl.engine.AbstractCSSEngineTest;
 import org.eclipse.e4.ui.tests.css.core.dom.CSSPropertyHandlerProviderTest;
+import org.eclipse.e4.ui.tests.css.core.parser.BinaryStyleSheetTest;
 import org.eclipse.e4.ui.tests.css.core.parser.CascadeTest;
 import org.eclipse.e4.ui.tests.css.core.parser.FontFaceRulesTest;
 import org.eclipse.e4.ui.tests.css.core.parser.ImportTest;
@@ -41,6 +42,7 @@ import org.junit.platform.suite.api.Suite;
 	SelectorTest.class,
 	CSSEngineTest.class,
 	ImportTest.class,
+	BinaryStyleSheetTest.class,
 	InheritTest.class,
 	AbstractCSSEngineTest.class,
 	CSSPropertyHandlerProviderTest.class
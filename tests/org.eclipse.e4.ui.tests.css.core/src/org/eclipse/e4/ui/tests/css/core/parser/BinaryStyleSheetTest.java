@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
+import org.eclipse.e4.ui.tests.css.core.util.TestElement;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.RGBColor;
+import org.w3c.dom.stylesheets.StyleSheet;
+
+public class BinaryStyleSheetTest {
+
+	private static final String CSS = """
+			Button.primary:hover, Shell > Composite#main Label {
+				color: #FF8000;
+				background-color: #FFFFFF #000000 50% !important;
+				font: 'Segoe UI' 9px bold;
+			}
+			Label[style~='SWT.BORDER'] + Text {
+				margin: 0.5em 2px;
+				background-image: url(./images/a.png);
+				color: inherit;
+			}
+			* {
+				opacity: 0.75;
+			}""";
+
+	@Test
+	void testRoundTrip() throws Exception {
+		CSSEngine engine = ParserTestUtil.createEngine();
+		CSSStyleSheet parsed = (CSSStyleSheet) engine.parseStyleSheet(new StringReader(CSS));
+
+		CSSEngine readingEngine = ParserTestUtil.createEngine();
+		CSSStyleSheet read = (CSSStyleSheet) readingEngine.readStyleSheet(new ByteArrayInputStream(write(engine, parsed)));
+
+		CSSRuleList parsedRules = parsed.getCssRules();
+		CSSRuleList readRules = read.getCssRules();
+		assertEquals(parsedRules.getLength(), readRules.getLength());
+		for (int i = 0; i < parsedRules.getLength(); i++) {
+			assertEquals(parsedRules.item(i).getCssText(), readRules.item(i).getCssText());
+		}
+		assertEquals(1, readingEngine.getDocumentCSS().getStyleSheets().getLength());
+		assertEquals(read, readingEngine.getDocumentCSS().getStyleSheets().item(0));
+	}
+
+	@Test
+	void testReadStyleSheetMatches() throws Exception {
+		CSSEngine engine = ParserTestUtil.createEngine();
+		StyleSheet parsed = engine.parseStyleSheet(new StringReader(CSS));
+
+		CSSEngine readingEngine = ParserTestUtil.createEngine();
+		readingEngine.readStyleSheet(new ByteArrayInputStream(write(engine, parsed)));
+
+		TestElement shell = new TestElement("Shell", readingEngine);
+		TestElement composite = new TestElement("Composite", shell, readingEngine);
+		composite.setId("main");
+		TestElement label = new TestElement("Label", composite, readingEngine);
+		CSSStyleDeclaration style = readingEngine.getViewCSS().getComputedStyle(label, null);
+		assertTrue(style.getPropertyCSSValue("color") instanceof RGBColor);
+		assertEquals("rgb(255, 128, 0)", style.getPropertyCSSValue("color").getCssText());
+		assertEquals("important", style.getPropertyPriority("background-color"));
+		assertEquals("0.75", style.getPropertyCSSValue("opacity").getCssText());
+	}
+
+	@Test
+	void testReadInvalidStyleSheet() {
+		CSSEngine engine = ParserTestUtil.createEngine();
+		assertThrows(IOException.class,
+				() -> engine.readStyleSheet(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 })));
+		assertEquals(0, engine.getDocumentCSS().getStyleSheets().getLength());
+	}
+
+	private static byte[] write(CSSEngine engine, StyleSheet styleSheet) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		engine.writeStyleSheet(styleSheet, out);
+		return out.toByteArray();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 Stefan Winkler and others.
+ * Copyright (c) 2014, 2026 Stefan Winkler and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,14 @@ package org.eclipse.e4.ui.tests.css.core.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
@@ -127,6 +130,24 @@ public class ImportTest {
 		assertEquals(result, documentStyleSheet);
 	}
 
+	@Test
+	void testImportedURIs() throws IOException {
+		File nestedFile = createTempCssFile("ChildChild { property: value; }\n");
+		File childFile = createTempCssFile(createImport(nestedFile) + "Child { property: value; }\n");
+		String rootCss = createImport(childFile) + "Root { property: value; }\n";
+		String importingUrl = "file:///" + childFile.getParent() + "/root.css";
+
+		InputSource source = new InputSource();
+		source.setURI(importingUrl);
+		source.setCharacterStream(new StringReader(rootCss));
+		List<String> importedURIs = new ArrayList<>();
+		engine.parseStyleSheet(source, importedURIs);
+
+		assertEquals(2, importedURIs.size());
+		assertTrue(importedURIs.get(0).endsWith(childFile.getName()), importedURIs.get(0));
+		assertTrue(importedURIs.get(1).endsWith(nestedFile.getName()), importedURIs.get(1));
+	}
+
 	private void assertStyle(String expectedStyleText, CSSRuleList cssRules, int index) {
 		assertEquals(CSSRule.STYLE_RULE, cssRules.item(index).getType());
 		assertEquals(expectedStyleText.trim(), cssRules.item(index).getCssText());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 EclipseSource and others.
+ * Copyright (c) 2009, 2026 EclipseSource and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import java.util.List;
 
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl.ChangeScope;
 import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
 import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
 import org.eclipse.e4.ui.tests.css.core.util.TestElement;
@@ -123,6 +124,118 @@ public class ViewCSSTest {
 		assertEquals("color: blue;", buttonStyle.getCssText());
 	}
 
+	@Test
+	void testIdClassAndTypeRulesKeepRuleOrder() throws Exception {
+		String css = """
+			#main { color: red; }
+			Button.primary { color: blue; }
+			Button { color: green; background-color: white; }
+			.primary { background-color: black; }
+			* { font-weight: bold; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		TestElement button = new TestElement("Button", engine);
+		button.setClass("other primary");
+		button.setId("main");
+		CSSStyleDeclaration buttonStyle = viewCSS.getComputedStyle(button, null);
+		assertNotNull(buttonStyle);
+		// the id rule has the highest specificity, the class rule wins over
+		// the type rule for the background
+		assertEquals("red", buttonStyle.getPropertyCSSValue("color").getCssText());
+		assertEquals("black", buttonStyle.getPropertyCSSValue("background-color").getCssText());
+		assertEquals("bold", buttonStyle.getPropertyCSSValue("font-weight").getCssText());
+
+		TestElement label = new TestElement("Label", engine);
+		CSSStyleDeclaration labelStyle = viewCSS.getComputedStyle(label, null);
+		assertNotNull(labelStyle);
+		assertEquals("font-weight: bold;", labelStyle.getCssText());
+	}
+
+	@Test
+	void testDescendantRulesRequireAncestors() throws Exception {
+		String css = """
+			.dialog Button { color: red; }
+			Shell > #toolbar > Button { color: blue; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		TestElement button = new TestElement("Button", engine);
+		assertNull(viewCSS.getComputedStyle(button, null));
+
+		TestElement shell = new TestElement("Shell", engine);
+		TestElement composite = new TestElement("Composite", shell, engine);
+		TestElement nested = new TestElement("Button", composite, engine);
+		assertNull(viewCSS.getComputedStyle(nested, null));
+
+		shell.setClass("dialog");
+		assertEquals("color: red;", viewCSS.getComputedStyle(nested, null).getCssText());
+
+		composite.setId("toolbar");
+		assertEquals("color: blue;", viewCSS.getComputedStyle(nested, null).getCssText());
+	}
+
+	@Test
+	void testSiblingsShareComputedStyle() throws Exception {
+		String css = """
+			Shell Button { color: red; }
+			Button { font-weight: bold; }
+			.flat { color: blue; }
+			.flat Button { font-weight: normal; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		TestElement shell = new TestElement("Shell", engine);
+		TestElement button1 = new TestElement("Button", shell, engine);
+		TestElement button2 = new TestElement("Button", shell, engine);
+		CSSStyleDeclaration style1 = viewCSS.getComputedStyle(button1, null);
+		assertNotNull(style1);
+		assertEquals("red", style1.getPropertyCSSValue("color").getCssText());
+		assertSame(style1, viewCSS.getComputedStyle(button2, null));
+
+		// a different class gives a different signature
+		button2.setClass("flat");
+		CSSStyleDeclaration style2 = viewCSS.getComputedStyle(button2, null);
+		assertNotSame(style1, style2);
+		assertEquals("blue", style2.getPropertyCSSValue("color").getCssText());
+
+		// so does a different ancestor class
+		shell.setClass("flat");
+		CSSStyleDeclaration style3 = viewCSS.getComputedStyle(button1, null);
+		assertEquals("red", style3.getPropertyCSSValue("color").getCssText());
+		assertEquals("normal", style3.getPropertyCSSValue("font-weight").getCssText());
+	}
+
+	@Test
+	void testChangeScopes() throws Exception {
+		String css = """
+			.a { color: red; }
+			.b Label { color: blue; }
+			.c + Button { color: green; }
+			Button:focus { color: red; }
+			Shell:active Label { color: blue; }
+			#main { color: green; }
+			Label[title] { color: red; }
+			""";
+		ViewCSSImpl viewCSS = (ViewCSSImpl) createViewCss(css);
+
+		assertEquals(ChangeScope.NONE, viewCSS.getClassChangeScope("a", "a"));
+		assertEquals(ChangeScope.NONE, viewCSS.getClassChangeScope("x", "y"));
+		assertEquals(ChangeScope.ELEMENT, viewCSS.getClassChangeScope(null, "a"));
+		assertEquals(ChangeScope.SUBTREE, viewCSS.getClassChangeScope("a", "a b"));
+		assertEquals(ChangeScope.PARENT_SUBTREE, viewCSS.getClassChangeScope("c a", "a"));
+
+		assertEquals(ChangeScope.ELEMENT, viewCSS.getPseudoClassChangeScope("focus"));
+		assertEquals(ChangeScope.ELEMENT, viewCSS.getPseudoClassChangeScope("FOCUS"));
+		assertEquals(ChangeScope.SUBTREE, viewCSS.getPseudoClassChangeScope("active"));
+		assertEquals(ChangeScope.NONE, viewCSS.getPseudoClassChangeScope("hover"));
+
+		assertEquals(ChangeScope.ELEMENT, viewCSS.getIdChangeScope(null, "main"));
+		assertEquals(ChangeScope.NONE, viewCSS.getIdChangeScope("other", null));
+		assertEquals(ChangeScope.ELEMENT, viewCSS.getAttributeChangeScope("title"));
+		assertEquals(ChangeScope.NONE, viewCSS.getAttributeChangeScope("style"));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testRuleCaching() throws Exception {
@@ -134,6 +247,8 @@ public class ViewCSSTest {
 
 		Field currentCombinedRulesField = ViewCSSImpl.class.getDeclaredField("currentCombinedRules");
 		currentCombinedRulesField.setAccessible(true);
+		Field currentRuleIndexField = ViewCSSImpl.class.getDeclaredField("currentRuleIndex");
+		currentRuleIndexField.setAccessible(true);
 
 		// after creation and before call of getComputedStyle() the fields are null
 		assertNull(currentCombinedRulesField.get(viewCSS));
@@ -147,6 +262,7 @@ public class ViewCSSTest {
 
 		// now the fields are filled
 		assertNotNull(currentCombinedRulesField.get(viewCSS));
+		assertNotNull(currentRuleIndexField.get(viewCSS));
 
 		// deeper inspection: check what private method getCombinedRules returns
 		Method getCombinedRulesMethod = ViewCSSImpl.class.getDeclaredMethod("getCombinedRules");
@@ -162,6 +278,7 @@ public class ViewCSSTest {
 		docCss.addStyleSheet(styleSheet);
 
 		assertNull(currentCombinedRulesField.get(viewCSS));
+		assertNull(currentRuleIndexField.get(viewCSS));
 
 		List<CSSRule> cssRules2 = (List<CSSRule>) getCombinedRulesMethod.invoke(viewCSS);
 		assertNotSame(cssRules, cssRules2);
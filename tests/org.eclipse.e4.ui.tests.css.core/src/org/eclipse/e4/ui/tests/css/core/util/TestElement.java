@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2014 EclipseSource and others.
+ * Copyright (c) 2009, 2026 EclipseSource and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,12 @@ public class TestElement extends ElementAdapter {
 		};
 	}
 
+	@Override
+	public Object getNativeWidget() {
+		// engines keep a separate context for every native widget
+		return this;
+	}
+
 	@Override
 	public String getNamespaceURI() {
 		return null;
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.swt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.swt.engine.AbstractCSSSWTEngineImpl;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.Test;
+
+public class DeferredStylingTest extends CSSSWTTestCase {
+
+	@Override
+	public CSSEngine createEngine(String styleSheet, Display display) {
+		System.setProperty(AbstractCSSSWTEngineImpl.DEFER_STYLING_PROPERTY, "true");
+		try {
+			return super.createEngine(styleSheet, display);
+		} finally {
+			System.clearProperty(AbstractCSSSWTEngineImpl.DEFER_STYLING_PROPERTY);
+		}
+	}
+
+	private Label createHiddenLabel(Composite panel) {
+		Label label = new Label(panel, SWT.NONE);
+		label.setText("Some label text");
+		return label;
+	}
+
+	private Composite createHiddenPanel() {
+		engine = createEngine("Label { color: #FF0000 }", display);
+
+		Shell shell = new Shell(display, SWT.SHELL_TRIM);
+		shell.setLayout(new FillLayout());
+
+		Composite panel = new Composite(shell, SWT.NONE);
+		panel.setLayout(new FillLayout());
+		panel.setVisible(false);
+		return panel;
+	}
+
+	@Test
+	void testStyledWhenShown() {
+		Composite panel = createHiddenPanel();
+		Label label = createHiddenLabel(panel);
+
+		engine.applyStyles(panel.getShell(), true);
+		assertNotEquals(RED, label.getForeground().getRGB());
+
+		panel.setVisible(true);
+		assertEquals(RED, label.getForeground().getRGB());
+	}
+
+	@Test
+	void testNotStyledAfterEngineDisposed() {
+		Composite panel = createHiddenPanel();
+		Label label = createHiddenLabel(panel);
+
+		engine.applyStyles(panel.getShell(), true);
+		engine.dispose();
+
+		panel.setVisible(true);
+		assertNotEquals(RED, label.getForeground().getRGB());
+	}
+
+	@Test
+	void testVisibleControlsStyledAtOnce() {
+		Composite panel = createHiddenPanel();
+		Label visible = new Label(panel.getShell(), SWT.NONE);
+
+		engine.applyStyles(panel.getShell(), true);
+		assertEquals(RED, visible.getForeground().getRGB());
+	}
+
+	@Test
+	void testStyledWhenIdle() {
+		Composite panel = createHiddenPanel();
+		Label label = createHiddenLabel(panel);
+
+		engine.applyStyles(label, false);
+		assertNotEquals(RED, label.getForeground().getRGB());
+
+		long end = System.currentTimeMillis() + 5000;
+		while (!RED.equals(label.getForeground().getRGB()) && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) {
+				display.sleep();
+			}
+		}
+		assertEquals(RED, label.getForeground().getRGB());
+		assertFalse(panel.getVisible());
+	}
+}
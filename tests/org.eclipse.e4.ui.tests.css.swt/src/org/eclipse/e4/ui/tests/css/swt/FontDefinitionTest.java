@@ -24,6 +24,8 @@ import static org.mockito.Mockito.mock;
 
 import java.util.Hashtable;
 
+import org.eclipse.e4.ui.css.swt.resources.ResourceByDefinitionKey;
+import org.eclipse.e4.ui.css.swt.resources.SWTResourcesRegistry;
 import org.eclipse.e4.ui.internal.css.swt.definition.IColorAndFontProvider;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Font;
@@ -133,6 +135,34 @@ public class FontDefinitionTest extends CSSSWTTestCase {
 		font.dispose();
 	}
 
+	@Test
+	void testWidgetFontUpdatedWhenFontDefinitionChanges() {
+		// given
+		IColorAndFontProvider provider = registerFontProviderWith("org.eclipse.jface.bannerfont",
+				new FontData("Times", 12, SWT.NORMAL));
+
+		engine = createEngine("Label {font-family: '#org-eclipse-jface-bannerfont'}", display);
+
+		Shell shell = new Shell(display, SWT.SHELL_TRIM);
+		Label label = new Label(shell, SWT.NONE);
+		label.setText("Some label text");
+		engine.applyStyles(label, true);
+		assertEquals("Times", label.getFont().getFontData()[0].getName());
+
+		// when the definition changes, like ThemeDefinitionChangedHandler does
+		doReturn(new FontData[] { new FontData("Courier", 14, SWT.NORMAL) }).when(provider)
+				.getFont("org.eclipse.jface.bannerfont");
+		((SWTResourcesRegistry) engine.getResourcesRegistry())
+				.removeResourcesByKeyTypeAndType(ResourceByDefinitionKey.class, Font.class);
+		engine.reapply();
+
+		// then
+		assertEquals("Courier", label.getFont().getFontData()[0].getName());
+		assertEquals(14, label.getFont().getFontData()[0].getHeight());
+
+		shell.dispose();
+	}
+
 	private FontDefinition fontDefinition(String uniqueId, String name,
 			String categoryId, String description) {
 		return new FontDefinition(new FontDefinition(name, uniqueId,
@@ -140,7 +170,7 @@ public class FontDefinitionTest extends CSSSWTTestCase {
 				new FontData[] {new FontData("Arial", 10, SWT.NORMAL)});
 	}
 
-	private void registerFontProviderWith(final String symbolicName, final FontData fontData) {
+	private IColorAndFontProvider registerFontProviderWith(final String symbolicName, final FontData fontData) {
 		IColorAndFontProvider provider = mock(IColorAndFontProvider.class);
 		doReturn(new FontData[] { fontData }).when(provider).getFont(symbolicName);
 
@@ -149,5 +179,6 @@ public class FontDefinitionTest extends CSSSWTTestCase {
 
 		FrameworkUtil.getBundle(getClass()).getBundleContext().registerService(IColorAndFontProvider.class, provider,
 				null);
+		return provider;
 	}
 }
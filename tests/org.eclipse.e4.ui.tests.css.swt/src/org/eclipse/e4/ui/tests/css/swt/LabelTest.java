@@ -31,6 +31,15 @@ public class LabelTest extends CSSSWTTestCase {
 		assertEquals(BLUE, labelToTest.getForeground().getRGB());
 	}
 
+	@Test
+	void testColorRestoredWhenStylesApplied() {
+		Label labelToTest = createTestLabel("Label { color: #0000FF }");
+		labelToTest.setForeground(display.getSystemColor(SWT.COLOR_GREEN));
+
+		engine.applyStyles(labelToTest, false);
+		assertEquals(BLUE, labelToTest.getForeground().getRGB());
+	}
+
 	@Test
 	void testFontRegular() {
 		Label labelToTest = createTestLabel("Label { font: Verdana 16px }");
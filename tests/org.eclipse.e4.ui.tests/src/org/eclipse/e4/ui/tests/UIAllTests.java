@@ -29,6 +29,7 @@ import org.eclipse.e4.ui.tests.workbench.AreaRendererTest;
 import org.eclipse.e4.ui.tests.workbench.Bug308317Test;
 import org.eclipse.e4.ui.tests.workbench.CompositePartClosingTest;
 import org.eclipse.e4.ui.tests.workbench.ContextTest;
+import org.eclipse.e4.ui.tests.workbench.ContributionPreloaderTest;
 import org.eclipse.e4.ui.tests.workbench.ContributionsAnalyzerTest;
 import org.eclipse.e4.ui.tests.workbench.ExtensionsSortTests;
 import org.eclipse.e4.ui.tests.workbench.HandlerActivationTest;
@@ -76,6 +77,7 @@ import org.junit.runners.Suite;
 		MApplicationCommandAccessTest.class,
 		MMenuItemTest.class,
 		ContributionsAnalyzerTest.class,
+		ContributionPreloaderTest.class,
 		MPartTest.class,
 		MPartSashContainerTest.class,
 		MSaveablePartTest.class,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -431,4 +431,58 @@ public class EModelServiceFindTest {
 		assertEquals(1, elements.size());
 		assertEquals(part, elements.get(0));
 	}
+
+	@Test
+	public void testFindElementsAfterModelChanges() {
+		MApplication application = createApplication();
+		EModelService modelService = application.getContext().get(EModelService.class);
+		MWindow window = (MWindow) modelService.find("singleValidId", application);
+		MPartSashContainer psc = (MPartSashContainer) window.getChildren().get(0);
+		MPartStack stack = (MPartStack) psc.getChildren().get(0);
+
+		assertEquals(0, modelService.findElements(application, "newId", null).size());
+
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId("newId");
+		stack.getChildren().add(part);
+		assertEquals(List.of(part), modelService.findElements(application, "newId", null));
+
+		part.setElementId("renamedId");
+		assertEquals(0, modelService.findElements(application, "newId", null).size());
+		assertEquals(List.of(part), modelService.findElements(application, "renamedId", null));
+
+		part.getTags().add("newTag");
+		assertEquals(List.of(part), modelService.findElements(application, null, null, List.of("newTag")));
+		part.getTags().remove("newTag");
+		assertEquals(0, modelService.findElements(application, null, null, List.of("newTag")).size());
+
+		psc.getChildren().add(part);
+		assertEquals(List.of(part), modelService.findElements(application, "renamedId", null));
+		assertEquals(0, modelService.findElements(stack, "renamedId", null).size());
+
+		psc.getChildren().remove(part);
+		assertEquals(0, modelService.findElements(application, "renamedId", null).size());
+	}
+
+	@Test
+	public void testFindElementsThroughPlaceholder() {
+		MApplication application = createApplication();
+		EModelService modelService = application.getContext().get(EModelService.class);
+		MWindow window = (MWindow) modelService.find("singleValidId", application);
+		MPartSashContainer psc = (MPartSashContainer) window.getChildren().get(0);
+		MPartStack stack = (MPartStack) psc.getChildren().get(0);
+
+		MPart sharedPart = modelService.createModelElement(MPart.class);
+		sharedPart.setElementId("sharedId");
+		window.getSharedElements().add(sharedPart);
+		assertEquals(0, modelService.findElements(stack, "sharedId", null).size());
+
+		MPlaceholder placeholder = modelService.createModelElement(MPlaceholder.class);
+		placeholder.setRef(sharedPart);
+		stack.getChildren().add(placeholder);
+		assertEquals(List.of(sharedPart), modelService.findElements(stack, "sharedId", null));
+
+		placeholder.setRef(null);
+		assertEquals(0, modelService.findElements(stack, "sharedId", null).size());
+	}
 }
@@ -16,10 +16,17 @@ package org.eclipse.e4.ui.tests.application;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.internal.services.ICoalescingSubscriptions;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -111,4 +118,37 @@ public class EventBrokerTest extends UITest {
 		assertEquals("subscription was not removed", 2, seen.get());
 	}
 
+	@Test
+	public void testCoalescedSubscription() throws InterruptedException {
+		IEventBroker eb = context.get(IEventBroker.class);
+		assertTrue(eb instanceof ICoalescingSubscriptions);
+		List<Object> delivered = new CopyOnWriteArrayList<>();
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		EventHandler handler = event -> {
+			delivered.add(event.getProperty(IEventBroker.DATA));
+			entered.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			done.countDown();
+		};
+		((ICoalescingSubscriptions) eb).subscribeCoalesced(TEST_TOPIC, event -> TEST_TOPIC, handler, true);
+
+		eb.send(TEST_TOPIC, "1");
+		assertTrue(entered.await(10, TimeUnit.SECONDS));
+		// recorded while the first event is being delivered
+		eb.send(TEST_TOPIC, "2");
+		eb.send(TEST_TOPIC, "3");
+		eb.send(TEST_TOPIC, "4");
+		release.countDown();
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		eb.unsubscribe(handler);
+		assertEquals(Arrays.asList("1", "4"), delivered);
+	}
+
 }
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.e4.ui.internal.workbench.ContributionPreloader;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.e4.ui.workbench.modeling.EPartService;
+import org.eclipse.emf.common.notify.Notifier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that activating a part loads the contributions of the parts likely to
+ * be shown next in the background.
+ */
+public class PartWarmUpTest extends UITest {
+
+	private static final String SAMPLE_VIEW = "bundleclass://org.eclipse.e4.ui.tests/org.eclipse.e4.ui.tests.workbench.SampleView";
+
+	private static final String TARGETED_VIEW = "bundleclass://org.eclipse.e4.ui.tests/org.eclipse.e4.ui.tests.workbench.TargetedView";
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		ContributionPreloader.clear();
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		ContributionPreloader.clear();
+		super.tearDown();
+	}
+
+	@Test
+	public void testStackNeighboursAreWarmedUp() throws Exception {
+		MWindow window = ems.createModelElement(MWindow.class);
+		application.getChildren().add(window);
+		application.setSelectedElement(window);
+		MPartStack stack = ems.createModelElement(MPartStack.class);
+		window.getChildren().add(stack);
+		MPart active = ems.createModelElement(MPart.class);
+		stack.getChildren().add(active);
+		MPart neighbour = ems.createModelElement(MPart.class);
+		neighbour.setContributionURI(SAMPLE_VIEW);
+		stack.getChildren().add(neighbour);
+		MPart notRendered = ems.createModelElement(MPart.class);
+		notRendered.setContributionURI(TARGETED_VIEW);
+		notRendered.setToBeRendered(false);
+		stack.getChildren().add(notRendered);
+		stack.setSelectedElement(active);
+
+		UIEventPublisher ep = new UIEventPublisher(applicationContext);
+		((Notifier) application).eAdapters().add(ep);
+		applicationContext.set(UIEventPublisher.class, ep);
+		getEngine().createGui(window);
+
+		EPartService partService = window.getContext().get(EPartService.class);
+		partService.activate(active);
+		assertNull(neighbour.getObject());
+
+		long end = System.currentTimeMillis() + 10000;
+		while (!ContributionPreloader.isLoaded(SAMPLE_VIEW) && System.currentTimeMillis() < end) {
+			Thread.sleep(50);
+		}
+		assertTrue(ContributionPreloader.isLoaded(SAMPLE_VIEW));
+		assertFalse(ContributionPreloader.isLoaded(TARGETED_VIEW));
+		// warming up does not create the part
+		assertNull(neighbour.getObject());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2017 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.e4.ui.tests.application;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -78,11 +79,15 @@ public class ResourceHandlerTest {
 	}
 
 	private ResourceHandler createHandler(URI uri) {
+		return createHandler(uri, true);
+	}
+
+	private ResourceHandler createHandler(URI uri, boolean clearPersistedState) {
 		IEclipseContext appContext = E4Application.createDefaultContext();
 		IEclipseContext localContext = appContext.createChild();
 		localContext.set(E4Workbench.INSTANCE_LOCATION, getInstanceLocation());
 		localContext.set(IWorkbench.PERSIST_STATE, Boolean.TRUE);
-		localContext.set(IWorkbench.CLEAR_PERSISTED_STATE, Boolean.TRUE);
+		localContext.set(IWorkbench.CLEAR_PERSISTED_STATE, Boolean.valueOf(clearPersistedState));
 
 		localContext.set(E4Workbench.INITIAL_WORKBENCH_MODEL_URI, uri);
 
@@ -233,4 +238,30 @@ public class ResourceHandlerTest {
 		MApplication unchangedApplication = (MApplication) verifyResource.getContents().get(0);
 		assertEquals(2, unchangedApplication.getChildren().size());
 	}
+
+	@Test
+	public void testModelRestoredFromSnapshot() throws IOException {
+		URI uri = URI.createPlatformPluginURI("org.eclipse.e4.ui.tests/xmi/modelprocessor/base.e4xmi", true);
+
+		ResourceHandler handler = createHandler(uri);
+		Resource resource = handler.loadMostRecentModel();
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MWindow window = application.getChildren().get(1);
+		String windowId = ((E4XMIResource) resource).getID((EObject) window);
+
+		MWindow dynamicWindow = MBasicFactory.INSTANCE.createWindow();
+		dynamicWindow.getPersistedState().put(IWorkbench.PERSIST_STATE, "false");
+		application.getChildren().add(dynamicWindow);
+		handler.save();
+
+		ResourceHandler restoreHandler = createHandler(uri, false);
+		Resource restoredResource = restoreHandler.loadMostRecentModel();
+		MApplication restoredApplication = (MApplication) restoredResource.getContents().get(0);
+		assertNotSame(application, restoredApplication);
+		assertEquals(2, restoredApplication.getChildren().size());
+
+		MWindow restoredWindow = restoredApplication.getChildren().get(1);
+		assertEquals(window.getElementId(), restoredWindow.getElementId());
+		assertEquals(windowId, ((E4XMIResource) restoredResource).getID((EObject) restoredWindow));
+	}
 }
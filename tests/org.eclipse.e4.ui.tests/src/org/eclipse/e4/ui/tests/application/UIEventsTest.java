@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2024 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,9 @@ package org.eclipse.e4.ui.tests.application;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -26,6 +29,7 @@ import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
+import org.eclipse.e4.ui.internal.workbench.UIModelEvent;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.MApplicationFactory;
@@ -42,12 +46,14 @@ import org.eclipse.e4.ui.workbench.UIEvents.Contribution;
 import org.eclipse.e4.ui.workbench.UIEvents.Dirtyable;
 import org.eclipse.e4.ui.workbench.UIEvents.ElementContainer;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
+import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
 import org.eclipse.e4.ui.workbench.UIEvents.Parameter;
 import org.eclipse.e4.ui.workbench.UIEvents.UIElement;
 import org.eclipse.e4.ui.workbench.UIEvents.UILabel;
 import org.eclipse.e4.ui.workbench.UIEvents.Window;
 import org.eclipse.emf.common.notify.Notifier;
 import org.junit.Test;
+import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 
 public class UIEventsTest extends HeadlessApplicationElementTest {
@@ -338,6 +344,43 @@ public class UIEventsTest extends HeadlessApplicationElementTest {
 		assertFalse(seen[0]);
 	}
 
+	@Test
+	public void testModelEventData() {
+		IEventBroker eventBroker = rule.getApplicationContext().get(IEventBroker.class);
+		MTestHarness allData = MTestFactory.eINSTANCE.createTestHarness();
+		final UIEventPublisher ep = new UIEventPublisher(rule.getApplicationContext());
+		((Notifier) allData).eAdapters().add(ep);
+
+		// changes without handlers are not sent at all
+		allData.setElementId("Unobserved Id");
+
+		List<Event> events = new ArrayList<>();
+		EventHandler handler = events::add;
+		eventBroker.subscribe(ApplicationElement.TOPIC_ELEMENTID, handler);
+		try {
+			allData.setElementId("New Id");
+		} finally {
+			eventBroker.unsubscribe(handler);
+		}
+
+		assertEquals(1, events.size());
+		Event event = events.get(0);
+		assertEquals("New Id", event.getProperty(EventTags.NEW_VALUE));
+		assertEquals("Unobserved Id", event.getProperty(EventTags.OLD_VALUE));
+		assertSame(allData, event.getProperty(EventTags.ELEMENT));
+
+		UIModelEvent modelEvent = UIModelEvent.from(event);
+		assertNotNull(modelEvent);
+		assertEquals(event.getTopic(), modelEvent.getTopic());
+		assertEquals(EventTypes.SET, modelEvent.getType());
+		assertSame(allData, modelEvent.getElement());
+		assertEquals(ApplicationElement.ELEMENTID, modelEvent.getAttributeName());
+		assertEquals("New Id", modelEvent.getNewValue());
+		assertEquals("Unobserved Id", modelEvent.getOldValue());
+		assertNull(modelEvent.getPosition());
+		assertEquals(event.getProperty(EventTags.WIDGET), modelEvent.getWidget());
+	}
+
 	private void checkForFailures(EventTester[] allTesters, EventTester tester) {
 		ensureAllSet(tester);
 		ensureNoCrossTalk(allTesters, tester);
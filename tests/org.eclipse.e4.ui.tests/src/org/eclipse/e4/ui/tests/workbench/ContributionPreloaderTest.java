@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.workbench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Hashtable;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.internal.workbench.ContributionPreloader;
+import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Constants;
+
+public class ContributionPreloaderTest {
+
+	private static final String SAMPLE_VIEW = "bundleclass://org.eclipse.e4.ui.tests/org.eclipse.e4.ui.tests.workbench.SampleView";
+
+	private IEclipseContext appContext;
+	private EModelService ems;
+
+	@Before
+	public void setUp() {
+		appContext = E4Application.createDefaultContext();
+		ems = appContext.get(EModelService.class);
+		ContributionPreloader.clear();
+	}
+
+	@After
+	public void tearDown() {
+		ContributionPreloader.clear();
+		appContext.dispose();
+	}
+
+	@Test
+	public void testCollectPartsVisibleFirst() {
+		MWindow window = ems.createModelElement(MWindow.class);
+		MPartSashContainer sash = ems.createModelElement(MPartSashContainer.class);
+		window.getChildren().add(sash);
+		MPartStack stack = ems.createModelElement(MPartStack.class);
+		sash.getChildren().add(stack);
+		MPart selected = createPart(stack, "selected");
+		createPart(stack, "behind");
+		MPart notRendered = createPart(stack, "notRendered");
+		notRendered.setToBeRendered(false);
+		stack.setSelectedElement(selected);
+		createPart(sash, "inSash");
+		MPart invisible = createPart(sash, "invisible");
+		invisible.setVisible(false);
+
+		Set<String> visible = new LinkedHashSet<>();
+		Set<String> hidden = new LinkedHashSet<>();
+		ContributionPreloader.collectParts(window, true, visible, hidden);
+
+		assertEquals(List.of("selected", "inSash"), List.copyOf(visible));
+		assertEquals(List.of("behind", "invisible"), List.copyOf(hidden));
+	}
+
+	@Test
+	public void testLazyBundlesAreNotStarted() {
+		assertTrue(ContributionPreloader.canLoadClasses(bundle(Bundle.ACTIVE, "lazy")));
+		assertTrue(ContributionPreloader.canLoadClasses(bundle(Bundle.RESOLVED, null)));
+		// loading a class would activate the bundle
+		assertFalse(ContributionPreloader.canLoadClasses(bundle(Bundle.STARTING, "lazy")));
+		assertFalse(ContributionPreloader.canLoadClasses(bundle(Bundle.RESOLVED, "lazy")));
+		assertFalse(ContributionPreloader.canLoadClasses(bundle(Bundle.INSTALLED, null)));
+	}
+
+	@Test
+	public void testLoadedContributionsAreForgottenOnClear() {
+		ContributionPreloader.load(List.of(SAMPLE_VIEW), new NullProgressMonitor());
+		assertTrue(ContributionPreloader.isLoaded(SAMPLE_VIEW));
+
+		ContributionPreloader.clear();
+		assertFalse(ContributionPreloader.isLoaded(SAMPLE_VIEW));
+	}
+
+	private MPart createPart(MPartSashContainer container, String uri) {
+		MPart part = ems.createModelElement(MPart.class);
+		part.setContributionURI(uri);
+		container.getChildren().add(part);
+		return part;
+	}
+
+	private MPart createPart(MPartStack stack, String uri) {
+		MPart part = ems.createModelElement(MPart.class);
+		part.setContributionURI(uri);
+		stack.getChildren().add(part);
+		return part;
+	}
+
+	private static Bundle bundle(int state, String activationPolicy) {
+		Bundle bundle = mock(Bundle.class);
+		Hashtable<String, String> headers = new Hashtable<>();
+		if (activationPolicy != null) {
+			headers.put(Constants.BUNDLE_ACTIVATIONPOLICY, activationPolicy);
+		}
+		when(bundle.getState()).thenReturn(state);
+		when(bundle.getHeaders("")).thenReturn(headers);
+		return bundle;
+	}
+}
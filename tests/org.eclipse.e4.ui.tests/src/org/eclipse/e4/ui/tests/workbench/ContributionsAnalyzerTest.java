@@ -14,13 +14,26 @@
 
 package org.eclipse.e4.ui.tests.workbench;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.eclipse.core.expressions.EvaluationResult;
+import org.eclipse.core.expressions.Expression;
+import org.eclipse.core.expressions.ExpressionInfo;
+import org.eclipse.core.expressions.IEvaluationContext;
 import org.eclipse.e4.core.commands.ExpressionContext;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.internal.workbench.ContributionsAnalyzer;
 import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.MCoreExpression;
 import org.eclipse.e4.ui.model.application.ui.MImperativeExpression;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenu;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenuContribution;
+import org.eclipse.e4.ui.model.application.ui.menu.MPopupMenu;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.junit.After;
 import org.junit.Before;
@@ -53,4 +66,110 @@ public class ContributionsAnalyzerTest {
 
 		assertTrue(ContributionsAnalyzer.isVisible(exp, eContext));
 	}
+
+	@Test
+	public void testCoreExpressionEvaluatedAgainWhenVariableChanges() {
+		ExpressionContext eContext = new ExpressionContext(appContext);
+		CountingExpression expression = new CountingExpression(false);
+		MCoreExpression exp = ems.createModelElement(MCoreExpression.class);
+		exp.setCoreExpression(expression);
+
+		appContext.set(CountingExpression.VARIABLE, "off");
+		assertFalse(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertFalse(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertEquals(1, expression.evaluations);
+
+		appContext.set(CountingExpression.VARIABLE, "on");
+		assertTrue(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertTrue(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertEquals(2, expression.evaluations);
+
+		appContext.set(CountingExpression.VARIABLE, "off");
+		assertFalse(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertEquals(3, expression.evaluations);
+	}
+
+	@Test
+	public void testCoreExpressionWithPropertyTestNotCached() {
+		ExpressionContext eContext = new ExpressionContext(appContext);
+		CountingExpression expression = new CountingExpression(true);
+		MCoreExpression exp = ems.createModelElement(MCoreExpression.class);
+		exp.setCoreExpression(expression);
+
+		appContext.set(CountingExpression.VARIABLE, "on");
+		assertTrue(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertTrue(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertEquals(2, expression.evaluations);
+
+		// the property may change while the variable stays the same
+		expression.propertyValue = false;
+		assertFalse(ContributionsAnalyzer.isVisible(exp, eContext));
+		assertEquals(3, expression.evaluations);
+	}
+
+	@Test
+	public void testGatherMenuContributionsByParentId() {
+		MApplication application = ems.createModelElement(MApplication.class);
+		MMenuContribution toMenu = createContribution(application, "menu");
+		MMenuContribution toOther = createContribution(application, "other");
+		MMenuContribution toPopups = createContribution(application, ContributionsAnalyzer.POPUP_PARENT_ID);
+		MMenuContribution toMenuAgain = createContribution(application, "menu");
+
+		MMenu menu = ems.createModelElement(MMenu.class);
+		menu.setElementId("menu");
+		ArrayList<MMenuContribution> toContribute = new ArrayList<>();
+		ContributionsAnalyzer.gatherMenuContributions(menu, application, "menu", toContribute, false);
+		assertEquals(Arrays.asList(toMenu, toMenuAgain), toContribute);
+
+		MPopupMenu popup = ems.createModelElement(MPopupMenu.class);
+		popup.setElementId("menu");
+		popup.getTags().add("popup:other");
+		toContribute.clear();
+		ContributionsAnalyzer.gatherMenuContributions(popup, application, "menu", toContribute, true);
+		assertEquals(Arrays.asList(toPopups, toMenu, toOther, toMenuAgain), toContribute);
+
+		toOther.setParentId("menu");
+		application.getMenuContributions().remove(toMenuAgain);
+		toContribute.clear();
+		ContributionsAnalyzer.gatherMenuContributions(menu, application, "menu", toContribute, false);
+		assertEquals(Arrays.asList(toMenu, toOther), toContribute);
+	}
+
+	/**
+	 * Tests whether a variable is "on", and optionally a property that is not
+	 * known to the expression context.
+	 */
+	private static class CountingExpression extends Expression {
+		static final String VARIABLE = "ContributionsAnalyzerTest.variable";
+
+		private final boolean testsProperty;
+		private boolean propertyValue = true;
+		private int evaluations;
+
+		CountingExpression(boolean testsProperty) {
+			this.testsProperty = testsProperty;
+		}
+
+		@Override
+		public EvaluationResult evaluate(IEvaluationContext context) {
+			evaluations++;
+			boolean on = "on".equals(context.getVariable(VARIABLE));
+			return EvaluationResult.valueOf(on && (!testsProperty || propertyValue));
+		}
+
+		@Override
+		public void collectExpressionInfo(ExpressionInfo info) {
+			info.addVariableNameAccess(VARIABLE);
+			if (testsProperty) {
+				info.addAccessedPropertyName("ContributionsAnalyzerTest.property");
+			}
+		}
+	}
+
+	private MMenuContribution createContribution(MApplication application, String parentId) {
+		MMenuContribution contribution = ems.createModelElement(MMenuContribution.class);
+		contribution.setParentId(parentId);
+		application.getMenuContributions().add(contribution);
+		return contribution;
+	}
 }
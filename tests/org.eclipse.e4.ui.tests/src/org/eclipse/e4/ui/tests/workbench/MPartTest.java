@@ -208,19 +208,47 @@ public class MPartTest {
 		assertFalse(part.isDirty());
 		assertEquals("Part", item.getText());
 
+		// dirty changes are shown once the UI processes its events
 		part.setDirty(true);
+		contextRule.spinEventLoop();
 		assertEquals("*Part", item.getText());
 
 		part.setLabel("");
 		assertEquals("*", item.getText());
 
 		part.setDirty(false);
+		contextRule.spinEventLoop();
 		assertEquals("", item.getText());
 
 		part.setDirty(true);
+		contextRule.spinEventLoop();
 		assertEquals("*", item.getText());
 	}
 
+	@Test
+	public void testDirtyChangesCoalesced() {
+		final MWindow window = createWindowWithOneView("Part");
+
+		application.getChildren().add(window);
+		contextRule.createAndRunWorkbench(window);
+
+		MPartSashContainer container = (MPartSashContainer) window.getChildren().get(0);
+		MPartStack stack = (MPartStack) container.getChildren().get(0);
+		MPart part = (MPart) stack.getChildren().get(0);
+
+		CTabFolder folder = (CTabFolder) stack.getWidget();
+		CTabItem item = folder.getItem(0);
+
+		for (int i = 0; i < 100; i++) {
+			part.setDirty(i % 2 == 0);
+		}
+		part.setDirty(true);
+		assertEquals("Part", item.getText());
+
+		contextRule.spinEventLoop();
+		assertEquals("*Part", item.getText());
+	}
+
 	private MWindow createWindowWithOneView(String partName) {
 		return createWindowWithOneView(partName, null);
 	}
@@ -61,9 +61,11 @@ public class MSaveablePartTest {
 		assertFalse(part.isDirty());
 
 		part.setDirty(true);
+		contextRule.spinEventLoop();
 		assertEquals("*Part Name", item.getText());
 
 		part.setDirty(false);
+		contextRule.spinEventLoop();
 		assertEquals("Part Name", item.getText());
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 EclipseSource Muenchen GmbH and others.
+ * Copyright (c) 2016, 2026 EclipseSource Muenchen GmbH and others.
  *
  *
  * This program and the accompanying materials
@@ -17,6 +17,7 @@
 package org.eclipse.e4.ui.tests.workbench;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import jakarta.annotation.PostConstruct;
@@ -66,6 +67,7 @@ import org.eclipse.equinox.log.ExtendedLogReaderService;
 import org.eclipse.equinox.log.LogFilter;
 import org.eclipse.swt.widgets.Display;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -386,6 +388,49 @@ public class ModelAssemblerTests {
 		assertEquals(0, logMessages.size());
 	}
 
+	/**
+	 * Tests that the fragments of an unchanged contributor are not merged again
+	 * into a restored model, unless their elements are missing.
+	 */
+	@Test
+	public void testFragments_unchangedContributorNotMergedAgain() throws Exception {
+		Assume.assumeTrue(System.getProperty("osgi.dev") == null);
+
+		MTrimmedWindow trimmedWindow = modelService.createModelElement(MTrimmedWindow.class);
+		application.getChildren().add(trimmedWindow);
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId("testModelProcessingOrder-part");
+		trimmedWindow.getChildren().add(part);
+		MArea area = modelService.createModelElement(MArea.class);
+		area.setElementId("testModelProcessingOrder-area");
+		trimmedWindow.getChildren().add(area);
+
+		IContributor contributor = ContributorFactorySimple.createContributor(BUNDLE_SYMBOLIC_NAME);
+		IExtensionRegistry registry = createTestExtensionRegistry();
+		assembler.setExtensionRegistry(registry);
+		String dataFilePath = "org.eclipse.e4.ui.tests/data/ModelAssembler/modelProcessingOrder.xml";
+		registry.addContribution(getContentsAsInputStream(dataFilePath), contributor, false, null, null, null);
+
+		assembler.processModel(true);
+		MUIElement placeholder = modelService.find("testModelProcessingOrder-placeholder", application);
+		assertEquals(area, placeholder.getParent());
+
+		// restart with the model as it has been restored
+		placeholder.getTags().add("restored");
+		resourceSet.getResources().removeIf(resource -> resource != appResource);
+		assembler.processModel(false);
+		assertEquals(placeholder, modelService.find("testModelProcessingOrder-placeholder", application));
+		assertTrue(placeholder.getTags().contains("restored"));
+
+		area.getChildren().remove(placeholder);
+		resourceSet.getResources().removeIf(resource -> resource != appResource);
+		assembler.processModel(false);
+		MUIElement merged = modelService.find("testModelProcessingOrder-placeholder", application);
+		assertEquals(area, merged.getParent());
+		assertFalse(merged.getTags().contains("restored"));
+		assertEquals(0, logMessages.size());
+	}
+
 	/**
 	 * Tests that pre-processors running from a non-persisted state that are
 	 * marked as "always" are executed.
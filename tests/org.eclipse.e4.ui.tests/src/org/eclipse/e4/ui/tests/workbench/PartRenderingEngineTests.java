@@ -2827,6 +2827,31 @@ public class PartRenderingEngineTests {
 		assertTrue(window.getWindows().contains(detachedWindow));
 	}
 
+	@Test
+	public void testHiddenDetachedWindowRenderedWhenShown() {
+		MWindow window = ems.createModelElement(MWindow.class);
+		application.getChildren().add(window);
+		application.setSelectedElement(window);
+
+		MWindow detachedWindow = ems.createModelElement(MWindow.class);
+		detachedWindow.setVisible(false);
+		window.getWindows().add(detachedWindow);
+
+		MPart part = ems.createModelElement(MPart.class);
+		part.setContributionURI("platform:/plugin/org.eclipse.e4.ui.tests/org.eclipse.e4.ui.tests.workbench.SampleView");
+		detachedWindow.getChildren().add(part);
+		detachedWindow.setSelectedElement(part);
+
+		contextRule.createAndRunWorkbench(window);
+
+		assertNull(detachedWindow.getWidget());
+		assertNull(part.getObject());
+
+		detachedWindow.setVisible(true);
+		assertTrue(detachedWindow.getWidget() instanceof Shell);
+		assertNotNull(part.getObject());
+	}
+
 	private void testBug348069_DetachedPerspectiveWindow_01(
 			boolean createPlaceholder) {
 		MWindow window = ems.createModelElement(MWindow.class);
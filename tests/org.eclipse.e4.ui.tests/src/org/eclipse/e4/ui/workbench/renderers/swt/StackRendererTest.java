@@ -119,6 +119,28 @@ public class StackRendererTest {
 		assertEquals(1, executedMethodsListener.getMethodExecutionCount("setClassnameAndId(.+)"));
 	}
 
+	@Test
+	public void testTabSizeFollowsLabelChanges() {
+		MPart part1 = ems.createModelElement(MPart.class);
+		part1.setLabel("a");
+		partStack.getChildren().add(part1);
+		MPart part2 = ems.createModelElement(MPart.class);
+		part2.setLabel("b");
+		partStack.getChildren().add(part2);
+
+		contextRule.createAndRunWorkbench(window);
+
+		CTabFolder tabFolder = (CTabFolder) partStack.getWidget();
+		CTabItem item = tabFolder.getItem(1);
+		int width = item.getBounds().width;
+
+		part2.setLabel("a much longer label than before");
+		assertTrue(item.getBounds().width > width);
+
+		part2.setLabel("b");
+		assertEquals(width, item.getBounds().width);
+	}
+
 	@Test
 	public void testTabStateHandlerWhenSelectionChangedEvent() throws Exception {
 		MPart part = ems.createModelElement(MPart.class);
@@ -21,26 +21,45 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import jakarta.inject.Inject;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import org.eclipse.e4.core.commands.CommandServiceAddon;
+import org.eclipse.e4.core.commands.ECommandService;
+import org.eclipse.e4.core.commands.EHandlerService;
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.di.annotations.CanExecute;
+import org.eclipse.e4.core.di.annotations.Execute;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.bindings.BindingServiceAddon;
 import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimBar;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
 import org.eclipse.e4.ui.model.application.ui.menu.MDirectToolItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MHandledToolItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolItem;
+import org.eclipse.e4.ui.services.ContextServiceAddon;
 import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
+import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.ActionContributionItem;
 import org.eclipse.jface.action.ToolBarManager;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.ToolItem;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
 public class ToolBarManagerRendererTest {
 
+	private static final String COMMAND_ID = "ToolBarManagerRendererTest.command";
+
 	@Rule
 	public WorkbenchContextRule contextRule = new WorkbenchContextRule();
 
@@ -50,6 +69,9 @@ public class ToolBarManagerRendererTest {
 	@Inject
 	private MApplication application;
 
+	@Inject
+	private IEclipseContext appContext;
+
 	private MToolBar toolBar;
 	private MTrimmedWindow window;
 
@@ -436,6 +458,146 @@ public class ToolBarManagerRendererTest {
 		assertEquals(2, toolBar.getChildren().size());
 	}
 
+	@Test
+	public void testHandledItem_EnablementSharedBySameCommand() {
+		defineCommand();
+		MHandledToolItem toolItem1 = createHandledToolItem();
+		MHandledToolItem toolItem2 = createHandledToolItem();
+
+		contextRule.createAndRunWorkbench(window);
+		CountingHandler handler = activateHandler(new CountingHandler());
+		waitForEnablementUpdate();
+
+		handler.count = 0;
+		handler.enabled = false;
+		requestEnablementUpdate();
+
+		assertEquals(1, handler.count);
+		assertFalse(((ToolItem) toolItem1.getWidget()).isEnabled());
+		assertFalse(((ToolItem) toolItem2.getWidget()).isEnabled());
+
+		handler.count = 0;
+		handler.enabled = true;
+		requestEnablementUpdate();
+
+		assertEquals(1, handler.count);
+		assertTrue(((ToolItem) toolItem1.getWidget()).isEnabled());
+		assertTrue(((ToolItem) toolItem2.getWidget()).isEnabled());
+	}
+
+	@Test
+	public void testHandledItem_EnablementOfHandlerTakingItem() {
+		defineCommand();
+		MHandledToolItem toolItem1 = createHandledToolItem();
+		MHandledToolItem toolItem2 = createHandledToolItem();
+
+		contextRule.createAndRunWorkbench(window);
+		ItemHandler handler = activateHandler(new ItemHandler());
+		waitForEnablementUpdate();
+
+		handler.items.clear();
+		handler.enabledItem = toolItem2;
+		requestEnablementUpdate();
+
+		assertEquals(Arrays.asList(toolItem1, toolItem2), handler.items);
+		assertFalse(((ToolItem) toolItem1.getWidget()).isEnabled());
+		assertTrue(((ToolItem) toolItem2.getWidget()).isEnabled());
+	}
+
+	@Test
+	public void testHandledItem_HiddenToolBarUpdatedWhenShown() {
+		defineCommand();
+		MHandledToolItem toolItem = createHandledToolItem();
+
+		contextRule.createAndRunWorkbench(window);
+		CountingHandler handler = activateHandler(new CountingHandler());
+		waitForEnablementUpdate();
+
+		toolBar.setVisible(false);
+		handler.count = 0;
+		handler.enabled = false;
+		requestEnablementUpdate();
+
+		assertEquals(0, handler.count);
+		assertTrue(toolItem.isEnabled());
+
+		toolBar.setVisible(true);
+		waitForEnablementUpdate();
+
+		assertEquals(1, handler.count);
+		assertFalse(toolItem.isEnabled());
+		assertFalse(((ToolItem) toolItem.getWidget()).isEnabled());
+	}
+
+	@Test
+	public void testHandledItem_HiddenItemUpdatedWhenShown() {
+		defineCommand();
+		MHandledToolItem toolItem = createHandledToolItem();
+
+		contextRule.createAndRunWorkbench(window);
+		CountingHandler handler = activateHandler(new CountingHandler());
+		waitForEnablementUpdate();
+
+		toolItem.setVisible(false);
+		handler.count = 0;
+		handler.enabled = false;
+		requestEnablementUpdate();
+
+		assertEquals(0, handler.count);
+		assertTrue(toolItem.isEnabled());
+
+		toolItem.setVisible(true);
+		waitForEnablementUpdate();
+
+		assertEquals(1, handler.count);
+		assertFalse(toolItem.isEnabled());
+		assertFalse(((ToolItem) toolItem.getWidget()).isEnabled());
+	}
+
+	private void defineCommand() {
+		ContextInjectionFactory.make(CommandServiceAddon.class, appContext);
+		ContextInjectionFactory.make(ContextServiceAddon.class, appContext);
+		ContextInjectionFactory.make(BindingServiceAddon.class, appContext);
+
+		ECommandService commandService = appContext.get(ECommandService.class);
+		commandService.defineCommand(COMMAND_ID, "Test Command", null,
+				commandService.defineCategory("ToolBarManagerRendererTest.category", "Test Category", null), null);
+	}
+
+	private MHandledToolItem createHandledToolItem() {
+		MCommand command = ems.createModelElement(MCommand.class);
+		command.setElementId(COMMAND_ID);
+
+		MHandledToolItem toolItem = ems.createModelElement(MHandledToolItem.class);
+		toolItem.setCommand(command);
+		toolBar.getChildren().add(toolItem);
+		return toolItem;
+	}
+
+	private <T> T activateHandler(T handler) {
+		window.getContext().get(EHandlerService.class).activateHandler(COMMAND_ID, handler);
+		return handler;
+	}
+
+	private void requestEnablementUpdate() {
+		appContext.get(IEventBroker.class).send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, UIEvents.ALL_ELEMENT_ID);
+		waitForEnablementUpdate();
+	}
+
+	/**
+	 * Runs the event loop long enough for the delayed update of the tool items.
+	 */
+	private void waitForEnablementUpdate() {
+		Display display = Display.getDefault();
+		boolean[] done = { false };
+		display.timerExec(500, () -> done[0] = true);
+		while (!done[0]) {
+			if (!display.readAndDispatch()) {
+				display.sleep();
+			}
+		}
+	}
+
 	private ToolBarManagerRenderer getToolBarManagerRenderer() {
 		Object renderer = toolBar.getRenderer();
 		assertEquals(ToolBarManagerRenderer.class, renderer.getClass());
@@ -447,6 +609,36 @@ public class ToolBarManagerRendererTest {
 	}
 
 
+	public static class CountingHandler {
+		private int count;
+		private boolean enabled = true;
+
+		@CanExecute
+		public boolean canExecute() {
+			count++;
+			return enabled;
+		}
+
+		@Execute
+		public void execute() {
+		}
+	}
+
+	public static class ItemHandler {
+		private final List<MItem> items = new ArrayList<>();
+		private MItem enabledItem;
+
+		@CanExecute
+		public boolean canExecute(MItem item) {
+			items.add(item);
+			return enabledItem == null || enabledItem == item;
+		}
+
+		@Execute
+		public void execute() {
+		}
+	}
+
 	static private class TestActionContributionItem extends ActionContributionItem {
 		private boolean disposed = false;
 
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.core.databinding.observable.Diffs;
@@ -268,7 +269,62 @@ public class Diffs_ListDiffTests {
 		checkComputedListDiff(List.of("a", "b", "c"), List.of("c", "a", "b"));
 	}
 
-	private static void checkComputedListDiff(List<Object> oldList, List<Object> newList) {
+	@Test
+	public void testComputeListDiff_LargeListWithFewChanges() {
+		List<Object> oldList = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			oldList.add(Integer.valueOf(i));
+		}
+		List<Object> newList = new ArrayList<>(oldList);
+		newList.add(7000, newList.remove(10));
+		newList.remove(3000);
+		newList.add(5000, "added");
+		newList.add(newList.remove(9000));
+
+		ListDiff<?> diff = checkComputedListDiff(oldList, newList);
+		// two moves, one removal and one addition
+		assertEquals(6, diff.getDifferences().length);
+		final int[] moves = new int[1];
+		diff.accept(new ListDiffVisitor<Object>() {
+			@Override
+			public void handleAdd(int index, Object element) {
+			}
+
+			@Override
+			public void handleRemove(int index, Object element) {
+			}
+
+			@Override
+			public void handleMove(int oldIndex, int newIndex, Object element) {
+				moves[0]++;
+			}
+		});
+		assertEquals(2, moves[0]);
+	}
+
+	@Test
+	public void testComputeListDiff_LargeListReversed() {
+		List<Object> oldList = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			oldList.add(Integer.valueOf(i % 100));
+		}
+		oldList.add(null);
+		List<Object> newList = new ArrayList<>(oldList);
+		Collections.reverse(newList);
+		newList.add(500, null);
+		checkComputedListDiff(oldList, newList);
+	}
+
+	@Test
+	public void testAccept_AddFollowedByRemoveBeforeIt() {
+		ListDiff<String> diff = Diffs.createListDiff(Diffs.createListDiffEntry(2, true, "x"),
+				Diffs.createListDiffEntry(1, false, "b"));
+		List<String> list = new ArrayList<>(Arrays.asList("a", "b", "c"));
+		diff.applyTo(list);
+		assertEquals(Arrays.asList("a", "x", "c"), list);
+	}
+
+	private static ListDiff<?> checkComputedListDiff(List<Object> oldList, List<Object> newList) {
 		ListDiff<?> diff = Diffs.computeListDiff(oldList, newList);
 
 		final List<Object> list = new ArrayList<>(oldList);
@@ -291,5 +347,6 @@ public class Diffs_ListDiffTests {
 		diff.accept(listDiffVisitor);
 
 		assertEquals("Applying diff to old list should make it equal to new list", newList, list);
+		return diff;
 	}
 }
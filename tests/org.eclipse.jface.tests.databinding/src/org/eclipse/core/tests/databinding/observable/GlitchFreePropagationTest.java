@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GlitchFreePropagationTest extends AbstractDefaultRealmTestCase {
+
+	private WritableValue<Integer> source;
+
+	private IObservableValue<Integer> sum;
+
+	private int sumCalculations;
+
+	private final List<Integer> observedSums = new ArrayList<>();
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		Realm.getDefault().setGlitchFreePropagation(true);
+
+		source = new WritableValue<>(1, Integer.class);
+		// the source listener is added before the diamond, so by default it
+		// would be notified before the computed values are marked dirty
+		source.addValueChangeListener(e -> observedSums.add(sum.getValue()));
+		IObservableValue<Integer> plusOne = ComputedValue.create(() -> source.getValue() + 1);
+		IObservableValue<Integer> twice = ComputedValue.create(() -> source.getValue() * 2);
+		sum = ComputedValue.create(() -> {
+			sumCalculations++;
+			return plusOne.getValue() + twice.getValue();
+		});
+		sum.addValueChangeListener(e -> observedSums.add(e.diff.getNewValue()));
+		sum.getValue();
+		sumCalculations = 0;
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		Realm.getDefault().setGlitchFreePropagation(false);
+		super.tearDown();
+	}
+
+	@Test
+	public void testIsGlitchFreePropagation() {
+		assertTrue(Realm.getDefault().isGlitchFreePropagation());
+		Realm.getDefault().setGlitchFreePropagation(false);
+		assertFalse(Realm.getDefault().isGlitchFreePropagation());
+	}
+
+	@Test
+	public void testDiamondIsRecomputedOnce() {
+		source.setValue(5);
+
+		assertEquals(1, sumCalculations);
+		assertEquals(Arrays.asList(16, 16), observedSums);
+	}
+
+	@Test
+	public void testRunBatched() {
+		Realm.getDefault().runBatched(() -> {
+			source.setValue(2);
+			source.setValue(3);
+			assertTrue(observedSums.isEmpty());
+		});
+
+		assertEquals(1, sumCalculations);
+		assertEquals(Arrays.asList(10, 10, 10), observedSums);
+	}
+
+	@Test
+	public void testRunBatchedNotifiesOnException() {
+		assertThrows(IllegalStateException.class, () -> Realm.getDefault().runBatched(() -> {
+			source.setValue(2);
+			throw new IllegalStateException();
+		}));
+
+		assertEquals(Arrays.asList(7, 7), observedSums);
+	}
+
+	@Test
+	public void testFailingListenerDoesNotStopNotifications() {
+		IValueChangeListener<Integer> failing = e -> {
+			throw new IllegalStateException();
+		};
+		source.addValueChangeListener(failing);
+
+		assertThrows(IllegalStateException.class, () -> source.setValue(5));
+		assertEquals(Arrays.asList(16, 16), observedSums);
+
+		// the sum is not left dirty without listeners knowing
+		source.removeValueChangeListener(failing);
+		source.setValue(6);
+		assertEquals(Arrays.asList(16, 16, 19, 19), observedSums);
+	}
+
+	@Test
+	public void testChangeFromListenerIsPropagated() {
+		WritableValue<Integer> other = new WritableValue<>(0, Integer.class);
+		IObservableValue<Integer> total = ComputedValue.create(() -> sum.getValue() + other.getValue());
+		List<Integer> observedTotals = new ArrayList<>();
+		total.addValueChangeListener(e -> observedTotals.add(e.diff.getNewValue()));
+		sum.addValueChangeListener(e -> other.setValue(e.diff.getNewValue()));
+
+		source.setValue(5);
+
+		// the total is first seen with the old value of the other source, but
+		// never with the old sum
+		assertEquals(Arrays.asList(16, 32), observedTotals);
+		assertEquals(Integer.valueOf(32), total.getValue());
+	}
+}
@@ -47,6 +47,26 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		assertSame(observable, result[0]);
 	}
 
+	@Test
+	public void testRunAndMonitor_NestedCallRestoresOuterMonitor() throws Exception {
+		final IObservable outer1 = new ObservableStub();
+		final IObservable outer2 = new ObservableStub();
+		final IObservable inner = new ObservableStub();
+		final IObservable[][] innerResult = new IObservable[1][];
+		IObservable[] outerResult = ObservableTracker.runAndMonitor(() -> {
+			ObservableTracker.getterCalled(outer1);
+			innerResult[0] = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(inner), null, null);
+			ObservableTracker.getterCalled(outer2);
+			ObservableTracker.getterCalled(outer1);
+		}, null, null);
+		assertEquals(Arrays.asList(outer1, outer2), Arrays.asList(outerResult));
+		assertEquals(Arrays.asList(inner), Arrays.asList(innerResult[0]));
+
+		// a subsequent call must not see observables of previous calls
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(inner), null, null);
+		assertEquals(Arrays.asList(inner), Arrays.asList(result));
+	}
+
 	@Test
 	public void testGetterCalled_ObservableDisposed() throws Exception {
 		IObservable observable = new ObservableStub();
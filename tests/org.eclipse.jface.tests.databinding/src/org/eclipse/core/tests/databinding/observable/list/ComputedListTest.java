@@ -29,6 +29,7 @@ import org.eclipse.core.databinding.observable.IObservableCollection;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.list.ComputedList;
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
 import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.list.WritableList;
 import org.eclipse.jface.databinding.conformance.ObservableListContractTest;
@@ -99,6 +100,18 @@ public class ComputedListTest extends AbstractDefaultRealmTestCase {
 				2, tracker.count);
 	}
 
+	@Test
+	public void testDependency_ReleasedWhenLastListenerRemovedWhileDirty() {
+		IListChangeListener<Object> listener = event -> {
+		};
+		list.addListChangeListener(listener);
+		list.dependency.fireChange(); // make the list dirty
+		assertTrue(list.dependency.hasListeners());
+
+		list.removeListChangeListener(listener);
+		assertFalse(list.dependency.hasListeners());
+	}
+
 	@Test
 	public void testCreate() throws Exception {
 		WritableList<Integer> writeList = new WritableList<>();
@@ -151,6 +164,11 @@ public class ComputedListTest extends AbstractDefaultRealmTestCase {
 		protected void fireChange() {
 			super.fireChange();
 		}
+
+		@Override
+		public boolean hasListeners() {
+			return super.hasListeners();
+		}
 	}
 
 	public static void addConformanceTest(TestCollection suite) {
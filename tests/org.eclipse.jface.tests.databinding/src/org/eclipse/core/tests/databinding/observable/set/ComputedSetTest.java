@@ -29,6 +29,7 @@ import org.eclipse.core.databinding.observable.IObservableCollection;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.set.ComputedSet;
+import org.eclipse.core.databinding.observable.set.ISetChangeListener;
 import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.core.databinding.observable.set.WritableSet;
 import org.eclipse.jface.databinding.conformance.ObservableCollectionContractTest;
@@ -97,6 +98,18 @@ public class ComputedSetTest extends AbstractDefaultRealmTestCase {
 				2, tracker.count);
 	}
 
+	@Test
+	public void testDependency_ReleasedWhenLastListenerRemovedWhileDirty() {
+		ISetChangeListener<Object> listener = event -> {
+		};
+		set.addSetChangeListener(listener);
+		set.dependency.fireChange(); // make the set dirty
+		assertTrue(set.dependency.hasListeners());
+
+		set.removeSetChangeListener(listener);
+		assertFalse(set.dependency.hasListeners());
+	}
+
 	@Test
 	public void testCreate() throws Exception {
 		WritableSet<Integer> writeSet = new WritableSet<>();
@@ -149,6 +162,11 @@ public class ComputedSetTest extends AbstractDefaultRealmTestCase {
 		protected void fireChange() {
 			super.fireChange();
 		}
+
+		@Override
+		public boolean hasListeners() {
+			return super.hasListeners();
+		}
 	}
 
 	public static void addConformanceTest(TestCollection suite) {
@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.eclipse.core.databinding.observable.value.ComputedValue;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
 import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 import org.junit.Test;
@@ -147,6 +148,22 @@ public class ComputedValueTest extends AbstractDefaultRealmTestCase {
 		assertFalse("because value2 is not a part of the calculation the listeners should have been removed", value2.hasListeners());
 	}
 
+	@Test
+	public void testDependencyReleasedWhenLastListenerRemovedWhileDirty() throws Exception {
+		WritableValueExt<Integer> value = new WritableValueExt<>(Integer.TYPE, Integer.valueOf(1));
+		IObservableValue<Integer> cv = ComputedValue.create(value::getValue);
+		IValueChangeListener<Integer> listener = event -> {
+		};
+		cv.addValueChangeListener(listener);
+		assertTrue(value.hasListeners());
+
+		// make the computed value dirty while it has a listener
+		value.setValue(Integer.valueOf(2));
+		cv.removeValueChangeListener(listener);
+		assertFalse(value.hasListeners());
+		assertEquals(Integer.valueOf(2), cv.getValue());
+	}
+
 	@Test
 	public void testSetValueUnsupportedOperationException() throws Exception {
 		ComputedValue<Object> cv = new ComputedValue<>() {
@@ -16,6 +16,8 @@
 package org.eclipse.core.tests.internal.databinding.beans;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 
 import java.beans.PropertyDescriptor;
 
@@ -53,4 +55,53 @@ public class BeanPropertyHelperTest {
 		assertEquals(IBean.class.getMethod("setValue", String.class), pd.getWriteMethod());
 	}
 
+	@Test
+	public void testReadAndWriteProperty() {
+		Bean bean = new Bean();
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value");
+		BeanPropertyHelper.writeProperty(bean, pd, "new value");
+		assertEquals("new value", bean.getValue());
+		assertEquals("new value", BeanPropertyHelper.readProperty(bean, pd));
+	}
+
+	@Test
+	public void testReadAndWriteProperty_PrimitiveInNonPublicClass() {
+		PrimitiveBean bean = new PrimitiveBean();
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(PrimitiveBean.class, "count");
+		BeanPropertyHelper.writeProperty(bean, pd, 3);
+		assertEquals(3L, BeanPropertyHelper.readProperty(bean, pd));
+		// widening conversions are still applied
+		BeanPropertyHelper.writeProperty(bean, pd, Integer.valueOf(4));
+		assertEquals(4L, bean.getCount());
+	}
+
+	@Test
+	public void testReadProperty_WrapsExceptionOfGetter() {
+		PrimitiveBean bean = new PrimitiveBean();
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(PrimitiveBean.class, "failing");
+		RuntimeException e = assertThrows(RuntimeException.class, () -> BeanPropertyHelper.readProperty(bean, pd));
+		assertEquals(UnsupportedOperationException.class, e.getCause().getClass());
+	}
+
+	@Test
+	public void testReadProperty_IncompatibleSource() {
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value");
+		assertNull(BeanPropertyHelper.readProperty(new Object(), pd));
+	}
+
+	private static class PrimitiveBean {
+		private long count;
+
+		public long getCount() {
+			return count;
+		}
+
+		public void setCount(long count) {
+			this.count = count;
+		}
+
+		public String getFailing() {
+			throw new UnsupportedOperationException();
+		}
+	}
 }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding.observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.core.databinding.observable.AbstractObservable;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.core.internal.databinding.observable.DependencyTracker;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+/**
+ * Tests for DependencyTracker
+ */
+public class DependencyTrackerTest extends AbstractDefaultRealmTestCase {
+
+	private final IChangeListener changeListener = event -> {
+	};
+
+	private final IStaleListener staleListener = event -> {
+	};
+
+	@Test
+	public void testUpdate_AddsListenersToAllDependencies() {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		DependencyTracker tracker = new DependencyTracker(changeListener, staleListener);
+
+		tracker.update(new IObservable[] { a, b });
+
+		assertEquals(1, a.added);
+		assertEquals(1, a.staleAdded);
+		assertEquals(1, b.added);
+	}
+
+	@Test
+	public void testUpdate_SameDependenciesAreNotTouched() {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		DependencyTracker tracker = new DependencyTracker(changeListener, null);
+
+		tracker.update(new IObservable[] { a, b });
+		tracker.update(new IObservable[] { a, b });
+		tracker.update(new IObservable[] { b, a });
+
+		assertEquals(1, a.added);
+		assertEquals(0, a.removed);
+		assertEquals(1, b.added);
+		assertEquals(0, b.removed);
+	}
+
+	@Test
+	public void testUpdate_OnlyChangedDependenciesAreTouched() {
+		CountingObservable a = new CountingObservable();
+		CountingObservable b = new CountingObservable();
+		CountingObservable c = new CountingObservable();
+		DependencyTracker tracker = new DependencyTracker(changeListener, staleListener);
+
+		tracker.update(new IObservable[] { a, b });
+		tracker.update(new IObservable[] { a, c });
+
+		assertEquals(1, a.added);
+		assertEquals(0, a.removed);
+		assertEquals(1, b.removed);
+		assertEquals(1, b.staleRemoved);
+		assertEquals(1, c.added);
+	}
+
+	@Test
+	public void testUpdate_ManyDependencies() {
+		CountingObservable[] observables = new CountingObservable[100];
+		for (int i = 0; i < observables.length; i++) {
+			observables[i] = new CountingObservable();
+		}
+		IObservable[] evens = new IObservable[50];
+		IObservable[] odds = new IObservable[50];
+		for (int i = 0; i < 50; i++) {
+			evens[i] = observables[2 * i];
+			odds[i] = observables[2 * i + 1];
+		}
+		DependencyTracker tracker = new DependencyTracker(changeListener, null);
+
+		tracker.update(evens);
+		tracker.update(odds);
+
+		for (int i = 0; i < observables.length; i++) {
+			assertEquals(1, observables[i].added);
+			assertEquals(i % 2 == 0 ? 1 : 0, observables[i].removed);
+		}
+	}
+
+	@Test
+	public void testStopListening() {
+		CountingObservable a = new CountingObservable();
+		DependencyTracker tracker = new DependencyTracker(changeListener, staleListener);
+
+		tracker.update(new IObservable[] { a });
+		tracker.stopListening();
+
+		assertEquals(1, a.removed);
+		assertEquals(1, a.staleRemoved);
+		assertNull(tracker.getDependencies());
+	}
+
+	@Test
+	public void testComputedValue_RecomputeKeepsUnchangedListeners() {
+		CountingObservable unchanged = new CountingObservable();
+		IObservableValue<Integer> trigger = new WritableValue<>(0, Integer.class);
+		IObservableValue<Integer> computed = ComputedValue.create(() -> {
+			unchanged.read();
+			return trigger.getValue();
+		});
+		computed.addChangeListener(event -> computed.getValue());
+		computed.getValue();
+
+		trigger.setValue(1);
+		trigger.setValue(2);
+
+		assertEquals(Integer.valueOf(2), computed.getValue());
+		assertEquals(1, unchanged.added);
+		assertEquals(0, unchanged.removed);
+	}
+
+	private static class CountingObservable extends AbstractObservable {
+		int added;
+		int removed;
+		int staleAdded;
+		int staleRemoved;
+
+		CountingObservable() {
+			super(Realm.getDefault());
+		}
+
+		void read() {
+			ObservableTracker.getterCalled(this);
+		}
+
+		@Override
+		public synchronized void addChangeListener(IChangeListener listener) {
+			added++;
+			super.addChangeListener(listener);
+		}
+
+		@Override
+		public synchronized void removeChangeListener(IChangeListener listener) {
+			removed++;
+			super.removeChangeListener(listener);
+		}
+
+		@Override
+		public synchronized void addStaleListener(IStaleListener listener) {
+			staleAdded++;
+			super.addStaleListener(listener);
+		}
+
+		@Override
+		public synchronized void removeStaleListener(IStaleListener listener) {
+			staleRemoved++;
+			super.removeStaleListener(listener);
+		}
+
+		@Override
+		public boolean isStale() {
+			return false;
+		}
+	}
+}
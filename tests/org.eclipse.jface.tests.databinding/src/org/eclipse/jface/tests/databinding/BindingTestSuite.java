@@ -50,6 +50,7 @@ import org.eclipse.core.tests.databinding.observable.ChangeSupportTest;
 import org.eclipse.core.tests.databinding.observable.DecoratingObservableTest;
 import org.eclipse.core.tests.databinding.observable.DiffsTest;
 import org.eclipse.core.tests.databinding.observable.Diffs_ListDiffTests;
+import org.eclipse.core.tests.databinding.observable.GlitchFreePropagationTest;
 import org.eclipse.core.tests.databinding.observable.ObservableTrackerTest;
 import org.eclipse.core.tests.databinding.observable.ObservablesTest;
 import org.eclipse.core.tests.databinding.observable.RealmTest;
@@ -115,6 +116,7 @@ import org.eclipse.core.tests.internal.databinding.conversion.StringToNumberPars
 import org.eclipse.core.tests.internal.databinding.conversion.StringToShortConverterTest;
 import org.eclipse.core.tests.internal.databinding.observable.ConstantObservableValueTest;
 import org.eclipse.core.tests.internal.databinding.observable.DelayedObservableValueTest;
+import org.eclipse.core.tests.internal.databinding.observable.DependencyTrackerTest;
 import org.eclipse.core.tests.internal.databinding.observable.MapEntryObservableValueTest;
 import org.eclipse.core.tests.internal.databinding.observable.UnmodifiableObservableListTest;
 import org.eclipse.core.tests.internal.databinding.observable.UnmodifiableObservableSetTest;
@@ -212,10 +214,11 @@ import org.junit.runners.Suite.SuiteClasses;
 		DateTimeCalendarObservableValueTest.class, DateTimeDateObservableValueTest.class,
 		DateTimeSelectionPropertyTest.class, DateTimeTimeObservableValueTest.class,
 		LocalDateSelectionPropertyTest.class, DecoratingObservableTest.class, LocalDateTimeObservableValueTest.class,
-		DelayedObservableValueTest.class, DetailObservableListTest.class, DetailObservableMapTest.class,
+		DelayedObservableValueTest.class, DependencyTrackerTest.class,
+		DetailObservableListTest.class, DetailObservableMapTest.class,
 		DetailObservableSetTest.class, DetailObservableValueTest.class, DifferentRealmsBindingTest.class,
 		Diffs_ListDiffTests.class, DiffsTest.class, DuplexingObservableValueTest.class, EditMaskLexerAndTokenTest.class,
-		EditMaskParserTest.class, GroupObservableValueTest.class, IdentityConverterTest.class, IdentityMapTest.class,
+		EditMaskParserTest.class, GlitchFreePropagationTest.class, GroupObservableValueTest.class, IdentityConverterTest.class, IdentityMapTest.class,
 		IdentitySetTest.class, IntegerToStringConverterTest.class, LabelObservableValueTest.class,
 		ListBindingTest.class,
 		ListDiffTest.class, ListDiffVisitorTest.class, ListSimpleValueObservableListTest.class,
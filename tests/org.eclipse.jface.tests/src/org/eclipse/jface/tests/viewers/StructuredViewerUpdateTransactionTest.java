@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+import org.junit.Test;
+
+public class StructuredViewerUpdateTransactionTest extends ViewerTestCase {
+
+	private TableViewer tableViewer;
+
+	@Override
+	protected StructuredViewer createViewer(Composite parent) {
+		tableViewer = new TableViewer(parent);
+		tableViewer.setContentProvider(new TestModelContentProvider());
+		tableViewer.setLabelProvider(new TestLabelProvider());
+		return tableViewer;
+	}
+
+	private Table getTable() {
+		return tableViewer.getTable();
+	}
+
+	@Test
+	public void testAddIsDeferredUntilEnd() {
+		int count = getTable().getItemCount();
+		fViewer.beginUpdateTransaction();
+		TestElement added = fRootElement.addChild(TestModelChange.INSERT);
+		assertEquals(count, getTable().getItemCount());
+		fViewer.endUpdateTransaction();
+		assertEquals(count + 1, getTable().getItemCount());
+		assertNotNull(fViewer.testFindItem(added));
+	}
+
+	@Test
+	public void testAddAndRemoveCancelEachOther() {
+		int count = getTable().getItemCount();
+		fViewer.beginUpdateTransaction();
+		TestElement added = fRootElement.addChild(TestModelChange.INSERT);
+		fRootElement.deleteChild(added);
+		fViewer.endUpdateTransaction();
+		assertEquals(count, getTable().getItemCount());
+		assertNull(fViewer.testFindItem(added));
+	}
+
+	@Test
+	public void testUpdatesAreMerged() {
+		TestElement first = fRootElement.getFirstChild();
+		String oldText = getTable().getItem(0).getText();
+		fViewer.beginUpdateTransaction();
+		first.setLabel("changed once");
+		first.setLabel("changed twice");
+		assertEquals(oldText, getTable().getItem(0).getText());
+		fViewer.endUpdateTransaction();
+		assertEquals(first.toString() + " <rendered>", getTable().getItem(0).getText());
+	}
+
+	@Test
+	public void testRemoveInNestedTransaction() {
+		TestElement first = fRootElement.getFirstChild();
+		int count = getTable().getItemCount();
+		fViewer.beginUpdateTransaction();
+		fViewer.beginUpdateTransaction();
+		fRootElement.deleteChild(first);
+		fViewer.endUpdateTransaction();
+		assertEquals(count, getTable().getItemCount());
+		fViewer.endUpdateTransaction();
+		assertEquals(count - 1, getTable().getItemCount());
+		assertNull(fViewer.testFindItem(first));
+	}
+
+	@Test
+	public void testRefreshOfRootSupersedesOtherOperations() {
+		int count = getTable().getItemCount();
+		fViewer.beginUpdateTransaction();
+		fRootElement.getFirstChild().setLabel("changed");
+		fRootElement.basicAddChild();
+		fRootElement.basicAddChild();
+		fViewer.refresh();
+		fViewer.endUpdateTransaction();
+		assertEquals(count + 2, getTable().getItemCount());
+		assertEquals(fRootElement.getFirstChild().toString() + " <rendered>", getTable().getItem(0).getText());
+	}
+
+	@Test
+	public void testRefreshOfRootWithoutLabelsKeepsLabelUpdates() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement second = fRootElement.getChildAt(1);
+		fViewer.beginUpdateTransaction();
+		second.setLabel("changed before");
+		fViewer.refresh(false);
+		first.setLabel("changed after");
+		fViewer.update(first, null);
+		fViewer.endUpdateTransaction();
+		assertEquals(first.toString() + " <rendered>", getTable().getItem(0).getText());
+		assertEquals(second.toString() + " <rendered>", getTable().getItem(1).getText());
+	}
+
+	@Test
+	public void testSetInputDiscardsPendingOperations() {
+		fViewer.beginUpdateTransaction();
+		fRootElement.addChild(TestModelChange.INSERT);
+		TestElement newRoot = TestElement.createModel(1, 3);
+		fViewer.setInput(newRoot);
+		fViewer.endUpdateTransaction();
+		assertEquals(3, getTable().getItemCount());
+	}
+
+	@Test
+	public void testThrottledUpdates() {
+		int count = getTable().getItemCount();
+		fViewer.setUpdateThrottle(Duration.ofMillis(10));
+		fRootElement.addChild(TestModelChange.INSERT);
+		fRootElement.addChild(TestModelChange.INSERT);
+		assertEquals(count, getTable().getItemCount());
+		waitForJobs(100, 1000);
+		assertEquals(count + 2, getTable().getItemCount());
+
+		fViewer.setUpdateThrottle(null);
+		fRootElement.addChild(TestModelChange.INSERT);
+		assertEquals(count + 3, getTable().getItemCount());
+	}
+
+	@Test
+	public void testQueuedRefreshRevealsSelection() {
+		for (int i = 0; i < 100; i++) {
+			fRootElement.basicAddChild();
+		}
+		fViewer.refresh();
+		TestElement last = fRootElement.getLastChild();
+		fViewer.setSelection(new StructuredSelection(last));
+		getTable().setTopIndex(0);
+		fViewer.beginUpdateTransaction();
+		tableViewer.refresh(fRootElement, true, true);
+		fViewer.endUpdateTransaction();
+		assertEquals(last, fViewer.getStructuredSelection().getFirstElement());
+		assertTrue(getTable().getTopIndex() > 0);
+	}
+}
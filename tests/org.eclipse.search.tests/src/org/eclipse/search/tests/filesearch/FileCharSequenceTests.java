@@ -17,6 +17,7 @@ import static org.junit.Assert.assertFalse;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -29,6 +30,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 
+import org.eclipse.search.internal.core.text.ByteContentFilter;
 import org.eclipse.search.internal.core.text.FileCharSequenceProvider;
 import org.eclipse.search.tests.ResourceHelper;
 
@@ -75,6 +77,30 @@ public class FileCharSequenceTests {
 		testForEncoding(buf, StandardCharsets.UTF_16.name());
 	}
 
+	@Test
+	public void testByteFileCharSequence() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		while (buf.length() < 1_100_000) {
+			buf.append(TEST_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.ISO_8859_1.name());
+	}
+
+	@Test
+	public void testRawContentChecks() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile text= ResourceHelper.createFile(folder, "text", "a NeeDle in a haystack");
+		IFile binary= ResourceHelper.createFile(folder, "binary", "a needle\0");
+		ByteContentFilter needle= ByteContentFilter.create(Pattern.compile("needle", Pattern.CASE_INSENSITIVE));
+		ByteContentFilter pin= ByteContentFilter.create(Pattern.compile("pin"));
+
+		FileCharSequenceProvider provider= new FileCharSequenceProvider();
+		Assert.assertNotNull(provider.newCharSequence(text, needle, true));
+		Assert.assertNull(provider.newCharSequence(text, pin, true));
+		Assert.assertNull(provider.newCharSequence(binary, needle, true));
+		Assert.assertNotNull(provider.newCharSequence(binary, needle, false));
+	}
+
 	private void testForEncoding(CharSequence buf, String encoding) throws CoreException, IOException {
 		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
 		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), encoding);
@@ -16,6 +16,7 @@
 package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -160,6 +161,45 @@ public class FileSearchTests {
 		assertMatches(results, 2, file2, buf.toString(), "hello");
 	}
 
+	@Test
+	public void testLargeFileSerial() throws Exception {
+		testLargeFile(new SerialTestResultCollector());
+	}
+
+	@Test
+	public void testLargeFileParallel() throws Exception {
+		testLargeFile(new ParallelTestResultCollector());
+	}
+
+	private void testLargeFile(TestResultCollector collector) throws Exception {
+		// large enough to be matched in chunks
+		StringBuilder buf= new StringBuilder();
+		int lines= 0;
+		while (buf.length() < 3_000_000) {
+			buf.append("line ").append(lines++).append(" says hello\n");
+		}
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString());
+
+		TestResult[] results= performSearch(collector, null, PatternConstructor.createPattern("hello", false, true));
+		assertMatches(results, lines, file1, buf.toString(), "hello");
+		assertInOrder(results);
+
+		results= performSearch(collector, null, PatternConstructor.createPattern("^line", false, true));
+		assertMatches(results, lines, file1, buf.toString(), "line");
+		assertInOrder(results);
+
+		// \G only matches at the start of the file, not at the start of a chunk
+		results= performSearch(collector, null, PatternConstructor.createPattern("\\Gline", true, true));
+		assertMatches(results, 1, file1, buf.toString(), "line");
+	}
+
+	private void assertInOrder(TestResult[] results) {
+		for (int i= 1; i < results.length; i++) {
+			assertTrue("Results in order", results[i - 1].offset < results[i].offset);
+		}
+	}
+
 	@Test
 	public void testWildCards1Serial() throws Exception {
 		testWildCards1(new SerialTestResultCollector());
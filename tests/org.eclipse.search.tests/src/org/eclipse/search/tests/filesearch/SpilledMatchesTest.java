@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+import org.eclipse.search.ui.text.Match;
+
+import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.FileSearchResult;
+
+import org.eclipse.search.tests.ResourceHelper;
+
+public class SpilledMatchesTest {
+
+	private static final String PROJECT_NAME= "SpilledMatchesProject"; //$NON-NLS-1$
+
+	private IProject fProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject(PROJECT_NAME);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject(PROJECT_NAME);
+	}
+
+	@Test
+	public void testSpilledMatchesAreLoaded() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder")); //$NON-NLS-1$
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 50; i++) {
+			buf.append("hello hello line ").append(i).append('\n'); //$NON-NLS-1$
+		}
+		IFile[] files= new IFile[4];
+		for (int i= 0; i < files.length; i++) {
+			files[i]= ResourceHelper.createFile(folder, "file" + i + ".txt", buf.toString()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		FileSearchResult expected= search(-1);
+		FileSearchResult result= search(10);
+
+		assertEquals(400, expected.getMatchCount());
+		assertEquals(400, result.getMatchCount());
+		assertEquals(files.length, result.getElementsCount());
+		int spilled= 0;
+		for (IFile file : files) {
+			assertEquals(100, result.getMatchCount(file));
+			assertEquals(result.getMatchCount(file), result.getMatches(file).length + result.getSpilledMatchCount(file));
+			spilled+= result.getSpilledMatchCount(file);
+		}
+		assertTrue(spilled > 0);
+
+		for (IFile file : files) {
+			result.loadSpilledMatches(file);
+			assertEquals(0, result.getSpilledMatchCount(file));
+			Match[] matches= result.getMatches(file);
+			Match[] expectedMatches= expected.getMatches(file);
+			assertEquals(expectedMatches.length, matches.length);
+			for (int i= 0; i < matches.length; i++) {
+				FileMatch match= (FileMatch) matches[i];
+				FileMatch expectedMatch= (FileMatch) expectedMatches[i];
+				assertEquals(expectedMatch.getOffset(), match.getOffset());
+				assertEquals(expectedMatch.getLength(), match.getLength());
+				assertEquals(expectedMatch.getLineElement().getLine(), match.getLineElement().getLine());
+				assertEquals(expectedMatch.getLineElement().getContents(), match.getLineElement().getContents());
+			}
+			// matches on the same line share their line element
+			assertSame(((FileMatch) matches[0]).getLineElement(), ((FileMatch) matches[1]).getLineElement());
+		}
+		assertEquals(400, result.getMatchCount());
+	}
+
+	@Test
+	public void testRemoveFileWithSpilledMatches() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder")); //$NON-NLS-1$
+		IFile file1= ResourceHelper.createFile(folder, "file1.txt", "hello\nhello\nhello\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile file2= ResourceHelper.createFile(folder, "file2.txt", "hello\nhello\nhello\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		FileSearchResult result= search(1);
+		assertEquals(6, result.getMatchCount());
+
+		ResourceHelper.delete(file1);
+		assertEquals(0, result.getMatchCount(file1));
+		assertEquals(3, result.getMatchCount(file2));
+		assertEquals(3, result.getMatchCount());
+	}
+
+	@Test
+	public void testSpilledMatchesOfChangedFileAreDropped() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder")); //$NON-NLS-1$
+		IFile file1= ResourceHelper.createFile(folder, "file1.txt", "hello\nhello\nhello\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile file2= ResourceHelper.createFile(folder, "file2.txt", "hello\nhello\nhello\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		FileSearchResult result= search(1);
+		IFile spilledFile= result.getSpilledMatchCount(file1) > 0 ? file1 : file2;
+		assertEquals(2, result.getSpilledMatchCount(spilledFile));
+
+		// the spilled offsets do not match the new content
+		spilledFile.setContents(new ByteArrayInputStream("\n\nhello\n".getBytes()), IResource.FORCE, null); //$NON-NLS-1$
+		assertEquals(0, result.loadSpilledMatches(spilledFile).length);
+		assertEquals(0, result.getSpilledMatchCount(spilledFile));
+		assertEquals(1, result.getMatches(spilledFile).length);
+	}
+
+	private FileSearchResult search(int retainedMatchLimit) {
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, new String[] { "*.txt" }, false); //$NON-NLS-1$
+		FileSearchQuery query= new FileSearchQuery("hello", false, true, scope); //$NON-NLS-1$
+		FileSearchResult result= (FileSearchResult) query.getSearchResult();
+		result.setRetainedMatchLimit(retainedMatchLimit);
+		NewSearchUI.runQueryInForeground(null, query);
+		return result;
+	}
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramQuery;
+import org.eclipse.search.tests.ResourceHelper;
+
+public class TrigramIndexTest {
+
+	private IProject fProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("my-project"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject("my-project"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testLiteralsOfPlainPatterns() {
+		assertEquals(List.of("foo", "bar"), literals("foo*bar", false)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of("a.b"), literals("a.b", false)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("foo", "ar"), literals("foo?ar", false)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testLiteralsOfRegularExpressions() {
+		assertEquals(List.of("fo", "x"), literals("foo*x", true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of("foo", "bar"), literals("foo\\s+bar", true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of("get", "Name"), literals("get[A-Z]?Name", true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of("end", "tail"), literals("end(a|b)tail", true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of("a.b"), literals("a\\.b", true)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("line", "next"), literals("line\\Rnext", true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNull(literals("foo|bar", true)); //$NON-NLS-1$
+		assertNull(literals("(?x)foo bar", true)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testQueryIgnoresCase() {
+		TrigramQuery query= TrigramQuery.create(PatternConstructor.createPattern("Hello", true, false)); //$NON-NLS-1$
+		assertTrue(query.mayMatch(TrigramQuery.getTrigrams("say HELLO world"))); //$NON-NLS-1$
+		assertFalse(query.mayMatch(TrigramQuery.getTrigrams("say hell world"))); //$NON-NLS-1$
+		assertNull(TrigramQuery.create(PatternConstructor.createPattern("ab", true, false))); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testIndexSkipsFilesWithoutMatch() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder")); //$NON-NLS-1$
+		IFile hit= ResourceHelper.createFile(folder, "hit.txt", "some text with needle in it"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile miss= ResourceHelper.createFile(folder, "miss.txt", "nothing to see here"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile other= ResourceHelper.createFile(folder, "other.txt", "nor here"); //$NON-NLS-1$ //$NON-NLS-2$
+		TrigramQuery query= TrigramQuery.create(PatternConstructor.createPattern("needle", true, false)); //$NON-NLS-1$
+
+		File indexFile= File.createTempFile("trigrams", ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+		indexFile.delete();
+		TrigramIndex index= new TrigramIndex(indexFile);
+		index.startup();
+		try {
+			index.join();
+			// not indexed yet
+			assertTrue(index.mayMatch(hit, query));
+			assertTrue(index.mayMatch(miss, query));
+			assertTrue(index.mayMatch(other, query));
+			index.join();
+			assertTrue(index.mayMatch(hit, query));
+			assertFalse(index.mayMatch(miss, query));
+			assertFalse(index.mayMatch(other, query));
+
+			// a changed file is scanned until indexed again
+			miss.setContents(new ByteArrayInputStream("now with a needle".getBytes(StandardCharsets.ISO_8859_1)), true, false, null); //$NON-NLS-1$
+			assertTrue(index.mayMatch(miss, query));
+		} finally {
+			index.shutdown();
+		}
+
+		// the index is restored from disk
+		index= new TrigramIndex(indexFile);
+		index.startup();
+		try {
+			index.join();
+			assertTrue(index.mayMatch(hit, query));
+			assertFalse(index.mayMatch(other, query));
+		} finally {
+			index.shutdown();
+			indexFile.delete();
+		}
+	}
+
+	@Test
+	public void testFileChangedOnDiskIsNotSkipped() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder")); //$NON-NLS-1$
+		IFile file= ResourceHelper.createFile(folder, "file.txt", "nothing to see here"); //$NON-NLS-1$ //$NON-NLS-2$
+		TrigramQuery query= TrigramQuery.create(PatternConstructor.createPattern("needle", true, false)); //$NON-NLS-1$
+
+		File indexFile= File.createTempFile("trigrams", ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+		indexFile.delete();
+		TrigramIndex index= new TrigramIndex(indexFile);
+		index.startup();
+		try {
+			index.join();
+			assertTrue(index.mayMatch(file, query));
+			index.join();
+			assertFalse(index.mayMatch(file, query));
+
+			// changed without a refresh, the modification stamp stays the same
+			long stamp= file.getModificationStamp();
+			Files.writeString(file.getLocation().toPath(), "now with a needle", StandardCharsets.ISO_8859_1); //$NON-NLS-1$
+			assertEquals(stamp, file.getModificationStamp());
+			assertTrue(index.mayMatch(file, query));
+		} finally {
+			index.shutdown();
+			indexFile.delete();
+		}
+	}
+
+	private static List<String> literals(String pattern, boolean isRegex) {
+		return TrigramQuery.getRequiredLiterals(PatternConstructor.createPattern(pattern, true, isRegex));
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.text.quicksearch.internal.core.NoMatchCache;
+import org.eclipse.text.quicksearch.internal.core.QuickTextQuery;
+import org.eclipse.text.quicksearch.internal.util.LineReader;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class QuickTextSearchTest {
+
+	@Test
+	public void linesAndOffsets() throws Exception {
+		String text = "ab\r\ncd\rxy\n\nlast";
+		assertLines(new StringReader(text), "ab@0", "cd@4", "xy@7", "@10", "last@11");
+		// line terminators split across reads
+		Reader slowReader = new StringReader(text) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 1));
+			}
+		};
+		assertLines(slowReader, "ab@0", "cd@4", "xy@7", "@10", "last@11");
+	}
+
+	@Test
+	public void lineBufferIsReused() throws Exception {
+		try (LineReader lr = new LineReader(new StringReader("first\nsecond\n"))) {
+			assertTrue(lr.nextLine());
+			CharSequence line = lr.getLine();
+			assertEquals("first", line.toString());
+			assertTrue(lr.nextLine());
+			assertEquals("second", line.toString());
+			assertFalse(lr.nextLine());
+		}
+	}
+
+	@Test
+	public void stopsAtLongLine() throws Exception {
+		try (LineReader lr = new LineReader(new StringReader("short\n" + "x".repeat(200) + "\nafter"), 100)) {
+			assertEquals("short", lr.readLine());
+			assertNull(lr.readLine());
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void readErrorIsNotEndOfInput() throws Exception {
+		Reader failingReader = new StringReader("first\nsecond\n") {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("read failed");
+			}
+		};
+		try (LineReader lr = new LineReader(failingReader)) {
+			lr.nextLine();
+		}
+	}
+
+	@Test
+	public void noMatchForMoreSpecificQuery() throws Exception {
+		IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(IPath.fromOSString("/p/a.txt"));
+		NoMatchCache cache = new NoMatchCache();
+		cache.addNoMatch(file, 1, new QuickTextQuery("foo", true));
+
+		assertTrue(cache.hasNoMatch(file, 1, new QuickTextQuery("foo", true)));
+		assertTrue(cache.hasNoMatch(file, 1, new QuickTextQuery("food", true)));
+		assertFalse(cache.hasNoMatch(file, 1, new QuickTextQuery("fo", true)));
+		assertFalse(cache.hasNoMatch(file, 1, new QuickTextQuery("foo", false)));
+		// the file changed
+		assertFalse(cache.hasNoMatch(file, 2, new QuickTextQuery("food", true)));
+
+		cache.addNoMatch(file, 1, new QuickTextQuery("bar", true));
+		assertTrue(cache.hasNoMatch(file, 1, new QuickTextQuery("food", true)));
+		assertTrue(cache.hasNoMatch(file, 1, new QuickTextQuery("bars", true)));
+	}
+
+	private static void assertLines(Reader reader, String... expected) throws IOException {
+		try (LineReader lr = new LineReader(reader)) {
+			for (String line : expected) {
+				assertTrue(lr.nextLine());
+				assertEquals(line, lr.getLine() + "@" + lr.getLastLineOffset());
+			}
+			assertFalse(lr.nextLine());
+		}
+	}
+}